@@ -8,6 +8,7 @@ import com.github.hkjs96.ordersystem.domain.model.OrderStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
@@ -17,10 +18,12 @@ import java.time.Instant;
 
 /**
  * 주문 취소 이벤트를 카프카로 발행하는 핸들러
+ * 아웃박스 사용 시(ordersystem.outbox.enabled)에는 OutboxEventPublisher 가 같은 트랜잭션으로 기록
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.outbox.enabled", havingValue = "false", matchIfMissing = true)
 public class OrderEventKafkaHandler {
 
     private final KafkaTemplate<String, String> kafkaTemplate;
@@ -79,7 +82,7 @@ public class OrderEventKafkaHandler {
         } catch (Exception e) {
             log.error("카프카 이벤트 발행 실패: orderId={}, error={}",
                     event.orderId(), e.getMessage(), e);
-            // TODO: 실패 시 재시도 또는 DLQ 처리
+            // 발행 유실까지 막으려면 아웃박스 사용 (ordersystem.outbox.enabled: 같은 트랜잭션에 기록 후 릴레이가 재전송)
         }
     }
 }
\ No newline at end of file
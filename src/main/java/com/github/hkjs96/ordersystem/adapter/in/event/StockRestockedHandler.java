@@ -0,0 +1,32 @@
+package com.github.hkjs96.ordersystem.adapter.in.event;
+
+import com.github.hkjs96.ordersystem.domain.event.InventoryEvent;
+import com.github.hkjs96.ordersystem.domain.event.StockRestockedEvent;
+import com.github.hkjs96.ordersystem.port.out.PublishEventPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 복원 알림을 inventory-events 로 발행하는 핸들러
+ * 모든 노드가 고유 그룹으로 구독하는 품절 미러 리스너가 받아 품절 표시를 해제
+ * (Redis 재고는 이미 복원되어 있으므로 재고 복원 배치 리스너는 무시)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockRestockedHandler {
+
+    private final PublishEventPort eventPort;
+
+    @EventListener
+    public void handleStockRestocked(StockRestockedEvent event) {
+        try {
+            eventPort.publishInventoryEvent(InventoryEvent.stockRestocked(event.productId()));
+        } catch (Exception e) {
+            // 발행 실패는 복원 처리에 영향 없음 (다른 노드는 품절 표시 만료 후 반영)
+            log.warn("재고 복원 알림 발행 실패: productId={}, error={}", event.productId(), e.getMessage());
+        }
+    }
+}
@@ -1,92 +1,234 @@
 package com.github.hkjs96.ordersystem.adapter.in.messaging;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hkjs96.ordersystem.adapter.out.cache.SoldOutMirror;
+import com.github.hkjs96.ordersystem.adapter.out.messaging.RetryTopicRouter;
 import com.github.hkjs96.ordersystem.domain.event.InventoryEvent;
+import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * 재고 관련 카프카 이벤트를 처리하는 Consumer
  * 주문 취소, 결제 실패 등으로 인한 재고 복원 처리
+ *
+ * 📋 동작 원리:
+ * - 배치 리스너: poll 한 번의 레코드를 모아 주문 라인 복원은 스크립트 1회, 주문 없는 복원은 상품별 1회
+ * - 반영이 끝난 뒤에 오프셋 커밋 → 처리량이 Redis 왕복 수가 아니라 배치 크기에 비례
+ *
+ * 📋 중복 반영 방지 (재전달/리밸런스/DLQ 재처리):
+ * - 주문 라인 복원: 예약 기록 기준이라 같은 라인은 한 번만 복원
+ * - 주문 없는 복원: eventId 별 처리 완료 표식과 재고 복원을 스크립트 한 번에 (releaseStockOnce)
+ *   (이 시스템이 발행하는 STOCK_RELEASED 는 모두 orderId 를 가지므로 주문 라인 경로로 처리됨 → 수동/외부 발행분용)
+ * - eventId 없는 이전 형식 이벤트만 중복 제거 없이 복원 → 다른 반영/전송이 모두 끝난 뒤 레코드 순서대로 마지막에 처리
+ *
+ * 📋 실패 처리 (배치를 다시 받지 않음 → 같은 파티션의 다음 이벤트가 막히지 않음):
+ * - 중복 제거되는 복원 실패: 해당 레코드들을 재시도 토픽으로
+ * - eventId 없는 복원 실패: 멱등이 아니므로 자동 재시도 없이 DLQ 로 (확인 후 재처리 API 로 되돌림)
+ * - JSON 오류: DLQ 로
+ * - 재시도/DLQ 전송까지 실패하면 BatchListenerFailedException 으로 다시 받을 위치를 알림
+ *   - 이전 형식 복원 전: 0번부터 (나머지 반영은 모두 중복에 안전)
+ *   - 이전 형식 복원 중: 실패한 레코드부터 → 앞쪽 오프셋만 커밋되어 이미 복원한 레코드는 다시 반영되지 않음
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class KafkaInventoryEventListener {
-
-    private static final String STOCK_KEY_PREFIX = "stock:";
-    private static final String RESERVED_KEY_PREFIX = "reserved:";
+public class KafkaInventoryEventListener implements RetryableEventHandler {
 
-    private final RedisTemplate<String, Integer> redisTemplate;
+    private final InventoryRepositoryPort inventoryPort;
+    private final SoldOutMirror soldOutMirror;
     private final ObjectMapper objectMapper;
+    private final RetryTopicRouter retryRouter;
+
+    @Value("${ordersystem.kafka.topics.inventory-events}")
+    private String inventoryTopic;
 
     @KafkaListener(
             topics = "${ordersystem.kafka.topics.inventory-events}",
-            groupId = "${spring.kafka.consumer.group-id}-inventory"
+            groupId = "${spring.kafka.consumer.group-id}-inventory",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            properties = {
+                    "enable.auto.commit=false",
+                    "max.poll.records=${ordersystem.kafka.inventory-listener.max-poll-records:500}"
+            }
     )
-    public void handleInventoryEvent(String message) {
-        log.debug("재고 이벤트 수신: {}", message);
+    public void handleInventoryEvents(List<ConsumerRecord<String, String>> records, Acknowledgment ack) {
+        log.debug("재고 이벤트 수신: records={}", records.size());
 
+        // 상품/주문별로 모아서 한 번에 반영
+        ReleaseBatch batch = new ReleaseBatch();
         try {
-            // 🔧 JSON 파싱 전에 메시지 형태 확인
-            if (!message.contains("eventType")) {
-                log.warn("잘못된 재고 이벤트 형태 (eventType 없음): {}", message);
-                return;
+            for (int i = 0; i < records.size(); i++) {
+                collect(records.get(i), i, batch);
             }
+            releaseIdempotent(batch);
+        } catch (RuntimeException e) {
+            // 이전 형식 복원 전이므로 배치 전체를 다시 받아도 중복 반영 없음
+            throw new BatchListenerFailedException("재시도/DLQ 토픽 전송 실패 (배치 재처리)", e, 0);
+        }
 
-            // JSON 파싱
-            InventoryEvent event = objectMapper.readValue(message, InventoryEvent.class);
-
-            // 이벤트 타입별 처리
-            switch (event.eventType()) {
-                case InventoryEvent.STOCK_RELEASED -> handleStockReleased(event);
-                case InventoryEvent.STOCK_RESERVED -> handleStockReserved(event);
-                case InventoryEvent.STOCK_CONFIRMED -> handleStockConfirmed(event);
-                default -> log.warn("알 수 없는 이벤트 타입: {}", event.eventType());
+        // 3) 주문 없는 복원 (이전 형식): 레코드 순서대로 1건씩, 실패하면 DLQ (멱등이 아니므로 자동 재시도 없음)
+        for (LegacyRelease release : batch.legacyReleases) {
+            try {
+                inventoryPort.releaseStock(release.productId(), release.quantity());
+            } catch (Exception e) {
+                log.error("Redis 재고 복원 실패 → DLQ: productId={}, quantity={}, error={}",
+                        release.productId(), release.quantity(), e.getMessage(), e);
+                try {
+                    retryRouter.deadLetter(release.record(), e);
+                } catch (RuntimeException sendFailure) {
+                    // 앞쪽 레코드까지만 커밋 → 이미 복원한 이전 형식 레코드는 다시 반영되지 않음
+                    throw new BatchListenerFailedException("DLQ 전송 실패", sendFailure, release.index());
+                }
             }
+        }
 
-        } catch (Exception e) {
-            log.error("재고 이벤트 처리 실패: message={}, error={}",
-                    message, e.getMessage(), e);
-            // TODO: 에러 처리 - 재시도 또는 DLQ
+        ack.acknowledge();
+        log.info("재고 이벤트 일괄 처리: records={}, orders={}, orderlessProducts={}, legacy={}",
+                records.size(), batch.orderLines.size(), batch.eventReleases.size(), batch.legacyReleases.size());
+    }
+
+    private void collect(ConsumerRecord<String, String> record, int index, ReleaseBatch batch) {
+        InventoryEvent event = parse(record);
+        if (event == null) {
+            return;
+        }
+        switch (event.eventType()) {
+            case InventoryEvent.STOCK_RELEASED -> collectRelease(event, record, index, batch);
+            case InventoryEvent.STOCK_RESERVED -> handleStockReserved(event);
+            case InventoryEvent.STOCK_CONFIRMED -> handleStockConfirmed(event);
+            case InventoryEvent.STOCK_RESTOCKED -> { } // 이미 반영된 복원 알림 → 품절 미러 리스너 전용
+            default -> log.warn("알 수 없는 이벤트 타입: {}", event.eventType());
         }
     }
 
     /**
-     * 재고 복원 처리 (주문 취소, 결제 실패 시)
+     * 중복 제거되는 복원 반영 (다시 받아도 같은 라인/이벤트는 한 번만 복원)
      */
-    private void handleStockReleased(InventoryEvent event) {
-        log.info("재고 복원 시작: orderId={}, productId={}, quantity={}",
-                event.orderId(), event.productId(), event.quantity());
-
-        String stockKey = STOCK_KEY_PREFIX + event.productId();
-        String reservedKey = RESERVED_KEY_PREFIX + event.productId();
+    private void releaseIdempotent(ReleaseBatch batch) {
+        // 1) 주문 라인 복원: 스크립트 1회, 실패하면 해당 레코드들을 재시도 토픽으로
+        if (!batch.orderLines.isEmpty()) {
+            try {
+                inventoryPort.releaseReservationLines(batch.orderLines);
+            } catch (Exception e) {
+                log.error("Redis 예약 복원 실패 → 재시도 토픽: orders={}, error={}", batch.orderLines.size(), e.getMessage());
+                batch.orderLineRecords.forEach(record -> retryRouter.route(record, e));
+            }
+        }
 
-        try {
-            // 1. Redis 재고 복원
-            Long restoredStock = redisTemplate.opsForValue()
-                    .increment(stockKey, event.quantity());
+        // 2) 주문 없는 복원 (eventId 있음): 상품별 1회, 이미 처리한 이벤트는 스크립트에서 건너뜀
+        batch.eventReleases.forEach((productId, quantities) -> {
+            try {
+                inventoryPort.releaseStockOnce(productId, quantities);
+            } catch (Exception e) {
+                log.error("Redis 재고 복원 실패 → 재시도 토픽: productId={}, events={}, error={}",
+                        productId, quantities.size(), e.getMessage());
+                batch.eventRecords.get(productId).forEach(record -> retryRouter.route(record, e));
+            }
+        });
+    }
 
-            log.info("Redis 재고 복원 완료: productId={}, quantity={}, newStock={}",
-                    event.productId(), event.quantity(), restoredStock);
+    @Override
+    public String sourceTopic() {
+        return inventoryTopic;
+    }
 
-            // 2. 예약 수량 감소
-            Integer currentReserved = redisTemplate.opsForValue().get(reservedKey);
-            if (currentReserved != null && currentReserved > 0) {
-                Long newReserved = redisTemplate.opsForValue()
-                        .decrement(reservedKey, Math.min(event.quantity(), currentReserved));
+    /**
+     * 재시도 토픽의 이벤트 한 건 처리 (중복 제거되는 복원만 재시도 토픽으로 옴)
+     */
+    @Override
+    public void handle(String message) throws Exception {
+        InventoryEvent event = objectMapper.readValue(message, InventoryEvent.class);
+        if (!InventoryEvent.STOCK_RELEASED.equals(event.eventType()) || event.productId() == null) {
+            return;
+        }
+        if (event.orderId() != null) {
+            inventoryPort.releaseReservationLines(Map.of(event.orderId(), Set.of(event.productId())));
+        } else if (event.quantity() != null && event.quantity() > 0) {
+            if (event.eventId() != null) {
+                inventoryPort.releaseStockOnce(event.productId(), Map.of(event.eventId(), event.quantity()));
+            } else {
+                inventoryPort.releaseStock(event.productId(), event.quantity());
+            }
+        }
+    }
 
-                log.info("예약 수량 조정: productId={}, before={}, after={}",
-                        event.productId(), currentReserved, newReserved);
+    private InventoryEvent parse(ConsumerRecord<String, String> record) {
+        String message = record.value();
+        try {
+            // 🔧 JSON 파싱 전에 메시지 형태 확인
+            if (message == null || !message.contains("eventType")) {
+                throw new IllegalArgumentException("eventType 없음");
             }
+            return objectMapper.readValue(message, InventoryEvent.class);
+        } catch (Exception e) {
+            log.error("재고 이벤트 파싱 실패 → DLQ: message={}, error={}", message, e.getMessage());
+            retryRouter.deadLetter(record, e);
+            return null;
+        }
+    }
 
+    /**
+     * 품절 미러 갱신: 재고 복원(STOCK_RELEASED) 또는 복원 알림(STOCK_RESTOCKED, 만료 예약 복원/DB 동기화)이 보이면 품절 표시 해제
+     * 노드마다 고유 그룹으로 구독 → 복원 처리 파티션과 무관하게 모든 노드가 모든 복원 이벤트를 수신
+     */
+    @KafkaListener(
+            topics = "${ordersystem.kafka.topics.inventory-events}",
+            groupId = "${spring.kafka.consumer.group-id}-stock-mirror-${random.uuid}",
+            autoStartup = "${ordersystem.inventory.sold-out-mirror.enabled:false}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void mirrorInventoryEvent(String message) {
+        try {
+            InventoryEvent event = objectMapper.readValue(message, InventoryEvent.class);
+            boolean restocked = InventoryEvent.STOCK_RELEASED.equals(event.eventType())
+                    || InventoryEvent.STOCK_RESTOCKED.equals(event.eventType());
+            if (restocked && event.productId() != null) {
+                soldOutMirror.clear(event.productId());
+            }
         } catch (Exception e) {
-            log.error("Redis 재고 복원 실패: productId={}, error={}",
-                    event.productId(), e.getMessage(), e);
-            // Redis 장애 시 DB 직접 업데이트 등의 Fallback 로직 필요
+            log.debug("품절 미러 이벤트 무시: message={}, error={}", message, e.getMessage());
+        }
+    }
+
+    /**
+     * 재고 복원 이벤트 모으기 (주문 취소, 결제 실패 시)
+     * 🔧 주문 예약 기록 기준으로 복원 (이미 만료 복원된 예약은 중복 복원하지 않음)
+     */
+    private void collectRelease(InventoryEvent event, ConsumerRecord<String, String> record, int index,
+                                ReleaseBatch batch) {
+        if (event.productId() == null) {
+            log.warn("상품 ID 없는 재고 복원 이벤트 무시: orderId={}", event.orderId());
+            return;
+        }
+        if (event.orderId() != null) {
+            batch.orderLines.computeIfAbsent(event.orderId(), orderId -> new LinkedHashSet<>()).add(event.productId());
+            batch.orderLineRecords.add(record);
+            return;
+        }
+        if (event.quantity() == null || event.quantity() <= 0) {
+            return;
+        }
+        if (event.eventId() != null) {
+            // 같은 배치 안의 중복도 eventId 로 한 번만
+            batch.eventReleases.computeIfAbsent(event.productId(), id -> new LinkedHashMap<>())
+                    .put(event.eventId(), event.quantity());
+            batch.eventRecords.computeIfAbsent(event.productId(), id -> new ArrayList<>()).add(record);
+        } else {
+            batch.legacyReleases.add(new LegacyRelease(index, record, event.productId(), event.quantity()));
         }
     }
 
@@ -108,19 +250,23 @@ public class KafkaInventoryEventListener {
         log.info("재고 확정 이벤트 처리: orderId={}, productId={}, quantity={}",
                 event.orderId(), event.productId(), event.quantity());
 
-        // 예약된 재고를 확정 처리
-        String reservedKey = RESERVED_KEY_PREFIX + event.productId();
+        // 예약 수량은 결제 트랜잭션의 confirmSale 에서 이미 정리됨 (여기서 다시 차감하면 이중 차감)
+    }
 
-        try {
-            Integer currentReserved = redisTemplate.opsForValue().get(reservedKey);
-            if (currentReserved != null && currentReserved >= event.quantity()) {
-                redisTemplate.opsForValue().decrement(reservedKey, event.quantity());
-                log.info("예약 재고 확정 완료: productId={}, quantity={}",
-                        event.productId(), event.quantity());
-            }
-        } catch (Exception e) {
-            log.error("예약 재고 확정 실패: productId={}, error={}",
-                    event.productId(), e.getMessage(), e);
-        }
+    /**
+     * 한 배치의 재고 복원 모음 (반영 단위별 요청 + 실패 시 재시도/DLQ 로 보낼 원본 레코드)
+     */
+    private static final class ReleaseBatch {
+        final Map<Long, Set<Long>> orderLines = new LinkedHashMap<>();
+        final List<ConsumerRecord<String, String>> orderLineRecords = new ArrayList<>();
+        final Map<Long, Map<String, Integer>> eventReleases = new LinkedHashMap<>();
+        final Map<Long, List<ConsumerRecord<String, String>>> eventRecords = new LinkedHashMap<>();
+        final List<LegacyRelease> legacyReleases = new ArrayList<>();
+    }
+
+    /**
+     * 이전 형식 복원 한 건 (index = 배치 안 위치, 실패 시 다시 받을 위치)
+     */
+    private record LegacyRelease(int index, ConsumerRecord<String, String> record, Long productId, int quantity) {
     }
-}
\ No newline at end of file
+}
@@ -1,53 +1,160 @@
 package com.github.hkjs96.ordersystem.adapter.in.messaging;
 
+import com.github.hkjs96.ordersystem.adapter.out.messaging.RetryTopicRouter;
 import com.github.hkjs96.ordersystem.domain.model.OrderEvent;
 import com.github.hkjs96.ordersystem.port.in.DeliveryUseCase;
 import com.github.hkjs96.ordersystem.port.in.OrderUseCase;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+/**
+ * 주문 이벤트 Consumer (결제 완료 → 배송 준비, 배송 준비 → 배송 시작)
+ *
+ * 📋 병렬 처리 (order-listener.parallel.enabled):
+ * - 리스너 스레드는 레코드를 주문 ID(메시지 키) 기준 작업자에 넘기고 바로 다음 레코드로 진행
+ * - 같은 주문은 같은 작업자에서 순서대로, 다른 주문은 동시에 DB 작업 수행
+ * - 처리가 끝난 레코드만 ack → 컨테이너가 파티션별로 빈틈 없이 끝난 오프셋까지만 커밋 (asyncAcks)
+ *   (재시작/리밸런스 시 커밋 이후 레코드는 다시 처리될 수 있음)
+ * - 작업자 큐는 parallel.queue-capacity 로 제한, 가득 차면 리스너 스레드가 대기 → 다음 poll 도 미뤄짐
+ * - 꺼져 있으면 기존처럼 리스너 스레드에서 바로 처리
+ *
+ * 📋 실패 처리:
+ * - 처리에 실패한 레코드는 재시도 토픽(JSON 오류는 DLQ)으로 옮긴 뒤 ack → 같은 파티션의 다른 주문은 계속 진행
+ * - 재시도/DLQ 전송까지 실패하면:
+ *   - 직렬 처리: 예외를 컨테이너로 던져 에러 핸들러가 같은 오프셋부터 다시 poll
+ *   - 병렬 처리: 작업자가 parallel.handoff-retry-ms 간격으로 같은 레코드를 다시 처리/전송
+ *     (nack 은 리스너 스레드에서만 호출 가능 → 작업자에서 붙잡고 있어야 뒤 오프셋 커밋이 영구히 막히지 않음)
+ *   - 종료로 인터럽트되면 ack 없이 포기 → 커밋되지 않았으므로 재시작 후 다시 처리
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class KafkaOrderEventListener {
+public class KafkaOrderEventListener implements RetryableEventHandler {
 
     private final OrderUseCase orderUseCase;
     private final ObjectMapper objectMapper;
     private final DeliveryUseCase deliveryUseCase;
+    private final RetryTopicRouter retryRouter;
+
+    @Value("${ordersystem.kafka.topics.order-events}")
+    private String orderTopic;
+
+    @Value("${ordersystem.kafka.order-listener.parallel.enabled:false}")
+    private boolean parallel;
+
+    @Value("${ordersystem.kafka.order-listener.parallel.workers:8}")
+    private int workerCount;
+
+    @Value("${ordersystem.kafka.order-listener.parallel.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${ordersystem.kafka.order-listener.parallel.handoff-retry-ms:1000}")
+    private long handoffRetryMs;
+
+    private KeyedWorkerPool workers;
+
+    @PostConstruct
+    void init() {
+        if (parallel) {
+            workers = new KeyedWorkerPool(workerCount, queueCapacity, "order-event-worker-");
+            log.info("주문 이벤트 병렬 처리: workers={}, queueCapacity={}", workerCount, queueCapacity);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (workers != null) {
+            workers.close();
+        }
+    }
 
     @KafkaListener(
             topics = "${ordersystem.kafka.topics.order-events}",
-            groupId = "${spring.kafka.consumer.group-id}"
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "orderEventListenerContainerFactory",
+            properties = {
+                    "enable.auto.commit=false",
+                    "max.poll.records=${ordersystem.kafka.order-listener.max-poll-records:50}"
+            }
     )
-    public void onMessage(String message) {
-        try {
-            // JSON → OrderEvent 파싱
-            OrderEvent event = objectMapper.readValue(message, OrderEvent.class);
-
-            log.info("주문 이벤트 처리: orderId={}, status={}", event.orderId(), event.status());
-
-            // 상태에 따라 UseCase 호출
-            switch (event.status()) {
-                case PAYMENT_COMPLETED -> {
-                        log.info("결제 완료 이벤트 처리 → 배송 준비 시작: orderId={}", event.orderId());
-                        deliveryUseCase.initiateShipment(event.orderId());
-                }
-                case SHIPMENT_PREPARING -> {
-                    log.info("배송 준비 이벤트 처리: orderId={}", event.orderId());
-                        deliveryUseCase.ship(event.orderId());
-                }
-                // case SHIPPED 등 추가 분기 필요 시 여기에…
-                default ->
-                        log.info("처리 대상 아님, 상태={}", event.status());
+    public void onMessage(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        if (workers == null) {
+            process(record);
+            ack.acknowledge();
+            return;
         }
-            // 필요한 추가 분기(FAILED, SHIPPED 등) 구현
+        // 키(주문 ID)가 없으면 파티션 단위로 순서 유지
+        Object key = record.key() != null ? record.key() : record.partition();
+        workers.execute(key, () -> processUntilHandedOff(record, ack));
+    }
+
+    /**
+     * 처리(또는 재시도 토픽 전송)가 끝날 때까지 같은 레코드를 붙잡고 반복
+     * - 같은 작업자의 뒤 레코드는 대기 → 키 순서 유지
+     */
+    private void processUntilHandedOff(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        while (true) {
+            try {
+                process(record);
+                ack.acknowledge();
+                return;
+            } catch (Exception e) {
+                log.error("재시도 토픽 전송 실패, {}ms 후 재시도: topic={}, offset={}, key={}, error={}",
+                        handoffRetryMs, record.topic(), record.offset(), record.key(), e.getMessage());
+            }
+            try {
+                Thread.sleep(handoffRetryMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("종료로 재시도 중단 (커밋 보류, 재시작 후 다시 처리): topic={}, offset={}",
+                        record.topic(), record.offset());
+                return;
+            }
+        }
+    }
+
+    private void process(ConsumerRecord<String, String> record) {
+        try {
+            handle(record.value());
         } catch (Exception e) {
-            log.error("Kafka 이벤트 처리 실패: {}", message, e);
-            // TODO: DLQ 전송 또는 재시도 로직 추가 가능
+            retryRouter.route(record, e);
+        }
+    }
+
+    @Override
+    public String sourceTopic() {
+        return orderTopic;
+    }
+
+    @Override
+    public void handle(String message) throws Exception {
+        // JSON → OrderEvent 파싱
+        OrderEvent event = objectMapper.readValue(message, OrderEvent.class);
+
+        log.info("주문 이벤트 처리: orderId={}, status={}", event.orderId(), event.status());
+
+        // 상태에 따라 UseCase 호출
+        switch (event.status()) {
+            case PAYMENT_COMPLETED -> {
+                log.info("결제 완료 이벤트 처리 → 배송 준비 시작: orderId={}", event.orderId());
+                deliveryUseCase.initiateShipment(event.orderId());
+            }
+            case SHIPMENT_PREPARING -> {
+                log.info("배송 준비 이벤트 처리: orderId={}", event.orderId());
+                deliveryUseCase.ship(event.orderId());
+            }
+            // case SHIPPED 등 추가 분기 필요 시 여기에…
+            default ->
+                    log.info("처리 대상 아님, 상태={}", event.status());
         }
     }
 }
@@ -0,0 +1,82 @@
+package com.github.hkjs96.ordersystem.adapter.in.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키 순서 보장 작업자 풀
+ *
+ * 📋 동작 원리:
+ * - 작업자마다 단일 스레드 실행기 + 자기 큐 → 같은 키는 항상 같은 작업자에서 도착 순서대로 실행
+ * - 다른 키는 hash(key) % workers 로 흩어져 동시에 실행
+ * - 큐는 작업자당 queueCapacity 로 제한, 가득 차면 제출한 스레드(리스너)가 자리가 날 때까지 대기
+ *   → 처리가 느려지면 poll 도 함께 멈춰 메모리가 끝없이 늘지 않음
+ * - 종료 시 큐에 남은 작업까지 처리하고 멈춤 (timeout 초과 시 중단)
+ */
+@Slf4j
+class KeyedWorkerPool implements AutoCloseable {
+
+    private final ExecutorService[] workers;
+
+    KeyedWorkerPool(int size, int queueCapacity, String threadPrefix) {
+        workers = new ExecutorService[size];
+        for (int i = 0; i < size; i++) {
+            String name = threadPrefix + i;
+            workers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    KeyedWorkerPool::waitForRoom);
+        }
+    }
+
+    /**
+     * 작업 제출 (해당 작업자의 큐가 가득 차 있으면 자리가 날 때까지 대기)
+     *
+     * @throws RejectedExecutionException 종료 중이거나 대기 중 인터럽트된 경우
+     */
+    void execute(Object key, Runnable task) {
+        workers[Math.floorMod(key.hashCode(), workers.length)].execute(task);
+    }
+
+    int size() {
+        return workers.length;
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        try {
+            for (ExecutorService worker : workers) {
+                if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("작업자 종료 대기 초과, 남은 작업 중단 (커밋 전이므로 재전달됨)");
+                    worker.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitForRoom(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("작업자 종료됨");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("작업자 큐 대기 중 인터럽트", e);
+        }
+    }
+}
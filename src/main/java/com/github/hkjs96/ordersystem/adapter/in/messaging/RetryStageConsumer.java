@@ -0,0 +1,113 @@
+package com.github.hkjs96.ordersystem.adapter.in.messaging;
+
+import com.github.hkjs96.ordersystem.adapter.out.messaging.RetryTopicRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 재시도 토픽 소비 ({topic}-retry-{n})
+ *
+ * 📋 동작 원리:
+ * - 단계마다 별도 컨테이너 → 대기 중인 재시도가 원본 토픽이나 다른 단계의 소비를 막지 않음
+ * - 처리 예정 시각 전이면 nack(남은 시간): 이 단계 컨테이너만 잠시 멈췄다가 같은 레코드부터 다시 받음
+ *   (한 단계 안의 대기 시간은 모두 같으므로 앞 레코드가 가장 먼저 처리 시각이 됨)
+ * - 원본 리스너의 처리기(RetryableEventHandler)로 다시 처리, 실패하면 다음 단계/DLQ 로 넘기고 ack
+ *
+ * 📋 수명 주기 (SmartLifecycle):
+ * - @KafkaListener 컨테이너와 같은 phase 에서 시작/정지 → 컨텍스트 refresh 가 끝난 뒤 소비 시작,
+ *   종료 시에는 다른 빈(처리기, 라우터)이 정리되기 전에 먼저 멈춤
+ * - 컨텍스트 refresh 가 실패하면 시작되지 않아 고아 컨테이너가 남지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RetryStageConsumer implements SmartLifecycle {
+
+    private final RetryTopicRouter router;
+    private final List<RetryableEventHandler> handlers;
+    private final ConcurrentKafkaListenerContainerFactory<Object, Object> retryKafkaListenerContainerFactory;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    private final List<ConcurrentMessageListenerContainer<Object, Object>> containers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        if (!router.isEnabled()) {
+            return;
+        }
+        for (RetryableEventHandler handler : handlers) {
+            for (int stage = 1; stage <= router.stages(); stage++) {
+                String topic = router.retryTopic(handler.sourceTopic(), stage);
+                ConcurrentMessageListenerContainer<Object, Object> container =
+                        retryKafkaListenerContainerFactory.createContainer(topic);
+                container.getContainerProperties().setGroupId(groupId + "-" + topic);
+                container.getContainerProperties().getKafkaConsumerProperties()
+                        .setProperty(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+                container.setupMessageListener((AcknowledgingMessageListener<Object, Object>) (record, ack) ->
+                        onRecord(cast(record), ack, handler));
+                container.start();
+                containers.add(container);
+            }
+        }
+        log.info("재시도 토픽 소비 시작: stages={}, containers={}", router.stages(), containers.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+        containers.clear();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE;
+    }
+
+    void onRecord(ConsumerRecord<String, String> record, Acknowledgment ack, RetryableEventHandler handler) {
+        long wait = router.dueAt(record) - System.currentTimeMillis();
+        if (wait > 0) {
+            ack.nack(Duration.ofMillis(wait));
+            return;
+        }
+        try {
+            handler.handle(record.value());
+            log.info("재시도 성공: topic={}, key={}", record.topic(), record.key());
+        } catch (Exception e) {
+            router.route(record, e);
+        }
+        ack.acknowledge();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConsumerRecord<String, String> cast(ConsumerRecord<Object, Object> record) {
+        return (ConsumerRecord<String, String>) (ConsumerRecord<?, ?>) record;
+    }
+}
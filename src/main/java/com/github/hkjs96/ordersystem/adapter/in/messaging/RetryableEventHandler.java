@@ -0,0 +1,14 @@
+package com.github.hkjs96.ordersystem.adapter.in.messaging;
+
+/**
+ * 재시도 토픽에서 다시 처리할 수 있는 이벤트 처리기
+ * RetryStageConsumer 가 원본 토픽별로 찾아 호출하고, 예외가 나면 다음 단계/DLQ 로 넘김
+ */
+interface RetryableEventHandler {
+
+    /** 처리하는 원본 토픽 */
+    String sourceTopic();
+
+    /** 이벤트 한 건 처리 (실패 시 예외) */
+    void handle(String message) throws Exception;
+}
@@ -0,0 +1,78 @@
+package com.github.hkjs96.ordersystem.adapter.in.scheduler;
+
+import com.github.hkjs96.ordersystem.port.in.OrderUseCase;
+import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 만료된 재고 예약 일괄 복원 스케줄러
+ * - reservation:expiry 정렬 집합에서 만료 시각이 지난 주문만 조회 (비용 ∝ 만료 건수)
+ * - 결제 대기(CREATED) 주문은 취소 처리 후 예약 재고 복원
+ * - 스윕당 조회 1회 + DB 조회 1회 + 주문 인덱스 조회 1회 + 상품당 복원 스크립트 1회
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+        value = "ordersystem.scheduler.reservation.enabled",
+        havingValue = "true",
+        matchIfMissing = true
+)
+public class ReservationReaper {
+
+    private final InventoryRepositoryPort inventoryPort;
+    private final OrderUseCase orderUseCase;
+
+    @Value("${ordersystem.scheduler.reservation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ordersystem.scheduler.reservation.max-batches-per-sweep:10}")
+    private int maxBatchesPerSweep;
+
+    @Scheduled(fixedDelayString = "${ordersystem.scheduler.reservation.sweep-interval-ms:10000}")
+    public void reapExpiredReservations() {
+        for (int batch = 0; batch < maxBatchesPerSweep; batch++) {
+            try {
+                if (reapBatch() < batchSize) {
+                    return;
+                }
+            } catch (Exception e) {
+                log.error("만료 예약 복원 실패: error={}", e.getMessage(), e);
+                return;
+            }
+        }
+        log.warn("만료 예약이 남아 있음: 다음 스윕에서 계속 처리 (batchSize={}, batches={})",
+                batchSize, maxBatchesPerSweep);
+    }
+
+    private int reapBatch() {
+        List<Long> expired = inventoryPort.findExpiredReservations(batchSize);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        // 1) DB: 결제 대기 주문 취소 (커밋 후 재고 복원 → 결제와 경합해도 초과 판매 방지)
+        List<Long> releasable = orderUseCase.expireUnpaidOrders(expired);
+
+        // 2) Redis: 만료 예약 일괄 복원 (스크립트 1회)
+        int released = inventoryPort.releaseReservations(releasable);
+
+        // 3) 이미 결제된 주문은 재고 복원 없이 기록만 정리
+        Set<Long> releasableIds = new HashSet<>(releasable);
+        List<Long> paid = expired.stream().filter(id -> !releasableIds.contains(id)).toList();
+        inventoryPort.discardReservations(paid);
+
+        log.info("만료 예약 복원: expired={}, released={}건/{}개, paid={}",
+                expired.size(), releasable.size(), released, paid.size());
+        return expired.size();
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.hkjs96.ordersystem.adapter.in.web;
+
+import com.github.hkjs96.ordersystem.adapter.out.messaging.DeadLetterReplayer;
+import com.github.hkjs96.ordersystem.common.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Dead Letter API", description = "처리 실패 이벤트(DLQ) 재처리 API")
+@RestController
+@RequestMapping("/api/admin/dead-letters")
+@RequiredArgsConstructor
+public class DeadLetterController {
+
+    private final DeadLetterReplayer replayer;
+
+    @Operation(summary = "DLQ 재처리",
+            description = "{topic}-dlq 의 이벤트를 원본 토픽으로 되돌립니다 (재시도 횟수 초기화, 최대 max 건)")
+    @PostMapping("/{topic}/replay")
+    public ResponseEntity<ApiResponse<Integer>> replay(
+            @PathVariable String topic,
+            @RequestParam(defaultValue = "100") int max) {
+        return ResponseEntity.ok(ApiResponse.success(replayer.replay(topic, max)));
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.hkjs96.ordersystem.adapter.in.web;
+
+import com.github.hkjs96.ordersystem.adapter.out.cache.HotProductTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/hotproducts: 직전 집계 구간의 상위 상품과 초당 요청 수
+ */
+@Component
+@Endpoint(id = "hotproducts")
+@RequiredArgsConstructor
+public class HotProductsEndpoint {
+
+    private final HotProductTracker tracker;
+
+    @ReadOperation
+    public HotProductTracker.Snapshot hotProducts() {
+        return tracker.snapshot();
+    }
+}
@@ -1,13 +1,31 @@
 package com.github.hkjs96.ordersystem.adapter.in.web;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hkjs96.ordersystem.adapter.out.cache.HotProductTracker;
 import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryRepository;
 import com.github.hkjs96.ordersystem.common.ApiResponse;
+import com.github.hkjs96.ordersystem.domain.model.StockStatus;
+import com.github.hkjs96.ordersystem.dto.request.AvailabilityBatchRequest;
+import com.github.hkjs96.ordersystem.dto.request.StockStatusBatchRequest;
+import com.github.hkjs96.ordersystem.dto.response.StockAvailabilityResponse;
 import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Inventory API", description = "재고 관리 및 모니터링 API")
 @RestController
@@ -16,41 +34,131 @@ import org.springframework.web.bind.annotation.*;
 public class InventoryController {
 
     private final InventoryRepositoryPort inventoryPort;
+    private final ObjectMapper objectMapper;
+    private final HotProductTracker hotProducts;
+
+    /** 여러 상품 조회 시 저장소/DB 를 한 번에 조회하는 상품 수 (묶음마다 응답을 흘려보냄) */
+    @Value("${ordersystem.inventory.batch-query.chunk-size:200}")
+    private int chunkSize;
 
     @Operation(summary = "재고 상태 조회", description = "상품의 DB/Redis 재고 상태를 조회합니다")
     @GetMapping("/{productId}/status")
-    public ResponseEntity<ApiResponse<InventoryRepository.StockStatus>> getStockStatus(
-            @PathVariable Long productId) {
+    public ResponseEntity<ApiResponse<StockStatus>> getStockStatus(@PathVariable Long productId) {
+        hotProducts.record(productId);
+        StockStatus status = inventoryPort.getStockStatus(productId);
+        return ResponseEntity.ok(ApiResponse.success(status));
+    }
+
+    @Operation(summary = "재고 동기화", description = "DB와 Redis 간 재고 정보를 동기화합니다")
+    @PostMapping("/{productId}/sync")
+    public ResponseEntity<ApiResponse<Void>> syncStock(@PathVariable Long productId) {
+        inventoryPort.syncWithDatabase(productId);
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+
+    @Operation(summary = "재고 가용성 확인", description = "특정 수량의 재고 가용성을 확인합니다")
+    @GetMapping("/{productId}/available")
+    public ResponseEntity<ApiResponse<Boolean>> checkStockAvailability(
+            @PathVariable Long productId,
+            @RequestParam int quantity) {
+
+        // 조회 전용 경로: 예약하지 않고 현재 재고만 확인
+        hotProducts.record(productId);
+        boolean available = inventoryPort.isStockAvailable(productId, quantity);
+        return ResponseEntity.ok(ApiResponse.success(available));
+    }
+
+    @Operation(summary = "여러 상품 재고 상태 조회",
+            description = "상품 목록의 DB/Redis 재고 상태를 한 번에 조회합니다 (없는 상품은 생략, 스트리밍 응답)")
+    @PostMapping(value = "/status:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getStockStatuses(@RequestBody @Valid StockStatusBatchRequest request) {
+        for (Long productId : request.productIds()) {
+            hotProducts.record(productId);
+        }
+        return streamInChunks(request.productIds(), inventoryPort::getStockStatuses);
+    }
+
+    @Operation(summary = "여러 상품 재고 가용성 확인",
+            description = "상품별 수량의 재고 가용성을 한 번에 확인합니다 (예약하지 않음, 스트리밍 응답)")
+    @PostMapping(value = "/available:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> checkStockAvailabilities(
+            @RequestBody @Valid AvailabilityBatchRequest request) {
+
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(request.toQuantities().entrySet());
+        for (Map.Entry<Long, Integer> line : lines) {
+            hotProducts.record(line.getKey());
+        }
+        return streamInChunks(lines, chunk -> {
+            Map<Long, Integer> quantities = new LinkedHashMap<>();
+            chunk.forEach(line -> quantities.put(line.getKey(), line.getValue()));
+            List<StockAvailabilityResponse> responses = new ArrayList<>(quantities.size());
+            inventoryPort.checkAvailability(quantities).forEach((productId, available) ->
+                    responses.add(new StockAvailabilityResponse(productId, quantities.get(productId), available)));
+            return responses;
+        });
+    }
+
+    @Operation(summary = "재고 샤딩 활성화", description = "인기 상품의 Redis 재고 키를 N개 샤드로 분산합니다")
+    @PostMapping("/{productId}/shards")
+    public ResponseEntity<ApiResponse<Integer>> enableSharding(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "8") int count) {
 
         if (inventoryPort instanceof InventoryRepository inventoryRepository) {
-            InventoryRepository.StockStatus status = inventoryRepository.getStockStatus(productId);
-            return ResponseEntity.ok(ApiResponse.success(status));
+            int shards = inventoryRepository.enableSharding(productId, count);
+            return ResponseEntity.ok(ApiResponse.success(shards));
         }
 
         return ResponseEntity.badRequest()
-                .body(ApiResponse.error("재고 상태 조회 불가"));
+                .body(ApiResponse.error("재고 샤딩 불가"));
     }
 
-    @Operation(summary = "재고 동기화", description = "DB와 Redis 간 재고 정보를 동기화합니다")
-    @PostMapping("/{productId}/sync")
-    public ResponseEntity<ApiResponse<Void>> syncStock(@PathVariable Long productId) {
+    @Operation(summary = "재고 샤딩 해제", description = "샤드 재고를 단일 Redis 키로 병합합니다")
+    @DeleteMapping("/{productId}/shards")
+    public ResponseEntity<ApiResponse<Void>> disableSharding(@PathVariable Long productId) {
 
         if (inventoryPort instanceof InventoryRepository inventoryRepository) {
-            inventoryRepository.syncWithDatabase(productId);
+            inventoryRepository.disableSharding(productId);
             return ResponseEntity.ok(ApiResponse.success(null));
         }
 
         return ResponseEntity.badRequest()
-                .body(ApiResponse.error("재고 동기화 불가"));
+                .body(ApiResponse.error("재고 샤딩 해제 불가"));
     }
 
-    @Operation(summary = "재고 가용성 확인", description = "특정 수량의 재고 가용성을 확인합니다")
-    @GetMapping("/{productId}/available")
-    public ResponseEntity<ApiResponse<Boolean>> checkStockAvailability(
-            @PathVariable Long productId,
-            @RequestParam int quantity) {
+    /**
+     * ApiResponse 형식({success, data: [...], error})을 묶음 단위로 조회하며 흘려보냄
+     * 첫 묶음은 응답 전에 조회 → 잘못된 요청/저장소 오류는 일반 오류 응답으로 처리
+     */
+    private <I, O> ResponseEntity<StreamingResponseBody> streamInChunks(
+            List<I> items, Function<List<I>, List<O>> lookup) {
+        List<List<I>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+        List<O> first = chunks.isEmpty() ? List.of() : lookup.apply(chunks.get(0));
 
-        boolean available = inventoryPort.isStockAvailable(productId, quantity);
-        return ResponseEntity.ok(ApiResponse.success(available));
+        StreamingResponseBody body = out -> {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+            json.writeStartObject();
+            json.writeBooleanField("success", true);
+            json.writeArrayFieldStart("data");
+            writeAll(json, first);
+            for (int i = 1; i < chunks.size(); i++) {
+                json.flush(); // 앞 묶음을 먼저 내보낸 뒤 다음 묶음 조회
+                writeAll(json, lookup.apply(chunks.get(i)));
+            }
+            json.writeEndArray();
+            json.writeNullField("error");
+            json.writeEndObject();
+            json.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static void writeAll(JsonGenerator json, List<?> values) throws IOException {
+        for (Object value : values) {
+            json.writeObject(value);
+        }
     }
 }
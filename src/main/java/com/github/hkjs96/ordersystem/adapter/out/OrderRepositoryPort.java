@@ -1,6 +1,8 @@
 package com.github.hkjs96.ordersystem.adapter.out;
 
 import com.github.hkjs96.ordersystem.domain.entity.Order;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepositoryPort {
@@ -14,6 +16,11 @@ public interface OrderRepositoryPort {
      */
     Optional<Order> findById(Long orderId);
 
+    /**
+     * 여러 주문을 한 번의 쿼리로 조회합니다. (없는 ID 는 결과에서 제외)
+     */
+    List<Order> findAllById(Collection<Long> orderIds);
+
     /**
      * 주문을 삭제합니다.
      */
@@ -0,0 +1,91 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 상품 접근 빈도 근사 카운터 (Count-Min sketch)
+ *
+ * 📋 동작 원리:
+ * - DEPTH 개의 행마다 서로 다른 해시로 칸을 골라 1씩 증가
+ * - 추정치 = 행별 칸 값 중 최솟값 (과대 추정만 있고 과소 추정은 없음)
+ * - decay() 로 전체 값을 절반으로 줄여 최근 접근에 가중치 (오래된 인기 상품은 자연히 식음)
+ * - 메모리는 상품 수와 무관하게 DEPTH x width 개의 int
+ */
+class AccessSketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final AtomicIntegerArray counters;
+    private final int mask;
+
+    /**
+     * @param width 행당 칸 수 (2의 거듭제곱으로 올림)
+     */
+    AccessSketch(int width) {
+        int size = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.mask = size - 1;
+        this.counters = new AtomicIntegerArray(DEPTH * size);
+    }
+
+    void increment(long key) {
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(row, key);
+            if (counters.get(index) < Integer.MAX_VALUE) {
+                counters.incrementAndGet(index);
+            }
+        }
+    }
+
+    /**
+     * 증가 후 추정치 반환 (increment + estimate 를 한 번의 순회로)
+     */
+    int incrementAndEstimate(long key) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(row, key);
+            int value = counters.get(index);
+            if (value < Integer.MAX_VALUE) {
+                value = counters.incrementAndGet(index);
+            }
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    int estimate(long key) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(index(row, key)));
+        }
+        return min;
+    }
+
+    /**
+     * 모든 칸을 절반으로 (동시 증가분 일부는 유실될 수 있으나 근사 카운터라 무방)
+     */
+    void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+    }
+
+    /**
+     * 모든 칸을 0 으로 (집계 구간 교체)
+     */
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private int index(int row, long key) {
+        long h = (key ^ SEEDS[row]) * 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return row * (mask + 1) + (int) (h & mask);
+    }
+}
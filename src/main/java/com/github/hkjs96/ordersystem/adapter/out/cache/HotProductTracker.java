@@ -0,0 +1,223 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.github.hkjs96.ordersystem.adapter.out.event.DomainEventPublisher;
+import com.github.hkjs96.ordersystem.domain.event.HotProductEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인기 상품 감지 (heavy hitters: Count-Min sketch + 상위 K 표)
+ *
+ * 📋 동작 원리:
+ * - 주문 생성/재고 조회마다 상품 ID 를 AccessSketch 에 기록하고 추정치를 받음 (고정 배열, 할당 없음)
+ * - 추정치가 상위 K 표의 최솟값보다 크고 표에 없는 상품만 잠금 후 표에 편입 (대부분의 요청은 잠금 없음)
+ * - 집계 구간(window)이 끝나면 표의 상품별 초당 요청 수를 스냅샷으로 보관하고 sketch/표를 비움
+ * - hot-rate 이상이면 HOT, cold-rate 미만으로 떨어지면 COLD 로 전환하고 HotProductEvent 발행
+ *   (두 기준 사이는 그대로 유지 → 경계에서 전환이 반복되지 않음)
+ * - 집계는 노드 로컬 (노드마다 자기 트래픽 기준으로 판단)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotProductTracker {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final DomainEventPublisher eventPublisher;
+
+    @Value("${ordersystem.inventory.hot-products.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ordersystem.inventory.hot-products.top-k:32}")
+    private int topK;
+
+    @Value("${ordersystem.inventory.hot-products.sketch-width:4096}")
+    private int sketchWidth;
+
+    @Value("${ordersystem.inventory.hot-products.hot-rate-per-second:50}")
+    private double hotRate;
+
+    @Value("${ordersystem.inventory.hot-products.cold-rate-per-second:20}")
+    private double coldRate;
+
+    private AccessSketch sketch;
+
+    /** 상위 K 후보 상품 ID (빈 칸 = EMPTY), 요청 경로에서 잠금 없이 조회 */
+    private AtomicLongArray topIds;
+
+    /** 표 편입 기준: 표가 가득 찼을 때 최소 추정치 (차기 전에는 0) */
+    private volatile int admission;
+
+    private final Set<Long> hot = ConcurrentHashMap.newKeySet();
+    private volatile Snapshot snapshot = new Snapshot(null, 0, List.of());
+    private volatile long windowStartedNanos;
+
+    @PostConstruct
+    void init() {
+        sketch = new AccessSketch(sketchWidth);
+        topIds = new AtomicLongArray(topK);
+        clearTable();
+        windowStartedNanos = System.nanoTime();
+    }
+
+    /**
+     * 상품 요청 기록 (요청 경로: 할당 없음)
+     */
+    public void record(long productId) {
+        if (!enabled) {
+            return;
+        }
+        int estimate = sketch.incrementAndEstimate(productId);
+        if (estimate > admission && !inTable(productId)) {
+            offer(productId, estimate);
+        }
+    }
+
+    public boolean isHot(Long productId) {
+        return hot.contains(productId);
+    }
+
+    /**
+     * 직전 집계 구간의 상위 상품 (요청 수 내림차순)
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 집계 구간 교체: 초당 요청 수 계산 → 스냅샷 보관 → HOT/COLD 전환 이벤트 발행
+     */
+    @Scheduled(fixedDelayString = "${ordersystem.inventory.hot-products.window-ms:10000}")
+    public void rollWindow() {
+        if (!enabled) {
+            return;
+        }
+        long windowStarted = windowStartedNanos;
+        List<HotProduct> top = closeWindow();
+
+        List<HotProductEvent> events = new ArrayList<>();
+        for (HotProduct product : top) {
+            if (product.ratePerSecond() >= hotRate && hot.add(product.productId())) {
+                events.add(new HotProductEvent(product.productId(), true, product.ratePerSecond()));
+            }
+        }
+        for (Long productId : new ArrayList<>(hot)) {
+            double rate = top.stream()
+                    .filter(product -> product.productId().equals(productId))
+                    .mapToDouble(HotProduct::ratePerSecond)
+                    .findFirst()
+                    .orElse(0);
+            if (rate < coldRate && hot.remove(productId)) {
+                events.add(new HotProductEvent(productId, false, rate));
+            }
+        }
+
+        snapshot = new Snapshot(Instant.now(),
+                TimeUnit.NANOSECONDS.toMillis(windowStartedNanos - windowStarted),
+                top.stream().map(product -> product.withHot(hot.contains(product.productId()))).toList());
+
+        for (HotProductEvent event : events) {
+            log.info("인기 상품 {}: productId={}, rate={}/s",
+                    event.hot() ? "HOT" : "COLD", event.productId(), String.format("%.1f", event.ratePerSecond()));
+            eventPublisher.publish(event);
+        }
+    }
+
+    private synchronized List<HotProduct> closeWindow() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - windowStartedNanos)) / 1000.0;
+
+        List<HotProduct> top = new ArrayList<>(topK);
+        for (int i = 0; i < topK; i++) {
+            long productId = topIds.get(i);
+            if (productId != EMPTY) {
+                int count = sketch.estimate(productId);
+                top.add(new HotProduct(productId, count, count / seconds, false));
+            }
+        }
+        top.sort(Comparator.comparingInt(HotProduct::count).reversed());
+
+        sketch.clear();
+        clearTable();
+        windowStartedNanos = now;
+        return top;
+    }
+
+    /**
+     * 표에 편입: 빈 칸이 있으면 채우고, 가득 찼으면 추정치가 가장 작은 후보와 교체
+     */
+    private synchronized void offer(long productId, int estimate) {
+        if (inTable(productId)) {
+            return;
+        }
+        int slot = -1;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < topK; i++) {
+            long candidate = topIds.get(i);
+            if (candidate == EMPTY) {
+                topIds.set(i, productId);
+                if (i == topK - 1) {
+                    admission = minEstimate();
+                }
+                return;
+            }
+            int count = sketch.estimate(candidate);
+            if (count < min) {
+                min = count;
+                slot = i;
+            }
+        }
+        if (estimate > min) {
+            topIds.set(slot, productId);
+            admission = minEstimate();
+        } else {
+            admission = min;
+        }
+    }
+
+    private boolean inTable(long productId) {
+        for (int i = 0; i < topK; i++) {
+            if (topIds.get(i) == productId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int minEstimate() {
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < topK; i++) {
+            min = Math.min(min, sketch.estimate(topIds.get(i)));
+        }
+        return min;
+    }
+
+    private void clearTable() {
+        for (int i = 0; i < topK; i++) {
+            topIds.set(i, EMPTY);
+        }
+        admission = 0;
+    }
+
+    public record HotProduct(Long productId, int count, double ratePerSecond, boolean hot) {
+        HotProduct withHot(boolean hot) {
+            return new HotProduct(productId, count, ratePerSecond, hot);
+        }
+    }
+
+    public record Snapshot(Instant windowEndedAt, long windowMs, List<HotProduct> products) {
+    }
+}
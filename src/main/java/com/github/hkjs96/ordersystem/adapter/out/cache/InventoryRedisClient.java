@@ -0,0 +1,133 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 핫패스 전용 Redis 클라이언트 (직렬화기 없이 바이트/정수로 직접 처리)
+ *
+ * 📋 동작 원리:
+ * - RedisTemplate 의 String/Integer 직렬화 대신 연결의 바이트 API 를 바로 호출
+ * - 키는 InventoryRedisCodec 캐시 바이트, 수량은 ASCII 바이트, 스크립트 결과는 INTEGER 응답(long)
+ * - 스크립트는 EVALSHA 로 보내고 서버에 없으면(NOSCRIPT) 본문 EVAL 로 한 번 재시도
+ * - 예약/복원/확정/가용 재고 확인만 담당, 나머지 경로는 기존 RedisTemplate 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class InventoryRedisClient {
+
+    /** 재고 해시 없음 (스크립트 반환값과 같은 의미) */
+    public static final long KEY_MISSING = -2L;
+    /** 샤딩된 상품 (스크립트 반환값과 같은 의미) */
+    public static final long SHARDED = -3L;
+
+    private static final byte[][] AVAILABLE_AND_SHARDS = {
+            StockKeys.AVAILABLE.getBytes(StandardCharsets.UTF_8),
+            StockKeys.SHARDS.getBytes(StandardCharsets.UTF_8)
+    };
+
+    private final RedisTemplate<String, Integer> redisTemplate;
+    private final InventoryScripts scripts;
+
+    @Value("${ordersystem.inventory.redis-client.key-cache-size:65536}")
+    private int keyCacheSize;
+
+    private InventoryRedisCodec codec;
+    private Script reserve;
+    private Script release;
+    private Script confirm;
+
+    @PostConstruct
+    void init() {
+        codec = new InventoryRedisCodec(keyCacheSize);
+        reserve = Script.of(scripts.getReserve());
+        release = Script.of(scripts.getRelease());
+        confirm = Script.of(scripts.getConfirm());
+    }
+
+    /**
+     * reserve.lua: 남은 재고, -1 부족, -2 키 없음, -3 샤딩, -4 품절
+     */
+    public long reserve(Long productId, int quantity) {
+        return eval(reserve, productId, quantity);
+    }
+
+    /**
+     * release.lua: 복원 후 재고, -2 키 없음, -3 샤딩
+     */
+    public long release(Long productId, int quantity) {
+        return eval(release, productId, quantity);
+    }
+
+    /**
+     * confirm.lua: 남은 예약 수량, -1 예약 부족, -3 샤딩
+     */
+    public long confirm(Long productId, int quantity) {
+        return eval(confirm, productId, quantity);
+    }
+
+    /**
+     * 가용 재고 (HMGET available shards)
+     *
+     * @return 가용 재고, 해시가 없으면 KEY_MISSING, 샤딩 표식이 있으면 SHARDED
+     */
+    public long available(Long productId) {
+        byte[] key = codec.stockKey(productId);
+        List<byte[]> state = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.hashCommands().hMGet(key, AVAILABLE_AND_SHARDS));
+        if (state == null) {
+            return KEY_MISSING;
+        }
+        if (state.get(1) != null) {
+            return SHARDED;
+        }
+        return state.get(0) != null ? InventoryRedisCodec.decode(state.get(0)) : KEY_MISSING;
+    }
+
+    private long eval(Script script, Long productId, int quantity) {
+        byte[] key = codec.stockKey(productId);
+        byte[] arg = InventoryRedisCodec.encode(quantity);
+        Long result = redisTemplate.execute((RedisCallback<Long>) connection -> {
+            try {
+                return connection.scriptingCommands().evalSha(script.sha(), ReturnType.INTEGER, 1, key, arg);
+            } catch (RuntimeException e) {
+                if (!isNoScript(e)) {
+                    throw e;
+                }
+                log.debug("스크립트 미등록(NOSCRIPT), 본문으로 재실행: sha={}", script.name());
+                return connection.scriptingCommands().eval(script.body(), ReturnType.INTEGER, 1, key, arg);
+            }
+        });
+        return result != null ? result : KEY_MISSING;
+    }
+
+    private static boolean isNoScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Script(String name, byte[] sha, byte[] body) {
+
+        static Script of(RedisScript<?> script) {
+            return new Script(script.getSha1(), script.getSha1().getBytes(StandardCharsets.US_ASCII),
+                    script.getScriptAsString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
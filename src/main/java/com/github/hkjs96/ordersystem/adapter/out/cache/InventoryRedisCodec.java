@@ -0,0 +1,115 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 재고 카운터 전용 바이트 코덱 (String 변환 없음)
+ *
+ * 📋 동작 원리:
+ * - 재고 키 stock:{productId} 바이트 배열을 상품별로 캐시 (직접 매핑 테이블, 충돌 시 덮어씀)
+ * - 정수 인자는 ASCII 숫자 바이트로 바로 기록, 자주 쓰는 작은 값(0~1023)은 미리 만든 배열 재사용
+ * - 응답의 ASCII 숫자는 바이트에서 바로 파싱 → String 생성/파싱 없음
+ * - Redis 는 해시 필드 값을 10진 문자열로 저장하므로 서버 쪽 표현은 기존 직렬화와 동일
+ */
+public final class InventoryRedisCodec {
+
+    private static final byte[] STOCK_PREFIX = "stock:{".getBytes(StandardCharsets.US_ASCII);
+    private static final int SMALL_VALUES = 1024;
+    private static final byte[][] SMALL = new byte[SMALL_VALUES][];
+
+    static {
+        for (int i = 0; i < SMALL_VALUES; i++) {
+            SMALL[i] = Integer.toString(i).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final AtomicReferenceArray<CachedKey> keys;
+    private final int mask;
+
+    /**
+     * @param keyCacheSize 캐시할 재고 키 수 (2의 거듭제곱으로 올림)
+     */
+    public InventoryRedisCodec(int keyCacheSize) {
+        int capacity = Integer.highestOneBit(Math.max(keyCacheSize - 1, 1)) << 1;
+        keys = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * stock:{productId} 키 바이트 (캐시 적중 시 할당 없음)
+     */
+    public byte[] stockKey(long productId) {
+        if (productId < 0) {
+            return StockKeys.stock(productId).getBytes(StandardCharsets.UTF_8);
+        }
+        int slot = (int) ((productId * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        CachedKey cached = keys.get(slot);
+        if (cached != null && cached.productId == productId) {
+            return cached.key;
+        }
+        byte[] key = new byte[STOCK_PREFIX.length + digits(productId) + 1];
+        System.arraycopy(STOCK_PREFIX, 0, key, 0, STOCK_PREFIX.length);
+        writeDigits(productId, key, key.length - 1);
+        key[key.length - 1] = '}';
+        keys.set(slot, new CachedKey(productId, key));
+        return key;
+    }
+
+    /**
+     * 정수 → ASCII 10진 바이트 (0~1023 은 공유 배열, 호출자는 수정 금지)
+     */
+    public static byte[] encode(long value) {
+        if (value >= 0 && value < SMALL_VALUES) {
+            return SMALL[(int) value];
+        }
+        boolean negative = value < 0;
+        long magnitude = negative ? -value : value;
+        byte[] bytes = new byte[digits(magnitude) + (negative ? 1 : 0)];
+        writeDigits(magnitude, bytes, bytes.length);
+        if (negative) {
+            bytes[0] = '-';
+        }
+        return bytes;
+    }
+
+    /**
+     * ASCII 10진 바이트 → 정수
+     */
+    public static long decode(byte[] ascii) {
+        if (ascii == null || ascii.length == 0) {
+            throw new IllegalArgumentException("숫자 값이 비어 있습니다");
+        }
+        boolean negative = ascii[0] == '-';
+        long value = 0;
+        for (int i = negative ? 1 : 0; i < ascii.length; i++) {
+            int digit = ascii[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("숫자가 아닌 값: " + new String(ascii, StandardCharsets.US_ASCII));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /** end 바로 앞에서부터 거꾸로 기록 */
+    private static void writeDigits(long value, byte[] target, int end) {
+        int i = end;
+        do {
+            target[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+    }
+
+    private record CachedKey(long productId, byte[] key) {
+    }
+}
@@ -1,52 +1,206 @@
 package com.github.hkjs96.ordersystem.adapter.out.cache;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import com.github.hkjs96.ordersystem.adapter.out.event.DomainEventPublisher;
+import com.github.hkjs96.ordersystem.adapter.out.persistence.DegradedInventoryStore;
+import com.github.hkjs96.ordersystem.adapter.out.persistence.StockConfirmationWriteBehind;
 import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.event.StockRestockedEvent;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.domain.model.StockStatus;
 import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
 import com.github.hkjs96.ordersystem.exception.InsufficientStockException;
 import com.github.hkjs96.ordersystem.exception.ReservationFailedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
 import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Redis + DB 하이브리드 재고 관리 구현체
  *
  * 📋 동작 원리:
- * - 주문 생성: Redis 빠른 체크 + 예약
+ * - 재고: 상품당 해시 1개 stock:{productId} (available/reserved/version, StockKeys 참고)
+ * - 주문 생성: Redis Lua 스크립트로 확인 + 차감 + 예약을 원자 처리 (1 RTT)
  * - 결제 완료: DB 실제 차감 + Redis 정리
  * - 주문 취소: Redis 복원
+ * - 주문 예약 기록: 상품별 라인 해시 reservation:{productId} + 주문 → 상품 인덱스 + reservation:expiry 정렬 집합 (만료 시 리퍼가 복원)
+ *   라인 정리와 재고 복원은 상품마다 단일 슬롯 스크립트 1회 (Redis Cluster 에서도 CROSSSLOT 없음)
+ * - 인기 상품: ShardedStockCounter 로 재고 키를 N개로 분산 (선택)
+ * - 인기 상품: StockLeaseManager 로 노드 로컬 임대분에서 예약 (선택)
+ * - 캐시 미스: StockCacheLoader 로 상품별 단일 로딩 (DB 조회 폭주 방지)
+ * - 인기 상품: StockRefreshAhead 가 만료 전에 재고 키를 검증 후 연장
+ * - 품절 상품: SoldOutMirror 로 Redis 조회 없이 거절, 품절/재입고 전환은 SoldOutBroadcaster 로 전 노드 전파 (선택)
+ *   (재고 복원 이벤트가 없는 만료 예약 복원/DB 동기화는 StockRestockedEvent 로 inventory-events 에도 알림)
+ * - 목록 화면: 여러 상품 상태/가용성을 파이프라인 1회 + DB 조회 1회로 처리
+ * - 예약/복원/확정/단건 가용성: InventoryRedisClient 로 직렬화 없이 바이트 단위 호출
+ * - Redis 장애: RedisCircuitBreaker 가 열리면 DegradedInventoryStore(DB reserved_stock)로 처리, 복구 시 재동기화
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
 public class InventoryRepository implements InventoryRepositoryPort {
 
-    private static final String STOCK_KEY_PREFIX = "stock:";
-    private static final String RESERVED_KEY_PREFIX = "reserved:";
+    private static final byte[] RESERVATION_EXPIRY_KEY = StockKeys.RESERVATION_EXPIRY.getBytes(StandardCharsets.UTF_8);
+    private static final String RELEASE_MODE = "release";
+    private static final String CONFIRM_MODE = "confirm";
+    private static final long KEY_MISSING = -2L;
+    private static final long INSUFFICIENT = -1L;
+    private static final long SHARDED = -3L;
+    private static final long SOLD_OUT = -4L;
+    private static final long BATCH_RESERVED = 0L;
+    private static final long BATCH_INSUFFICIENT = 1L;
+    private static final long BATCH_SHARDED = 3L;
+    private static final long STOCK_TTL_SECONDS = TimeUnit.HOURS.toSeconds(24);
+
     private final RedisTemplate<String, Integer> redisTemplate;
+    private final InventoryRedisClient stockClient;
     private final ProductRepository productRepository;
+    private final InventoryScripts scripts;
+    private final ShardedStockCounter shardedCounter;
+    private final StockLeaseManager leaseManager;
+    private final StockConfirmationWriteBehind writeBehind;
+    private final StockCacheLoader stockLoader;
+    private final StockRefreshAhead refreshAhead;
+    private final SoldOutMirror soldOutMirror;
+    private final SoldOutBroadcaster soldOutBroadcaster;
+    private final RedisCircuitBreaker breaker;
+    private final DegradedInventoryStore degradedStore;
+    private final DomainEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    /** 결제 대기 주문의 예약 유지 시간 (만료 시 리퍼가 재고 복원) */
+    @Value("${ordersystem.inventory.reservation-ttl-seconds:3600}")
+    private long reservationTtlSeconds;
+
+    /** Redis Cluster: 장바구니 예약을 여러 상품 키 스크립트 대신 라인별 예약 + 실패 시 보상으로 처리 */
+    @Value("${ordersystem.inventory.redis-cluster:false}")
+    private boolean redisCluster;
+
+    /** 처리 완료 이벤트 표식 유지 시간 (Kafka 보존 기간 이상이면 재처리해도 중복 복원 없음) */
+    @Value("${ordersystem.inventory.processed-event-ttl-seconds:604800}")
+    private long processedEventTtlSeconds;
 
     @Override
     public boolean isStockAvailable(Long productId, int quantity) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("요청 수량은 최소 1 이상이어야 합니다. requested=" + quantity);
         }
+        return breaker.read("check", () -> isStockAvailableOnRedis(productId, quantity),
+                () -> degradedStore.isAvailable(productId, quantity));
+    }
 
-        String stockKey = STOCK_KEY_PREFIX + productId;
-        Integer available = redisTemplate.opsForValue().get(stockKey);
+    private boolean isStockAvailableOnRedis(Long productId, int quantity) {
+        Boolean known = availableWithoutLookup(productId, quantity);
+        if (known != null) {
+            return known;
+        }
+
+        long cached = stockClient.available(productId);
+        return availableFromState(productId, quantity, cached == SHARDED, cached >= 0 ? (int) cached : null);
+    }
 
+    /**
+     * 여러 상품 가용성 확인: 재고 해시는 파이프라인 1회로 조회
+     */
+    @Override
+    public Map<Long, Boolean> checkAvailability(Map<Long, Integer> quantities) {
+        requirePositiveQuantities(quantities);
+        return breaker.read("check", () -> checkAvailabilityOnRedis(quantities),
+                () -> degradedStore.checkAvailability(quantities));
+    }
+
+    private Map<Long, Boolean> checkAvailabilityOnRedis(Map<Long, Integer> quantities) {
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        List<Long> lookups = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            Boolean known = availableWithoutLookup(productId, quantity);
+            result.put(productId, known); // 조회가 필요한 상품은 자리만 잡아 두어 요청 순서 유지
+            if (known == null) {
+                lookups.add(productId);
+            }
+        });
+
+        List<List<Integer>> states = readStockHashes(lookups, StockKeys.AVAILABLE, StockKeys.SHARDS);
+        for (int i = 0; i < lookups.size(); i++) {
+            Long productId = lookups.get(i);
+            List<Integer> state = states.get(i);
+            result.put(productId, availableFromState(productId, quantities.get(productId),
+                    state != null && state.get(1) != null, state != null ? state.get(0) : null));
+        }
+        return result;
+    }
+
+    private static void requirePositiveQuantities(Map<Long, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> {
+            if (quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException(
+                        "요청 수량은 최소 1 이상이어야 합니다. productId=" + productId + ", requested=" + quantity);
+            }
+        });
+    }
+
+    /**
+     * 샤딩/품절 미러만으로 판정 가능하면 결과, 재고 해시 조회가 필요하면 null
+     */
+    private Boolean availableWithoutLookup(Long productId, int quantity) {
+        refreshAhead.recordAccess(productId);
+
+        if (shardedCounter.isSharded(productId)) {
+            return shardedCounter.available(productId) >= quantity;
+        }
+        if (soldOutMirror.isSoldOut(productId)) {
+            return false;
+        }
+        return null;
+    }
+
+    /**
+     * 재고 해시 조회 결과(샤딩 표식, available)로 가용성 판정
+     */
+    private boolean availableFromState(Long productId, int quantity, boolean sharded, Integer available) {
+        if (sharded) {
+            // 다른 노드가 샤딩을 켰지만 로컬 캐시가 아직 모르는 경우
+            shardedCounter.refresh(productId);
+            return shardedCounter.available(productId) >= quantity;
+        }
         // Redis에 재고 정보가 없으면 DB에서 초기화
         if (available == null) {
             available = initializeFromDatabase(productId);
         }
 
-        boolean result = available >= quantity;
+        // 존재하지 않는 상품은 재고 없음으로 응답 (조회 전용 경로)
+        int localRemaining = leaseManager.localRemaining(productId);
+        if (available != null && available + localRemaining <= 0) {
+            observeSoldOut(productId);
+        }
+        boolean result = available != null && available + localRemaining >= quantity;
         log.debug("재고 확인: productId={}, requested={}, available={}, result={}",
                 productId, quantity, available, result);
 
@@ -54,121 +208,654 @@ public class InventoryRepository implements InventoryRepositoryPort {
     }
 
     @Override
-    public void reserveStock(Long productId, int quantity) {
+    public ReservationResult tryReserve(Long productId, int quantity) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("요청 수량은 최소 1 이상이어야 합니다. requested=" + quantity);
         }
+        return breaker.write("reserve", () -> tryReserveOnRedis(productId, quantity),
+                () -> degradedStore.reserve(productId, quantity));
+    }
 
-        String stockKey = STOCK_KEY_PREFIX + productId;
-        String reservedKey = RESERVED_KEY_PREFIX + productId;
+    private ReservationResult tryReserveOnRedis(Long productId, int quantity) {
+        refreshAhead.recordAccess(productId);
 
-        // Redis에서 재고 확인 및 차감
-        Integer available = redisTemplate.opsForValue().get(stockKey);
-        if (available == null) {
-            available = initializeFromDatabase(productId);
+        if (shardedCounter.isSharded(productId)) {
+            ReservationResult sharded = reserveSharded(productId, quantity);
+            if (sharded != null) {
+                return sharded;
+            }
+            // 그 사이 샤딩이 해제됨 → 병합된 단일 키로 예약
         }
 
-        if (available < quantity) {
-            throw new InsufficientStockException(
-                    "재고가 부족하여 예약할 수 없습니다. available=" + available + ", requested=" + quantity
-            );
+        // 품절로 알려진 상품: Redis 왕복 없이 거절
+        if (soldOutMirror.isSoldOut(productId)) {
+            return ReservationResult.insufficient(productId);
         }
 
-        // Redis 원자적 연산으로 재고 차감
-        Long remaining = redisTemplate.opsForValue().decrement(stockKey, quantity);
-        if (remaining == null || remaining < 0) {
-            // 롤백
-            redisTemplate.opsForValue().increment(stockKey, quantity);
-            throw new ReservationFailedException("예약 처리 중 예기치 못한 재고 부족 발생, 롤백 완료");
+        // 임대 대상 상품: 로컬 임대분에서 Redis 왕복 없이 예약
+        if (leaseManager.tryReserve(productId, quantity)) {
+            return ReservationResult.reserved(productId, leaseManager.localRemaining(productId));
         }
 
-        // 예약 수량 기록 (1시간 TTL)
-        redisTemplate.opsForValue().increment(reservedKey, quantity);
-        redisTemplate.expire(reservedKey, 1, TimeUnit.HOURS);
+        // 확인 + 차감 + 예약 기록 + TTL 을 한 번의 스크립트 호출로 처리
+        long remaining = stockClient.reserve(productId, quantity);
+        if (remaining == SHARDED) {
+            // 다른 노드가 샤딩을 켰지만 로컬 캐시가 아직 모르는 경우
+            if (shardedCounter.refresh(productId) > 0) {
+                ReservationResult sharded = reserveSharded(productId, quantity);
+                if (sharded != null) {
+                    return sharded;
+                }
+            }
+            // 그 사이 다른 노드가 샤딩을 해제 → 병합된 단일 키로 한 번 더
+            remaining = stockClient.reserve(productId, quantity);
+        }
+        if (remaining == KEY_MISSING) {
+            // Redis에 재고 정보가 없으면 DB에서 초기화 후 한 번 더 시도
+            if (initializeFromDatabase(productId) == null) {
+                return ReservationResult.unknownProduct(productId);
+            }
+            remaining = stockClient.reserve(productId, quantity);
+        }
+
+        if (remaining == KEY_MISSING || remaining == SHARDED) {
+            throw new ReservationFailedException("예약 처리 중 재고 정보를 확인할 수 없습니다. productId=" + productId);
+        }
+        if (remaining == INSUFFICIENT || remaining == SOLD_OUT) {
+            log.debug("재고 부족으로 예약 거절: productId={}, requested={}", productId, quantity);
+            leaseManager.onInsufficient(productId); // 다른 노드에 묶인 임대분 회수 요청
+            if (remaining == SOLD_OUT) {
+                observeSoldOut(productId);
+            }
+            return ReservationResult.insufficient(productId);
+        }
+        if (remaining == 0) {
+            observeSoldOut(productId); // 마지막 재고를 예약
+        }
 
         log.info("재고 예약 완료: productId={}, quantity={}, remaining={}", productId, quantity, remaining);
+        return ReservationResult.reserved(productId, remaining);
+    }
+
+    @Override
+    public ReservationResult reserveStockBatch(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            throw new IllegalArgumentException("예약할 주문 라인이 없습니다.");
+        }
+        requirePositiveQuantities(quantities);
+        return breaker.write("reserve", () -> reserveStockBatchOnRedis(quantities),
+                () -> degradedStore.reserveBatch(quantities));
+    }
+
+    private ReservationResult reserveStockBatchOnRedis(Map<Long, Integer> quantities) {
+        List<Long> productIds = new ArrayList<>(quantities.keySet());
+        productIds.forEach(refreshAhead::recordAccess);
+        for (Long productId : productIds) {
+            if (soldOutMirror.isSoldOut(productId)) {
+                return ReservationResult.insufficient(productId);
+            }
+        }
+        // 상품마다 슬롯이 다르므로 Cluster 에서는 여러 상품 키를 한 스크립트로 예약할 수 없음
+        if (redisCluster || productIds.stream().anyMatch(shardedCounter::isSharded)) {
+            return reserveLinesIndividually(quantities);
+        }
+
+        int lines = productIds.size();
+        List<String> keys = new ArrayList<>(lines);
+        Object[] args = new Object[lines];
+        for (int i = 0; i < lines; i++) {
+            Long productId = productIds.get(i);
+            keys.add(StockKeys.stock(productId));
+            args[i] = quantities.get(productId);
+        }
+
+        // 재고 키가 없는 상품은 DB에서 초기화 후 재시도 (최대 상품 수만큼)
+        for (int attempt = 0; attempt <= lines; attempt++) {
+            List<Long> result = redisTemplate.execute(scripts.getBatchReserve(), keys, args);
+            if (result == null || result.size() < 2) {
+                break;
+            }
+
+            long code = result.get(0);
+            if (code == BATCH_RESERVED) {
+                log.info("일괄 재고 예약 완료: lines={}", lines);
+                return ReservationResult.reserved(null, 0);
+            }
+
+            Long productId = productIds.get(result.get(1).intValue() - 1);
+            if (code == BATCH_INSUFFICIENT) {
+                log.debug("재고 부족으로 일괄 예약 거절: productId={}, requested={}",
+                        productId, quantities.get(productId));
+                return ReservationResult.insufficient(productId);
+            }
+            if (code == BATCH_SHARDED) {
+                shardedCounter.refresh(productId);
+                return reserveLinesIndividually(quantities);
+            }
+            if (initializeFromDatabase(productId) == null) {
+                return ReservationResult.unknownProduct(productId);
+            }
+        }
+
+        throw new ReservationFailedException("일괄 예약 처리 중 재고 정보를 확인할 수 없습니다. products=" + productIds);
+    }
+
+    @Override
+    public void reserveStock(Long productId, int quantity) {
+        ReservationResult result = tryReserve(productId, quantity);
+
+        switch (result.status()) {
+            case INSUFFICIENT -> throw new InsufficientStockException(
+                    "재고가 부족하여 예약할 수 없습니다. productId=" + productId + ", requested=" + quantity
+            );
+            case UNKNOWN_PRODUCT -> throw new IllegalArgumentException("상품 미발견: " + productId);
+            default -> { }
+        }
     }
 
     @Override
     public void releaseStock(Long productId, int quantity) {
-        String stockKey = STOCK_KEY_PREFIX + productId;
-        String reservedKey = RESERVED_KEY_PREFIX + productId;
+        breaker.run("release", () -> releaseStockOnRedis(productId, quantity),
+                () -> degradedStore.release(productId, quantity));
+    }
 
-        // 재고 복원
-        redisTemplate.opsForValue().increment(stockKey, quantity);
+    private void releaseStockOnRedis(Long productId, int quantity) {
+        boolean wasSoldOut = soldOutMirror.clear(productId);
 
-        // 예약 수량 감소
-        Integer currentReserved = redisTemplate.opsForValue().get(reservedKey);
-        if (currentReserved != null && currentReserved > 0) {
-            redisTemplate.opsForValue().decrement(reservedKey, Math.min(quantity, currentReserved));
+        // 아직 정산되지 않은 로컬 예약이면 임대분으로 바로 반납
+        if (leaseManager.release(productId, quantity)) {
+            return;
         }
 
-        log.info("재고 복원 완료: productId={}, quantity={}", productId, quantity);
+        if (shardedCounter.isSharded(productId) && shardedCounter.release(productId, quantity)) {
+            log.info("샤드 재고 복원 완료: productId={}, quantity={}", productId, quantity);
+            return;
+        }
+
+        // 재고 복원 + 예약 수량 감소를 원자 처리
+        long restored = stockClient.release(productId, quantity);
+
+        if (restored == SHARDED) {
+            restored = releaseSharded(productId, quantity);
+            if (restored == SHARDED) {
+                return;
+            }
+        }
+        if (restored == KEY_MISSING) {
+            log.info("재고 키 없음, 복원 생략 (DB 초기화 시 반영): productId={}, quantity={}", productId, quantity);
+            return;
+        }
+        if (wasSoldOut || restored == quantity) {
+            soldOutBroadcaster.restocked(productId); // 0 → 양수
+        }
+
+        log.info("재고 복원 완료: productId={}, quantity={}, restored={}", productId, quantity, restored);
+    }
+
+    @Override
+    public int releaseStockOnce(Long productId, Map<String, Integer> quantitiesByEventId) {
+        if (quantitiesByEventId.isEmpty()) {
+            return 0;
+        }
+        return breaker.write("release", () -> releaseStockOnceOnRedis(productId, quantitiesByEventId), () -> {
+            // DB 대체 경로에는 처리 완료 표식이 없음 (장애 중 재전달분은 중복 복원될 수 있음)
+            int quantity = quantitiesByEventId.values().stream().mapToInt(Integer::intValue).sum();
+            degradedStore.release(productId, quantity);
+            return quantity;
+        });
+    }
+
+    /**
+     * 처리 완료 표식(SET NX)과 재고 복원을 스크립트 한 번에 → 재전달된 이벤트의 수량은 건너뜀
+     */
+    private int releaseStockOnceOnRedis(Long productId, Map<String, Integer> quantitiesByEventId) {
+        leaseManager.settle(productId); // 로컬 판매분을 예약 수량에 먼저 반영
+        boolean wasSoldOut = soldOutMirror.clear(productId);
+
+        // 표식 키는 상품 해시 태그를 붙여 재고 해시와 같은 슬롯에 둠 (클러스터에서도 한 스크립트로 원자 처리)
+        List<String> keys = new ArrayList<>(1 + quantitiesByEventId.size());
+        Object[] args = new Object[1 + quantitiesByEventId.size()];
+        keys.add(StockKeys.stock(productId));
+        args[0] = String.valueOf(processedEventTtlSeconds);
+        int i = 1;
+        for (Map.Entry<String, Integer> event : quantitiesByEventId.entrySet()) {
+            keys.add(StockKeys.processedEvent(productId, event.getKey()));
+            args[i++] = String.valueOf(event.getValue());
+        }
+        List<Long> result = redisTemplate.execute(scripts.getReleaseOnce(), keys, args);
+        long restored = result != null ? result.get(0) : KEY_MISSING;
+        int applied = result != null ? result.get(1).intValue() : 0;
+
+        if (restored == SHARDED) {
+            // 표식은 원래 재고 해시 슬롯에 남았고, 수량은 샤드로 반납
+            if (applied == 0) {
+                return 0;
+            }
+            restored = releaseSharded(productId, applied);
+            if (restored == SHARDED) {
+                return applied;
+            }
+        }
+        if (restored == KEY_MISSING) {
+            log.info("재고 키 없음, 복원 생략 (DB 초기화 시 반영): productId={}, events={}",
+                    productId, quantitiesByEventId.size());
+            return 0;
+        }
+        if (applied > 0 && (wasSoldOut || restored == applied)) {
+            soldOutBroadcaster.restocked(productId); // 0 → 양수
+        }
+        log.info("재고 복원 완료 (이벤트 중복 제거): productId={}, events={}, applied={}, restored={}",
+                productId, quantitiesByEventId.size(), applied, restored);
+        return applied;
+    }
+
+    /**
+     * 단일 키 스크립트가 샤딩 상품이라고 응답한 복원: 샤드에 반납, 그 사이 샤딩이 해제됐으면 병합된 단일 키로 다시
+     *
+     * @return 샤드에 반납했으면 SHARDED, 단일 키로 복원했으면 release.lua 결과
+     */
+    private long releaseSharded(Long productId, int quantity) {
+        if (shardedCounter.refresh(productId) > 0 && shardedCounter.release(productId, quantity)) {
+            log.info("샤드 재고 복원 완료: productId={}, quantity={}", productId, quantity);
+            return SHARDED;
+        }
+        long restored = stockClient.release(productId, quantity);
+        if (restored == SHARDED) {
+            throw new IllegalStateException("샤딩 전환 중 재고 복원 실패 (재시도 필요): productId=" + productId);
+        }
+        return restored;
     }
 
     /**
      * 🔧 새로 추가: 결제 완료 시 DB에 실제 재고 차감
      */
+    @Override
     @Transactional
     public void confirmSale(Long productId, int quantity, Long orderId) {
         log.info("재고 판매 확정: productId={}, quantity={}, orderId={}", productId, quantity, orderId);
 
-        // 1. DB에서 실제 재고 차감
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("상품 미발견: " + productId));
+        // 1. DB 재고 차감: 쓰기 지연 모드면 미반영분을 뺀 DB 재고를 확인해 저널에 기록하고 상품별 합산 UPDATE 로 나중에 반영
+        boolean applied = writeBehind.isEnabled()
+                ? writeBehind.enqueue(productId, quantity, orderId)
+                : productRepository.decrementStock(productId, quantity) > 0; // 재고가 충분할 때만 단일 조건부 UPDATE
+        if (!applied) {
+            if (!productRepository.existsById(productId)) {
+                throw new IllegalArgumentException("상품 미발견: " + productId);
+            }
+            log.error("DB 재고 부족 감지: productId={}, requested={}", productId, quantity);
 
-        if (!product.isStockManaged()) {
-            log.debug("재고 관리 비활성화 상품: productId={}", productId);
+            // Redis와 DB 동기화
+            syncWithDatabase(productId);
+            throw new InsufficientStockException("DB 재고 부족: 동기화 완료");
+        }
+
+        // 2. 주문 예약 기록 삭제 (리퍼가 복원하지 않도록) + Redis 예약 수량 정리
+        breaker.run("confirm", () -> confirmOnRedis(productId, quantity, orderId),
+                () -> degradedStore.confirm(productId, quantity, orderId));
+
+        log.info("재고 차감 완료: productId={}, quantity={}", productId, quantity);
+    }
+
+    /**
+     * 결제 완료 시 주문 전체 판매 확정 (전부 확정하거나 하나도 확정하지 않음)
+     * - DB: 모든 라인의 재고를 확인한 뒤 차감, 부족하면 아무것도 차감하지 않고 확정 실패로 기록
+     * - 예약 정리: DB 차감이 커밋된 뒤 라인별로 → 롤백된 결제의 예약을 먼저 지우지 않음
+     */
+    @Override
+    @Transactional
+    public ReservationResult confirmSales(Long orderId, Map<Long, Integer> quantities) {
+        log.info("주문 판매 확정: orderId={}, lines={}", orderId, quantities);
+
+        ReservationResult applied = writeBehind.confirmOrder(orderId, quantities);
+        if (!applied.isReserved()) {
+            if (applied.status() == ReservationResult.Status.INSUFFICIENT) {
+                log.error("DB 재고 부족 감지 (주문 전체 확정 보류): orderId={}, productId={}", orderId, applied.productId());
+                syncWithDatabase(applied.productId());
+            }
+            return applied;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    confirmReservations(orderId, quantities, true);
+                }
+            });
+        } else {
+            confirmReservations(orderId, quantities, false);
+        }
+        return applied;
+    }
+
+    /**
+     * 커밋된 판매 확정의 예약 정리 (라인별, 커밋 후 콜백이면 성능 저하 모드 보관은 새 트랜잭션에서)
+     * 실패한 라인은 예약 수량이 남아 DB 동기화 전까지 덜 팔릴 뿐 초과 판매는 없음 (예약 기록은 만료 시 리퍼가 삭제)
+     */
+    private void confirmReservations(Long orderId, Map<Long, Integer> quantities, boolean newTransaction) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        quantities.forEach((productId, quantity) -> {
+            Runnable confirm = () -> breaker.run("confirm", () -> confirmOnRedis(productId, quantity, orderId),
+                    () -> degradedStore.confirm(productId, quantity, orderId));
+            try {
+                if (newTransaction) {
+                    tx.executeWithoutResult(status -> confirm.run());
+                } else {
+                    confirm.run();
+                }
+            } catch (RuntimeException e) {
+                log.error("결제 확정 후 예약 정리 실패 (예약 수량은 DB 동기화 시 정리): orderId={}, productId={}, quantity={}",
+                        orderId, productId, quantity, e);
+            }
+        });
+        log.info("주문 판매 확정 완료: orderId={}, lines={}", orderId, quantities);
+    }
+
+    private void confirmOnRedis(Long productId, int quantity, Long orderId) {
+        if (orderId != null && completeLines(CONFIRM_MODE, Map.of(orderId, Set.of(productId))).get(0) == 0) {
+            log.warn("예약 기록 없음 (만료 복원 이후 결제 확정 가능성): productId={}, orderId={}", productId, orderId);
+        }
+        leaseManager.settle(productId); // 로컬 판매분을 예약 수량에 먼저 반영
+        if (shardedCounter.isSharded(productId) && shardedCounter.confirm(productId, quantity)) {
             return;
         }
+        if (stockClient.confirm(productId, quantity) == SHARDED
+                && !(shardedCounter.refresh(productId) > 0 && shardedCounter.confirm(productId, quantity))) {
+            // 샤딩 응답 후 그 사이 다른 노드가 샤딩을 해제 → 병합된 단일 키로 다시
+            stockClient.confirm(productId, quantity);
+        }
+    }
 
-        // 2. DB 재고 검증 및 차감
-        if (product.getTotalStock() < quantity) {
-            log.error("DB 재고 부족 감지: productId={}, dbStock={}, requested={}",
-                    productId, product.getTotalStock(), quantity);
+    @Override
+    public void trackReservation(Long orderId, Map<Long, Integer> quantities) {
+        breaker.run("track", () -> trackOnRedis(orderId, quantities), () -> degradedStore.track(orderId, quantities));
+    }
 
-            // Redis와 DB 동기화
-            syncWithDatabase(productId);
-            throw new InsufficientStockException("DB 재고 부족: 동기화 완료");
+    /**
+     * 주문 인덱스 + 만료 인덱스를 먼저 등록한 뒤 상품별 라인 기록 (키마다 단일 슬롯)
+     * 라인 기록 전에 멈추면 인덱스만 남고, 리퍼가 복원할 라인 없이 인덱스만 정리
+     */
+    private void trackOnRedis(Long orderId, Map<Long, Integer> quantities) {
+        long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(reservationTtlSeconds);
+        byte[] orderKey = bytes(StockKeys.reservationOrder(orderId));
+        byte[][] products = quantities.keySet().stream().map(InventoryRepository::bytes).toArray(byte[][]::new);
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.setCommands().sAdd(orderKey, products);
+            connection.zSetCommands().zAdd(RESERVATION_EXPIRY_KEY, expiresAt, bytes(orderId));
+            return null;
+        });
+
+        quantities.forEach((productId, quantity) -> redisTemplate.execute(scripts.getReservationTrack(),
+                List.of(StockKeys.reservations(productId)), String.valueOf(orderId), quantity));
+        log.debug("주문 예약 기록: orderId={}, lines={}", orderId, quantities);
+    }
+
+    @Override
+    public int releaseReservation(Long orderId, Long productId) {
+        return breaker.write("release", () -> releaseReservationOnRedis(orderId, productId),
+                () -> degradedStore.releaseReservation(orderId, productId));
+    }
+
+    private int releaseReservationOnRedis(Long orderId, Long productId) {
+        leaseManager.settle(productId); // 로컬 판매분을 예약 수량에 먼저 반영
+        int released = completeLines(RELEASE_MODE, Map.of(orderId, Set.of(productId))).get(0).intValue();
+        if (released > 0 && soldOutMirror.clear(productId)) {
+            soldOutBroadcaster.restocked(productId);
         }
+        if (released == 0) {
+            log.info("복원할 예약 기록 없음 (이미 복원/만료/확정됨): orderId={}, productId={}", orderId, productId);
+        } else {
+            log.info("주문 예약 복원 완료: orderId={}, productId={}, quantity={}", orderId, productId, released);
+        }
+        return released;
+    }
 
-        // 3. DB 재고 차감 (핵심 포인트!)
-        product.setTotalStock(product.getTotalStock() - quantity);
-        productRepository.save(product);
+    @Override
+    public int releaseReservationLines(Map<Long, Set<Long>> productIdsByOrder) {
+        if (productIdsByOrder.isEmpty()) {
+            return 0;
+        }
+        return breaker.write("release", () -> releaseReservationLinesOnRedis(productIdsByOrder), () -> {
+            int released = 0;
+            for (Map.Entry<Long, Set<Long>> order : productIdsByOrder.entrySet()) {
+                for (Long productId : order.getValue()) {
+                    released += degradedStore.releaseReservation(order.getKey(), productId);
+                }
+            }
+            return released;
+        });
+    }
+
+    /**
+     * 여러 주문의 라인을 상품별로 모아 상품당 스크립트 한 번에 복원
+     */
+    private int releaseReservationLinesOnRedis(Map<Long, Set<Long>> productIdsByOrder) {
+        Set<Long> productIds = new HashSet<>();
+        productIdsByOrder.values().forEach(productIds::addAll);
+        productIds.forEach(leaseManager::settle); // 로컬 판매분을 예약 수량에 먼저 반영
 
-        // 4. Redis 예약 수량 정리
-        String reservedKey = RESERVED_KEY_PREFIX + productId;
-        Integer currentReserved = redisTemplate.opsForValue().get(reservedKey);
-        if (currentReserved != null && currentReserved >= quantity) {
-            redisTemplate.opsForValue().decrement(reservedKey, quantity);
+        List<Long> reply = completeLines(RELEASE_MODE, productIdsByOrder);
+        reply.stream().skip(1).forEach(productId -> {
+            if (soldOutMirror.clear(productId)) {
+                soldOutBroadcaster.restocked(productId);
+            }
+        });
+        int released = reply.get(0).intValue();
+        log.info("주문 예약 일괄 복원 완료: orders={}, products={}, quantity={}",
+                productIdsByOrder.size(), productIds.size(), released);
+        return released;
+    }
+
+    @Override
+    public List<Long> findExpiredReservations(int limit) {
+        // Redis 장애 중에는 만료 복원을 미룸 (예약 기록이 Redis 에 있으므로 복구 후 처리)
+        return breaker.read("reaper", () -> findExpiredOnRedis(limit), List::of);
+    }
+
+    private List<Long> findExpiredOnRedis(int limit) {
+        long now = System.currentTimeMillis();
+        Set<byte[]> expired = redisTemplate.execute((RedisCallback<Set<byte[]>>) connection ->
+                connection.zSetCommands().zRangeByScore(
+                        RESERVATION_EXPIRY_KEY, 0, now, 0, limit));
+        if (expired == null) {
+            return List.of();
+        }
+        return expired.stream()
+                .map(member -> Long.valueOf(new String(member, StandardCharsets.UTF_8)))
+                .toList();
+    }
+
+    @Override
+    public int releaseReservations(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
         }
+        // 만료 주문의 라인을 상품별로 모아 상품당 스크립트 1회 (스윕당 1 + 상품 수 RTT)
+        // 재고 복원 이벤트가 없는 경로 → 복원된 상품을 다른 노드의 품절 미러에 알림
+        return breaker.write("reaper", () -> {
+            List<Long> reply = completeLines(RELEASE_MODE, reservedLines(orderIds));
+            reply.stream().skip(1).forEach(this::announceRestock);
+            return reply.get(0).intValue();
+        }, () -> 0);
+    }
 
-        log.info("재고 차감 완료: productId={}, quantity={}, newDbStock={}",
-                productId, quantity, product.getTotalStock());
+    @Override
+    public void discardReservations(List<Long> orderIds) {
+        if (!orderIds.isEmpty()) {
+            breaker.write("reaper", () -> completeLines(CONFIRM_MODE, reservedLines(orderIds)).get(0).intValue(), () -> 0);
+        }
     }
 
     /**
-     * DB에서 Redis로 재고 정보 초기화
+     * 주문 → 예약 상품 인덱스 조회 (파이프라인 1회, 인덱스가 없는 주문은 빈 목록 → 만료 인덱스만 정리)
      */
-    private Integer initializeFromDatabase(Long productId) {
-        log.info("DB에서 재고 초기화: productId={}", productId);
+    private Map<Long, Set<Long>> reservedLines(List<Long> orderIds) {
+        List<Object> members = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            orderIds.forEach(orderId -> connection.setCommands().sMembers(bytes(StockKeys.reservationOrder(orderId))));
+            return null;
+        }, RedisSerializer.string());
+        Map<Long, Set<Long>> lines = new LinkedHashMap<>();
+        for (int i = 0; i < orderIds.size(); i++) {
+            Set<Long> productIds = new LinkedHashSet<>();
+            if (members != null && i < members.size() && members.get(i) instanceof Collection<?> products) {
+                products.forEach(productId -> productIds.add(Long.valueOf(productId.toString())));
+            }
+            lines.put(orderIds.get(i), productIds);
+        }
+        return lines;
+    }
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("상품 미발견: " + productId));
+    /**
+     * 주문 예약 라인 정리: 상품마다 재고 해시와 같은 슬롯의 라인 해시에 스크립트 1회 → 주문/만료 인덱스 정리
+     * 이미 정리된 라인은 스크립트가 건너뜀 (중복 복원 없음)
+     *
+     * @param mode RELEASE_MODE(재고 복원) 또는 CONFIRM_MODE(라인만 삭제)
+     * @return [정리된 총 수량, 재고가 복원된 상품 ID...]
+     */
+    private List<Long> completeLines(String mode, Map<Long, Set<Long>> productIdsByOrder) {
+        Map<Long, List<Long>> ordersByProduct = new LinkedHashMap<>();
+        productIdsByOrder.forEach((orderId, products) -> products.forEach(productId ->
+                ordersByProduct.computeIfAbsent(productId, id -> new ArrayList<>()).add(orderId)));
 
-        int stockValue = product.isStockManaged() ? product.getTotalStock() : Integer.MAX_VALUE;
+        List<Long> reply = new ArrayList<>();
+        reply.add(0L);
+        long total = 0;
+        for (Map.Entry<Long, List<Long>> product : ordersByProduct.entrySet()) {
+            LineCompletion completed = completeProductLines(mode, product.getKey(), product.getValue());
+            total += completed.quantity();
+            if (completed.quantity() > 0 && completed.stockUpdated()) {
+                reply.add(product.getKey());
+            }
+        }
+        reply.set(0, total);
+        unindex(productIdsByOrder);
+        return reply;
+    }
 
-        String stockKey = STOCK_KEY_PREFIX + productId;
-        redisTemplate.opsForValue().set(stockKey, stockValue);
-        redisTemplate.expire(stockKey, 24, TimeUnit.HOURS);
+    private LineCompletion completeProductLines(String mode, Long productId, List<Long> orderIds) {
+        Object[] args = new Object[1 + orderIds.size()];
+        args[0] = mode;
+        for (int i = 0; i < orderIds.size(); i++) {
+            args[1 + i] = String.valueOf(orderIds.get(i));
+        }
+        List<Long> result = redisTemplate.execute(scripts.getReservationRelease(),
+                List.of(StockKeys.stock(productId), StockKeys.reservations(productId)), args);
+        if (result == null || result.isEmpty() || result.get(0) == 0) {
+            return new LineCompletion(0, false);
+        }
+        long quantity = result.get(0);
+        long state = result.size() > 1 ? result.get(1) : 0;
+        if (state == SHARDED) {
+            try {
+                releaseSharded(productId, (int) quantity);
+            } catch (RuntimeException e) {
+                // 정리한 라인을 되돌려 다음 복원(재시도/리퍼)에서 다시 처리
+                redisTemplate.execute(scripts.getReservationTrack(), List.of(StockKeys.reservations(productId)),
+                        result.subList(2, result.size()).stream().map(String::valueOf).toArray());
+                throw e;
+            }
+        }
+        return new LineCompletion(quantity, state != KEY_MISSING);
+    }
 
-        log.info("재고 초기화 완료: productId={}, stock={}", productId, stockValue);
-        return stockValue;
+    /**
+     * 정리한 라인을 주문 인덱스에서 빼고, 라인이 남지 않은 주문은 만료 인덱스에서도 삭제
+     */
+    private void unindex(Map<Long, Set<Long>> productIdsByOrder) {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            productIdsByOrder.forEach((orderId, products) -> {
+                byte[] orderKey = bytes(StockKeys.reservationOrder(orderId));
+                if (!products.isEmpty()) {
+                    connection.setCommands().sRem(orderKey, products.stream().map(InventoryRepository::bytes).toArray(byte[][]::new));
+                }
+                Long left = connection.setCommands().sCard(orderKey);
+                if (left == null || left == 0) {
+                    connection.zSetCommands().zRem(RESERVATION_EXPIRY_KEY, bytes(orderId));
+                }
+            });
+            return null;
+        });
+    }
+
+    private static byte[] bytes(Long id) {
+        return String.valueOf(id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
     }
 
     /**
-     * Redis와 DB 동기화
+     * 재고 복원 이벤트 없이 재고가 늘어난 상품을 모든 노드에 알림 (만료 예약 복원, DB 동기화)
+     * - 로컬 품절 표시 해제 + pub/sub 재입고 전파(broadcast) + inventory-events 로 STOCK_RESTOCKED
+     * - 이 노드가 품절로 알고 있었는지와 무관하게 알림 → 다른 노드만 품절로 표시한 경우도 해제
      */
+    private void announceRestock(Long productId) {
+        soldOutMirror.clear(productId);
+        if (!soldOutMirror.isEnabled()) {
+            return;
+        }
+        soldOutBroadcaster.restocked(productId);
+        eventPublisher.publish(new StockRestockedEvent(productId));
+    }
+
+    /**
+     * 재고 0 관측 → 품절 표시 (다른 노드 임대분에 재고가 남아 있을 수 있는 임대 상품은 제외)
+     * 이 노드가 처음 관측했으면 다른 노드에도 전파
+     */
+    private void observeSoldOut(Long productId) {
+        if (!leaseManager.isLeasable(productId) && soldOutMirror.markSoldOut(productId)) {
+            soldOutBroadcaster.soldOut(productId);
+        }
+    }
+
+    /**
+     * @return 예약 결과, 그 사이 샤딩이 해제되었으면 null (단일 키로 다시 예약)
+     */
+    private ReservationResult reserveSharded(Long productId, int quantity) {
+        Boolean reserved = shardedCounter.reserve(productId, quantity);
+        if (reserved == null) {
+            return null;
+        }
+        if (!reserved) {
+            log.debug("샤드 재고 부족으로 예약 거절: productId={}, requested={}", productId, quantity);
+            return ReservationResult.insufficient(productId);
+        }
+        log.info("샤드 재고 예약 완료: productId={}, quantity={}", productId, quantity);
+        return ReservationResult.reserved(productId, 0);
+    }
+
+    /**
+     * 샤딩된 상품이 포함된 장바구니: 라인별로 예약하고 실패 시 앞서 예약한 라인을 복원
+     */
+    private ReservationResult reserveLinesIndividually(Map<Long, Integer> quantities) {
+        Map<Long, Integer> reserved = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            ReservationResult result = tryReserve(line.getKey(), line.getValue());
+            if (!result.isReserved()) {
+                reserved.forEach(this::releaseStock);
+                return result;
+            }
+            reserved.put(line.getKey(), line.getValue());
+        }
+        return ReservationResult.reserved(null, 0);
+    }
+
+    /**
+     * DB에서 Redis로 재고 정보 초기화
+     *
+     * @return 초기화된 재고, 상품이 없으면 null
+     */
+    private Integer initializeFromDatabase(Long productId) {
+        // 동시 미스는 노드 안팎에서 한 번만 DB 조회, 기존 값은 덮어쓰지 않음
+        return stockLoader.load(productId);
+    }
+
+    /**
+     * Redis와 DB 동기화 (예약 수량은 유지)
+     */
+    @Override
     @Transactional(readOnly = true)
     public void syncWithDatabase(Long productId) {
         log.warn("Redis-DB 동기화 시작: productId={}", productId);
@@ -176,24 +863,120 @@ public class InventoryRepository implements InventoryRepositoryPort {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("상품 미발견: " + productId));
 
+        breaker.run("sync", () -> resetFromDatabase(product, 0),
+                () -> log.warn("Redis 장애 중 동기화 생략 (복구 시 재동기화): productId={}", productId));
+    }
+
+    /**
+     * Redis 장애 복구 재동기화 (RedisOutageRecovery 가 호출)
+     * 순서: 장애 중 결제 확정 재생(예약 수량 감소) → DB 예약분 이관 + 가용 재계산 → 주문 예약 기록 재생
+     *
+     * @return 재동기화한 상품 수
+     */
+    public int resyncAfterOutage() {
+        degradedStore.replayConfirms(confirm ->
+                confirmOnRedis(confirm.productId(), confirm.quantity(), confirm.orderId()));
+
+        AtomicInteger products = new AtomicInteger();
+        // DB 예약분 차감은 degradedStore 가 같은 트랜잭션(상품 행 잠금)에서 수행
+        degradedStore.replayDirtyProducts(product -> {
+            resetFromDatabase(product, product.getReservedStock());
+            products.incrementAndGet();
+        });
+
+        degradedStore.replayTracks(this::trackOnRedis);
+        return products.get();
+    }
+
+    public boolean hasPendingResync() {
+        return degradedStore.hasPendingWork();
+    }
+
+    /**
+     * DB 총 재고 기준으로 Redis 가용 재고 재설정 (예약 수량 유지, absorbedReservations 만큼 예약에 추가)
+     */
+    private void resetFromDatabase(Product product, int absorbedReservations) {
+        Long productId = product.getId();
         int correctStock = product.isStockManaged() ? product.getTotalStock() : Integer.MAX_VALUE;
 
-        redisTemplate.opsForValue().set(STOCK_KEY_PREFIX + productId, correctStock);
-        redisTemplate.delete(RESERVED_KEY_PREFIX + productId); // 예약 초기화
+        // 샤딩된 상품은 병합 → 동기화 → 같은 샤드 수로 재분할
+        int shards = shardedCounter.shardCount(productId);
+        if (shards > 0) {
+            shardedCounter.disable(productId, STOCK_TTL_SECONDS);
+        }
+
+        leaseManager.invalidate(productId); // 모든 노드의 임대 무효화
+        soldOutMirror.clear(productId);
+        // 진행 중인 예약은 유지: 가용 = DB 재고 - 예약 수량
+        Long available = redisTemplate.execute(scripts.getStockSync(), List.of(StockKeys.stock(productId)),
+                String.valueOf(correctStock), String.valueOf(STOCK_TTL_SECONDS), "",
+                String.valueOf(absorbedReservations));
+
+        if (shards > 0) {
+            shardedCounter.enable(productId, shards);
+        }
+
+        if (available != null && available > 0) {
+            announceRestock(productId); // DB 재입고 반영: 다른 노드의 품절 표시도 해제
+        }
+
+        log.warn("동기화 완료: productId={}, correctStock={}, absorbed={}, available={}",
+                productId, correctStock, absorbedReservations, available);
+    }
 
-        log.warn("동기화 완료: productId={}, correctStock={}", productId, correctStock);
+    /**
+     * 인기 상품 재고 샤딩 활성화
+     *
+     * @return 적용된 샤드 수
+     */
+    public int enableSharding(Long productId, int shards) {
+        long result = shardedCounter.enable(productId, shards);
+        if (result == KEY_MISSING) {
+            if (initializeFromDatabase(productId) == null) {
+                throw new IllegalArgumentException("상품 미발견: " + productId);
+            }
+            result = shardedCounter.enable(productId, shards);
+        }
+        if (result <= 0) {
+            throw new ReservationFailedException("재고 샤딩 활성화 실패: productId=" + productId);
+        }
+        return (int) result;
+    }
+
+    /**
+     * 재고 샤딩 해제 (샤드 키를 단일 키로 병합)
+     */
+    public void disableSharding(Long productId) {
+        shardedCounter.disable(productId, STOCK_TTL_SECONDS);
     }
 
     /**
      * 재고 상태 조회 (모니터링용)
      */
+    @Override
     @Transactional(readOnly = true)
     public StockStatus getStockStatus(Long productId) {
+        return breaker.read("status", () -> getStockStatusOnRedis(productId),
+                () -> degradedStore.getStockStatus(productId));
+    }
+
+    private StockStatus getStockStatusOnRedis(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("상품 미발견: " + productId));
 
-        Integer redisStock = redisTemplate.opsForValue().get(STOCK_KEY_PREFIX + productId);
-        Integer reservedStock = redisTemplate.opsForValue().get(RESERVED_KEY_PREFIX + productId);
+        if (shardedCounter.isSharded(productId)) {
+            return new StockStatus(
+                    productId,
+                    product.getTotalStock(),
+                    shardedCounter.available(productId),  // 샤드 합계
+                    shardedCounter.reserved(productId)
+            );
+        }
+
+        List<Integer> state = redisTemplate.<String, Integer>opsForHash().multiGet(
+                StockKeys.stock(productId), List.of(StockKeys.AVAILABLE, StockKeys.RESERVED));
+        Integer redisStock = state != null ? state.get(0) : null;
+        Integer reservedStock = state != null ? state.get(1) : null;
 
         return new StockStatus(
                 productId,
@@ -203,10 +986,76 @@ public class InventoryRepository implements InventoryRepositoryPort {
         );
     }
 
-    public record StockStatus(
-            Long productId,
-            Integer databaseStock,
-            Integer redisStock,
-            Integer reservedStock
-    ) {}
+    /**
+     * 여러 상품 재고 상태 조회: DB 는 findAllById 1회, 재고 해시는 파이프라인 1회
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockStatus> getStockStatuses(List<Long> productIds) {
+        return breaker.read("status", () -> getStockStatusesOnRedis(productIds),
+                () -> degradedStore.getStockStatuses(productIds));
+    }
+
+    private List<StockStatus> getStockStatusesOnRedis(List<Long> productIds) {
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        // 존재하지 않는 상품은 생략, 중복 ID 는 한 번만
+        List<Long> ids = productIds.stream().distinct().filter(products::containsKey).toList();
+
+        List<List<Integer>> states = readStockHashes(ids, StockKeys.AVAILABLE, StockKeys.RESERVED, StockKeys.SHARDS);
+        List<StockStatus> statuses = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long productId = ids.get(i);
+            List<Integer> state = states.get(i);
+            Integer databaseStock = products.get(productId).getTotalStock();
+
+            if (shardedCounter.isSharded(productId) || state.get(2) != null) {
+                if (!shardedCounter.isSharded(productId)) {
+                    shardedCounter.refresh(productId); // 다른 노드가 켠 샤딩을 로컬 캐시가 아직 모르는 경우
+                }
+                statuses.add(new StockStatus(productId, databaseStock,
+                        shardedCounter.available(productId), shardedCounter.reserved(productId)));
+            } else {
+                statuses.add(new StockStatus(productId, databaseStock,
+                        state.get(0) != null ? state.get(0) : 0,
+                        state.get(1) != null ? state.get(1) : 0));
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * 상품별 재고 해시 필드를 파이프라인 1회로 조회 (상품당 HMGET)
+     *
+     * @return 상품 순서대로 필드 값 목록 (없는 필드는 null)
+     */
+    @SuppressWarnings("unchecked")
+    private List<List<Integer>> readStockHashes(List<Long> productIds, String... fields) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        byte[][] fieldBytes = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            fieldBytes[i] = fields[i].getBytes(StandardCharsets.UTF_8);
+        }
+
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long productId : productIds) {
+                connection.hashCommands().hMGet(StockKeys.stock(productId).getBytes(StandardCharsets.UTF_8), fieldBytes);
+            }
+            return null;
+        });
+
+        List<List<Integer>> states = new ArrayList<>(replies.size());
+        for (Object reply : replies) {
+            states.add((List<Integer>) reply);
+        }
+        return states;
+    }
+
+    /**
+     * 한 상품의 라인 정리 결과 (stockUpdated = 재고 해시/샤드에 반영, 재고 키가 없으면 라인만 정리)
+     */
+    private record LineCompletion(long quantity, boolean stockUpdated) {
+    }
 }
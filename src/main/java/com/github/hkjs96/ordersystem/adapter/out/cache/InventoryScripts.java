@@ -0,0 +1,97 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 Lua 스크립트 모음
+ *
+ * 📋 동작 원리:
+ * - 재고 확인/차감/예약 기록을 서버 측 스크립트 한 번으로 원자 처리
+ * - 기동 시 SCRIPT LOAD 로 SHA 를 미리 등록 → 이후 EVALSHA 만 전송
+ * - SHA 가 없으면(Redis 재시작 등) RedisTemplate 이 EVAL 로 자동 재시도
+ */
+@Slf4j
+@Getter
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class InventoryScripts {
+
+    private final RedisScript<Long> reserve = load("reserve");
+    private final RedisScript<Long> release = load("release");
+    private final RedisScript<List<Long>> releaseOnce = loadList("release-once");
+    private final RedisScript<Long> confirm = load("confirm");
+    private final RedisScript<List<Long>> batchReserve = loadList("batch-reserve");
+    private final RedisScript<Long> shardTake = load("shard-take");
+    private final RedisScript<Long> shardRelease = load("shard-release");
+    private final RedisScript<List<Long>> shardEnable = loadList("shard-enable");
+    private final RedisScript<Long> shardFill = load("shard-fill");
+    private final RedisScript<Long> shardEnableDone = load("shard-enable-done");
+    private final RedisScript<Long> shardDisableBegin = load("shard-disable-begin");
+    private final RedisScript<List<Long>> shardDrain = loadList("shard-drain");
+    private final RedisScript<Long> shardMerge = load("shard-merge");
+    private final RedisScript<Long> shardDisable = load("shard-disable");
+    private final RedisScript<Long> leaseAcquire = load("lease-acquire");
+    private final RedisScript<List<Long>> leaseSettle = loadList("lease-settle");
+    private final RedisScript<Long> reservationTrack = load("reservation-track");
+    private final RedisScript<List<Long>> reservationRelease = loadList("reservation-release");
+    private final RedisScript<Long> stockLoad = load("stock-load");
+    private final RedisScript<Long> migrateLayout = load("migrate-layout");
+    private final RedisScript<Long> stockSync = load("stock-sync");
+
+    @Getter(AccessLevel.NONE)
+    private final RedisTemplate<String, Integer> redisTemplate;
+
+    /**
+     * 스크립트 SHA 사전 등록
+     * Redis 가 아직 준비되지 않았어도 기동은 계속되며, 첫 호출 시 EVAL 로 등록됩니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        for (RedisScript<?> script : List.of(reserve, release, releaseOnce, confirm, batchReserve,
+                shardTake, shardRelease, shardEnable, shardFill, shardEnableDone, shardDisableBegin, shardDrain,
+                shardMerge, shardDisable, leaseAcquire, leaseSettle,
+                reservationTrack, reservationRelease, stockLoad, migrateLayout, stockSync)) {
+            try {
+                String sha = redisTemplate.execute((RedisCallback<String>) connection ->
+                        connection.scriptingCommands()
+                                .scriptLoad(script.getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+                log.info("재고 스크립트 등록 완료: sha={}", sha);
+            } catch (Exception e) {
+                log.warn("재고 스크립트 사전 등록 실패 (첫 호출 시 등록): sha={}, error={}",
+                        script.getSha1(), e.getMessage());
+            }
+        }
+    }
+
+    private static RedisScript<Long> load(String name) {
+        return load(name, Long.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisScript<List<Long>> loadList(String name) {
+        return load(name, (Class<List<Long>>) (Class<?>) List.class);
+    }
+
+    private static <T> RedisScript<T> load(String name, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/inventory/" + name + ".lua"));
+        script.setResultType(resultType);
+        return script;
+    }
+}
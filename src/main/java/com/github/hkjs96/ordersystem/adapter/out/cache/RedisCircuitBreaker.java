@@ -0,0 +1,199 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 재고 경로 서킷 브레이커
+ *
+ * 📋 동작 원리:
+ * - CLOSED: Redis 호출, 연결 실패/명령 타임아웃이 연속 failure-threshold 번이면 OPEN
+ * - OPEN: Redis 를 호출하지 않고 바로 DB 성능 저하 경로 사용 → 타임아웃 대기로 스레드가 묶이지 않음
+ * - open-duration 이 지나면 RedisOutageRecovery 가 HALF_OPEN 으로 바꾸고 재동기화 후 CLOSED
+ * - HALF_OPEN 동안에도 요청은 DB 경로 (재동기화 중인 상품을 Redis 로 읽지 않도록)
+ * - 스크립트 오류 등 장애가 아닌 예외는 실패로 세지 않음
+ * - 상태는 노드 로컬 (노드마다 따로 열리고 닫힘)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ordersystem.inventory.circuit-breaker.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ordersystem.inventory.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${ordersystem.inventory.circuit-breaker.open-duration-ms:5000}")
+    private long openDurationMs;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAtNanos;
+
+    private final Map<State, Counter> transitions = new EnumMap<>(State.class);
+    private final Map<String, Counter> fallbacks = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("inventory.redis.circuit.state", state, s -> s.get().ordinal())
+                .description("Redis 재고 서킷 상태 (0 = CLOSED, 1 = HALF_OPEN, 2 = OPEN)")
+                .register(meterRegistry);
+        for (State target : State.values()) {
+            transitions.put(target, Counter.builder("inventory.redis.circuit.transitions")
+                    .tag("to", target.name().toLowerCase())
+                    .description("Redis 재고 서킷 상태 전환 횟수")
+                    .register(meterRegistry));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    /**
+     * 조회: 서킷이 닫혀 있으면 Redis, 열려 있거나 Redis 장애면 DB 경로로 응답
+     */
+    public <T> T read(String operation, Supplier<T> redis, Supplier<T> fallback) {
+        if (!allowsRedis()) {
+            return fallback(operation, fallback);
+        }
+        try {
+            return record(redis);
+        } catch (RedisConnectionFailureException | QueryTimeoutException e) {
+            return fallback(operation, fallback);
+        }
+    }
+
+    /**
+     * 변경: 서킷이 열려 있으면 DB 경로, 진행 중 호출의 Redis 장애는 그대로 전파
+     * (타임아웃이면 스크립트가 이미 적용되었을 수 있어 DB 에 한 번 더 반영하지 않음)
+     */
+    public <T> T write(String operation, Supplier<T> redis, Supplier<T> fallback) {
+        if (!allowsRedis()) {
+            return fallback(operation, fallback);
+        }
+        return record(redis);
+    }
+
+    /**
+     * 반환값 없는 변경 (write 와 동일)
+     */
+    public void run(String operation, Runnable redis, Runnable fallback) {
+        write(operation, () -> {
+            redis.run();
+            return null;
+        }, () -> {
+            fallback.run();
+            return null;
+        });
+    }
+
+    private boolean allowsRedis() {
+        return !enabled || state.get() == State.CLOSED;
+    }
+
+    private <T> T record(Supplier<T> redis) {
+        if (!enabled) {
+            return redis.get();
+        }
+        try {
+            T result = redis.get();
+            if (consecutiveFailures.get() != 0) {
+                consecutiveFailures.set(0);
+            }
+            return result;
+        } catch (RedisConnectionFailureException | QueryTimeoutException e) {
+            onFailure(e);
+            throw e;
+        }
+    }
+
+    private void onFailure(RuntimeException e) {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold
+                && transition(State.CLOSED, State.OPEN)) {
+            log.error("Redis 재고 서킷 OPEN (DB 성능 저하 모드): failures={}, error={}",
+                    consecutiveFailures.get(), e.getMessage());
+        }
+    }
+
+    private <T> T fallback(String operation, Supplier<T> fallback) {
+        fallbacks.computeIfAbsent(operation, op -> Counter.builder("inventory.redis.fallbacks")
+                .tag("operation", op)
+                .description("Redis 대신 DB 성능 저하 경로로 처리한 재고 호출 수")
+                .register(meterRegistry)).increment();
+        return fallback.get();
+    }
+
+    /**
+     * OPEN 상태로 open-duration 이 지났으면 HALF_OPEN 으로 전환
+     *
+     * @return 이번 호출이 HALF_OPEN 으로 전환했으면 true (재동기화 담당)
+     */
+    public boolean tryHalfOpen() {
+        if (state.get() != State.OPEN
+                || System.nanoTime() - openedAtNanos < TimeUnit.MILLISECONDS.toNanos(openDurationMs)) {
+            return false;
+        }
+        return transition(State.OPEN, State.HALF_OPEN);
+    }
+
+    /**
+     * 재동기화 성공 → CLOSED (Redis 경로 재개)
+     */
+    public void close() {
+        if (transition(State.HALF_OPEN, State.CLOSED)) {
+            consecutiveFailures.set(0);
+            log.info("Redis 재고 서킷 CLOSED (Redis 경로 재개)");
+        }
+    }
+
+    /**
+     * 재동기화 실패 → 다시 OPEN (open-duration 뒤 재시도)
+     */
+    public void reopen(Exception cause) {
+        if (transition(State.HALF_OPEN, State.OPEN)) {
+            log.warn("Redis 재고 서킷 재동기화 실패, 다시 OPEN: error={}", cause.getMessage());
+        }
+    }
+
+    private boolean transition(State from, State to) {
+        if (!state.compareAndSet(from, to)) {
+            return false;
+        }
+        if (to == State.OPEN) {
+            openedAtNanos = System.nanoTime();
+        }
+        transitions.get(to).increment();
+        return true;
+    }
+}
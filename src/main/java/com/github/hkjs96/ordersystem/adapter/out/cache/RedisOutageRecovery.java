@@ -0,0 +1,52 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 장애 복구: 서킷 HALF_OPEN → 재동기화 → CLOSED
+ *
+ * 📋 동작 원리:
+ * - OPEN 후 open-duration 이 지나면 HALF_OPEN 으로 바꾸고 재동기화 (요청은 계속 DB 경로)
+ * - 재동기화: 장애 중 결제 확정 재생 → DB 예약분을 Redis 로 이관 → 주문 예약 기록 재생
+ * - 성공하면 CLOSED, 그 사이 DB 로 들어온 예약은 CLOSED 이후 같은 주기에 이어서 이관
+ * - 실패하면 다시 OPEN, 남은 작업은 다음 시도에서 이어서 처리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class RedisOutageRecovery {
+
+    private final RedisCircuitBreaker breaker;
+    private final InventoryRepository inventoryRepository;
+
+    @Scheduled(fixedDelayString = "${ordersystem.inventory.circuit-breaker.probe-interval-ms:1000}")
+    public void probe() {
+        if (!breaker.isEnabled()) {
+            return;
+        }
+        if (breaker.tryHalfOpen()) {
+            log.info("Redis 재고 서킷 HALF_OPEN: 재동기화 시작");
+            try {
+                int products = inventoryRepository.resyncAfterOutage();
+                breaker.close();
+                log.info("Redis 재고 재동기화 완료: products={}", products);
+            } catch (Exception e) {
+                breaker.reopen(e);
+                return;
+            }
+        }
+        // CLOSED 직전까지 DB 로 들어온 예약 / 지난 회차에 남은 작업 마무리
+        if (breaker.state() == RedisCircuitBreaker.State.CLOSED && inventoryRepository.hasPendingResync()) {
+            try {
+                inventoryRepository.resyncAfterOutage();
+            } catch (Exception e) {
+                log.warn("Redis 재고 재동기화 잔여 작업 실패 (다음 주기에 재시도): error={}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인기 상품용 샤딩 재고 카운터
+ *
+ * 📋 동작 원리:
+ * - stock:{id} 하나에 몰리는 요청을 stock:{id:i} N개 해시로 분산 (클러스터에서는 샤드마다 다른 슬롯)
+ * - 예약: 임의의 샤드 선택 → 부족하면 다음 샤드 → 그래도 부족하면 여러 샤드에서 나눠 가져옴
+ * - 복원/확정: 임의의 샤드에 반납하고 예약 수량은 모자라면 다음 샤드에서 이어서 정리
+ *   (한 주문의 예약이 어느 샤드들에서 잡혔는지 몰라도 샤드 예약 합계는 정확히 유지 → 상태 조회/병합/동기화가 합계만 사용)
+ * - 샤딩 여부는 Redis 해시(stock:shards)에 기록, 각 노드는 주기적으로 로컬 캐시 갱신
+ * - 분할/병합은 키마다 슬롯이 다르므로 여러 키 스크립트 대신 단일 키 단계로 나눠 진행 (클러스터 호환)
+ *   옮기는 중인 수량은 원래 해시(분할) 또는 샤드(병합)에 기록 → 노드가 단계 사이에 멈춰도 재개 작업이 이어서 진행
+ * - 원래 재고 해시에도 shards 필드를 남기므로 단일 키 스크립트는 캐시가 늦어도 잘못된 키를 건드리지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class ShardedStockCounter {
+
+    static final String SHARD_REGISTRY_KEY = "stock:shards";
+    static final String MIGRATION_INDEX_KEY = "stock:shards:migrating";
+    private static final long NOT_SHARDED = -1L;
+    private static final long KEY_MISSING = -2L;
+    private static final long STOCK_TTL_SECONDS = TimeUnit.HOURS.toSeconds(24);
+
+    private final RedisTemplate<String, Integer> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final InventoryScripts scripts;
+
+    @Value("${ordersystem.inventory.sharding.max-shards:64}")
+    private int maxShards;
+
+    @Value("${ordersystem.inventory.sharding.migration-stale-ms:30000}")
+    private long migrationStaleMs;
+
+    /** 노드 로컬 샤드 수 캐시 (productId → 샤드 수) */
+    private final Map<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 샤드 수 조회 (0 = 샤딩되지 않은 상품)
+     */
+    public int shardCount(Long productId) {
+        return shardCounts.getOrDefault(productId, 0);
+    }
+
+    public boolean isSharded(Long productId) {
+        return shardCount(productId) > 0;
+    }
+
+    /**
+     * 스크립트가 샤딩 상품이라고 응답했을 때 해당 상품만 즉시 갱신
+     */
+    public int refresh(Long productId) {
+        Object value = stringRedisTemplate.opsForHash().get(SHARD_REGISTRY_KEY, String.valueOf(productId));
+        if (value == null) {
+            shardCounts.remove(productId);
+            return 0;
+        }
+        int shards = Integer.parseInt((String) value);
+        shardCounts.put(productId, shards);
+        return shards;
+    }
+
+    /**
+     * 샤딩 레지스트리 전체 갱신 (다른 노드가 변경한 내용 반영)
+     */
+    @Scheduled(fixedDelayString = "${ordersystem.inventory.sharding.refresh-interval-ms:5000}")
+    public void refreshRegistry() {
+        try {
+            Map<Long, Integer> latest = new HashMap<>();
+            stringRedisTemplate.opsForHash().entries(SHARD_REGISTRY_KEY).forEach((productId, shards) ->
+                    latest.put(Long.valueOf((String) productId), Integer.valueOf((String) shards)));
+
+            shardCounts.keySet().retainAll(latest.keySet());
+            shardCounts.putAll(latest);
+        } catch (Exception e) {
+            log.warn("샤딩 레지스트리 갱신 실패: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 단일 재고 키를 N개 샤드로 분할 (키마다 슬롯이 다르므로 단일 키 단계로 나눠 진행)
+     * 1) 빈 샤드 생성 (이미 있으면 그대로) → 2) 원래 해시를 표식으로 바꾸며 수량을 꺼내 같은 해시에 기록
+     * → 3) 꺼낸 수량을 샤드에 배분 (샤드마다 1회) → 4) 기록 삭제 + 레지스트리 등록
+     * (2~3 사이에 들어온 예약은 빈 샤드를 보고 잠시 재고 부족으로 거절될 수 있음)
+     * 중간에 멈추면 resumeMigrations 가 남은 기록으로 3) 부터 이어서 진행
+     *
+     * @return 적용된 샤드 수, 재고 키가 없으면 -2
+     */
+    public long enable(Long productId, int shards) {
+        if (shards < 2 || shards > maxShards) {
+            throw new IllegalStateException("샤드 수는 2 이상 " + maxShards + " 이하여야 합니다: " + shards);
+        }
+        int existing = refresh(productId);
+        if (existing > 0) {
+            return existing;
+        }
+
+        byte[] zero = "0".getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < shards; i++) {
+                byte[] key = StockKeys.shard(productId, i).getBytes(StandardCharsets.UTF_8);
+                for (String field : List.of(StockKeys.AVAILABLE, StockKeys.RESERVED, StockKeys.VERSION)) {
+                    connection.hashCommands().hSetNX(key, field.getBytes(StandardCharsets.UTF_8), zero);
+                }
+            }
+            return null;
+        });
+
+        int migration = beginMigration(productId);
+        List<Long> marked = redisTemplate.execute(scripts.getShardEnable(),
+                List.of(StockKeys.stock(productId)), shards, migration);
+        if (marked == null || marked.isEmpty()) {
+            return KEY_MISSING;
+        }
+        if (marked.size() == 1) {
+            // 다른 노드가 먼저 샤딩했으면 기존 샤드 수, 재고 키가 없으면 -2
+            if (marked.get(0) > 0) {
+                shardCounts.put(productId, marked.get(0).intValue());
+            }
+            return marked.get(0);
+        }
+
+        finishEnable(productId, shards, migration, marked.get(1), marked.get(2));
+        log.info("재고 샤딩 활성화: productId={}, shards={}", productId, shards);
+        return shards;
+    }
+
+    /**
+     * 샤드 키를 단일 재고 키로 병합 (단일 키 단계로 나눠 진행)
+     * 1) 원래 해시에 병합 기록 → 2) 샤드마다 수량을 꺼내 샤드에 남기고 → 3) 원래 해시에 더한 뒤 샤드 삭제
+     * → 4) 표식/기록 제거 + 레지스트리 삭제
+     * (병합 중 비워진 샤드로 들어온 예약은 잠시 실패할 수 있고, 반납은 원래 해시로 모임)
+     * 꺼낸 수량은 원래 해시에 더해질 때까지 샤드에 남으므로 중간에 멈춰도 resumeMigrations 가 이어서 병합
+     *
+     * @return 병합된 재고, 샤딩되지 않은 상품(또는 다른 분할/병합 진행 중)이면 -1
+     */
+    public long disable(Long productId, long stockTtlSeconds) {
+        int shards = refresh(productId);
+        if (shards == 0) {
+            return -1;
+        }
+
+        int migration = beginMigration(productId);
+        Long begun = redisTemplate.execute(scripts.getShardDisableBegin(),
+                List.of(StockKeys.stock(productId)), migration);
+        if (begun == null || begun == KEY_MISSING) {
+            // 표식이 남은 원래 해시가 사라졌으면 기록할 곳이 없음 → 샤드를 지우고 다음 접근 시 DB 에서 다시 적재
+            log.error("샤드 병합 대상 재고 키 없음 (샤드 삭제 후 DB 기준 재적재): productId={}", productId);
+            for (int i = 0; i < shards; i++) {
+                redisTemplate.delete(StockKeys.shard(productId, i));
+            }
+            unregister(productId);
+            return -1;
+        }
+        if (begun == NOT_SHARDED) {
+            unregister(productId); // 레지스트리만 남은 상품
+            return -1;
+        }
+        if (begun != migration) {
+            log.warn("샤드 분할/병합 진행 중이라 병합 생략 (재개 작업이 마무리): productId={}, migration={}",
+                    productId, begun);
+            return -1;
+        }
+
+        long merged = finishDisable(productId, shards, migration, 0, stockTtlSeconds);
+        log.info("재고 샤딩 해제: productId={}, shards={}, mergedStock={}", productId, shards, merged);
+        return merged;
+    }
+
+    /**
+     * 중단된 샤드 분할/병합 재개 (노드가 단계 사이에 멈춘 경우)
+     * - 시작 후 stale-ms 가 지나도 끝나지 않은 상품만 대상 → 진행 중인 작업과 겹치지 않게
+     * - 재고 해시의 기록으로 방향을 판단: migration_merged 가 있으면 병합, 없으면 분할
+     * - 모든 단계가 같은 작업 ID 로 한 번만 반영되므로 여러 노드가 동시에 재개해도 수량이 중복되지 않음
+     */
+    @Scheduled(fixedDelayString = "${ordersystem.inventory.sharding.recovery-interval-ms:60000}")
+    public void resumeMigrations() {
+        try {
+            long staleBefore = System.currentTimeMillis() - migrationStaleMs;
+            Set<String> pending = stringRedisTemplate.opsForZSet().rangeByScore(MIGRATION_INDEX_KEY, 0, staleBefore);
+            if (pending == null) {
+                return;
+            }
+            for (String productId : pending) {
+                resume(Long.valueOf(productId));
+            }
+        } catch (Exception e) {
+            log.warn("샤드 분할/병합 재개 실패 (다음 주기에 재시도): error={}", e.getMessage());
+        }
+    }
+
+    private void resume(Long productId) {
+        List<Object> record = stringRedisTemplate.opsForHash().multiGet(StockKeys.stock(productId), List.of(
+                StockKeys.SHARDS, StockKeys.MIGRATION, StockKeys.MIGRATION_AVAILABLE,
+                StockKeys.MIGRATION_RESERVED, StockKeys.MIGRATION_MERGED));
+        if (record.get(0) == null || record.get(1) == null) {
+            // 이미 끝났거나 시작 전에 멈춘 작업
+            stringRedisTemplate.opsForZSet().remove(MIGRATION_INDEX_KEY, String.valueOf(productId));
+            return;
+        }
+        int shards = Integer.parseInt((String) record.get(0));
+        int migration = Integer.parseInt((String) record.get(1));
+        if (record.get(4) != null) {
+            int merged = Integer.parseInt((String) record.get(4));
+            log.warn("중단된 샤드 병합 재개: productId={}, shards={}, merged={}", productId, shards, merged);
+            finishDisable(productId, shards, migration, merged, STOCK_TTL_SECONDS);
+        } else {
+            long available = Long.parseLong((String) record.get(2));
+            long reserved = Long.parseLong((String) record.get(3));
+            log.warn("중단된 샤드 분할 재개: productId={}, shards={}, available={}, reserved={}",
+                    productId, shards, available, reserved);
+            finishEnable(productId, shards, migration, available, reserved);
+        }
+    }
+
+    /**
+     * 꺼낸 수량을 샤드에 배분하고 기록 삭제 (재고는 균등 분할, 나머지는 앞쪽 샤드부터 1개씩, 예약 수량은 첫 샤드에)
+     */
+    private void finishEnable(Long productId, int shards, int migration, long available, long reserved) {
+        for (int i = 0; i < shards; i++) {
+            long share = available / shards + (i < available % shards ? 1 : 0);
+            redisTemplate.execute(scripts.getShardFill(), List.of(StockKeys.shard(productId, i)),
+                    migration, share, i == 0 ? reserved : 0L);
+        }
+        redisTemplate.execute(scripts.getShardEnableDone(), List.of(StockKeys.stock(productId)), migration);
+        stringRedisTemplate.opsForHash().put(SHARD_REGISTRY_KEY, String.valueOf(productId), String.valueOf(shards));
+        stringRedisTemplate.opsForZSet().remove(MIGRATION_INDEX_KEY, String.valueOf(productId));
+        shardCounts.put(productId, shards);
+    }
+
+    /**
+     * from 번 샤드부터 하나씩 꺼내 원래 해시에 더하고 샤드 삭제 → 표식/기록 제거
+     */
+    private long finishDisable(Long productId, int shards, int migration, int from, long stockTtlSeconds) {
+        for (int i = 0; i < shards; i++) {
+            String shardKey = StockKeys.shard(productId, i);
+            if (i >= from) {
+                List<Long> drained = redisTemplate.execute(scripts.getShardDrain(), List.of(shardKey), migration);
+                if (drained == null || drained.size() != 2) {
+                    throw new IllegalStateException("샤드 비우기 실패: " + shardKey);
+                }
+                redisTemplate.execute(scripts.getShardMerge(), List.of(StockKeys.stock(productId)),
+                        migration, i, drained.get(0), drained.get(1));
+            }
+            redisTemplate.delete(shardKey); // 원래 해시에 더한 뒤에만 삭제
+        }
+
+        Long merged = redisTemplate.execute(scripts.getShardDisable(),
+                List.of(StockKeys.stock(productId)), migration, stockTtlSeconds);
+        if (merged == null || merged == KEY_MISSING) {
+            log.error("샤드 병합 마무리 대상 재고 키 없음 (DB 동기화 필요): productId={}", productId);
+        }
+        unregister(productId);
+        return merged != null ? merged : -1;
+    }
+
+    /**
+     * 작업 ID 발급 + 진행 중 목록(시작 시각 점수)에 등록 → 멈추면 resumeMigrations 가 찾아 재개
+     */
+    private int beginMigration(Long productId) {
+        stringRedisTemplate.opsForZSet().add(MIGRATION_INDEX_KEY, String.valueOf(productId), System.currentTimeMillis());
+        return ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+    }
+
+    private void unregister(Long productId) {
+        stringRedisTemplate.opsForHash().delete(SHARD_REGISTRY_KEY, String.valueOf(productId));
+        stringRedisTemplate.opsForZSet().remove(MIGRATION_INDEX_KEY, String.valueOf(productId));
+        shardCounts.remove(productId);
+    }
+
+    /**
+     * 샤드 재고 예약
+     *
+     * @return 예약 성공 여부, 샤딩되지 않은 상품이거나 샤드 키가 없으면(그 사이 샤딩 해제) null
+     */
+    public Boolean reserve(Long productId, int quantity) {
+        int shards = shardCount(productId);
+        if (shards == 0) {
+            return null;
+        }
+        int start = ThreadLocalRandom.current().nextInt(shards);
+
+        // 1) 임의의 샤드부터 차례로 단일 샤드 예약 시도
+        for (int k = 0; k < shards; k++) {
+            int shard = (start + k) % shards;
+            Long remaining = redisTemplate.execute(scripts.getReserve(),
+                    List.of(StockKeys.shard(productId, shard)), quantity);
+            if (remaining != null && remaining >= 0) {
+                return true;
+            }
+            if (k == 0 && (remaining == null || remaining == KEY_MISSING)) {
+                return null;
+            }
+        }
+
+        // 2) 한 샤드로는 부족하면 합계 확인 후 여러 샤드에서 나눠 가져옴
+        if (available(productId) < quantity) {
+            return false;
+        }
+        return gather(productId, quantity, shards);
+    }
+
+    /**
+     * 샤드 재고 복원 (임의의 샤드에 반납, 예약 수량은 합계 기준으로 정리)
+     *
+     * @return 샤드에 반영했으면 true, 샤드 키가 없으면(그 사이 샤딩 해제) false
+     */
+    public boolean release(Long productId, int quantity) {
+        int shards = shardCount(productId);
+        return shards > 0 && settle(productId, shards, ThreadLocalRandom.current().nextInt(shards), quantity, quantity);
+    }
+
+    /**
+     * 샤드 예약 수량 정리 (결제 확정 시)
+     *
+     * @return 샤드에 반영했으면 true, 샤드 키가 없으면(그 사이 샤딩 해제) false
+     */
+    public boolean confirm(Long productId, int quantity) {
+        int shards = shardCount(productId);
+        return shards > 0 && settle(productId, shards, ThreadLocalRandom.current().nextInt(shards), 0, quantity);
+    }
+
+    /**
+     * 샤드 재고 합계
+     */
+    public int available(Long productId) {
+        return sum(productId, StockKeys.AVAILABLE);
+    }
+
+    /**
+     * 샤드 예약 수량 합계
+     */
+    public int reserved(Long productId) {
+        return sum(productId, StockKeys.RESERVED);
+    }
+
+    private boolean gather(Long productId, int quantity, int shards) {
+        int[] taken = new int[shards];
+        int remaining = quantity;
+        for (int shard = 0; shard < shards && remaining > 0; shard++) {
+            Long got = redisTemplate.execute(scripts.getShardTake(),
+                    List.of(StockKeys.shard(productId, shard)), remaining);
+            taken[shard] = got != null ? got.intValue() : 0;
+            remaining -= taken[shard];
+        }
+
+        if (remaining == 0) {
+            return true;
+        }
+
+        // 그 사이 다른 주문이 가져가 부족해졌으면 가져온 만큼 되돌림
+        for (int shard = 0; shard < shards; shard++) {
+            if (taken[shard] > 0) {
+                settle(productId, shards, shard, taken[shard], taken[shard]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * start 샤드에 가용 재고를 돌려주고, 예약 수량은 모자라면 다음 샤드에서 이어서 정리
+     *
+     * @return 첫 샤드 키가 없으면(샤딩 해제) false
+     */
+    private boolean settle(Long productId, int shards, int start, int restored, int reserved) {
+        int remaining = reserved;
+        for (int k = 0; k < shards && (k == 0 || remaining > 0); k++) {
+            Long cleared = redisTemplate.execute(scripts.getShardRelease(),
+                    List.of(StockKeys.shard(productId, (start + k) % shards)), k == 0 ? restored : 0, remaining);
+            if (cleared == null || cleared == KEY_MISSING) {
+                if (k == 0) {
+                    return false;
+                }
+                continue;
+            }
+            remaining -= cleared.intValue();
+        }
+        if (remaining > 0) {
+            log.warn("샤드 예약 수량 부족 (정리 생략분): productId={}, requested={}, shortfall={}",
+                    productId, reserved, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * 샤드 해시의 같은 필드 합계 (파이프라인 1회)
+     */
+    private int sum(Long productId, String field) {
+        int shards = shardCount(productId);
+        byte[] fieldBytes = field.getBytes(StandardCharsets.UTF_8);
+        List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < shards; i++) {
+                connection.hashCommands().hGet(
+                        StockKeys.shard(productId, i).getBytes(StandardCharsets.UTF_8), fieldBytes);
+            }
+            return null;
+        });
+        return values.stream().mapToInt(v -> v != null ? (Integer) v : 0).sum();
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 품절/재입고 전파 (Redis pub/sub → 모든 노드의 SoldOutMirror)
+ *
+ * 📋 동작 원리:
+ * - 재고가 0 을 지나는 순간(품절 처음 관측 / 품절 상품 복원)에만 stock:sold-out 채널로 발행
+ * - 메시지는 종류 1바이트('-' 품절, '+' 재입고) + ASCII 상품 ID (예: "-42")
+ * - 모든 노드가 구독해 로컬 품절 미러에 표시/해제 → 다른 노드도 첫 요청부터 Redis 왕복 없이 거절
+ * - pub/sub 은 전달을 보장하지 않으므로 미러의 mark-ttl-ms 만료가 유실 시 상한
+ * - 발행 실패는 예약 처리에 영향 없음 (경고 로그만)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class SoldOutBroadcaster implements MessageListener {
+
+    static final String CHANNEL = "stock:sold-out";
+    private static final byte[] CHANNEL_BYTES = CHANNEL.getBytes(StandardCharsets.US_ASCII);
+    private static final byte SOLD_OUT = '-';
+    private static final byte RESTOCKED = '+';
+
+    private final RedisTemplate<String, Integer> redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final SoldOutMirror soldOutMirror;
+
+    @Value("${ordersystem.inventory.sold-out-mirror.broadcast:false}")
+    private boolean enabled;
+
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    void subscribe() {
+        if (!isEnabled()) {
+            return;
+        }
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        log.info("품절 전파 구독 시작: channel={}", CHANNEL);
+    }
+
+    @PreDestroy
+    void unsubscribe() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && soldOutMirror.isEnabled();
+    }
+
+    public void soldOut(Long productId) {
+        publish(SOLD_OUT, productId);
+    }
+
+    public void restocked(Long productId) {
+        publish(RESTOCKED, productId);
+    }
+
+    private void publish(byte type, Long productId) {
+        if (!isEnabled()) {
+            return;
+        }
+        byte[] id = InventoryRedisCodec.encode(productId);
+        byte[] message = new byte[id.length + 1];
+        message[0] = type;
+        System.arraycopy(id, 0, message, 1, id.length);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(CHANNEL_BYTES, message));
+            log.debug("품절 상태 전파: productId={}, soldOut={}", productId, type == SOLD_OUT);
+        } catch (Exception e) {
+            log.warn("품절 상태 전파 실패 (미러 만료 후 반영): productId={}, error={}", productId, e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드(자기 자신 포함)가 발행한 품절/재입고 반영
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        byte[] body = message.getBody();
+        if (body.length < 2) {
+            return;
+        }
+        long productId;
+        try {
+            productId = InventoryRedisCodec.decode(Arrays.copyOfRange(body, 1, body.length));
+        } catch (RuntimeException e) {
+            log.warn("잘못된 품절 전파 메시지 무시: {}", new String(body, StandardCharsets.US_ASCII));
+            return;
+        }
+        if (body[0] == SOLD_OUT) {
+            soldOutMirror.markSoldOut(productId);
+        } else if (body[0] == RESTOCKED) {
+            soldOutMirror.clear(productId);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 로컬 품절 미러 (품절 상품 요청을 Redis 조회 없이 거절)
+ *
+ * 📋 동작 원리:
+ * - productId(long) → 품절 표시 만료 시각(int, ms) 개방 주소법 테이블, 박싱 없음
+ * - 칸당 12바이트(long 키 + int 값), 적재율 0.75 → 상품당 약 16바이트
+ * - 재고 0 을 직접 관측했을 때만 표시 (Redis 조회/예약 결과)
+ * - 재고 복원(로컬 또는 inventory-events)이 보이면 즉시 해제
+ * - 품절/재입고 전환은 SoldOutBroadcaster 로 다른 노드에도 전파 (sold-out-mirror.broadcast)
+ * - 표시는 mark-ttl-ms 후 만료 → 이 노드가 못 본 재입고도 그 시간 안에 반영 (보수적)
+ * - 테이블이 가득 차면 표시를 생략 (표시하지 않는 쪽은 항상 안전)
+ */
+@Slf4j
+@Component
+public class SoldOutMirror {
+
+    private static final int CLEARED = 0;
+    private static final double LOAD_FACTOR = 0.75;
+
+    @Value("${ordersystem.inventory.sold-out-mirror.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ordersystem.inventory.sold-out-mirror.max-products:1000000}")
+    private int maxProducts;
+
+    @Value("${ordersystem.inventory.sold-out-mirror.mark-ttl-ms:1000}")
+    private long markTtlMs;
+
+    private final long baseNanos = System.nanoTime();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private AtomicLongArray keys;   // 0 = 빈 칸
+    private AtomicIntegerArray expiries; // 0 = 품절 아님, 그 외 = 표시 만료 시각(기준 시점 대비 ms)
+    private int capacity;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        capacity = (int) Math.ceil(maxProducts / LOAD_FACTOR);
+        keys = new AtomicLongArray(capacity);
+        expiries = new AtomicIntegerArray(capacity);
+        log.info("품절 미러 활성화: maxProducts={}, capacity={}, 약 {}MB",
+                maxProducts, capacity, (capacity * 12L) >> 20);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 품절로 알려진 상품인지 (모르면 false → Redis 경로)
+     */
+    public boolean isSoldOut(Long productId) {
+        if (!enabled) {
+            return false;
+        }
+        int slot = find(productId);
+        if (slot < 0) {
+            return false;
+        }
+        int expiry = expiries.get(slot);
+        return expiry != CLEARED && expiry - now() > 0;
+    }
+
+    /**
+     * 재고 0 관측 시 품절 표시
+     *
+     * @return 새로 품절 표시했으면 true (이미 품절로 알고 있었으면 false → 다시 전파하지 않음)
+     */
+    public boolean markSoldOut(Long productId) {
+        if (!enabled) {
+            return false;
+        }
+        int slot = findOrInsert(productId);
+        if (slot < 0) {
+            return false;
+        }
+        int now = now();
+        int expiry = now + (int) markTtlMs;
+        int previous = expiries.getAndSet(slot, expiry == CLEARED ? 1 : expiry);
+        return previous == CLEARED || previous - now <= 0;
+    }
+
+    /**
+     * 재고 증가 관측 시 품절 해제
+     *
+     * @return 품절로 표시되어 있었으면 true
+     */
+    public boolean clear(Long productId) {
+        if (!enabled) {
+            return false;
+        }
+        int slot = find(productId);
+        if (slot < 0) {
+            return false;
+        }
+        int previous = expiries.getAndSet(slot, CLEARED);
+        return previous != CLEARED && previous - now() > 0;
+    }
+
+    /**
+     * 만료된 표시 정리 (int ms 시각이 한 바퀴 돌기 전에 비워 오래된 표시가 되살아나지 않도록)
+     */
+    @Scheduled(fixedDelayString = "${ordersystem.inventory.sold-out-mirror.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        int now = now();
+        for (int i = 0; i < capacity; i++) {
+            int expiry = expiries.get(i);
+            if (expiry != CLEARED && expiry - now <= 0) {
+                expiries.compareAndSet(i, expiry, CLEARED);
+            }
+        }
+    }
+
+    private int find(long productId) {
+        for (int i = index(productId), probes = 0; probes < capacity; probes++) {
+            long key = keys.get(i);
+            if (key == productId) {
+                return i;
+            }
+            if (key == 0) {
+                return -1;
+            }
+            if (++i == capacity) {
+                i = 0;
+            }
+        }
+        return -1;
+    }
+
+    private int findOrInsert(long productId) {
+        if (productId <= 0) {
+            return -1;
+        }
+        for (int i = index(productId), probes = 0; probes < capacity; ) {
+            long key = keys.get(i);
+            if (key == productId) {
+                return i;
+            }
+            if (key == 0) {
+                if (size.get() >= maxProducts) {
+                    return -1; // 가득 참: 표시 생략
+                }
+                if (keys.compareAndSet(i, 0, productId)) {
+                    size.incrementAndGet();
+                    return i;
+                }
+                continue; // 다른 스레드가 먼저 차지 → 같은 칸 다시 확인
+            }
+            if (++i == capacity) {
+                i = 0;
+            }
+            probes++;
+        }
+        return -1;
+    }
+
+    /** 2의 거듭제곱이 아닌 용량에 맞춘 곱셈 범위 축소 */
+    private int index(long productId) {
+        long h = productId * 0x9E3779B97F4A7C15L;
+        return (int) (((h >>> 32) * capacity) >>> 32);
+    }
+
+    private int now() {
+        return (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - baseNanos);
+    }
+}
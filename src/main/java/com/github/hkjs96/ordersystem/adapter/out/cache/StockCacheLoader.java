@@ -0,0 +1,150 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import com.github.hkjs96.ordersystem.exception.ReservationFailedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 캐시 미스 단일 로딩 (single-flight)
+ *
+ * 📋 동작 원리:
+ * - 노드 안: 상품별 진행 중 로딩(future)을 공유 → 동시 미스가 몇 건이든 로더는 1개
+ * - 노드 간: stock:loading:{id} 를 SET NX 로 선점한 노드만 DB 조회, 나머지는 재고 키가 생길 때까지 대기
+ * - 재고 해시는 없을 때만 채움(stock-load.lua) → 이미 예약이 반영된 값을 DB 값으로 덮어쓰지 않음
+ * - 대기 시간이 지나도 키가 없으면 직접 로딩 (없을 때만 채우므로 중복 로딩되어도 안전)
+ * - 기존 문자열 키가 남아 있으면 DB 대신 그 값을 먼저 이전 (StockLayoutMigrator)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class StockCacheLoader {
+
+    private static final long STOCK_TTL_SECONDS = TimeUnit.HOURS.toSeconds(24);
+
+    private final RedisTemplate<String, Integer> redisTemplate;
+    private final ProductRepository productRepository;
+    private final InventoryScripts scripts;
+    private final StockLayoutMigrator layoutMigrator;
+
+    @Value("${ordersystem.inventory.cache-loading.lock-ttl-ms:5000}")
+    private long lockTtlMs;
+
+    @Value("${ordersystem.inventory.cache-loading.wait-timeout-ms:2000}")
+    private long waitTimeoutMs;
+
+    @Value("${ordersystem.inventory.cache-loading.poll-interval-ms:20}")
+    private long pollIntervalMs;
+
+    /** 노드 로컬 진행 중 로딩 (productId → 로딩 결과) */
+    private final Map<Long, CompletableFuture<Integer>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 재고 키가 없을 때 DB 값으로 채우고 현재 Redis 값을 반환
+     *
+     * @return 현재 재고, 상품이 없으면 null
+     */
+    public Integer load(Long productId) {
+        CompletableFuture<Integer> mine = new CompletableFuture<>();
+        CompletableFuture<Integer> running = inFlight.putIfAbsent(productId, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            Integer stock = loadOnce(productId);
+            mine.complete(stock);
+            return stock;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(productId, mine);
+        }
+    }
+
+    private Integer loadOnce(Long productId) {
+        ValueOperations<String, Integer> ops = redisTemplate.opsForValue();
+        String stockKey = StockKeys.stock(productId);
+        String loadingKey = StockKeys.loading(productId);
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+
+        while (true) {
+            Integer cached = redisTemplate.<String, Integer>opsForHash().get(stockKey, StockKeys.AVAILABLE);
+            if (cached != null) {
+                return cached;
+            }
+
+            if (Boolean.TRUE.equals(ops.setIfAbsent(loadingKey, 1, lockTtlMs, TimeUnit.MILLISECONDS))) {
+                try {
+                    return loadFromDatabase(productId);
+                } finally {
+                    redisTemplate.delete(loadingKey);
+                }
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                log.warn("다른 노드의 재고 로딩 대기 시간 초과, 직접 로딩: productId={}", productId);
+                return loadFromDatabase(productId);
+            }
+            sleep(productId);
+        }
+    }
+
+    private Integer loadFromDatabase(Long productId) {
+        Integer migrated = layoutMigrator.isEnabled() ? layoutMigrator.migrate(productId) : null;
+        if (migrated != null) {
+            return migrated;
+        }
+
+        log.info("DB에서 재고 초기화: productId={}", productId);
+
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null) {
+            log.warn("재고 초기화 대상 상품 미발견: productId={}", productId);
+            return null;
+        }
+
+        int stockValue = product.isStockManaged() ? product.getTotalStock() : Integer.MAX_VALUE;
+
+        // 없을 때만 채움: 그 사이 다른 경로가 채웠으면 예약이 반영되었을 수 있는 현재 값을 사용
+        Long current = redisTemplate.execute(scripts.getStockLoad(), List.of(StockKeys.stock(productId)),
+                String.valueOf(stockValue), String.valueOf(STOCK_TTL_SECONDS));
+        log.info("재고 초기화 완료: productId={}, stock={}", productId, current);
+        return current != null ? current.intValue() : stockValue;
+    }
+
+    private Integer await(CompletableFuture<Integer> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void sleep(Long productId) {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReservationFailedException("재고 로딩 대기 중 중단되었습니다. productId=" + productId);
+        }
+    }
+}
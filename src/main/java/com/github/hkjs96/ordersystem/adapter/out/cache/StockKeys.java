@@ -0,0 +1,73 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+/**
+ * 재고 Redis 키 레이아웃
+ *
+ * 📋 동작 원리:
+ * - 상품당 해시 1개: stock:{productId} → available / reserved / version (+ 샤딩 시 shards)
+ * - 중괄호 부분만 해시 슬롯 계산에 쓰이므로 한 상품의 재고/임대 키는 클러스터에서 같은 슬롯
+ * - 필드가 적은 작은 해시는 Redis 가 listpack 으로 저장 → 문자열 키 2개보다 메모리 절약
+ * - 샤드 키는 stock:{productId:i} 로 샤드마다 다른 슬롯에 분산
+ * - oversold: 회수된 임대에서 늦게 정산된 판매분 중 재고가 모자라 차감하지 못한 누적 수량 (모니터링용)
+ * - migration*: 샤드 분할/병합 중 옮기고 있는 수량 기록 (완료 시 삭제, 중단되면 재개 작업이 이어서 진행)
+ * - 주문 예약 라인은 상품별 reservation:{productId} (재고 해시와 같은 슬롯), 주문 → 상품 인덱스와 만료 인덱스는 별도 키
+ */
+public final class StockKeys {
+
+    public static final String AVAILABLE = "available";
+    public static final String RESERVED = "reserved";
+    public static final String VERSION = "version";
+    public static final String SHARDS = "shards";
+    public static final String OVERSOLD = "oversold";
+    public static final String MIGRATION = "migration";
+    public static final String MIGRATION_AVAILABLE = "migration_available";
+    public static final String MIGRATION_RESERVED = "migration_reserved";
+    public static final String MIGRATION_MERGED = "migration_merged";
+
+    /** 결제 대기 주문 만료 인덱스 (orderId, 점수 = 만료 시각 ms) */
+    static final String RESERVATION_EXPIRY = "reservation:expiry";
+
+    private StockKeys() {
+    }
+
+    public static String stock(Long productId) {
+        return "stock:{" + productId + "}";
+    }
+
+    static String shard(Long productId, int shard) {
+        return "stock:{" + productId + ":" + shard + "}";
+    }
+
+    static String loading(Long productId) {
+        return "stock:loading:{" + productId + "}";
+    }
+
+    /**
+     * 재고 복원 이벤트 처리 완료 표식 (재고 해시와 같은 슬롯)
+     */
+    static String processedEvent(Long productId, String eventId) {
+        return "event:processed:{" + productId + "}:" + eventId;
+    }
+
+    /**
+     * 상품의 주문 예약 라인 (orderId → 수량, 재고 해시와 같은 슬롯)
+     */
+    static String reservations(Long productId) {
+        return "reservation:{" + productId + "}";
+    }
+
+    /**
+     * 주문의 예약 상품 목록 (주문 전체 복원 시 라인을 찾는 인덱스)
+     */
+    static String reservationOrder(Long orderId) {
+        return "reservation:order:{" + orderId + "}";
+    }
+
+    static String lease(Long productId) {
+        return "lease:{" + productId + "}";
+    }
+
+    static String leaseRevoke(Long productId) {
+        return lease(productId) + ":revoke";
+    }
+}
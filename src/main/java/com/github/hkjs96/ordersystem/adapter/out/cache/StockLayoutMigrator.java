@@ -0,0 +1,148 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기존 문자열 키 레이아웃 → 상품별 재고 해시 이전
+ *
+ * 📋 동작 원리:
+ * - 기동 시 SCAN 으로 기존 키(stock:<id>, reserved:<id>, 샤드, 임대)를 찾아 배치 단위로 이전
+ * - 한 상품의 이전은 스크립트 한 번으로 원자 처리, 배치는 파이프라인 1회
+ * - 캐시 미스 시에도 DB 로딩 전에 해당 상품만 먼저 이전 → 이전 전 예약 수량을 잃지 않음
+ * - 기존 레이아웃은 단일 인스턴스 전용이므로, 이전이 끝나면 비활성화 후 Redis Cluster 로 옮길 수 있음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class StockLayoutMigrator {
+
+    private static final long STOCK_TTL_SECONDS = TimeUnit.HOURS.toSeconds(24);
+    private static final List<String> LEGACY_PATTERNS = List.of("stock:*", "reserved:*", "lease:*");
+    private static final Pattern LEGACY_KEY = Pattern.compile("^(?:stock|reserved|lease):(\\d+)(?::\\w+)?$");
+
+    private final RedisTemplate<String, Integer> redisTemplate;
+    private final InventoryScripts scripts;
+
+    @Value("${ordersystem.inventory.legacy-migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ordersystem.inventory.legacy-migration.batch-size:500}")
+    private int batchSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 상품 하나의 기존 키 이전 (캐시 미스 경로)
+     *
+     * @return 이전된 가용 재고, 이전할 기존 키가 없으면 null
+     */
+    public Integer migrate(Long productId) {
+        if (!enabled) {
+            return null;
+        }
+        Long result = redisTemplate.execute(scripts.getMigrateLayout(), keys(productId),
+                String.valueOf(productId), String.valueOf(STOCK_TTL_SECONDS));
+        if (result != null && result >= 0) {
+            log.info("기존 재고 키 이전: productId={}, available={}", productId, result);
+            return result.intValue();
+        }
+        return null;
+    }
+
+    /**
+     * 기동 시 전체 기존 키 이전 (재고 예열보다 먼저)
+     */
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateAll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Set<Long> productIds = new LinkedHashSet<>();
+            for (String pattern : LEGACY_PATTERNS) {
+                ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+                try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                    while (cursor.hasNext()) {
+                        Matcher matcher = LEGACY_KEY.matcher(cursor.next());
+                        if (matcher.matches()) {
+                            productIds.add(Long.valueOf(matcher.group(1)));
+                        }
+                    }
+                }
+            }
+            if (productIds.isEmpty()) {
+                return;
+            }
+
+            List<Long> ids = new ArrayList<>(productIds);
+            int migrated = 0;
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                migrated += migrateBatch(ids.subList(from, Math.min(from + batchSize, ids.size())));
+            }
+            log.info("기존 재고 키 이전 완료: products={}, migrated={}", ids.size(), migrated);
+        } catch (Exception e) {
+            log.warn("기존 재고 키 일괄 이전 실패 (캐시 미스 시 상품별 이전): error={}", e.getMessage());
+        }
+    }
+
+    private int migrateBatch(List<Long> productIds) {
+        byte[] script = scripts.getMigrateLayout().getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] ttl = bytes(String.valueOf(STOCK_TTL_SECONDS));
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long productId : productIds) {
+                List<String> keys = keys(productId);
+                byte[][] keysAndArgs = new byte[keys.size() + 2][];
+                for (int i = 0; i < keys.size(); i++) {
+                    keysAndArgs[i] = bytes(keys.get(i));
+                }
+                keysAndArgs[keys.size()] = bytes(String.valueOf(productId));
+                keysAndArgs[keys.size() + 1] = ttl;
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, keys.size(), keysAndArgs);
+            }
+            return null;
+        });
+
+        int migrated = 0;
+        for (Object result : results) {
+            if (result instanceof Number number && number.longValue() >= 0) {
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    private static List<String> keys(Long productId) {
+        return List.of(StockKeys.stock(productId), "stock:" + productId, "reserved:" + productId,
+                "lease:" + productId, "lease:" + productId + ":revoke", ShardedStockCounter.SHARD_REGISTRY_KEY);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
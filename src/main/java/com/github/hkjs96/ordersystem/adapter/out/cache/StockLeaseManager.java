@@ -0,0 +1,408 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.hkjs96.ordersystem.domain.event.HotProductEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 로컬 재고 임대 (인기 상품용)
+ *
+ * 📋 동작 원리:
+ * - Redis 재고에서 N개 블록을 한 번의 스크립트 호출로 임대 (lease:{id} 해시에 노드별 기록)
+ * - 예약은 로컬 카운터 CAS 로 처리 → Redis 왕복 없음
+ * - 로컬 판매분은 주기적으로 재고 해시의 reserved 에 정산, 만료/종료 시 미사용분 반납
+ * - 임대 키는 재고 해시와 같은 해시 태그 → 클러스터에서도 같은 슬롯
+ * - 임대 크기는 직전 임대의 판매 속도에 맞춰 조정
+ * - 재고가 하한 이하이거나 다른 노드가 재고 부족을 만나면 임대를 중단/회수
+ *
+ * 임대분은 Redis 재고에서 이미 차감된 수량이므로 임대가 살아 있는 동안에는 초과 판매가 없습니다.
+ * 다만 노드가 멈춘 사이 만료 회수되었거나 동기화로 무효화된 임대에서 다음 정산 전까지 판매한 수량은
+ * 회수분이 이미 다시 팔렸을 수 있어 초과 판매가 될 수 있습니다. 이 경우 정산은 가용 재고를 0 미만으로
+ * 내리지 않고 모자란 수량을 재고 해시의 oversold 에 기록하며, 초과분 주문은 결제 확정 시 DB 조건부 차감에서 거절됩니다.
+ * (로컬 만료는 Redis 임대 만료의 절반이라 정상 노드는 회수 전에 스스로 반납합니다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class StockLeaseManager {
+
+    private static final long REVOKE_TTL_SECONDS = 60;
+    private static final long LEASE_DROPPED = -1L;
+
+    private final RedisTemplate<String, Integer> redisTemplate;
+    private final InventoryScripts scripts;
+
+    @Value("${ordersystem.inventory.leasing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ordersystem.inventory.leasing.product-ids:}")
+    private Set<Long> configuredProductIds;
+
+    /** 인기 상품 감지(HotProductTracker)에 따라 임대 대상 자동 등록/해제 */
+    @Value("${ordersystem.inventory.leasing.auto-hot-products:false}")
+    private boolean autoHotProducts;
+
+    @Value("${ordersystem.inventory.leasing.initial-size:50}")
+    private int initialSize;
+
+    @Value("${ordersystem.inventory.leasing.min-size:10}")
+    private int minSize;
+
+    @Value("${ordersystem.inventory.leasing.max-size:500}")
+    private int maxSize;
+
+    @Value("${ordersystem.inventory.leasing.target-lease-seconds:5}")
+    private long targetLeaseSeconds;
+
+    @Value("${ordersystem.inventory.leasing.ttl-seconds:30}")
+    private long leaseTtlSeconds;
+
+    @Value("${ordersystem.inventory.leasing.low-stock-threshold:100}")
+    private int lowStockThreshold;
+
+    @Value("${ordersystem.inventory.leasing.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    /** 노드 식별자 (임대 해시 필드) */
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    /** 임대 대상 상품 */
+    private final Set<Long> leasable = ConcurrentHashMap.newKeySet();
+
+    /** 상품별 임대 상태 */
+    private final Map<Long, LeaseState> states = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        if (enabled && configuredProductIds != null) {
+            configuredProductIds.forEach(this::enable);
+        }
+    }
+
+    /**
+     * 상품을 임대 대상으로 등록
+     */
+    public void enable(Long productId) {
+        leasable.add(productId);
+        states.computeIfAbsent(productId, id -> new LeaseState(initialSize));
+        log.info("재고 임대 대상 등록: productId={}, nodeId={}", productId, nodeId);
+    }
+
+    /**
+     * 임대 대상 해제 (남은 임대분 반납)
+     */
+    public void disable(Long productId) {
+        leasable.remove(productId);
+        LeaseState state = states.remove(productId);
+        if (state != null) {
+            close(productId, state);
+        }
+    }
+
+    /**
+     * HOT 전환 → 임대 대상 등록, COLD 전환 → 해제 (설정으로 지정한 상품은 유지)
+     */
+    @EventListener
+    public void onHotProduct(HotProductEvent event) {
+        if (!enabled || !autoHotProducts
+                || (configuredProductIds != null && configuredProductIds.contains(event.productId()))) {
+            return;
+        }
+        if (event.hot()) {
+            enable(event.productId());
+        } else if (leasable.contains(event.productId())) {
+            disable(event.productId());
+            log.info("식은 상품 재고 임대 해제: productId={}", event.productId());
+        }
+    }
+
+    public boolean isLeasable(Long productId) {
+        return enabled && leasable.contains(productId);
+    }
+
+    /**
+     * 로컬 임대분에서 예약
+     *
+     * @return 로컬에서 처리했으면 true, Redis 경로로 진행해야 하면 false
+     */
+    public boolean tryReserve(Long productId, int quantity) {
+        if (!isLeasable(productId)) {
+            return false;
+        }
+        LeaseState state = states.get(productId);
+        if (state == null) {
+            return false;
+        }
+
+        // 대부분의 요청: 로컬 CAS 한 번
+        if (state.take(quantity)) {
+            return true;
+        }
+        return refill(productId, state, quantity);
+    }
+
+    /**
+     * 로컬 임대분 잔량 (조회 전용)
+     */
+    public int localRemaining(Long productId) {
+        LeaseState state = states.get(productId);
+        return state != null ? remaining(state.counters.get()) : 0;
+    }
+
+    /**
+     * 아직 정산되지 않은 로컬 예약을 임대분으로 되돌림
+     *
+     * @return 로컬에서 처리했으면 true, Redis 경로로 복원해야 하면 false
+     */
+    public boolean release(Long productId, int quantity) {
+        LeaseState state = states.get(productId);
+        return state != null && state.giveBack(quantity);
+    }
+
+    /**
+     * 로컬 판매분을 Redis 예약 수량에 즉시 반영 (결제 확정 전 호출)
+     */
+    public void settle(Long productId) {
+        LeaseState state = states.get(productId);
+        if (state == null) {
+            return;
+        }
+        int sold = pending(state.counters.getAndUpdate(c -> pack(remaining(c), 0)));
+        if (sold > 0 && settle(productId, sold, 0) == LEASE_DROPPED) {
+            // 회수된 임대: 로컬 잔량 폐기, 그 사이 판매분은 현재 재고에서 차감
+            int late = pending(state.counters.getAndSet(0L));
+            if (late > 0) {
+                settle(productId, late, 0);
+            }
+        }
+    }
+
+    /**
+     * Redis 경로에서 재고 부족이 발생하면 모든 노드에 임대 회수 요청
+     */
+    public void onInsufficient(Long productId) {
+        if (!isLeasable(productId)) {
+            return;
+        }
+        redisTemplate.opsForValue().set(revokeKey(productId), 1, REVOKE_TTL_SECONDS, TimeUnit.SECONDS);
+        LeaseState state = states.get(productId);
+        if (state != null) {
+            close(productId, state);
+        }
+    }
+
+    /**
+     * DB 동기화 시 모든 노드의 임대 무효화
+     * 다른 노드는 다음 정산에서 임대 기록이 없음을 확인하고 로컬 임대를 폐기합니다.
+     * 이 노드의 미정산 판매분은 임대 기록을 지우기 전에 예약 수량으로 정산 (미사용분은 DB 값으로 덮어쓰므로 폐기)
+     */
+    public void invalidate(Long productId) {
+        LeaseState state = states.get(productId);
+        if (state != null) {
+            int sold = pending(state.counters.getAndSet(0L));
+            state.size = 0;
+            state.expiresAt = 0;
+            if (sold > 0) {
+                settle(productId, sold, 0);
+            }
+        }
+        redisTemplate.delete(leaseKey(productId));
+    }
+
+    /**
+     * 주기적 정산: 판매분 반영, 만료/회수 요청된 임대 반납
+     */
+    @Scheduled(fixedDelayString = "${ordersystem.inventory.leasing.settle-interval-ms:200}")
+    public void settleAll() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        states.forEach((productId, state) -> {
+            try {
+                if (state.expiresAt != 0 && (now - state.expiresAt >= 0
+                        || Boolean.TRUE.equals(redisTemplate.hasKey(revokeKey(productId))))) {
+                    close(productId, state);
+                } else {
+                    settle(productId);
+                }
+            } catch (Exception e) {
+                log.warn("재고 임대 정산 실패: productId={}, error={}", productId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 종료 시 남은 임대분 반납
+     */
+    @PreDestroy
+    public void returnAll() {
+        states.forEach((productId, state) -> {
+            try {
+                close(productId, state);
+            } catch (Exception e) {
+                log.warn("재고 임대 반납 실패 (만료 후 회수됨): productId={}, error={}", productId, e.getMessage());
+            }
+        });
+    }
+
+    private boolean refill(Long productId, LeaseState state, int quantity) {
+        long now = System.nanoTime();
+        if (now - state.retryAt < 0 || !state.refilling.compareAndSet(false, true)) {
+            return false; // 다른 스레드가 임대 중이거나 재시도 대기 → Redis 경로
+        }
+        try {
+            if (state.take(quantity)) {
+                return true;
+            }
+            close(productId, state);
+
+            int want = Math.max(state.nextSize, quantity);
+            Long granted = redisTemplate.execute(scripts.getLeaseAcquire(),
+                    List.of(StockKeys.stock(productId), leaseKey(productId), revokeKey(productId)),
+                    nodeId, want, Math.max(minSize, quantity), lowStockThreshold,
+                    (int) TimeUnit.SECONDS.toMillis(leaseTtlSeconds * 2));
+
+            if (granted == null || granted < quantity) {
+                state.retryAt = now + TimeUnit.MILLISECONDS.toNanos(retryBackoffMs);
+                return false;
+            }
+
+            state.size = granted.intValue();
+            state.acquiredAt = now;
+            state.expiresAt = now + TimeUnit.SECONDS.toNanos(leaseTtlSeconds);
+            state.counters.set(pack(granted.intValue() - quantity, quantity));
+            log.debug("재고 임대: productId={}, granted={}, nodeId={}", productId, granted, nodeId);
+            return true;
+        } finally {
+            state.refilling.set(false);
+        }
+    }
+
+    /**
+     * 임대 종료: 판매분 정산 + 미사용분 반납 + 다음 임대 크기 조정
+     */
+    private void close(Long productId, LeaseState state) {
+        long drained = state.counters.getAndSet(0L);
+        int left = remaining(drained);
+        int sold = pending(drained);
+        if (state.size > 0) {
+            long elapsedNanos = Math.max(System.nanoTime() - state.acquiredAt, 1);
+            state.adapt(state.size - left, elapsedNanos);
+            state.size = 0;
+            state.expiresAt = 0;
+        }
+        if (sold > 0 || left > 0) {
+            settle(productId, sold, left);
+        }
+    }
+
+    private long settle(Long productId, int sold, int returned) {
+        List<Long> result = redisTemplate.execute(scripts.getLeaseSettle(),
+                List.of(StockKeys.stock(productId), leaseKey(productId)),
+                nodeId, sold, returned);
+        if (result == null || result.isEmpty()) {
+            return LEASE_DROPPED;
+        }
+        long left = result.get(0);
+        if (left == LEASE_DROPPED) {
+            if (returned > 0) {
+                log.info("회수된 재고 임대 폐기: productId={}, dropped={}", productId, returned);
+            }
+            long shortfall = result.size() > 1 ? result.get(1) : 0;
+            if (shortfall > 0) {
+                log.warn("회수된 임대의 늦은 판매분이 현재 재고보다 많음 (초과분은 결제 확정 시 거절): "
+                        + "productId={}, sold={}, oversold={}", productId, sold, shortfall);
+            }
+        }
+        return left;
+    }
+
+    private static String leaseKey(Long productId) {
+        return StockKeys.lease(productId);
+    }
+
+    private static String revokeKey(Long productId) {
+        return StockKeys.leaseRevoke(productId);
+    }
+
+    // 상위 32비트 = 남은 임대 수량, 하위 32비트 = 정산 대기 판매 수량
+    private static long pack(int remaining, int pending) {
+        return ((long) remaining << 32) | (pending & 0xFFFFFFFFL);
+    }
+
+    private static int remaining(long counters) {
+        return (int) (counters >>> 32);
+    }
+
+    private static int pending(long counters) {
+        return (int) counters;
+    }
+
+    private final class LeaseState {
+
+        /** 남은 수량과 정산 대기 수량을 하나의 CAS 로 함께 갱신 */
+        final AtomicLong counters = new AtomicLong();
+        final AtomicBoolean refilling = new AtomicBoolean();
+        volatile int nextSize;
+        volatile int size;
+        volatile long acquiredAt;
+        volatile long expiresAt;
+        volatile long retryAt = System.nanoTime();
+
+        LeaseState(int nextSize) {
+            this.nextSize = nextSize;
+        }
+
+        boolean take(int quantity) {
+            long current;
+            do {
+                current = counters.get();
+                if (remaining(current) < quantity) {
+                    return false;
+                }
+            } while (!counters.compareAndSet(current,
+                    pack(remaining(current) - quantity, pending(current) + quantity)));
+            return true;
+        }
+
+        boolean giveBack(int quantity) {
+            long current;
+            do {
+                current = counters.get();
+                if (pending(current) < quantity) {
+                    return false;
+                }
+            } while (!counters.compareAndSet(current,
+                    pack(remaining(current) + quantity, pending(current) - quantity)));
+            return true;
+        }
+
+        /**
+         * 판매 속도(개/초) x 목표 임대 시간으로 다음 임대 크기 결정
+         */
+        void adapt(int sold, long elapsedNanos) {
+            double perSecond = sold / (elapsedNanos / 1e9);
+            long target = (long) Math.ceil(perSecond * targetLeaseSeconds);
+            nextSize = (int) Math.max(minSize, Math.min(maxSize, target));
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.hkjs96.ordersystem.domain.model.ProductStock;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis ↔ DB 재고 상시 대사 (reconciliation)
+ *
+ * 📋 동작 원리:
+ * - 상품을 ID 키셋 페이지로 순회 (DB 는 재고 컬럼만, Redis 는 파이프라인 HMGET 1회)
+ * - 불변식: DB 총 재고 = Redis 가용 + 예약 (결제 확정 시 둘 다 같은 수량만큼 감소)
+ * - 어긋난 상품은 바로 고치지 않고 의심 목록에 (version, 차이)와 함께 기록
+ * - grace 시간 뒤 다시 읽어 version 과 차이가 그대로일 때만 version 조건부 스크립트로 교정
+ *   → 결제 확정 중간(DB/Redis 반영 시차)이나 write-behind 지연분을 잘못 교정하지 않음
+ * - 주기(tick)마다 rows-per-second 예산만큼만 읽음 → 대형 카탈로그에서도 부하 상한 고정
+ * - 샤딩/임대 상품, 재고 관리 제외 상품, 캐시되지 않은 상품은 건너뜀
+ * - 순회 위치는 노드 로컬이므로 한 노드에서만 켜기
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class StockReconciler {
+
+    private static final long STOCK_TTL_SECONDS = TimeUnit.HOURS.toSeconds(24);
+    private static final long SHARDED = -3L;
+    private static final long VERSION_CHANGED = -5L;
+
+    private final RedisTemplate<String, Integer> redisTemplate;
+    private final ProductRepository productRepository;
+    private final InventoryScripts scripts;
+    private final StockLeaseManager leaseManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ordersystem.inventory.reconciliation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ordersystem.inventory.reconciliation.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${ordersystem.inventory.reconciliation.rows-per-second:2000}")
+    private int rowsPerSecond;
+
+    @Value("${ordersystem.inventory.reconciliation.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${ordersystem.inventory.reconciliation.grace-seconds:120}")
+    private long graceSeconds;
+
+    @Value("${ordersystem.inventory.reconciliation.max-suspects:10000}")
+    private int maxSuspects;
+
+    /** 마지막으로 확인한 상품 ID (키셋 커서, 0 = 처음부터) */
+    private long cursor;
+
+    /** 어긋남이 관측된 상품 → 첫 관측 상태 (스케줄러 스레드에서만 접근) */
+    private final Map<Long, Suspect> suspects = new LinkedHashMap<>();
+
+    private final AtomicLong scanRate = new AtomicLong();
+
+    private Counter scanned;
+    private Counter detected;
+    private Counter corrected;
+    private Counter conflicts;
+    private Counter passes;
+
+    @PostConstruct
+    void registerMetrics() {
+        scanned = Counter.builder("inventory.reconciliation.scanned")
+                .description("대사 작업이 확인한 상품 행 수")
+                .register(meterRegistry);
+        detected = drift("detected", "DB 와 Redis 가용+예약이 어긋난 것으로 처음 관측된 상품 수");
+        corrected = drift("corrected", "grace 후에도 어긋나 version 조건부로 교정한 상품 수");
+        conflicts = drift("conflict", "교정 직전 재고가 바뀌어(version 불일치) 다시 관측하기로 한 상품 수");
+        passes = Counter.builder("inventory.reconciliation.passes")
+                .description("전체 상품 순회 완료 횟수")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reconciliation.suspects", suspects, Map::size)
+                .description("교정 대기 중인 어긋난 상품 수")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reconciliation.scan.rate", scanRate, AtomicLong::get)
+                .description("직전 주기의 초당 확인 행 수")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+    }
+
+    private Counter drift(String outcome, String description) {
+        return Counter.builder("inventory.reconciliation.drift")
+                .tag("outcome", outcome)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 한 주기: 예산 안에서 의심 상품 재확인 → 다음 키셋 페이지 순회
+     */
+    @Scheduled(fixedDelayString = "${ordersystem.inventory.reconciliation.tick-ms:1000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        int budget = (int) Math.max(1, rowsPerSecond * tickMs / 1000);
+        int rows = 0;
+        try {
+            rows += recheckSuspects(Math.min(budget, chunkSize));
+            while (rows < budget) {
+                int limit = Math.min(chunkSize, budget - rows);
+                List<ProductStock> page = productRepository.findStockPage(cursor, PageRequest.of(0, limit));
+                if (!page.isEmpty()) {
+                    inspect(page);
+                    rows += page.size();
+                    cursor = page.get(page.size() - 1).productId();
+                }
+                if (page.size() < limit) {
+                    log.debug("재고 대사 순회 완료: lastProductId={}, suspects={}", cursor, suspects.size());
+                    cursor = 0; // 다음 주기부터 처음부터 다시
+                    passes.increment();
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("재고 대사 실패 (다음 주기에 이어서 진행): cursor={}, error={}", cursor, e.getMessage());
+        } finally {
+            scanned.increment(rows);
+            // 한 주기 = 처리 시간 + 다음 주기까지의 지연
+            long cycleNanos = System.nanoTime() - started + TimeUnit.MILLISECONDS.toNanos(tickMs);
+            scanRate.set(rows * TimeUnit.SECONDS.toNanos(1) / cycleNanos);
+        }
+    }
+
+    /**
+     * grace 가 지난 의심 상품을 다시 읽어 교정 여부 판단
+     *
+     * @return 확인한 행 수
+     */
+    private int recheckSuspects(int limit) {
+        long now = System.nanoTime();
+        List<Long> due = new ArrayList<>();
+        for (Map.Entry<Long, Suspect> entry : suspects.entrySet()) {
+            if (due.size() >= limit) {
+                break;
+            }
+            if (now - entry.getValue().seenAtNanos() >= TimeUnit.SECONDS.toNanos(graceSeconds)) {
+                due.add(entry.getKey());
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<ProductStock> rows = productRepository.findStockByIdIn(due);
+        rows.stream().map(ProductStock::productId).forEach(due::remove);
+        due.forEach(suspects::remove); // 삭제된 상품
+        inspect(rows);
+        return rows.size();
+    }
+
+    /**
+     * DB 행과 Redis 재고 해시 비교 (파이프라인 1회)
+     */
+    private void inspect(List<ProductStock> rows) {
+        List<ProductStock> targets = new ArrayList<>(rows.size());
+        for (ProductStock row : rows) {
+            if (row.isStockManaged() && !leaseManager.isLeasable(row.productId())) {
+                targets.add(row);
+            } else {
+                suspects.remove(row.productId()); // 그 사이 재고 관리 제외/임대 대상이 된 상품
+            }
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+        List<List<Integer>> states = readStates(targets);
+
+        for (int i = 0; i < targets.size(); i++) {
+            ProductStock row = targets.get(i);
+            List<Integer> state = states.get(i);
+            Integer available = state.get(0);
+            int reserved = state.get(1) != null ? state.get(1) : 0;
+            Integer version = state.get(2);
+            if (available == null || state.get(3) != null) {
+                suspects.remove(row.productId()); // 캐시되지 않았거나 샤딩된 상품
+                continue;
+            }
+
+            int expected = Math.max(row.totalStock() - reserved, 0);
+            int drift = expected - available;
+            if (drift == 0) {
+                suspects.remove(row.productId());
+                continue;
+            }
+            observe(row, version, drift);
+        }
+    }
+
+    private void observe(ProductStock row, Integer version, int drift) {
+        Long productId = row.productId();
+        Suspect suspect = suspects.get(productId);
+        boolean unchanged = suspect != null && suspect.drift() == drift && Objects.equals(suspect.version(), version);
+        if (!unchanged) {
+            if (suspect == null) {
+                if (suspects.size() >= maxSuspects) {
+                    return; // 가득 참: 다음 순회에서 다시 관측
+                }
+                detected.increment();
+            }
+            suspects.put(productId, new Suspect(version, drift, System.nanoTime()));
+            return;
+        }
+        if (System.nanoTime() - suspect.seenAtNanos() < TimeUnit.SECONDS.toNanos(graceSeconds)) {
+            return; // 아직 grace 시간 안: 진행 중인 결제 확정/write-behind 일 수 있음
+        }
+
+        suspects.remove(productId);
+        Long result = redisTemplate.execute(scripts.getStockSync(), List.of(StockKeys.stock(productId)),
+                String.valueOf(row.totalStock()), String.valueOf(STOCK_TTL_SECONDS), String.valueOf(version));
+        if (result != null && result >= 0) {
+            corrected.increment();
+            log.warn("재고 불일치 교정: productId={}, db={}, drift={}, available={}",
+                    productId, row.totalStock(), drift, result);
+        } else if (result != null && result == VERSION_CHANGED) {
+            conflicts.increment(); // 다음 순회에서 새 상태로 다시 관측
+        } else if (result != null && result != SHARDED) {
+            log.warn("재고 불일치 교정 실패: productId={}, result={}", productId, result);
+        }
+    }
+
+    /**
+     * 재고 해시 [available, reserved, version, shards] 파이프라인 조회
+     */
+    @SuppressWarnings("unchecked")
+    private List<List<Integer>> readStates(List<ProductStock> rows) {
+        byte[][] fields = {
+                StockKeys.AVAILABLE.getBytes(StandardCharsets.UTF_8),
+                StockKeys.RESERVED.getBytes(StandardCharsets.UTF_8),
+                StockKeys.VERSION.getBytes(StandardCharsets.UTF_8),
+                StockKeys.SHARDS.getBytes(StandardCharsets.UTF_8)
+        };
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ProductStock row : rows) {
+                byte[] key = StockKeys.stock(row.productId()).getBytes(StandardCharsets.UTF_8);
+                connection.hashCommands().hMGet(key, fields);
+            }
+            return null;
+        });
+
+        List<List<Integer>> states = new ArrayList<>(replies.size());
+        for (Object reply : replies) {
+            states.add((List<Integer>) reply);
+        }
+        return states;
+    }
+
+    private record Suspect(Integer version, int drift, long seenAtNanos) {
+    }
+}
@@ -0,0 +1,188 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인기 상품 재고 키 미리 갱신 (refresh-ahead)
+ *
+ * 📋 동작 원리:
+ * - 예약/조회 시 상품 접근을 AccessSketch 에 기록 (고정 크기 근사 카운터)
+ * - 주기마다 접근 횟수가 기준 이상인 상품만 골라 TTL 이 임박한 재고 키를 DB 와 대조
+ * - 일치하면 만료를 연장 → 인기 상품은 트래픽 중간에 콜드 경로(DB 로딩)로 떨어지지 않음
+ * - 접근이 뜸한 상품은 추적에서 빠지고 키는 원래대로 만료
+ * - 조회는 파이프라인 1회, DB 는 배치당 findAllById 1회, 연장은 키별 EXPIRE 를 파이프라인 1회
+ *   (키마다 슬롯이 달라도 되므로 클러스터에서도 그대로 동작)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class StockRefreshAhead {
+
+    private static final long STOCK_TTL_SECONDS = TimeUnit.HOURS.toSeconds(24);
+    private static final long NO_EXPIRY = -1L;
+    private static final long KEY_MISSING = -2L;
+
+    private final RedisTemplate<String, Integer> redisTemplate;
+    private final ProductRepository productRepository;
+    private final ShardedStockCounter shardedCounter;
+    private final StockCacheLoader stockLoader;
+
+    @Value("${ordersystem.inventory.refresh-ahead.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ordersystem.inventory.refresh-ahead.min-accesses:8}")
+    private int minAccesses;
+
+    @Value("${ordersystem.inventory.refresh-ahead.refresh-window-seconds:3600}")
+    private long refreshWindowSeconds;
+
+    @Value("${ordersystem.inventory.refresh-ahead.batch-size:200}")
+    private int batchSize;
+
+    @Value("${ordersystem.inventory.refresh-ahead.max-tracked:10000}")
+    private int maxTracked;
+
+    @Value("${ordersystem.inventory.refresh-ahead.sketch-width:4096}")
+    private int sketchWidth;
+
+    private AccessSketch sketch;
+
+    /** 최근 주기에 접근된 상품 (최대 maxTracked 개) */
+    private final Set<Long> candidates = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        sketch = new AccessSketch(sketchWidth);
+    }
+
+    /**
+     * 상품 접근 기록 (예약/재고 확인 경로에서 호출)
+     */
+    public void recordAccess(Long productId) {
+        if (!enabled) {
+            return;
+        }
+        sketch.increment(productId);
+        if (candidates.size() < maxTracked) {
+            candidates.add(productId);
+        }
+    }
+
+    /**
+     * 인기 상품 재고 키 검증 후 만료 연장
+     */
+    @Scheduled(fixedDelayString = "${ordersystem.inventory.refresh-ahead.interval-ms:60000}")
+    public void refresh() {
+        if (!enabled || candidates.isEmpty()) {
+            return;
+        }
+
+        List<Long> hot = new ArrayList<>();
+        for (Iterator<Long> it = candidates.iterator(); it.hasNext(); ) {
+            Long productId = it.next();
+            if (sketch.estimate(productId) >= minAccesses) {
+                hot.add(productId);
+            } else {
+                it.remove(); // 식은 상품은 추적 중단 → 키는 원래 TTL 대로 만료
+            }
+        }
+        sketch.decay();
+
+        int refreshed = 0;
+        for (int from = 0; from < hot.size(); from += batchSize) {
+            try {
+                refreshed += refreshBatch(hot.subList(from, Math.min(from + batchSize, hot.size())));
+            } catch (Exception e) {
+                log.error("재고 키 미리 갱신 실패: error={}", e.getMessage(), e);
+                return;
+            }
+        }
+        if (refreshed > 0) {
+            log.info("인기 상품 재고 키 만료 연장: hot={}, refreshed={}", hot.size(), refreshed);
+        }
+    }
+
+    private int refreshBatch(List<Long> productIds) {
+        List<Long> ids = productIds.stream().filter(id -> !shardedCounter.isSharded(id)).toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // 1) 재고 + 남은 TTL 을 파이프라인 한 번으로 조회
+        byte[] availableField = StockKeys.AVAILABLE.getBytes(StandardCharsets.UTF_8);
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long id : ids) {
+                byte[] key = StockKeys.stock(id).getBytes(StandardCharsets.UTF_8);
+                connection.hashCommands().hGet(key, availableField);
+                connection.keyCommands().ttl(key, TimeUnit.SECONDS);
+            }
+            return null;
+        });
+
+        Map<Long, Integer> due = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            Integer stock = (Integer) replies.get(i * 2);
+            long ttl = ((Number) replies.get(i * 2 + 1)).longValue();
+            if (stock == null || ttl == KEY_MISSING) {
+                stockLoader.load(id); // 이미 만료된 인기 상품은 다음 요청 전에 미리 적재
+            } else if (ttl == NO_EXPIRY || ttl < refreshWindowSeconds) {
+                due.put(id, stock);
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        // 2) DB 와 대조: Redis 가용 재고는 DB 총 재고를 넘을 수 없음
+        Map<Long, Product> products = productRepository.findAllById(due.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<String> keys = new ArrayList<>(due.size());
+        due.forEach((id, stock) -> {
+            Product product = products.get(id);
+            if (product == null) {
+                log.warn("삭제된 상품의 재고 키는 연장하지 않음: productId={}", id);
+            } else if (product.isStockManaged() && stock > product.getTotalStock()) {
+                log.warn("재고 불일치로 만료 연장 생략 (만료 후 DB 값으로 재적재): productId={}, redis={}, db={}",
+                        id, stock, product.getTotalStock());
+            } else {
+                keys.add(StockKeys.stock(id));
+            }
+        });
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        // 3) 만료 연장 (키별 EXPIRE 를 파이프라인 1회로, 그 사이 사라진 키는 false)
+        List<Object> expired = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().expire(key.getBytes(StandardCharsets.UTF_8), STOCK_TTL_SECONDS);
+            }
+            return null;
+        });
+        return (int) expired.stream().filter(Boolean.TRUE::equals).count();
+    }
+}
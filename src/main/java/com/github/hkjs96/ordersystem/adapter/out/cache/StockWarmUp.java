@@ -0,0 +1,168 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.hkjs96.ordersystem.domain.model.ProductStock;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 전체 상품 재고 해시 예열 (warm-up)
+ *
+ * 📋 동작 원리:
+ * - DB 는 재고 컬럼만 ID 키셋 페이지로 읽고, 페이지마다 stock-load.lua 를 EVALSHA 파이프라인으로 전송
+ * - 읽기 스레드 1개 + 쓰기 스레드 N개 (동시에 처리 중인 페이지 수는 N개로 제한 → 메모리 상한)
+ * - 없을 때만 채우므로 재시작 시 이미 예약이 반영된 값은 덮어쓰지 않음
+ * - ApplicationReadyEvent 리스너 안에서 끝까지 수행 → 끝난 뒤에야 readiness 가 ACCEPTING_TRAFFIC
+ * - 기존 키 이전(StockLayoutMigrator) 다음에 실행 (새 해시가 먼저 생기면 이전할 예약 수량을 잃음)
+ * - 실패해도 기동은 계속되고, 남은 상품은 캐시 미스 시 StockCacheLoader 가 채움
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class StockWarmUp {
+
+    private static final long STOCK_TTL_SECONDS = TimeUnit.HOURS.toSeconds(24);
+
+    private final RedisTemplate<String, Integer> redisTemplate;
+    private final ProductRepository productRepository;
+    private final InventoryScripts scripts;
+
+    @Value("${ordersystem.inventory.warm-up.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ordersystem.inventory.warm-up.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${ordersystem.inventory.warm-up.parallelism:4}")
+    private int parallelism;
+
+    @Value("${ordersystem.inventory.warm-up.progress-interval-ms:5000}")
+    private long progressIntervalMs;
+
+    /**
+     * 전체 상품 예열 (readiness 전환 전에 동기 실행)
+     *
+     * @return 확인한 상품 수
+     */
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public long warmUp() {
+        if (!enabled) {
+            return 0;
+        }
+        log.info("재고 예열 시작: chunkSize={}, parallelism={}", chunkSize, parallelism);
+
+        long started = System.nanoTime();
+        AtomicLong written = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        ExecutorService writers = Executors.newFixedThreadPool(parallelism);
+        Semaphore inFlight = new Semaphore(parallelism);
+        long read = 0;
+        try {
+            byte[] sha = loadScript();
+            long lastReport = started;
+            long cursor = 0;
+            while (true) {
+                List<ProductStock> page = productRepository.findStockPage(cursor, PageRequest.of(0, chunkSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                cursor = page.get(page.size() - 1).productId();
+                read += page.size();
+
+                inFlight.acquire();
+                writers.execute(() -> {
+                    try {
+                        written.addAndGet(writePage(sha, page));
+                    } catch (Exception e) {
+                        failed.addAndGet(page.size());
+                        log.warn("재고 예열 페이지 실패 (캐시 미스 시 로딩): lastProductId={}, error={}",
+                                page.get(page.size() - 1).productId(), e.getMessage());
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+
+                long now = System.nanoTime();
+                if (now - lastReport >= TimeUnit.MILLISECONDS.toNanos(progressIntervalMs)) {
+                    log.info("재고 예열 진행: read={}, written={}, {} keys/s",
+                            read, written.get(), keysPerSecond(written.get(), now - started));
+                    lastReport = now;
+                }
+                if (page.size() < chunkSize) {
+                    break;
+                }
+            }
+            inFlight.acquire(parallelism); // 남은 페이지 완료 대기
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("재고 예열 중단: read={}, written={}", read, written.get());
+        } catch (Exception e) {
+            log.warn("재고 예열 실패 (캐시 미스 시 로딩): read={}, written={}, error={}",
+                    read, written.get(), e.getMessage());
+        } finally {
+            writers.shutdownNow();
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        log.info("재고 예열 완료: products={}, written={}, failed={}, elapsed={}ms, {} keys/s",
+                read, written.get(), failed.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                keysPerSecond(written.get(), elapsedNanos));
+        return read;
+    }
+
+    /**
+     * 파이프라인 EVALSHA 전에 스크립트가 서버에 등록되어 있도록 보장
+     */
+    private byte[] loadScript() {
+        String sha = redisTemplate.execute((RedisCallback<String>) connection ->
+                connection.scriptingCommands().scriptLoad(
+                        scripts.getStockLoad().getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+        return bytes(sha);
+    }
+
+    /**
+     * 한 페이지를 파이프라인 1회로 적재 (상품별 stock-load.lua, 기존 값 유지)
+     *
+     * @return 처리한 키 수
+     */
+    private int writePage(byte[] sha, List<ProductStock> page) {
+        byte[] ttl = bytes(String.valueOf(STOCK_TTL_SECONDS));
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ProductStock row : page) {
+                int stock = row.isStockManaged() ? row.totalStock() : Integer.MAX_VALUE;
+                connection.scriptingCommands().evalSha(sha, ReturnType.INTEGER, 1,
+                        bytes(StockKeys.stock(row.productId())), bytes(String.valueOf(stock)), ttl);
+            }
+            return null;
+        });
+        return results.size();
+    }
+
+    private static long keysPerSecond(long keys, long elapsedNanos) {
+        return elapsedNanos > 0 ? keys * TimeUnit.SECONDS.toNanos(1) / elapsedNanos : keys;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,585 @@
+package com.github.hkjs96.ordersystem.adapter.out.memory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.github.hkjs96.ordersystem.adapter.out.persistence.StockConfirmationWriteBehind;
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.domain.model.StockStatus;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import com.github.hkjs96.ordersystem.exception.InsufficientStockException;
+import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JVM 내부 재고 저장소 (단일 노드 매장/테스트 환경용, Redis 불필요)
+ *
+ * 📋 동작 원리:
+ * - 상품별 재고는 long 키 개방 주소법 테이블에 보관 (조회 시 박싱 없음)
+ * - 가용(상위 32비트) + 예약(하위 32비트)을 AtomicLong 하나에 담아 CAS 로 함께 갱신 → 락 없음
+ * - 첫 접근 시 DB 에서 지연 초기화, 동시 미스는 한 스레드만 DB 조회
+ * - 주문 단위 예약 기록 + 만료 인덱스는 Redis 구현과 같은 의미 (리퍼가 그대로 사용)
+ * - ordersystem.inventory.store=memory 일 때만 등록 (노드 간 재고 공유 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "memory")
+public class InMemoryInventoryRepository implements InventoryRepositoryPort {
+
+    private final ProductRepository productRepository;
+    private final StockConfirmationWriteBehind writeBehind;
+
+    @Value("${ordersystem.inventory.memory.max-products:100000}")
+    private int maxProducts;
+
+    /** 결제 대기 주문의 예약 유지 시간 (만료 시 리퍼가 재고 복원) */
+    @Value("${ordersystem.inventory.reservation-ttl-seconds:3600}")
+    private long reservationTtlSeconds;
+
+    private StockTable table;
+
+    /** 주문 ID → 상품별 예약 수량 */
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+
+    /** 만료 시각 순 예약 인덱스 */
+    private final ConcurrentSkipListSet<Expiry> expiryIndex = new ConcurrentSkipListSet<>();
+
+    /** 처리 완료 이벤트 ID (가장 오래된 것부터 밀려남, 단일 노드 전용) */
+    @Value("${ordersystem.inventory.memory.processed-events-max:100000}")
+    private int processedEventsMax;
+    private Map<String, Boolean> processedEvents;
+
+    @PostConstruct
+    void init() {
+        table = new StockTable(maxProducts);
+        processedEvents = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > processedEventsMax;
+            }
+        };
+        log.info("인메모리 재고 저장소 사용: maxProducts={}", maxProducts);
+    }
+
+    @Override
+    public boolean isStockAvailable(Long productId, int quantity) {
+        requirePositive(quantity);
+        StockCell cell = loaded(productId);
+        // 존재하지 않는 상품은 재고 없음으로 응답 (조회 전용 경로)
+        return cell != null && (cell.unlimited || available(cell.counters.get()) >= quantity);
+    }
+
+    @Override
+    public Map<Long, Boolean> checkAvailability(Map<Long, Integer> quantities) {
+        quantities.values().forEach(InMemoryInventoryRepository::requirePositive);
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        quantities.forEach((productId, quantity) -> result.put(productId, isStockAvailable(productId, quantity)));
+        return result;
+    }
+
+    @Override
+    public ReservationResult tryReserve(Long productId, int quantity) {
+        requirePositive(quantity);
+        StockCell cell = loaded(productId);
+        if (cell == null) {
+            return ReservationResult.unknownProduct(productId);
+        }
+        if (cell.unlimited) {
+            return ReservationResult.reserved(productId, Integer.MAX_VALUE);
+        }
+
+        while (true) {
+            long current = cell.counters.get();
+            int available = available(current);
+            if (available < quantity) {
+                log.debug("재고 부족으로 예약 거절: productId={}, requested={}", productId, quantity);
+                return ReservationResult.insufficient(productId);
+            }
+            if (cell.counters.compareAndSet(current, pack(available - quantity, reserved(current) + quantity))) {
+                log.debug("재고 예약 완료: productId={}, quantity={}, remaining={}",
+                        productId, quantity, available - quantity);
+                return ReservationResult.reserved(productId, available - quantity);
+            }
+        }
+    }
+
+    @Override
+    public ReservationResult reserveStockBatch(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            throw new IllegalArgumentException("예약할 주문 라인이 없습니다.");
+        }
+
+        // 라인별로 예약하고 실패하면 앞서 예약한 라인을 되돌림 (전부 또는 전무)
+        Map<Long, Integer> reserved = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            ReservationResult result = tryReserve(line.getKey(), line.getValue());
+            if (!result.isReserved()) {
+                reserved.forEach(this::releaseStock);
+                return result;
+            }
+            reserved.put(line.getKey(), line.getValue());
+        }
+        return ReservationResult.reserved(null, 0);
+    }
+
+    @Override
+    public void reserveStock(Long productId, int quantity) {
+        ReservationResult result = tryReserve(productId, quantity);
+
+        switch (result.status()) {
+            case INSUFFICIENT -> throw new InsufficientStockException(
+                    "재고가 부족하여 예약할 수 없습니다. productId=" + productId + ", requested=" + quantity
+            );
+            case UNKNOWN_PRODUCT -> throw new IllegalArgumentException("상품 미발견: " + productId);
+            default -> { }
+        }
+    }
+
+    @Override
+    public void releaseStock(Long productId, int quantity) {
+        StockCell cell = table.get(productId);
+        if (cell == null || cell.status.get() != StockCell.READY) {
+            log.info("재고 없음, 복원 생략 (DB 초기화 시 반영): productId={}, quantity={}", productId, quantity);
+            return;
+        }
+        restore(cell, quantity);
+        log.debug("재고 복원 완료: productId={}, quantity={}", productId, quantity);
+    }
+
+    @Override
+    public int releaseStockOnce(Long productId, Map<String, Integer> quantitiesByEventId) {
+        synchronized (processedEvents) {
+            List<String> fresh = new ArrayList<>();
+            int applied = 0;
+            for (Map.Entry<String, Integer> event : quantitiesByEventId.entrySet()) {
+                if (!processedEvents.containsKey(event.getKey())) {
+                    fresh.add(event.getKey());
+                    applied += event.getValue();
+                }
+            }
+            if (applied > 0) {
+                releaseStock(productId, applied);
+            }
+            // 복원이 끝난 뒤에만 처리 완료로 기록 (복원이 실패하면 재시도 때 다시 반영)
+            fresh.forEach(eventId -> processedEvents.put(eventId, Boolean.TRUE));
+            return applied;
+        }
+    }
+
+    @Override
+    @Transactional
+    public void confirmSale(Long productId, int quantity, Long orderId) {
+        log.info("재고 판매 확정: productId={}, quantity={}, orderId={}", productId, quantity, orderId);
+
+        // 1. DB 재고 차감 (Redis 구현과 동일)
+        boolean applied = writeBehind.isEnabled()
+                ? writeBehind.enqueue(productId, quantity, orderId)
+                : productRepository.decrementStock(productId, quantity) > 0;
+        if (!applied) {
+            if (!productRepository.existsById(productId)) {
+                throw new IllegalArgumentException("상품 미발견: " + productId);
+            }
+            log.error("DB 재고 부족 감지: productId={}, requested={}", productId, quantity);
+
+            syncWithDatabase(productId);
+            throw new InsufficientStockException("DB 재고 부족: 동기화 완료");
+        }
+
+        // 2. 주문 예약 기록 삭제 + 예약 수량 정리
+        confirmReservation(productId, quantity, orderId);
+
+        log.info("재고 차감 완료: productId={}, quantity={}", productId, quantity);
+    }
+
+    @Override
+    @Transactional
+    public ReservationResult confirmSales(Long orderId, Map<Long, Integer> quantities) {
+        log.info("주문 판매 확정: orderId={}, lines={}", orderId, quantities);
+
+        // 1. 모든 라인의 DB 재고를 확인한 뒤 차감 (Redis 구현과 동일, 부족하면 아무것도 차감하지 않음)
+        ReservationResult applied = writeBehind.confirmOrder(orderId, quantities);
+        if (!applied.isReserved()) {
+            if (applied.status() == ReservationResult.Status.INSUFFICIENT) {
+                log.error("DB 재고 부족 감지 (주문 전체 확정 보류): orderId={}, productId={}", orderId, applied.productId());
+                syncWithDatabase(applied.productId());
+            }
+            return applied;
+        }
+
+        // 2. 라인별 예약 정리 (메모리 연산이라 중간 실패 없음)
+        quantities.forEach((productId, quantity) -> confirmReservation(productId, quantity, orderId));
+        log.info("주문 판매 확정 완료: orderId={}, lines={}", orderId, quantities);
+        return applied;
+    }
+
+    private void confirmReservation(Long productId, int quantity, Long orderId) {
+        if (orderId != null && completeReservation(false, productId, List.of(orderId)) == 0) {
+            log.warn("예약 기록 없음 (만료 복원 이후 결제 확정 가능성): productId={}, orderId={}", productId, orderId);
+        }
+        StockCell cell = table.get(productId);
+        if (cell != null && !cell.unlimited) {
+            while (true) {
+                long current = cell.counters.get();
+                int reserved = reserved(current);
+                if (reserved < quantity
+                        || cell.counters.compareAndSet(current, pack(available(current), reserved - quantity))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void trackReservation(Long orderId, Map<Long, Integer> quantities) {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(reservationTtlSeconds);
+        reservations.compute(orderId, (id, existing) -> {
+            Map<Long, Integer> lines = existing != null ? new HashMap<>(existing.lines()) : new HashMap<>();
+            quantities.forEach((productId, quantity) -> lines.merge(productId, quantity, Integer::sum));
+            if (existing != null) {
+                expiryIndex.remove(new Expiry(existing.deadline(), id));
+            }
+            expiryIndex.add(new Expiry(deadline, id));
+            return new Reservation(lines, deadline);
+        });
+        log.debug("주문 예약 기록: orderId={}, lines={}", orderId, quantities);
+    }
+
+    @Override
+    public int releaseReservation(Long orderId, Long productId) {
+        int released = completeReservation(true, productId, List.of(orderId));
+        if (released == 0) {
+            log.info("복원할 예약 기록 없음 (이미 복원/만료/확정됨): orderId={}, productId={}", orderId, productId);
+        } else {
+            log.info("주문 예약 복원 완료: orderId={}, productId={}, quantity={}", orderId, productId, released);
+        }
+        return released;
+    }
+
+    @Override
+    public int releaseReservationLines(Map<Long, Set<Long>> productIdsByOrder) {
+        int released = 0;
+        for (Map.Entry<Long, Set<Long>> order : productIdsByOrder.entrySet()) {
+            for (Long productId : order.getValue()) {
+                released += releaseReservation(order.getKey(), productId);
+            }
+        }
+        return released;
+    }
+
+    @Override
+    public List<Long> findExpiredReservations(int limit) {
+        long now = System.currentTimeMillis();
+        List<Long> expired = new ArrayList<>();
+        for (Expiry expiry : expiryIndex) {
+            if (expiry.deadline() > now || expired.size() >= limit) {
+                break;
+            }
+            expired.add(expiry.orderId());
+        }
+        return expired;
+    }
+
+    @Override
+    public int releaseReservations(List<Long> orderIds) {
+        return orderIds.isEmpty() ? 0 : completeReservation(true, null, orderIds);
+    }
+
+    @Override
+    public void discardReservations(List<Long> orderIds) {
+        if (!orderIds.isEmpty()) {
+            completeReservation(false, null, orderIds);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockStatus getStockStatus(Long productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품 미발견: " + productId));
+        return status(product);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockStatus> getStockStatuses(List<Long> productIds) {
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        // 존재하지 않는 상품은 생략, 중복 ID 는 한 번만
+        return productIds.stream().distinct()
+                .filter(products::containsKey)
+                .map(productId -> status(products.get(productId)))
+                .toList();
+    }
+
+    private StockStatus status(Product product) {
+        StockCell cell = table.get(product.getId());
+        boolean ready = cell != null && cell.status.get() == StockCell.READY;
+        long counters = ready ? cell.counters.get() : 0L;
+        return new StockStatus(
+                product.getId(),
+                product.getTotalStock(),                                   // DB 실제 재고
+                ready && cell.unlimited ? Integer.MAX_VALUE : available(counters), // 현재 재고
+                reserved(counters)                                         // 예약된 재고
+        );
+    }
+
+    /**
+     * DB 기준으로 재고 재설정
+     * 진행 중인 예약은 유지하고 가용 재고 = DB 재고 - 예약 수량으로 맞춥니다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void syncWithDatabase(Long productId) {
+        log.warn("인메모리 재고 동기화 시작: productId={}", productId);
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품 미발견: " + productId));
+
+        StockCell cell = table.getOrCreate(productId);
+        cell.unlimited = !product.isStockManaged();
+        while (true) {
+            long current = cell.counters.get();
+            int reserved = reserved(current);
+            int available = Math.max(0, product.getTotalStock() - reserved);
+            if (cell.counters.compareAndSet(current, pack(available, reserved))) {
+                break;
+            }
+        }
+        cell.status.set(StockCell.READY);
+
+        log.warn("동기화 완료: productId={}, correctStock={}", productId, product.getTotalStock());
+    }
+
+    /**
+     * 재고 셀 조회, 없거나 초기화 전이면 DB 에서 적재 (동시 미스는 한 스레드만 DB 조회)
+     *
+     * @return 재고 셀, 상품이 없으면 null
+     */
+    private StockCell loaded(long productId) {
+        StockCell cell = table.getOrCreate(productId);
+        boolean waited = false;
+        while (true) {
+            int status = cell.status.get();
+            if (status == StockCell.READY) {
+                return cell;
+            }
+            if (status == StockCell.MISSING && waited) {
+                return null; // 함께 기다린 로딩 결과가 "상품 없음"
+            }
+            if (status != StockCell.LOADING && cell.status.compareAndSet(status, StockCell.LOADING)) {
+                return load(productId, cell) ? cell : null;
+            }
+            waited = true;
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+
+    private boolean load(long productId, StockCell cell) {
+        log.info("DB에서 재고 초기화: productId={}", productId);
+        Product product;
+        try {
+            product = productRepository.findById(productId).orElse(null);
+        } catch (RuntimeException e) {
+            cell.status.set(StockCell.EMPTY); // 다음 요청이 다시 시도
+            throw e;
+        }
+
+        if (product == null) {
+            log.warn("재고 초기화 대상 상품 미발견: productId={}", productId);
+            cell.status.set(StockCell.MISSING);
+            return false;
+        }
+
+        cell.unlimited = !product.isStockManaged();
+        cell.counters.set(pack(product.getTotalStock(), 0));
+        cell.status.set(StockCell.READY);
+        log.info("재고 초기화 완료: productId={}, stock={}", productId, product.getTotalStock());
+        return true;
+    }
+
+    /**
+     * 주문 예약 기록 정리
+     *
+     * @param restore true = 재고 복원(취소/만료), false = 기록만 삭제(결제 확정)
+     * @param productId null 이면 주문의 전체 라인
+     * @return 정리된 총 수량
+     */
+    private int completeReservation(boolean restore, Long productId, List<Long> orderIds) {
+        int total = 0;
+        for (Long orderId : orderIds) {
+            Map<Long, Integer> removed = new HashMap<>();
+            reservations.computeIfPresent(orderId, (id, reservation) -> {
+                Map<Long, Integer> rest = new HashMap<>(reservation.lines());
+                if (productId != null) {
+                    Integer quantity = rest.remove(productId);
+                    if (quantity != null) {
+                        removed.put(productId, quantity);
+                    }
+                } else {
+                    removed.putAll(rest);
+                    rest.clear();
+                }
+                if (rest.isEmpty()) {
+                    expiryIndex.remove(new Expiry(reservation.deadline(), id));
+                    return null;
+                }
+                return new Reservation(rest, reservation.deadline());
+            });
+
+            for (Map.Entry<Long, Integer> line : removed.entrySet()) {
+                if (restore) {
+                    releaseStock(line.getKey(), line.getValue());
+                }
+                total += line.getValue();
+            }
+        }
+        return total;
+    }
+
+    private void restore(StockCell cell, int quantity) {
+        if (cell.unlimited) {
+            return;
+        }
+        while (true) {
+            long current = cell.counters.get();
+            int reserved = reserved(current);
+            long next = pack(available(current) + quantity, reserved - Math.min(quantity, reserved));
+            if (cell.counters.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("요청 수량은 최소 1 이상이어야 합니다. requested=" + quantity);
+        }
+    }
+
+    private static long pack(int available, int reserved) {
+        return ((long) available << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int available(long counters) {
+        return (int) (counters >>> 32);
+    }
+
+    private static int reserved(long counters) {
+        return (int) counters;
+    }
+
+    /**
+     * 상품 하나의 재고 상태
+     */
+    static final class StockCell {
+        static final int EMPTY = 0;
+        static final int LOADING = 1;
+        static final int READY = 2;
+        static final int MISSING = 3;
+
+        final AtomicInteger status = new AtomicInteger(EMPTY);
+        /** 가용 재고(상위 32비트) | 예약 수량(하위 32비트) */
+        final AtomicLong counters = new AtomicLong();
+        volatile boolean unlimited;
+    }
+
+    /**
+     * productId(long) → StockCell 개방 주소법 테이블
+     * 삭제 없이 추가만 하므로 키 칸 CAS 만으로 락 없이 동작합니다. (빈 칸 = 0)
+     */
+    static final class StockTable {
+        private final AtomicLongArray keys;
+        private final AtomicReferenceArray<StockCell> cells;
+        private final int mask;
+
+        StockTable(int maxProducts) {
+            int capacity = Integer.highestOneBit(Math.max(16, maxProducts) * 2 - 1) << 1;
+            this.keys = new AtomicLongArray(capacity);
+            this.cells = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        StockCell get(long productId) {
+            for (int i = index(productId), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                long key = keys.get(i);
+                if (key == productId) {
+                    return awaitCell(i);
+                }
+                if (key == 0) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        StockCell getOrCreate(long productId) {
+            if (productId <= 0) {
+                throw new IllegalArgumentException("상품 미발견: " + productId);
+            }
+            for (int i = index(productId), probes = 0; probes <= mask; ) {
+                long key = keys.get(i);
+                if (key == productId) {
+                    return awaitCell(i);
+                }
+                if (key == 0) {
+                    if (keys.compareAndSet(i, 0, productId)) {
+                        StockCell cell = new StockCell();
+                        cells.set(i, cell);
+                        return cell;
+                    }
+                    continue; // 다른 스레드가 먼저 차지 → 같은 칸 다시 확인
+                }
+                i = (i + 1) & mask;
+                probes++;
+            }
+            throw new IllegalStateException("인메모리 재고 저장소 용량 초과 (ordersystem.inventory.memory.max-products)");
+        }
+
+        /** 키를 차지한 스레드가 셀을 게시할 때까지 잠깐 대기 */
+        private StockCell awaitCell(int i) {
+            StockCell cell;
+            while ((cell = cells.get(i)) == null) {
+                Thread.onSpinWait();
+            }
+            return cell;
+        }
+
+        private int index(long productId) {
+            long h = productId * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+
+    private record Reservation(Map<Long, Integer> lines, long deadline) {
+    }
+
+    private record Expiry(long deadline, long orderId) implements Comparable<Expiry> {
+        @Override
+        public int compareTo(Expiry other) {
+            int byDeadline = Long.compare(deadline, other.deadline);
+            return byDeadline != 0 ? byDeadline : Long.compare(orderId, other.orderId);
+        }
+    }
+}
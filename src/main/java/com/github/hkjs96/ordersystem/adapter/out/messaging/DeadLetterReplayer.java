@@ -0,0 +1,91 @@
+package com.github.hkjs96.ordersystem.adapter.out.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * DLQ 재처리: {topic}-dlq 의 레코드를 원본 토픽으로 되돌림
+ *
+ * 📋 동작 원리:
+ * - 전용 그룹({group}-dlq-replay)으로 DLQ 의 모든 파티션을 직접 할당해 지난번 커밋 이후부터 읽음
+ * - 레코드마다 원본 토픽에 재발행(재시도 횟수 초기화)하고 전송이 확인된 만큼만 커밋
+ * - 요청마다 최대 max 건 → 원인을 고친 뒤 나눠서 되돌릴 수 있음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeadLetterReplayer {
+
+    private final ConsumerFactory<Object, Object> consumerFactory;
+    private final RetryTopicRouter router;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    @Value("${ordersystem.kafka.dead-letter.replay-max:1000}")
+    private int replayMax;
+
+    /**
+     * @return 원본 토픽으로 되돌린 건수
+     */
+    public int replay(String sourceTopic, int max) {
+        if (!router.sourceTopics().contains(sourceTopic)) {
+            throw new IllegalArgumentException("재처리할 수 없는 토픽: " + sourceTopic);
+        }
+        int limit = Math.min(max, replayMax);
+        String deadLetterTopic = router.deadLetterTopic(sourceTopic);
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(limit));
+
+        int replayed = 0;
+        try (Consumer<Object, Object> consumer =
+                     consumerFactory.createConsumer(groupId + "-dlq-replay", null, "-dlq-replay", overrides)) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(deadLetterTopic);
+            if (partitions == null || partitions.isEmpty()) {
+                return 0;
+            }
+            consumer.assign(partitions.stream()
+                    .map(partition -> new TopicPartition(deadLetterTopic, partition.partition()))
+                    .toList());
+
+            while (replayed < limit) {
+                ConsumerRecords<Object, Object> records = consumer.poll(Duration.ofSeconds(1));
+                if (records.isEmpty()) {
+                    break;
+                }
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<Object, Object> record : records) {
+                    if (replayed >= limit) {
+                        break;
+                    }
+                    router.replay(record);
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+                consumer.commitSync(offsets);
+            }
+        }
+        log.info("DLQ 재처리: topic={}, replayed={}", deadLetterTopic, replayed);
+        return replayed;
+    }
+}
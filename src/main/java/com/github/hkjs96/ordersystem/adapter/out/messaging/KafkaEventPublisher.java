@@ -2,6 +2,7 @@ package com.github.hkjs96.ordersystem.adapter.out.messaging;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hkjs96.ordersystem.domain.event.InventoryEvent;
 import com.github.hkjs96.ordersystem.domain.model.OrderEvent;
 import com.github.hkjs96.ordersystem.port.out.PublishEventPort;
 import lombok.extern.slf4j.Slf4j;
@@ -16,14 +17,17 @@ public class KafkaEventPublisher implements PublishEventPort {
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
     private final String topic;
+    private final String inventoryTopic;
 
     public KafkaEventPublisher(
             KafkaTemplate<String, String> kafkaTemplate,
             ObjectMapper objectMapper,  // 🔧 추가된 부분
-            @Value("${ordersystem.kafka.topics.order-events}") String topic) {
+            @Value("${ordersystem.kafka.topics.order-events}") String topic,
+            @Value("${ordersystem.kafka.topics.inventory-events}") String inventoryTopic) {
         this.kafkaTemplate = kafkaTemplate;
         this.objectMapper = objectMapper;  // 🔧 추가된 부분
         this.topic = topic;
+        this.inventoryTopic = inventoryTopic;
     }
 
     @Override
@@ -37,7 +41,7 @@ public class KafkaEventPublisher implements PublishEventPort {
                         if (ex != null) {
                             log.error("Kafka 전송 실패: orderId={}, error={}",
                                     event.orderId(), ex.getMessage());
-                            // TODO: DLQ 전송 또는 재시도 로직
+                            // 발행 유실까지 막으려면 아웃박스 사용 (ordersystem.outbox.enabled)
                         } else {
                             log.debug("Kafka 전송 성공: orderId={}", event.orderId());
                         }
@@ -48,4 +52,25 @@ public class KafkaEventPublisher implements PublishEventPort {
             throw new RuntimeException("이벤트 발행 실패", e);
         }
     }
+
+    @Override
+    public void publishInventoryEvent(InventoryEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+
+            kafkaTemplate.send(inventoryTopic, String.valueOf(event.productId()), payload)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.error("재고 이벤트 전송 실패: orderId={}, productId={}, error={}",
+                                    event.orderId(), event.productId(), ex.getMessage());
+                        } else {
+                            log.debug("재고 이벤트 전송 성공: {}", event);
+                        }
+                    });
+
+        } catch (JsonProcessingException e) {
+            log.error("JSON 직렬화 실패: event={}", event, e);
+            throw new RuntimeException("이벤트 발행 실패", e);
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package com.github.hkjs96.ordersystem.adapter.out.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hkjs96.ordersystem.domain.entity.OutboxEvent;
+import com.github.hkjs96.ordersystem.domain.event.InventoryEvent;
+import com.github.hkjs96.ordersystem.domain.event.OrderCancelledEvent;
+import com.github.hkjs96.ordersystem.domain.model.OrderEvent;
+import com.github.hkjs96.ordersystem.domain.repository.OutboxEventRepository;
+import com.github.hkjs96.ordersystem.port.out.PublishEventPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 트랜잭션 아웃박스 발행 (ordersystem.outbox.enabled=true 일 때 KafkaEventPublisher 대신 사용)
+ *
+ * 📋 동작 원리:
+ * - 이벤트를 Kafka 로 바로 보내지 않고 호출자 트랜잭션 안에서 outbox_events 에 INSERT 한 번
+ * - 롤백되면 이벤트도 함께 사라지고, 커밋된 이벤트만 OutboxRelay 가 묶음으로 전송
+ * - 결제 확정의 재고 확정 이벤트, 주문 취소의 재고 복원 이벤트(커밋 직전)도 같은 트랜잭션으로 기록
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "ordersystem.outbox.enabled", havingValue = "true")
+public class OutboxEventPublisher implements PublishEventPort {
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final String orderTopic;
+    private final String inventoryTopic;
+
+    public OutboxEventPublisher(
+            OutboxEventRepository outboxRepository,
+            ObjectMapper objectMapper,
+            @Value("${ordersystem.kafka.topics.order-events}") String orderTopic,
+            @Value("${ordersystem.kafka.topics.inventory-events}") String inventoryTopic) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.orderTopic = orderTopic;
+        this.inventoryTopic = inventoryTopic;
+    }
+
+    @Override
+    public void publishOrderEvent(OrderEvent event) {
+        append(orderTopic, String.valueOf(event.orderId()), event);
+    }
+
+    @Override
+    public void publishInventoryEvent(InventoryEvent event) {
+        append(inventoryTopic, String.valueOf(event.productId()), event);
+    }
+
+    /**
+     * 주문 취소 → 재고 복원 이벤트 (커밋 직전, 같은 트랜잭션)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        append(inventoryTopic, String.valueOf(event.productId()),
+                InventoryEvent.stockReleased(event.orderId(), event.productId(), event.quantity()));
+    }
+
+    private void append(String topic, String key, Object event) {
+        try {
+            outboxRepository.save(OutboxEvent.builder()
+                    .topic(topic)
+                    .eventKey(key)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+            log.debug("아웃박스 기록: topic={}, key={}", topic, key);
+        } catch (JsonProcessingException e) {
+            log.error("JSON 직렬화 실패: event={}", event, e);
+            throw new RuntimeException("이벤트 발행 실패", e);
+        }
+    }
+}
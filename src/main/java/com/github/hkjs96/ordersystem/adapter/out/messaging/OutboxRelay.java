@@ -0,0 +1,173 @@
+package com.github.hkjs96.ordersystem.adapter.out.messaging;
+
+import com.github.hkjs96.ordersystem.domain.entity.OutboxEvent;
+import com.github.hkjs96.ordersystem.domain.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 아웃박스 → Kafka 묶음 전송
+ *
+ * 📋 동작 원리:
+ * - 기록 순(id)으로 batch-size 건을 읽어 한꺼번에 send → flush → 전송 결과 대기
+ * - 같은 키는 같은 파티션에 기록 순서대로 (멱등 프로듀서가 재시도 중에도 순서 유지)
+ * - 프로듀서 압축 + linger 로 묶음이 큰 배치로 나감 (KafkaConfig)
+ * - 전송이 확인된 행은 DELETE ... WHERE id IN (...) 한 번으로 삭제
+ * - 한 키의 전송이 실패하면 그 키의 행은 모두 남겨 다음 주기에 기록 순서대로 다시 전송
+ *   (이미 전송된 뒤쪽 이벤트는 중복 전송될 수 있음 → 소비자는 중복에 안전해야 함)
+ * - 여러 노드가 나눠 읽으면 같은 키의 이벤트가 다른 노드에서 먼저 나갈 수 있으므로
+ *   릴레이는 기본 꺼짐, 한 노드에서만 relay.enabled=true 로 켜기 (나머지 노드는 기록만)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ordersystem.outbox.relay.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ordersystem.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ordersystem.outbox.relay.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${ordersystem.outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    private Counter published;
+    private Counter failed;
+    private DistributionSummary batchSizes;
+    private Timer lag;
+
+    @PostConstruct
+    void registerMetrics() {
+        published = Counter.builder("outbox.relay.published")
+                .description("Kafka 전송이 확인되어 삭제된 아웃박스 이벤트 수")
+                .register(meterRegistry);
+        failed = Counter.builder("outbox.relay.failed")
+                .description("Kafka 전송에 실패해 다음 주기로 미룬 아웃박스 이벤트 수")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("한 번에 전송한 아웃박스 이벤트 수")
+                .register(meterRegistry);
+        lag = Timer.builder("outbox.relay.lag")
+                .description("아웃박스 기록부터 Kafka 전송 확인까지 걸린 시간 (배치 내 가장 오래된 건 기준)")
+                .register(meterRegistry);
+        if (!enabled) {
+            log.info("아웃박스 릴레이 꺼짐: 이 노드는 기록만 (전송은 relay.enabled=true 인 노드 1곳에서)");
+        }
+    }
+
+    /**
+     * 주기적 전송: 배치가 가득 차 있으면 최대 max-batches-per-run 번까지 이어서 전송
+     */
+    @Scheduled(fixedDelayString = "${ordersystem.outbox.relay.interval-ms:50}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (relayBatch() < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("아웃박스 전송 실패 (다음 주기에 재시도): error={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return 전송 후 삭제한 건수가 읽은 건수와 같으면 읽은 건수, 실패가 있으면 0 (이번 주기 중단)
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = outboxRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(kafkaTemplate.send(event.getTopic(), event.getEventKey(), event.getPayload()));
+        }
+        kafkaTemplate.flush(); // linger 를 기다리지 않고 이번 묶음을 바로 내보냄
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        Set<String> failedKeys = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            String aggregate = event.getTopic() + '/' + event.getEventKey();
+            if (await(sends.get(i), event) && !failedKeys.contains(aggregate)) {
+                sent.add(event.getId());
+            } else {
+                failedKeys.add(aggregate);
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    outboxRepository.deleteByIdIn(sent));
+        }
+        published.increment(sent.size());
+        batchSizes.record(batch.size());
+        LocalDateTime oldest = batch.get(0).getCreatedAt();
+        if (oldest != null) {
+            lag.record(Duration.between(oldest, LocalDateTime.now()));
+        }
+
+        if (!failedKeys.isEmpty()) {
+            failed.increment(batch.size() - sent.size());
+            log.warn("아웃박스 일부 전송 실패: sent={}, pending={}, keys={}",
+                    sent.size(), batch.size() - sent.size(), failedKeys.size());
+            return 0;
+        }
+        log.debug("아웃박스 전송 완료: events={}", sent.size());
+        return batch.size();
+    }
+
+    private boolean await(CompletableFuture<SendResult<String, String>> send, OutboxEvent event) {
+        try {
+            send.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("아웃박스 이벤트 전송 실패: id={}, topic={}, key={}, error={}",
+                    event.getId(), event.getTopic(), event.getEventKey(), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
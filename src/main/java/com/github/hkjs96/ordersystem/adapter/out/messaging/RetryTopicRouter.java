@@ -0,0 +1,206 @@
+package com.github.hkjs96.ordersystem.adapter.out.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 처리 실패 이벤트 → 재시도 토픽 / DLQ 전송
+ *
+ * 📋 동작 원리:
+ * - 실패한 레코드는 원래 파티션에서 바로 ack 하고 {topic}-retry-{n} 으로 옮김 → 같은 파티션의 정상 이벤트는 막히지 않음
+ * - n 번째 단계는 initial-backoff × multiplier^(n-1) 뒤에 처리 (헤더의 처리 예정 시각, RetryStageConsumer)
+ * - 단계를 모두 실패하거나 다시 처리해도 소용없는 이벤트(JSON 오류)는 {topic}-dlq 로 이동
+ * - 키는 그대로 유지 → 재시도 토픽에서도 같은 주문/상품은 같은 파티션
+ * - 전송 확인까지 기다림: 전송이 실패하면 예외 → 원래 레코드를 ack 하지 않아 유실 없음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RetryTopicRouter {
+
+    public static final String ATTEMPT_HEADER = "ordersystem-retry-attempt";
+    public static final String DUE_AT_HEADER = "ordersystem-retry-due-at";
+    public static final String ORIGINAL_TOPIC_HEADER = "ordersystem-original-topic";
+    public static final String EXCEPTION_HEADER = "ordersystem-exception";
+
+    private static final String RETRY_SUFFIX = "-retry-";
+    private static final String DLQ_SUFFIX = "-dlq";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${ordersystem.kafka.retry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ordersystem.kafka.retry.stages:3}")
+    private int stages;
+
+    @Value("${ordersystem.kafka.retry.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${ordersystem.kafka.retry.multiplier:4.0}")
+    private double multiplier;
+
+    @Value("${ordersystem.kafka.retry.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Value("${ordersystem.kafka.retry.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${ordersystem.kafka.topics.order-events}")
+    private String orderTopic;
+
+    @Value("${ordersystem.kafka.topics.inventory-events}")
+    private String inventoryTopic;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 재시도/DLQ 를 두는 원본 토픽 */
+    public List<String> sourceTopics() {
+        return List.of(orderTopic, inventoryTopic);
+    }
+
+    public int stages() {
+        return stages;
+    }
+
+    public String retryTopic(String sourceTopic, int stage) {
+        return sourceTopic + RETRY_SUFFIX + stage;
+    }
+
+    public String deadLetterTopic(String sourceTopic) {
+        return sourceTopic + DLQ_SUFFIX;
+    }
+
+    /** 설정된 모든 원본 토픽의 재시도/DLQ 토픽 이름 (KafkaConfig 에서 토픽 생성) */
+    public List<String> allTopics() {
+        List<String> topics = new ArrayList<>();
+        for (String sourceTopic : sourceTopics()) {
+            for (int stage = 1; stage <= stages; stage++) {
+                topics.add(retryTopic(sourceTopic, stage));
+            }
+            topics.add(deadLetterTopic(sourceTopic));
+        }
+        return topics;
+    }
+
+    /** stage 단계의 대기 시간 (지수 증가, max-backoff-ms 상한) */
+    public long backoffMs(int stage) {
+        return Math.min(maxBackoffMs, (long) (initialBackoffMs * Math.pow(multiplier, stage - 1)));
+    }
+
+    /** 처리 예정 시각 (재시도 토픽 레코드가 아니면 0 = 바로 처리) */
+    public long dueAt(ConsumerRecord<String, String> record) {
+        String dueAt = header(record.headers(), DUE_AT_HEADER);
+        return dueAt == null ? 0 : Long.parseLong(dueAt);
+    }
+
+    /**
+     * 실패한 레코드를 다음 재시도 단계로, 더 이상 단계가 없으면 DLQ 로 전송
+     * 꺼져 있으면 기존처럼 로그만 남김
+     */
+    public void route(ConsumerRecord<String, String> record, Exception cause) {
+        if (!enabled) {
+            log.error("이벤트 처리 실패 (재시도 꺼짐): topic={}, key={}, error={}",
+                    record.topic(), record.key(), cause.getMessage());
+            return;
+        }
+        int attempt = attempt(record);
+        if (attempt >= stages || cause instanceof JsonProcessingException) {
+            deadLetter(record, cause);
+            return;
+        }
+        int stage = attempt + 1;
+        String sourceTopic = sourceTopic(record);
+        long dueAt = System.currentTimeMillis() + backoffMs(stage);
+        send(record, retryTopic(sourceTopic, stage), sourceTopic, stage, dueAt, cause);
+        log.warn("이벤트 처리 실패 → 재시도 {}단계 ({}ms 후): topic={}, key={}, error={}",
+                stage, backoffMs(stage), sourceTopic, record.key(), cause.getMessage());
+    }
+
+    /**
+     * 재시도 없이 DLQ 로 전송 (JSON 오류, 멱등이 아니라 자동 재시도하면 안 되는 이벤트)
+     */
+    public void deadLetter(ConsumerRecord<String, String> record, Exception cause) {
+        if (!enabled) {
+            log.error("이벤트 처리 실패 (DLQ 꺼짐): topic={}, key={}, error={}",
+                    record.topic(), record.key(), cause.getMessage());
+            return;
+        }
+        String sourceTopic = sourceTopic(record);
+        send(record, deadLetterTopic(sourceTopic), sourceTopic, attempt(record), 0, cause);
+        log.error("이벤트 DLQ 이동: topic={}, key={}, attempts={}, error={}",
+                sourceTopic, record.key(), attempt(record), cause.getMessage());
+    }
+
+    /**
+     * DLQ 레코드를 원본 토픽으로 다시 발행 (재시도 헤더 없이 처음부터)
+     */
+    public void replay(ConsumerRecord<?, ?> record) {
+        String sourceTopic = header(record.headers(), ORIGINAL_TOPIC_HEADER);
+        if (sourceTopic == null) {
+            sourceTopic = record.topic().substring(0, record.topic().length() - DLQ_SUFFIX.length());
+        }
+        await(kafkaTemplate.send(sourceTopic, (String) record.key(), (String) record.value()));
+    }
+
+    private void send(ConsumerRecord<String, String> record, String topic, String sourceTopic,
+                      int attempt, long dueAt, Exception cause) {
+        ProducerRecord<String, String> out = new ProducerRecord<>(topic, record.key(), record.value());
+        out.headers().add(ORIGINAL_TOPIC_HEADER, bytes(sourceTopic));
+        out.headers().add(ATTEMPT_HEADER, bytes(String.valueOf(attempt)));
+        if (dueAt > 0) {
+            out.headers().add(DUE_AT_HEADER, bytes(String.valueOf(dueAt)));
+        }
+        String message = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        out.headers().add(EXCEPTION_HEADER, bytes(message.length() > 500 ? message.substring(0, 500) : message));
+        await(kafkaTemplate.send(out));
+    }
+
+    private void await(CompletableFuture<?> send) {
+        try {
+            send.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("재시도/DLQ 토픽 전송 실패", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재시도/DLQ 토픽 전송 중단", e);
+        }
+    }
+
+    private int attempt(ConsumerRecord<String, String> record) {
+        String attempt = header(record.headers(), ATTEMPT_HEADER);
+        return attempt == null ? 0 : Integer.parseInt(attempt);
+    }
+
+    private String sourceTopic(ConsumerRecord<String, String> record) {
+        String original = header(record.headers(), ORIGINAL_TOPIC_HEADER);
+        return original != null ? original : record.topic();
+    }
+
+    private static String header(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,344 @@
+package com.github.hkjs96.ordersystem.adapter.out.persistence;
+
+import com.github.hkjs96.ordersystem.domain.entity.DegradedStockWork;
+import com.github.hkjs96.ordersystem.domain.entity.DegradedStockWork.Kind;
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.domain.model.StockStatus;
+import com.github.hkjs96.ordersystem.domain.repository.DegradedStockWorkRepository;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import com.github.hkjs96.ordersystem.exception.ReservationFailedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Redis 장애(서킷 OPEN) 중 재고 처리: products.reserved_stock 조건부 UPDATE
+ *
+ * 📋 동작 원리:
+ * - 예약: 총 재고 - DB 예약 >= 수량일 때만 reserved_stock 증가 (단일 조건부 UPDATE, 행 잠금으로 원자 처리)
+ * - 복구 작업은 reserved_stock 변경과 같은 트랜잭션에서 degraded_stock_work 행으로 기록 (노드 메모리에 두지 않음)
+ *   - HELD: DB 에 잡은 예약 라인, 주문 기록 시 주문에 연결 → 어느 노드든 복원/확정 가능
+ *   - TRACK / CONFIRM: Redis 에 잡힌 예약의 주문 기록/결제 확정 → 복구 시 Redis 에 재생
+ *   - RESYNC: 장애 중 건드린 상품 → 복구 시 DB 예약분을 Redis 해시 reserved 로 이관하고 가용 재계산
+ * - 재시작해도 작업이 남고, 여러 노드의 복구는 행 선점 삭제/상품 행 잠금으로 한 번만 재생
+ * - 장애 전에 Redis 에 잡힌 예약은 DB 가 모르므로 그만큼 초과 예약될 수 있음 (결제 확정의 조건부 차감이 최종 방어)
+ * - 보관 건수는 max-pending 으로 제한, 가득 차면 새 예약을 거절
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ordersystem.inventory.store", havingValue = "redis", matchIfMissing = true)
+public class DegradedInventoryStore {
+
+    private static final int REPLAY_PAGE_SIZE = 500;
+    private static final List<Kind> ORDER_LINE_KINDS = List.of(Kind.HELD, Kind.TRACK);
+
+    private final ProductRepository productRepository;
+    private final DegradedStockWorkRepository workRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ordersystem.inventory.circuit-breaker.max-pending:100000}")
+    private int maxPending;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("inventory.degraded.pending", this, DegradedInventoryStore::pending)
+                .description("Redis 복구 시 재생할 예약 기록/결제 확정 건수")
+                .register(meterRegistry);
+        Gauge.builder("inventory.degraded.dirty_products", workRepository,
+                        repository -> repository.countProductsByKind(Kind.RESYNC))
+                .description("Redis 복구 시 재동기화할 상품 수")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isAvailable(Long productId, int quantity) {
+        return productRepository.findById(productId)
+                .map(product -> available(product) >= quantity)
+                .orElse(false);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> checkAvailability(Map<Long, Integer> quantities) {
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            result.put(productId, product != null && available(product) >= quantity);
+        });
+        return result;
+    }
+
+    @Transactional
+    public ReservationResult reserve(Long productId, int quantity) {
+        ensureCapacity();
+        if (productRepository.reserveStock(productId, quantity) == 0) {
+            return productRepository.existsById(productId)
+                    ? ReservationResult.insufficient(productId)
+                    : ReservationResult.unknownProduct(productId);
+        }
+        hold(productId, quantity);
+        log.info("DB 재고 예약 완료 (성능 저하 모드): productId={}, quantity={}", productId, quantity);
+        return ReservationResult.reserved(productId, 0);
+    }
+
+    /**
+     * 장바구니 예약: 상품 ID 순으로 UPDATE (교착 방지), 한 라인이라도 실패하면 전체 롤백
+     */
+    public ReservationResult reserveBatch(Map<Long, Integer> quantities) {
+        ensureCapacity();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ReservationResult result = tx.execute(status -> {
+            for (Map.Entry<Long, Integer> line : new TreeMap<>(quantities).entrySet()) {
+                Long productId = line.getKey();
+                if (productRepository.reserveStock(productId, line.getValue()) == 0) {
+                    status.setRollbackOnly();
+                    return productRepository.existsById(productId)
+                            ? ReservationResult.insufficient(productId)
+                            : ReservationResult.unknownProduct(productId);
+                }
+                hold(productId, line.getValue());
+            }
+            return ReservationResult.reserved(null, 0);
+        });
+        if (result != null && result.isReserved()) {
+            log.info("DB 일괄 재고 예약 완료 (성능 저하 모드): lines={}", quantities.size());
+        }
+        return result;
+    }
+
+    /**
+     * 주문 없는 복원 (예약 기록 실패 보상 등): 같은 수량의 주문 미연결 DB 예약 라인이 있으면 함께 정리
+     */
+    @Transactional
+    public void release(Long productId, int quantity) {
+        productRepository.releaseReservedStock(productId, quantity);
+        workRepository.findFirstByKindAndProductIdAndQuantityAndOrderIdIsNullOrderByIdAsc(Kind.HELD, productId, quantity)
+                .ifPresent(line -> workRepository.deleteByIdIn(List.of(line.getId())));
+        markResync(productId);
+        log.info("DB 재고 복원 완료 (성능 저하 모드): productId={}, quantity={}", productId, quantity);
+    }
+
+    /**
+     * 주문 예약 기록: 장애 중 DB 에 잡은 라인은 주문에 연결, 없으면 Redis 에 잡힌 예약 → 복구 시 Redis 에 재생
+     */
+    @Transactional
+    public void track(Long orderId, Map<Long, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> {
+            if (!assignHeldLine(orderId, productId, quantity)) {
+                workRepository.save(DegradedStockWork.builder()
+                        .kind(Kind.TRACK).productId(productId).orderId(orderId).quantity(quantity).build());
+            }
+        });
+    }
+
+    /**
+     * 주문 라인 예약 복원: 장애 중 DB 에 잡은 예약만 복원 (어느 노드에서 잡았는지와 무관)
+     * 장애 전 Redis 에 잡힌 예약은 기록이 Redis 에 있거나 복구 시 재생되므로 복구 후 만료 리퍼가 복원
+     *
+     * @return 복원한 수량 (0 = DB 에 잡은 예약이 아님)
+     */
+    @Transactional
+    public int releaseReservation(Long orderId, Long productId) {
+        Integer quantity = takeHeldLine(orderId, productId);
+        if (quantity == null) {
+            log.info("Redis 에 잡힌 예약은 복구 후 만료 시 복원: orderId={}, productId={}", orderId, productId);
+            return 0;
+        }
+        productRepository.releaseReservedStock(productId, quantity);
+        markResync(productId);
+        return quantity;
+    }
+
+    /**
+     * 결제 확정의 예약 정리 (DB 총 재고 차감은 호출자가 같은 트랜잭션에서 수행)
+     */
+    @Transactional
+    public void confirm(Long productId, int quantity, Long orderId) {
+        markResync(productId);
+        Long recordedOrderId = orderId;
+        if (orderId != null) {
+            Optional<DegradedStockWork> line = workRepository.findFirstByOrderIdAndProductIdAndKindInOrderByIdAsc(
+                    orderId, productId, ORDER_LINE_KINDS);
+            if (line.isPresent() && workRepository.deleteByIdIn(List.of(line.get().getId())) == 1) {
+                if (line.get().getKind() == Kind.HELD) {
+                    productRepository.releaseReservedStock(productId, quantity);
+                    return;
+                }
+                recordedOrderId = null; // Redis 에 아직 기록되지 않은 예약 → 예약 수량만 정리
+            }
+        }
+        workRepository.save(DegradedStockWork.builder()
+                .kind(Kind.CONFIRM).productId(productId).orderId(recordedOrderId).quantity(quantity).build());
+    }
+
+    @Transactional(readOnly = true)
+    public StockStatus getStockStatus(Long productId) {
+        return productRepository.findById(productId)
+                .map(DegradedInventoryStore::status)
+                .orElseThrow(() -> new IllegalArgumentException("상품 미발견: " + productId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockStatus> getStockStatuses(List<Long> productIds) {
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return productIds.stream()
+                .distinct()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(DegradedInventoryStore::status)
+                .toList();
+    }
+
+    /**
+     * 보관한 결제 확정을 순서대로 재생 (행 선점 삭제와 재생을 한 트랜잭션으로, 실패한 건부터 다음 복구 때 다시)
+     */
+    public void replayConfirms(Consumer<PendingConfirm> action) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<DegradedStockWork> page;
+        while (!(page = workRepository.findByKindOrderByIdAsc(Kind.CONFIRM, PageRequest.of(0, REPLAY_PAGE_SIZE))).isEmpty()) {
+            for (DegradedStockWork confirm : page) {
+                tx.executeWithoutResult(status -> {
+                    if (workRepository.deleteByIdIn(List.of(confirm.getId())) == 1) {
+                        action.accept(new PendingConfirm(confirm.getProductId(), confirm.getQuantity(), confirm.getOrderId()));
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * 재동기화 대상 상품별로 DB 예약분을 Redis 로 이관 (실패한 상품은 롤백되어 다음 회차에 남음)
+     * 상품 행 잠금 안에서 Redis 재설정 → reserved_stock 차감 → 주문 라인을 Redis 예약 기록 재생 대상으로 전환
+     * 다른 노드가 먼저 이관했으면 재동기화 표시가 없으므로 건너뜀
+     *
+     * @param resync 상품의 Redis 가용/예약 재설정 (이관할 수량 = product.getReservedStock())
+     */
+    public void replayDirtyProducts(Consumer<Product> resync) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (Long productId : workRepository.findProductIdsByKind(Kind.RESYNC)) {
+            tx.executeWithoutResult(status -> {
+                Optional<Product> product = productRepository.findByIdForUpdate(productId);
+                if (!workRepository.existsByKindAndProductId(Kind.RESYNC, productId)) {
+                    return;
+                }
+                product.ifPresent(locked -> {
+                    resync.accept(locked);
+                    if (locked.getReservedStock() > 0) {
+                        productRepository.releaseReservedStock(productId, locked.getReservedStock());
+                    }
+                });
+                workRepository.convertOrderLines(productId, Kind.HELD, Kind.TRACK);
+                workRepository.deleteOrderless(productId, List.of(Kind.HELD, Kind.RESYNC));
+            });
+        }
+    }
+
+    /**
+     * 보관한 주문 예약 기록을 주문별로 재생 (행 선점 삭제와 재생을 한 트랜잭션으로)
+     */
+    public void replayTracks(BiConsumer<Long, Map<Long, Integer>> action) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<DegradedStockWork> page;
+        while (!(page = workRepository.findByKindOrderByIdAsc(Kind.TRACK, PageRequest.of(0, REPLAY_PAGE_SIZE))).isEmpty()) {
+            for (Long orderId : page.stream().map(DegradedStockWork::getOrderId).distinct().toList()) {
+                tx.executeWithoutResult(status -> {
+                    List<DegradedStockWork> lines = workRepository.findByKindAndOrderId(Kind.TRACK, orderId);
+                    if (lines.isEmpty()
+                            || workRepository.deleteByIdIn(lines.stream().map(DegradedStockWork::getId).toList()) == 0) {
+                        return;
+                    }
+                    Map<Long, Integer> quantities = new LinkedHashMap<>();
+                    lines.forEach(line -> quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum));
+                    action.accept(orderId, quantities);
+                });
+            }
+        }
+    }
+
+    public boolean hasPendingWork() {
+        return workRepository.count() > 0;
+    }
+
+    private void hold(Long productId, int quantity) {
+        workRepository.save(DegradedStockWork.builder().kind(Kind.HELD).productId(productId).quantity(quantity).build());
+        markResync(productId);
+    }
+
+    private void markResync(Long productId) {
+        // 동시에 같은 상품을 표시해 중복 행이 생겨도 재동기화 시 함께 삭제
+        if (!workRepository.existsByKindAndProductId(Kind.RESYNC, productId)) {
+            workRepository.save(DegradedStockWork.builder().kind(Kind.RESYNC).productId(productId).build());
+        }
+    }
+
+    /**
+     * 주문 미연결 DB 예약 라인을 주문에 연결 (다른 노드가 먼저 연결한 라인은 건너뛰고 다음 라인)
+     */
+    private boolean assignHeldLine(Long orderId, Long productId, int quantity) {
+        Optional<DegradedStockWork> line;
+        while ((line = workRepository.findFirstByKindAndProductIdAndQuantityAndOrderIdIsNullOrderByIdAsc(
+                Kind.HELD, productId, quantity)).isPresent()) {
+            if (workRepository.assignOrder(line.get().getId(), orderId) == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return 주문에 연결된 DB 예약 라인 수량 (없거나 Redis 에 잡힌 예약이면 null)
+     */
+    private Integer takeHeldLine(Long orderId, Long productId) {
+        return workRepository.findFirstByOrderIdAndProductIdAndKindInOrderByIdAsc(orderId, productId, List.of(Kind.HELD))
+                .filter(line -> workRepository.deleteByIdIn(List.of(line.getId())) == 1)
+                .map(DegradedStockWork::getQuantity)
+                .orElse(null);
+    }
+
+    private void ensureCapacity() {
+        if (pending() >= maxPending) {
+            throw new ReservationFailedException("Redis 장애 중 보관 가능한 예약 수를 초과했습니다. pending=" + pending());
+        }
+    }
+
+    private long pending() {
+        return workRepository.countByKindNot(Kind.RESYNC);
+    }
+
+    private static int available(Product product) {
+        return product.isStockManaged() ? product.getTotalStock() - product.getReservedStock() : Integer.MAX_VALUE;
+    }
+
+    private static StockStatus status(Product product) {
+        return new StockStatus(product.getId(), product.getTotalStock(),
+                Math.max(product.getTotalStock() - product.getReservedStock(), 0), product.getReservedStock());
+    }
+
+    public record PendingConfirm(Long productId, int quantity, Long orderId) {
+    }
+}
@@ -6,6 +6,8 @@ import com.github.hkjs96.ordersystem.domain.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -24,6 +26,11 @@ public class JpaOrderRepository implements OrderRepositoryPort {
         return orderRepository.findById(orderId);
     }
 
+    @Override
+    public List<Order> findAllById(Collection<Long> orderIds) {
+        return orderRepository.findAllById(orderIds);
+    }
+
     @Override
     public void deleteById(Long orderId) {
         orderRepository.deleteById(orderId);
@@ -0,0 +1,336 @@
+package com.github.hkjs96.ordersystem.adapter.out.persistence;
+
+import com.github.hkjs96.ordersystem.domain.entity.StockConfirmation;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import com.github.hkjs96.ordersystem.domain.repository.StockConfirmationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 결제 확정 DB 재고 차감의 쓰기 지연(write-behind) 합치기
+ *
+ * 📋 동작 원리:
+ * - 결제 트랜잭션 안에서 저널(stock_confirmations)에 INSERT → 커밋되면 메모리 버퍼에 추가
+ * - 수 ms 마다 또는 N건이 쌓이면 상품별 합계로 UPDATE 한 번 (행 잠금 경합 제거)
+ * - 반영 시 저널 행을 선점 삭제하고 같은 트랜잭션에서 UPDATE → 중복 반영 없음
+ * - 장애로 버퍼가 유실되어도 저널에 남은 행을 복구 작업이 반영
+ * - 기록 시 DB 총 재고 - 미반영 저널 합계로 재고를 확인 → 부족하면 기록하지 않고 결제 확정 실패
+ *   (동시에 커밋되는 확정끼리는 서로의 저널을 못 볼 수 있어 반영 시점에 다시 확인)
+ * - 반영 시점에 재고가 부족한 건은 failedAt 을 표시한 저널 행으로 남김 → 유실 없이 수동 처리 대상
+ * - 주문 전체 확정(confirmOrder)은 모든 라인을 확인한 뒤 반영 → 일부 라인만 차감되지 않음 (쓰기 지연 비활성화 시 즉시 UPDATE)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockConfirmationWriteBehind {
+
+    private final StockConfirmationRepository journal;
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ordersystem.inventory.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ordersystem.inventory.write-behind.flush-max-events:500}")
+    private int flushMaxEvents;
+
+    @Value("${ordersystem.inventory.write-behind.recovery-delay-seconds:30}")
+    private long recoveryDelaySeconds;
+
+    @Value("${ordersystem.inventory.write-behind.recovery-batch-size:1000}")
+    private int recoveryBatchSize;
+
+    /** 상품별 미반영 확정분 (커밋된 저널 행) */
+    private final Map<Long, Queue<Entry>> buffer = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private DistributionSummary flushSize;
+    private Timer flushLag;
+    private Counter failed;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("inventory.write_behind.pending", pending, AtomicInteger::get)
+                .description("DB 에 반영 대기 중인 결제 확정 건수")
+                .register(meterRegistry);
+        flushSize = DistributionSummary.builder("inventory.write_behind.flush.size")
+                .description("상품별 합산 UPDATE 한 번에 묶인 확정 건수")
+                .register(meterRegistry);
+        flushLag = Timer.builder("inventory.write_behind.lag")
+                .description("결제 확정부터 DB 반영까지 걸린 시간 (배치 내 가장 오래된 건 기준)")
+                .register(meterRegistry);
+        failed = Counter.builder("inventory.write_behind.failed")
+                .description("DB 재고 부족으로 반영하지 못하고 실패로 기록한 확정 건수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 결제 확정분 기록 (결제 트랜잭션 안에서 호출)
+     * 저널 INSERT 는 결제와 함께 커밋되고, 버퍼에는 커밋 이후에만 추가됩니다.
+     *
+     * @return 기록했으면 true, DB 재고(미반영 확정분 제외)가 부족하거나 상품이 없으면 false
+     */
+    public boolean enqueue(Long productId, int quantity, Long orderId) {
+        if (!journal.hasStockFor(productId, quantity).orElse(false)) {
+            return false;
+        }
+        record(productId, quantity, orderId);
+        return true;
+    }
+
+    /**
+     * 주문 전체 확정분 반영 (결제 트랜잭션 안에서 호출, 전부 반영하거나 하나도 반영하지 않음)
+     * - 모든 라인의 재고를 먼저 확인한 뒤 반영 → 뒤 라인이 부족해 앞 라인만 차감되는 일 없음
+     * - 쓰기 지연: 미반영 확정분을 뺀 재고로 확인 후 저널 기록 / 비활성화: 상품 행을 ID 순으로 잠가 확인 후 조건부 UPDATE
+     * - 부족하거나 없는 상품이 있으면 아무것도 반영하지 않고 주문의 모든 라인을 failedAt 저널 행으로 남김 (수동 처리 대상)
+     *
+     * @return 모두 반영했으면 RESERVED, 아니면 원인 상품의 INSUFFICIENT / UNKNOWN_PRODUCT
+     */
+    @Transactional
+    public ReservationResult confirmOrder(Long orderId, Map<Long, Integer> quantities) {
+        Map<Long, Integer> lines = new TreeMap<>(quantities); // 잠금 순서 고정 (교착 방지)
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            ReservationResult checked = check(line.getKey(), line.getValue());
+            if (!checked.isReserved()) {
+                recordFailed(orderId, lines);
+                return checked;
+            }
+        }
+        lines.forEach((productId, quantity) -> {
+            if (enabled) {
+                record(productId, quantity, orderId);
+            } else if (productRepository.decrementStock(productId, quantity) == 0) {
+                throw new IllegalStateException("잠근 상품의 재고 차감 실패: productId=" + productId);
+            }
+        });
+        return ReservationResult.reserved(null, 0);
+    }
+
+    private ReservationResult check(Long productId, int quantity) {
+        Optional<Boolean> enough = enabled
+                ? journal.hasStockFor(productId, quantity)
+                : productRepository.findByIdForUpdate(productId)
+                        .map(product -> !product.isStockManaged() || product.getTotalStock() >= quantity);
+        if (enough.isEmpty()) {
+            return ReservationResult.unknownProduct(productId);
+        }
+        return enough.get() ? ReservationResult.reserved(productId, 0) : ReservationResult.insufficient(productId);
+    }
+
+    private void recordFailed(Long orderId, Map<Long, Integer> lines) {
+        LocalDateTime now = LocalDateTime.now();
+        lines.forEach((productId, quantity) -> journal.save(StockConfirmation.builder()
+                .productId(productId)
+                .orderId(orderId)
+                .quantity(quantity)
+                .failedAt(now)
+                .build()));
+        failed.increment(lines.size());
+        log.error("재고 부족으로 주문 확정 실패 (차감 없이 저널에 실패로 기록, 수동 처리 필요): orderId={}, lines={}",
+                orderId, lines);
+    }
+
+    /**
+     * 확인을 마친 확정분의 저널 INSERT, 버퍼에는 커밋 이후에만 추가
+     */
+    private void record(Long productId, int quantity, Long orderId) {
+        StockConfirmation row = journal.save(StockConfirmation.builder()
+                .productId(productId)
+                .orderId(orderId)
+                .quantity(quantity)
+                .build());
+        Entry entry = new Entry(row.getId(), orderId, quantity, System.nanoTime());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer(productId, entry);
+                }
+            });
+        } else {
+            buffer(productId, entry);
+        }
+    }
+
+    /**
+     * 주기적 반영: 상품별 합계로 UPDATE
+     */
+    @Scheduled(fixedDelayString = "${ordersystem.inventory.write-behind.flush-interval-ms:10}")
+    public void flush() {
+        if (!enabled || pending.get() == 0 || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            buffer.forEach((productId, queue) -> {
+                List<Entry> entries = new ArrayList<>();
+                Entry entry;
+                while ((entry = queue.poll()) != null) {
+                    entries.add(entry);
+                }
+                if (!entries.isEmpty()) {
+                    pending.addAndGet(-entries.size());
+                    flushProduct(productId, entries);
+                }
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 기동 시 이전 실행에서 남은 저널 반영
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        if (enabled) {
+            recover(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 버퍼 유실(노드 장애 등)로 오래 남은 저널 행 반영
+     */
+    @Scheduled(fixedDelayString = "${ordersystem.inventory.write-behind.recovery-interval-ms:30000}")
+    public void recoverStale() {
+        if (enabled) {
+            recover(LocalDateTime.now().minusSeconds(recoveryDelaySeconds));
+        }
+    }
+
+    private void recover(LocalDateTime cutoff) {
+        try {
+            List<StockConfirmation> rows = journal.findByFailedAtIsNullAndCreatedAtBeforeOrderByIdAsc(
+                    cutoff, PageRequest.of(0, recoveryBatchSize));
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            Map<Long, List<Entry>> byProduct = new LinkedHashMap<>();
+            long now = System.nanoTime();
+            for (StockConfirmation row : rows) {
+                byProduct.computeIfAbsent(row.getProductId(), id -> new ArrayList<>())
+                        .add(new Entry(row.getId(), row.getOrderId(), row.getQuantity(), now));
+            }
+            log.warn("미반영 재고 확정 저널 복구: rows={}, products={}", rows.size(), byProduct.size());
+            byProduct.forEach(this::flushProduct);
+        } catch (Exception e) {
+            log.error("재고 확정 저널 복구 실패: error={}", e.getMessage(), e);
+        }
+    }
+
+    private void buffer(Long productId, Entry entry) {
+        buffer.computeIfAbsent(productId, id -> new ConcurrentLinkedQueue<>()).add(entry);
+        if (pending.incrementAndGet() >= flushMaxEvents) {
+            flush();
+        }
+    }
+
+    private void flushProduct(Long productId, List<Entry> entries) {
+        List<Long> ids = new ArrayList<>(entries.size());
+        int sum = 0;
+        long oldest = Long.MAX_VALUE;
+        for (Entry entry : entries) {
+            ids.add(entry.journalId());
+            sum += entry.quantity();
+            oldest = Math.min(oldest, entry.enqueuedAt());
+        }
+        int total = sum;
+
+        try {
+            // afterCommit 콜백에서도 호출되므로 항상 새 트랜잭션에서 반영
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            Boolean applied = tx.execute(status -> {
+                // 1) 저널 선점: 일부라도 이미 삭제되었으면 다른 노드(복구)가 반영 중 → 이번 배치 포기
+                if (journal.deleteByIdIn(ids) != ids.size()) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                // 2) 상품별 합산 UPDATE 한 번
+                if (productRepository.decrementStock(productId, total) == 0) {
+                    applyIndividually(productId, entries);
+                }
+                return true;
+            });
+
+            if (Boolean.TRUE.equals(applied)) {
+                flushSize.record(entries.size());
+                flushLag.record(System.nanoTime() - oldest, TimeUnit.NANOSECONDS);
+                log.debug("재고 확정 반영: productId={}, events={}, quantity={}", productId, entries.size(), total);
+            } else {
+                log.info("다른 노드가 반영 중인 저널 건너뜀: productId={}, events={}", productId, entries.size());
+            }
+        } catch (Exception e) {
+            // 트랜잭션이 롤백되어 저널은 그대로 → 다음 주기에 재시도
+            log.error("재고 확정 반영 실패, 재시도 예정: productId={}, events={}, error={}",
+                    productId, entries.size(), e.getMessage());
+            buffer.computeIfAbsent(productId, id -> new ConcurrentLinkedQueue<>()).addAll(entries);
+            pending.addAndGet(entries.size());
+        }
+    }
+
+    /**
+     * 합계로는 재고가 부족한 경우: 건별로 가능한 만큼 반영하고 나머지는 같은 트랜잭션에서
+     * failedAt 을 표시한 저널 행으로 다시 기록 (수동 처리 대상, 복구 작업은 건너뜀)
+     */
+    private void applyIndividually(Long productId, List<Entry> entries) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Entry entry : entries) {
+            if (productRepository.decrementStock(productId, entry.quantity()) == 0) {
+                journal.save(StockConfirmation.builder()
+                        .productId(productId)
+                        .orderId(entry.orderId())
+                        .quantity(entry.quantity())
+                        .failedAt(now)
+                        .build());
+                failed.increment();
+                log.error("DB 재고 부족으로 확정 반영 실패 (저널에 실패로 기록, 수동 재고 처리 필요): "
+                                + "productId={}, orderId={}, quantity={}",
+                        productId, entry.orderId(), entry.quantity());
+            }
+        }
+    }
+
+    private record Entry(Long journalId, Long orderId, int quantity, long enqueuedAt) {
+    }
+}
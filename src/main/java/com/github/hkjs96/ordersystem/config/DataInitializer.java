@@ -3,10 +3,12 @@ package com.github.hkjs96.ordersystem.config;
 import java.math.BigDecimal;
 import java.util.List;
 
+import com.github.hkjs96.ordersystem.adapter.out.cache.StockKeys;
 import com.github.hkjs96.ordersystem.domain.entity.Product;
 import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -20,6 +22,9 @@ public class DataInitializer implements CommandLineRunner {
     private final ProductRepository productRepository;
     private final RedisTemplate<String, Integer> redisTemplate;
 
+    @Value("${ordersystem.inventory.store:redis}")
+    private String inventoryStore;
+
     @Override
     public void run(String... args) throws Exception {
         log.info("데이터 초기화 시작");
@@ -46,21 +51,18 @@ public class DataInitializer implements CommandLineRunner {
                         .build()
         ));
 
-        // 🔧 2) Redis에 현재 재고 초기화 (새로운 키 형식)
-        for (Product p : samples) {
-            String stockKey = "stock:" + p.getId();
-
-            if (p.isStockManaged()) {
-                redisTemplate.opsForValue().set(stockKey, p.getTotalStock());
-                log.info("재고 관리 상품 초기화: id={}, name={}, totalStock={}",
-                        p.getId(), p.getName(), p.getTotalStock());
-            } else {
-                redisTemplate.opsForValue().set(stockKey, Integer.MAX_VALUE);
-                log.info("무제한 재고 상품 초기화: id={}, name={}",
-                        p.getId(), p.getName());
-            }
+        // 인메모리 재고 저장소는 첫 조회 시 DB 에서 지연 초기화
+        if (!"redis".equals(inventoryStore)) {
+            log.info("데이터 초기화 완료: {} 상품 생성 (재고 저장소={})", samples.size(), inventoryStore);
+            return;
         }
 
+        // 🔧 2) 새로 만든 샘플 상품의 이전 실행 재고 해시 제거 (키마다 슬롯이 다르므로 키별 DEL)
+        // 재고 해시 적재는 기동 완료 시 StockWarmUp 이 전체 상품을 파이프라인으로 처리
+        List<String> staleKeys = samples.stream().map(p -> StockKeys.stock(p.getId())).toList();
+        long removed = staleKeys.stream().filter(key -> Boolean.TRUE.equals(redisTemplate.delete(key))).count();
+        log.info("샘플 상품 재고 해시 초기화: keys={}, removed={}", staleKeys.size(), removed);
+
         log.info("데이터 초기화 완료: {} 상품 생성", samples.size());
     }
 }
\ No newline at end of file
@@ -1,11 +1,19 @@
 package com.github.hkjs96.ordersystem.config;
 
+import com.github.hkjs96.ordersystem.adapter.out.messaging.RetryTopicRouter;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -16,12 +24,30 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${ordersystem.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${ordersystem.kafka.producer.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${ordersystem.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${ordersystem.kafka.inventory-listener.handoff-retry-ms:1000}")
+    private long inventoryHandoffRetryMs;
+
     @Bean
     public ProducerFactory<String, String> producerFactory() {
         Map<String,Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        // 묶음 전송(아웃박스 릴레이): 파티션별 배치를 크게 모아 압축
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        // 재시도 중에도 파티션 내 순서 유지 (아웃박스 키 순서)
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
         // 필요한 경우 acks, retries 등 추가 설정 가능
         return new DefaultKafkaProducerFactory<>(props);
     }
@@ -30,4 +56,65 @@ public class KafkaConfig {
     public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String,String> pf) {
         return new KafkaTemplate<>(pf);
     }
+
+    /**
+     * 배치 리스너: poll 한 번의 레코드를 List 로 받고, 리스너가 ack 한 뒤 오프셋 커밋 (수동 ack)
+     * (리스너에 enable.auto.commit=false 필요)
+     * 재시도/DLQ 전송 실패(BatchListenerFailedException)는 실패 위치 앞까지만 커밋하고 그 위치부터 무기한 다시 받음
+     * → 기본 설정처럼 몇 번 뒤 건너뛰면 복원 이벤트가 유실됨
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+                new FixedBackOff(inventoryHandoffRetryMs, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        return factory;
+    }
+
+    /**
+     * 주문 이벤트 리스너: 레코드별 수동 ack, 순서와 무관하게 ack 가능 (asyncAcks)
+     * 컨테이너는 파티션별로 앞쪽 오프셋이 모두 ack 된 구간까지만 커밋
+     * (리스너에 enable.auto.commit=false 필요)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> orderEventListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    /**
+     * 재시도 토픽 컨테이너 (RetryStageConsumer): 레코드별 수동 ack, 처리 시각 전이면 nack 으로 대기
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> retryKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * 재시도/DLQ 토픽 생성 (파티션/복제 수는 브로커 기본값)
+     */
+    @Bean
+    public KafkaAdmin.NewTopics retryTopics(RetryTopicRouter router) {
+        if (!router.isEnabled()) {
+            return new KafkaAdmin.NewTopics();
+        }
+        return new KafkaAdmin.NewTopics(router.allTopics().stream()
+                .map(topic -> TopicBuilder.name(topic).build())
+                .toArray(NewTopic[]::new));
+    }
 }
@@ -0,0 +1,56 @@
+package com.github.hkjs96.ordersystem.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Redis 장애(성능 저하 모드) 중 쌓인 복구 작업
+ * products.reserved_stock 변경과 같은 트랜잭션에서 INSERT 되고, 복구 시 Redis 에 재생한 뒤 삭제됩니다.
+ * 노드 메모리가 아닌 DB 에 있으므로 재시작해도 남고, 어느 노드든 복원/확정/복구를 이어서 처리
+ */
+@Entity
+@Table(name = "degraded_stock_work", indexes = {
+        @Index(name = "idx_degraded_stock_work_kind_product", columnList = "kind, productId"),
+        @Index(name = "idx_degraded_stock_work_order", columnList = "orderId, productId")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class DegradedStockWork {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "degraded_stock_work_seq")
+    @SequenceGenerator(name = "degraded_stock_work_seq", sequenceName = "degraded_stock_work_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Kind kind;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    private Long orderId;
+
+    private int quantity;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public enum Kind {
+        /** DB 에 잡은 예약 라인 (reserved_stock 증가분, 주문 기록 전에는 orderId 없음) */
+        HELD,
+        /** Redis 에 잡힌 예약의 주문 기록 (복구 시 Redis 예약 기록으로 재생) */
+        TRACK,
+        /** Redis 에 잡힌 예약의 결제 확정 (복구 시 Redis 예약 정리 재생) */
+        CONFIRM,
+        /** 장애 중 재고를 건드린 상품 (복구 시 DB 예약분 이관 + 가용 재계산) */
+        RESYNC
+    }
+}
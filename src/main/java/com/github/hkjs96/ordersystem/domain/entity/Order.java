@@ -5,6 +5,10 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "orders")
@@ -17,9 +21,15 @@ public class Order {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /** 단일 상품 주문의 상품 ID (장바구니 주문이면 null) */
     private Long productId;
+    /** 단일 상품 주문 수량 (장바구니 주문이면 전체 수량) */
     private int quantity;
 
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+    @Builder.Default
+    private List<OrderLine> lines = new ArrayList<>();
+
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
@@ -37,6 +47,30 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /** 주문 라인 추가 */
+    public void addLine(Long productId, int quantity) {
+        lines.add(OrderLine.builder()
+                .order(this)
+                .productId(productId)
+                .quantity(quantity)
+                .build());
+    }
+
+    /**
+     * 상품별 주문 수량
+     * 라인이 없는(라인 도입 이전) 주문은 productId/quantity 를 그대로 사용합니다.
+     */
+    public Map<Long, Integer> getQuantitiesByProduct() {
+        if (lines.isEmpty()) {
+            return Map.of(productId, quantity);
+        }
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderLine line : lines) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
     /** 상태 전이 검증 메서드 예시 */
     public boolean canTransitionTo(OrderStatus target) {
         // 간단 검증: PAYMENT_FAILED 이후엔 CANCELLED만 허용 등
@@ -0,0 +1,30 @@
+package com.github.hkjs96.ordersystem.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 주문 라인 (장바구니의 상품 한 줄)
+ * 시퀀스 ID를 사용하여 라인 INSERT 가 JDBC 배치로 묶이도록 합니다.
+ */
+@Entity
+@Table(name = "order_lines")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OrderLine {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_line_seq")
+    @SequenceGenerator(name = "order_line_seq", sequenceName = "order_line_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    private int quantity;
+}
@@ -0,0 +1,43 @@
+package com.github.hkjs96.ordersystem.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭션 아웃박스 (Kafka 로 보낼 이벤트)
+ * 업무 트랜잭션 안에서 INSERT 되고, OutboxRelay 가 Kafka 전송을 확인한 뒤 묶음으로 삭제합니다.
+ * 남아 있는 행 = 커밋되었지만 아직 Kafka 전송이 확인되지 않은 이벤트
+ * id 는 노드별 블록 할당 없이(allocationSize 1) 기록 시점마다 시퀀스에서 받음
+ * → 여러 노드가 기록해도 id 순서 = 기록 순서 (블록 할당이면 먼저 받은 블록의 늦은 이벤트가 앞 번호가 됨)
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String topic;
+
+    /** Kafka 메시지 키 = 집계 키 (주문 ID / 상품 ID), 같은 키는 같은 파티션에 순서대로 */
+    @Column(nullable = false, length = 100)
+    private String eventKey;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
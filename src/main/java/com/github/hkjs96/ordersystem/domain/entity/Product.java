@@ -37,6 +37,11 @@ public class Product {
     @Builder.Default
     private Integer totalStock = 0;
 
+    /** Redis 장애(성능 저하 모드) 중 DB 에서 직접 잡은 예약 수량 (복구 시 Redis 로 이관 후 0) */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer reservedStock = 0;
+
     /** 재고 관리 활성화 여부 */
     @Column(nullable = false)
     @Builder.Default
@@ -0,0 +1,41 @@
+package com.github.hkjs96.ordersystem.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 쓰기 지연(write-behind) 재고 확정 저널
+ * 결제 트랜잭션 안에서 INSERT 되고, 상품별 합산 UPDATE 가 반영될 때 삭제됩니다.
+ * 남아 있는 행 = 아직 products.total_stock 에 반영되지 않은 판매 확정분
+ * failedAt 이 있는 행 = DB 재고 부족으로 반영하지 못해 수동 처리가 필요한 확정분 (복구 대상에서 제외)
+ */
+@Entity
+@Table(name = "stock_confirmations", indexes = @Index(name = "idx_stock_confirmations_created_at", columnList = "createdAt"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class StockConfirmation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_confirmation_seq")
+    @SequenceGenerator(name = "stock_confirmation_seq", sequenceName = "stock_confirmation_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    private Long orderId;
+
+    private int quantity;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime failedAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.hkjs96.ordersystem.domain.event;
+
+/**
+ * 인기 상품 전환 이벤트 (HotProductTracker 가 집계 구간마다 발행)
+ *
+ * @param hot true = 인기 상품이 됨, false = 식음
+ * @param ratePerSecond 직전 집계 구간의 초당 요청 수 (근사치)
+ */
+public record HotProductEvent(
+        Long productId,
+        boolean hot,
+        double ratePerSecond
+) {}
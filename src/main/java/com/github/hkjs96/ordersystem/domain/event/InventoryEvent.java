@@ -1,34 +1,43 @@
 package com.github.hkjs96.ordersystem.domain.event;
 
 import java.time.Instant;
+import java.util.UUID;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
  * 카프카로 전송될 재고 이벤트 모델
  * 기존 OrderCancelledEvent를 대체
+ * eventId: 이벤트마다 고유 (재전달/재처리 시 같은 복원을 두 번 반영하지 않도록, 이전 형식 메시지는 null)
  */
 public record InventoryEvent(
-        @JsonProperty("eventType") String eventType,  // "STOCK_RESERVED", "STOCK_RELEASED", "STOCK_CONFIRMED"
+        @JsonProperty("eventType") String eventType,  // "STOCK_RESERVED", "STOCK_RELEASED", "STOCK_CONFIRMED", "STOCK_RESTOCKED"
         @JsonProperty("orderId") Long orderId,
         @JsonProperty("productId") Long productId,
         @JsonProperty("quantity") Integer quantity,
-        @JsonProperty("timestamp") Instant timestamp
+        @JsonProperty("timestamp") Instant timestamp,
+        @JsonProperty("eventId") String eventId
 ) {
     // 이벤트 타입 상수
     public static final String STOCK_RESERVED = "STOCK_RESERVED";
     public static final String STOCK_RELEASED = "STOCK_RELEASED";
     public static final String STOCK_CONFIRMED = "STOCK_CONFIRMED";
+    /** 이미 Redis 에 반영된 재고 복원 알림 (품절 미러 해제용, 재고를 다시 복원하지 않음) */
+    public static final String STOCK_RESTOCKED = "STOCK_RESTOCKED";
 
     // 팩토리 메서드들
     public static InventoryEvent stockReserved(Long orderId, Long productId, Integer quantity) {
-        return new InventoryEvent(STOCK_RESERVED, orderId, productId, quantity, Instant.now());
+        return new InventoryEvent(STOCK_RESERVED, orderId, productId, quantity, Instant.now(), UUID.randomUUID().toString());
     }
 
     public static InventoryEvent stockReleased(Long orderId, Long productId, Integer quantity) {
-        return new InventoryEvent(STOCK_RELEASED, orderId, productId, quantity, Instant.now());
+        return new InventoryEvent(STOCK_RELEASED, orderId, productId, quantity, Instant.now(), UUID.randomUUID().toString());
     }
 
     public static InventoryEvent stockConfirmed(Long orderId, Long productId, Integer quantity) {
-        return new InventoryEvent(STOCK_CONFIRMED, orderId, productId, quantity, Instant.now());
+        return new InventoryEvent(STOCK_CONFIRMED, orderId, productId, quantity, Instant.now(), UUID.randomUUID().toString());
+    }
+
+    public static InventoryEvent stockRestocked(Long productId) {
+        return new InventoryEvent(STOCK_RESTOCKED, null, productId, null, Instant.now(), UUID.randomUUID().toString());
     }
 }
\ No newline at end of file
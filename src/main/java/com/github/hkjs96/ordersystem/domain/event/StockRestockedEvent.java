@@ -0,0 +1,9 @@
+package com.github.hkjs96.ordersystem.domain.event;
+
+/**
+ * 재고 복원 알림 (재고 복원 이벤트가 따로 없는 경로: 만료 예약 복원, DB 동기화)
+ * 다른 노드의 품절 미러가 해제되도록 inventory-events 로 STOCK_RESTOCKED 를 발행하는 데 사용
+ */
+public record StockRestockedEvent(
+        Long productId
+) {}
@@ -1,15 +1,22 @@
 package com.github.hkjs96.ordersystem.domain.model;
 
 import java.time.Instant;
+import java.util.UUID;
 
 /**
  * 주문 상태 변경 이벤트
+ * eventId: 이벤트마다 고유 (재전달/재처리 시 소비자가 중복을 걸러낼 때 사용, 이전 형식 메시지는 null)
  */
 public record OrderEvent(
         Long orderId,
         OrderStatus status,
-        Instant timestamp
+        Instant timestamp,
+        String eventId
 ) {
+    public OrderEvent(Long orderId, OrderStatus status, Instant timestamp) {
+        this(orderId, status, timestamp, UUID.randomUUID().toString());
+    }
+
     /**
      * 생성 시점의 타임스탬프를 자동으로 설정하는 헬퍼 생성자
      */
@@ -0,0 +1,14 @@
+package com.github.hkjs96.ordersystem.domain.model;
+
+/**
+ * 상품 재고 행 (대사 작업용, 엔티티 대신 필요한 컬럼만 조회)
+ */
+public record ProductStock(
+        Long productId,
+        Integer totalStock,
+        Boolean stockManagementEnabled
+) {
+    public boolean isStockManaged() {
+        return Boolean.TRUE.equals(stockManagementEnabled);
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.hkjs96.ordersystem.domain.model;
+
+/**
+ * 재고 예약 시도 결과
+ * 재고 부족/상품 미발견을 예외 대신 상태로 돌려주어 품절 시 예외 생성 비용을 없앱니다.
+ */
+public record ReservationResult(
+        Status status,
+        Long productId,
+        long remaining
+) {
+    public enum Status {
+        RESERVED,           // 예약 성공
+        INSUFFICIENT,       // 재고 부족
+        UNKNOWN_PRODUCT     // 상품 미발견
+    }
+
+    public static ReservationResult reserved(Long productId, long remaining) {
+        return new ReservationResult(Status.RESERVED, productId, remaining);
+    }
+
+    public static ReservationResult insufficient(Long productId) {
+        return new ReservationResult(Status.INSUFFICIENT, productId, 0);
+    }
+
+    public static ReservationResult unknownProduct(Long productId) {
+        return new ReservationResult(Status.UNKNOWN_PRODUCT, productId, 0);
+    }
+
+    public boolean isReserved() {
+        return status == Status.RESERVED;
+    }
+}
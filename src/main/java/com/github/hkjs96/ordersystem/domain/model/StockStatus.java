@@ -0,0 +1,12 @@
+package com.github.hkjs96.ordersystem.domain.model;
+
+/**
+ * 상품 재고 상태 (모니터링용)
+ * redisStock 은 저장소(Redis 또는 인메모리)의 현재 가용 재고입니다. (응답 필드명 유지)
+ */
+public record StockStatus(
+        Long productId,
+        Integer databaseStock,
+        Integer redisStock,
+        Integer reservedStock
+) {}
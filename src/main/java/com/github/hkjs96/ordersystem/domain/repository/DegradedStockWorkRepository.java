@@ -0,0 +1,75 @@
+package com.github.hkjs96.ordersystem.domain.repository;
+
+import com.github.hkjs96.ordersystem.domain.entity.DegradedStockWork;
+import com.github.hkjs96.ordersystem.domain.entity.DegradedStockWork.Kind;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DegradedStockWorkRepository extends JpaRepository<DegradedStockWork, Long> {
+
+    /**
+     * 작업 행 선점 삭제 (삭제된 행 수로 다른 노드와의 중복 처리 방지)
+     */
+    @Modifying
+    @Query("delete from DegradedStockWork w where w.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 아직 주문에 연결되지 않은 DB 예약 라인 (주문 기록 시 연결 대상)
+     */
+    Optional<DegradedStockWork> findFirstByKindAndProductIdAndQuantityAndOrderIdIsNullOrderByIdAsc(
+            Kind kind, Long productId, int quantity);
+
+    /**
+     * DB 예약 라인을 주문에 연결 (다른 노드가 먼저 연결했으면 0)
+     */
+    @Modifying
+    @Query("update DegradedStockWork w set w.orderId = :orderId where w.id = :id and w.orderId is null")
+    int assignOrder(@Param("id") Long id, @Param("orderId") Long orderId);
+
+    Optional<DegradedStockWork> findFirstByOrderIdAndProductIdAndKindInOrderByIdAsc(
+            Long orderId, Long productId, Collection<Kind> kinds);
+
+    List<DegradedStockWork> findByKindOrderByIdAsc(Kind kind, Pageable pageable);
+
+    List<DegradedStockWork> findByKindAndOrderId(Kind kind, Long orderId);
+
+    boolean existsByKindAndProductId(Kind kind, Long productId);
+
+    @Query("select distinct w.productId from DegradedStockWork w where w.kind = :kind")
+    List<Long> findProductIdsByKind(@Param("kind") Kind kind);
+
+    /**
+     * 주문에 연결된 작업 종류 전환 (복구 시 Redis 로 이관된 DB 예약 라인 → Redis 예약 기록 재생 대상)
+     */
+    @Modifying
+    @Query("""
+            update DegradedStockWork w set w.kind = :to
+             where w.kind = :from and w.productId = :productId and w.orderId is not null
+            """)
+    int convertOrderLines(@Param("productId") Long productId, @Param("from") Kind from, @Param("to") Kind to);
+
+    /**
+     * 상품의 주문 없는 작업 삭제 (복구 시 이관된 주문 없는 DB 예약 라인, 재동기화 표시)
+     */
+    @Modifying
+    @Query("""
+            delete from DegradedStockWork w
+             where w.productId = :productId and w.kind in :kinds and w.orderId is null
+            """)
+    int deleteOrderless(@Param("productId") Long productId, @Param("kinds") Collection<Kind> kinds);
+
+    long countByKindNot(Kind kind);
+
+    @Query("select count(distinct w.productId) from DegradedStockWork w where w.kind = :kind")
+    long countProductsByKind(@Param("kind") Kind kind);
+}
@@ -1,10 +1,100 @@
 package com.github.hkjs96.ordersystem.domain.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.model.ProductStock;
 
 /**
  * JPA 상품 리포지토리
  */
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    /**
+     * 재고가 충분할 때만 DB 재고를 차감하는 단일 UPDATE (엔티티 조회 없음)
+     * 재고 관리 비활성화 상품은 차감 없이 성공으로 처리합니다.
+     *
+     * @return 영향받은 행 수 (0 = 재고 부족 또는 상품 없음)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Product p
+               set p.totalStock = case when p.stockManagementEnabled = true
+                                       then p.totalStock - :quantity
+                                       else p.totalStock end
+             where p.id = :productId
+               and (p.stockManagementEnabled = false or p.totalStock >= :quantity)
+            """)
+    int decrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * 성능 저하 모드 예약: 가용(총 재고 - DB 예약)이 충분할 때만 DB 예약 수량 증가
+     * 재고 관리 비활성화 상품은 증가 없이 성공으로 처리합니다.
+     *
+     * @return 영향받은 행 수 (0 = 재고 부족 또는 상품 없음)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Product p
+               set p.reservedStock = case when p.stockManagementEnabled = true
+                                          then p.reservedStock + :quantity
+                                          else p.reservedStock end
+             where p.id = :productId
+               and (p.stockManagementEnabled = false or p.totalStock - p.reservedStock >= :quantity)
+            """)
+    int reserveStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * DB 예약 수량 감소 (0 미만으로 내려가지 않음)
+     *
+     * @return 영향받은 행 수 (0 = 상품 없음)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Product p
+               set p.reservedStock = case when p.reservedStock > :quantity
+                                          then p.reservedStock - :quantity
+                                          else 0 end
+             where p.id = :productId
+            """)
+    int releaseReservedStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * 행 잠금 조회 (Redis 복구 시 DB 예약분 이관 중 같은 상품의 예약/복원 UPDATE 를 대기시킴)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :productId")
+    Optional<Product> findByIdForUpdate(@Param("productId") Long productId);
+
+    /**
+     * 키셋 페이지: afterId 다음 상품들의 재고 컬럼만 ID 순으로 조회 (OFFSET 없이 PK 인덱스 범위 스캔)
+     */
+    @Query("""
+            select new com.github.hkjs96.ordersystem.domain.model.ProductStock(
+                       p.id, p.totalStock, p.stockManagementEnabled)
+              from Product p
+             where p.id > :afterId
+             order by p.id
+            """)
+    List<ProductStock> findStockPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 지정한 상품들의 재고 컬럼만 조회
+     */
+    @Query("""
+            select new com.github.hkjs96.ordersystem.domain.model.ProductStock(
+                       p.id, p.totalStock, p.stockManagementEnabled)
+              from Product p
+             where p.id in :ids
+            """)
+    List<ProductStock> findStockByIdIn(@Param("ids") Collection<Long> ids);
 }
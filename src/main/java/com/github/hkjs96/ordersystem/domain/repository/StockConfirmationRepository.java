@@ -0,0 +1,49 @@
+package com.github.hkjs96.ordersystem.domain.repository;
+
+import com.github.hkjs96.ordersystem.domain.entity.StockConfirmation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockConfirmationRepository extends JpaRepository<StockConfirmation, Long> {
+
+    /**
+     * 반영할 저널 행을 선점 삭제 (삭제된 행 수로 다른 노드와의 중복 반영 방지)
+     */
+    @Modifying
+    @Query("delete from StockConfirmation c where c.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 복구용: cutoff 이전에 기록되었지만 아직 반영되지 않은 저널 행 (오래된 순, 반영 실패로 표시된 행 제외)
+     */
+    List<StockConfirmation> findByFailedAtIsNullAndCreatedAtBeforeOrderByIdAsc(LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * 기록 시점 재고 확인: DB 총 재고 - 아직 반영되지 않은 확정분 >= 수량
+     * 재고 관리 비활성화 상품은 항상 true, 상품이 없으면 빈 결과
+     */
+    @Query("""
+            select case when p.stockManagementEnabled = false
+                          or p.totalStock - coalesce((select sum(c.quantity) from StockConfirmation c
+                                                       where c.productId = p.id and c.failedAt is null), 0) >= :quantity
+                        then true else false end
+              from Product p
+             where p.id = :productId
+            """)
+    Optional<Boolean> hasStockFor(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * 반영 실패로 표시된 저널 행 수 (수동 처리 대기)
+     */
+    long countByFailedAtIsNotNull();
+}
@@ -1,12 +1,16 @@
 package com.github.hkjs96.ordersystem.domain.service;
 
 import com.github.hkjs96.ordersystem.adapter.out.OrderRepositoryPort;
+import com.github.hkjs96.ordersystem.adapter.out.cache.HotProductTracker;
 import com.github.hkjs96.ordersystem.adapter.out.event.DomainEventPublisher;
 import com.github.hkjs96.ordersystem.domain.entity.Order;
 import com.github.hkjs96.ordersystem.domain.event.OrderCancelledEvent;
 import com.github.hkjs96.ordersystem.domain.model.OrderEvent;
 import com.github.hkjs96.ordersystem.domain.model.OrderStatus;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.dto.request.OrderLineRequest;
 import com.github.hkjs96.ordersystem.dto.request.OrderRequest;
+import com.github.hkjs96.ordersystem.dto.response.OrderLineResponse;
 import com.github.hkjs96.ordersystem.dto.response.OrderResponse;
 import com.github.hkjs96.ordersystem.port.in.OrderUseCase;
 import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
@@ -16,6 +20,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -24,34 +34,49 @@ public class OrderService implements OrderUseCase {
     private final InventoryRepositoryPort inventoryPort;
     private final PublishEventPort eventPort;
     private final DomainEventPublisher domainEventPublisher;
+    private final HotProductTracker hotProducts;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public OrderResponse createOrder(OrderRequest req) {
-        log.info("주문 생성 시작: productId={}, quantity={}", req.productId(), req.quantity());
-        // 1) 재고 확인
-        if (!inventoryPort.isStockAvailable(req.productId(), req.quantity())) {
-            throw new IllegalStateException("재고 부족: productId=" + req.productId());
+        Map<Long, Integer> quantities = mergeLines(req.toLines());
+        log.info("주문 생성 시작: lines={}", quantities);
+        for (Long productId : quantities.keySet()) {
+            hotProducts.record(productId); // 재고 부족으로 실패한 요청도 수요로 집계
         }
 
-        // 🔧 재고 예약 처리 활성화
-        inventoryPort.reserveStock(req.productId(), req.quantity());
+        // 1) 재고 확인 + 예약 (단일 상품은 단건, 장바구니는 일괄 all-or-nothing 호출)
+        ReservationResult reservation = quantities.size() == 1
+                ? reserveSingle(quantities)
+                : inventoryPort.reserveStockBatch(quantities);
+        switch (reservation.status()) {
+            case INSUFFICIENT -> throw new IllegalStateException("재고 부족: productId=" + reservation.productId());
+            case UNKNOWN_PRODUCT -> throw new IllegalArgumentException("상품 미발견: " + reservation.productId());
+            default -> { }
+        }
 
-        // 2) 주문 생성
+        // 2) 주문 + 라인 생성 (라인 INSERT 는 JDBC 배치로 처리)
+        boolean singleProduct = quantities.size() == 1;
         Order order = Order.builder()
-                .productId(req.productId())
-                .quantity(req.quantity())
+                .productId(singleProduct ? quantities.keySet().iterator().next() : null)
+                .quantity(quantities.values().stream().mapToInt(Integer::intValue).sum())
                 .status(OrderStatus.CREATED)
                 .build();
+        quantities.forEach(order::addLine);
         order = orderRepositoryPort.save(order);
 
-        // 3) 이벤트 발행
+        // 3) 주문 단위 예약 기록 (결제 없이 유지 시간이 지나면 리퍼가 복원)
+        trackReservation(order.getId(), quantities);
+
+        // 4) 이벤트 발행
         eventPort.publishOrderEvent(new OrderEvent(order.getId(), OrderStatus.CREATED));
 
-        log.info("주문 생성 완료: orderId={}, productId={}, quantity={}, 재고 예약됨",
-                order.getId(), req.productId(), req.quantity());
+        log.info("주문 생성 완료: orderId={}, lines={}, 재고 예약됨", order.getId(), quantities);
 
-        return new OrderResponse(order.getId(), order.getProductId(), order.getQuantity(), order.getStatus());
+        List<OrderLineResponse> lines = quantities.entrySet().stream()
+                .map(e -> new OrderLineResponse(e.getKey(), e.getValue()))
+                .toList();
+        return new OrderResponse(order.getId(), order.getProductId(), order.getQuantity(), order.getStatus(), lines);
     }
 
     @Override
@@ -62,16 +87,68 @@ public class OrderService implements OrderUseCase {
         Order order = orderRepositoryPort.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("주문 미발견: " + orderId));
 
-        // 재고 복원을 위한 도메인 이벤트 발행
-        domainEventPublisher.publish(new OrderCancelledEvent(
-                orderId, order.getProductId(), order.getQuantity()
-        ));
+        // 재고 복원을 위한 도메인 이벤트 발행 (라인별)
+        Map<Long, Integer> quantities = order.getQuantitiesByProduct();
+        quantities.forEach((productId, quantity) ->
+                domainEventPublisher.publish(new OrderCancelledEvent(orderId, productId, quantity)));
         order.changeStatus(OrderStatus.CANCELLED);
 
         // 이벤트 발행
         eventPort.publishOrderEvent(new OrderEvent(orderId, OrderStatus.CANCELLED));
 
-        log.info("주문 취소 완료: orderId={}, productId={}, quantity={}, 재고 복원 요청됨",
-                orderId, order.getProductId(), order.getQuantity());
+        log.info("주문 취소 완료: orderId={}, lines={}, 재고 복원 요청됨", orderId, quantities);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<Long> expireUnpaidOrders(List<Long> orderIds) {
+        Map<Long, Order> orders = new HashMap<>();
+        orderRepositoryPort.findAllById(orderIds).forEach(order -> orders.put(order.getId(), order));
+
+        List<Long> releasable = new ArrayList<>(orderIds.size());
+        for (Long orderId : orderIds) {
+            Order order = orders.get(orderId);
+            if (order == null) {
+                releasable.add(orderId); // 커밋되지 않은 주문의 예약
+                continue;
+            }
+            switch (order.getStatus()) {
+                case CREATED -> {
+                    order.changeStatus(OrderStatus.CANCELLED);
+                    eventPort.publishOrderEvent(new OrderEvent(orderId, OrderStatus.CANCELLED));
+                    log.info("결제 대기 만료로 주문 취소: orderId={}", orderId);
+                    releasable.add(orderId);
+                }
+                case CANCELLED, PAYMENT_FAILED -> releasable.add(orderId);
+                default -> { } // 결제 완료 이후 상태: 재고는 판매 확정 대상
+            }
+        }
+        return releasable;
+    }
+
+    private void trackReservation(Long orderId, Map<Long, Integer> quantities) {
+        try {
+            inventoryPort.trackReservation(orderId, quantities);
+        } catch (RuntimeException e) {
+            // 기록 없이 남은 예약은 복원되지 않으므로 즉시 되돌리고 주문 생성 실패 처리
+            quantities.forEach(inventoryPort::releaseStock);
+            throw e;
+        }
+    }
+
+    private ReservationResult reserveSingle(Map<Long, Integer> quantities) {
+        Map.Entry<Long, Integer> line = quantities.entrySet().iterator().next();
+        return inventoryPort.tryReserve(line.getKey(), line.getValue());
+    }
+
+    /**
+     * 같은 상품이 여러 라인에 있으면 수량을 합산 (요청 순서 유지)
+     */
+    private Map<Long, Integer> mergeLines(List<OrderLineRequest> lines) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderLineRequest line : lines) {
+            quantities.merge(line.productId(), line.quantity(), Integer::sum);
+        }
+        return quantities;
     }
 }
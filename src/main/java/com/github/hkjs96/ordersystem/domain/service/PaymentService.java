@@ -1,13 +1,12 @@
 package com.github.hkjs96.ordersystem.domain.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.hkjs96.ordersystem.adapter.out.OrderRepositoryPort;
-import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryRepository;
 import com.github.hkjs96.ordersystem.domain.entity.Payment;
 import com.github.hkjs96.ordersystem.domain.entity.Order;
 import com.github.hkjs96.ordersystem.domain.event.InventoryEvent;
 import com.github.hkjs96.ordersystem.domain.model.OrderEvent;
 import com.github.hkjs96.ordersystem.domain.model.OrderStatus;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
 import com.github.hkjs96.ordersystem.domain.repository.PaymentRepository;
 import com.github.hkjs96.ordersystem.exception.PaymentException;
 import com.github.hkjs96.ordersystem.port.in.PaymentUseCase;
@@ -15,11 +14,10 @@ import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
 import com.github.hkjs96.ordersystem.port.out.PublishEventPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -30,11 +28,6 @@ public class PaymentService implements PaymentUseCase {
     private final OrderRepositoryPort orderRepositoryPort;
     private final PublishEventPort eventPort;
     private final InventoryRepositoryPort inventoryPort;
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
-
-    @Value("${ordersystem.kafka.topics.inventory-events}")
-    private String inventoryTopic;
 
     @Override
     @Transactional
@@ -64,39 +57,36 @@ public class PaymentService implements PaymentUseCase {
                 .build();
         paymentRepository.save(payment);
 
+        Map<Long, Integer> quantities = order.getQuantitiesByProduct();
+
         // 주문 상태 변경
         if (success) {
-            // 🔧 결제 성공 시 DB에 실제 재고 차감
-            try {
-                // InventoryRepository의 confirmSale 메서드 호출
-                if (inventoryPort instanceof InventoryRepository inventoryRepository) {
-                    inventoryRepository.confirmSale(order.getProductId(), order.getQuantity(), orderId);
-                }
-
+            // 🔧 결제 성공 시 주문 전체 재고 확정 (모든 라인을 확인한 뒤 차감 → 일부 라인만 확정되지 않음)
+            ReservationResult confirmed = inventoryPort.confirmSales(orderId, quantities);
+            if (confirmed.isReserved()) {
                 order.changeStatus(OrderStatus.PAYMENT_COMPLETED);
                 eventPort.publishOrderEvent(new OrderEvent(orderId, OrderStatus.PAYMENT_COMPLETED));
 
-                // 🆕 카프카로 재고 확정 이벤트 발행
-                publishInventoryConfirmed(orderId, order.getProductId(), order.getQuantity());
-
-                log.info("결제 성공 및 재고 차감 완료: orderId={}, productId={}, quantity={}",
-                        orderId, order.getProductId(), order.getQuantity());
+                // 🆕 재고 확정 이벤트 발행 (아웃박스 사용 시 같은 트랜잭션으로 기록 → 커밋된 결제만 전송)
+                quantities.forEach((productId, quantity) ->
+                        eventPort.publishInventoryEvent(InventoryEvent.stockConfirmed(orderId, productId, quantity)));
 
-            } catch (Exception e) {
-                log.error("재고 차감 실패: orderId={}", orderId, e);
+                log.info("결제 성공 및 재고 차감 완료: orderId={}, lines={}", orderId, quantities);
+            } else {
+                // 결제는 성공했지만 재고 부족: 아무 라인도 차감되지 않았고 주문 라인은 확정 실패 저널에 기록됨
+                // 배송으로 넘어가지 않도록 주문을 취소하고 예약 재고 복원 (결제 환불은 저널 기준 수동 처리)
+                quantities.keySet().forEach(productId -> inventoryPort.releaseReservation(orderId, productId));
 
-                // 결제는 성공했지만 재고 차감 실패
-                order.changeStatus(OrderStatus.PAYMENT_COMPLETED); // 결제 성공 상태 유지
-                eventPort.publishOrderEvent(new OrderEvent(orderId, OrderStatus.PAYMENT_COMPLETED));
+                order.changeStatus(OrderStatus.CANCELLED);
+                eventPort.publishOrderEvent(new OrderEvent(orderId, OrderStatus.CANCELLED));
 
-                // TODO: 재고 차감 실패 알림 또는 수동 처리 큐에 추가
-                log.warn("수동 재고 처리 필요: orderId={}, productId={}, quantity={}",
-                        orderId, order.getProductId(), order.getQuantity());
+                log.error("재고 확정 실패로 주문 취소 (결제 환불 필요): orderId={}, productId={}, reason={}",
+                        orderId, confirmed.productId(), confirmed.status());
             }
 
         } else {
-            // 🔧 결제 실패 시 Redis 재고 복원
-            inventoryPort.releaseStock(order.getProductId(), order.getQuantity());
+            // 🔧 결제 실패 시 Redis 재고 복원 (주문 예약 기록 기준, 라인별)
+            quantities.keySet().forEach(productId -> inventoryPort.releaseReservation(orderId, productId));
 
             order.changeStatus(OrderStatus.PAYMENT_FAILED);
             eventPort.publishOrderEvent(new OrderEvent(orderId, OrderStatus.PAYMENT_FAILED));
@@ -105,36 +95,4 @@ public class PaymentService implements PaymentUseCase {
             throw new PaymentException("결제 실패: orderId=" + orderId);
         }
     }
-
-    /**
-     * 재고 확정 이벤트 발행 (결제 성공 시)
-     */
-    private void publishInventoryConfirmed(Long orderId, Long productId, Integer quantity) {
-        try {
-            InventoryEvent event = InventoryEvent.stockConfirmed(orderId, productId, quantity);
-            String payload = objectMapper.writeValueAsString(event);
-
-            kafkaTemplate.send(inventoryTopic, String.valueOf(productId), payload);
-            log.debug("재고 확정 이벤트 발행: {}", event);
-
-        } catch (Exception e) {
-            log.error("재고 확정 이벤트 발행 실패: orderId={}", orderId, e);
-        }
-    }
-
-    /**
-     * 재고 복원 이벤트 발행 (결제 실패 시)
-     */
-    private void publishInventoryReleased(Long orderId, Long productId, Integer quantity) {
-        try {
-            InventoryEvent event = InventoryEvent.stockReleased(orderId, productId, quantity);
-            String payload = objectMapper.writeValueAsString(event);
-
-            kafkaTemplate.send(inventoryTopic, String.valueOf(productId), payload);
-            log.debug("재고 복원 이벤트 발행: {}", event);
-
-        } catch (Exception e) {
-            log.error("재고 복원 이벤트 발행 실패: orderId={}", orderId, e);
-        }
-    }
 }
@@ -0,0 +1,27 @@
+package com.github.hkjs96.ordersystem.dto.request;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "여러 상품 재고 가용성 확인 요청 DTO")
+public record AvailabilityBatchRequest(
+        @Valid @NotEmpty @Size(max = 1000) @Schema(description = "확인할 상품/수량 목록")
+        List<OrderLineRequest> lines
+) {
+    /**
+     * 상품 ID → 수량 (같은 상품이 여러 줄이면 합산, 요청 순서 유지)
+     */
+    public Map<Long, Integer> toQuantities() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderLineRequest line : lines) {
+            quantities.merge(line.productId(), line.quantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
@@ -1,14 +1,48 @@
 package com.github.hkjs96.ordersystem.dto.request;
 
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotNull;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
 
-@Schema(description = "주문 생성 요청 DTO")
+@Schema(description = "주문 생성 요청 DTO (단일 상품 또는 장바구니 lines)")
 public record OrderRequest(
-        @NotNull @Schema(description = "상품 ID", example = "1")
+        @Schema(description = "상품 ID (단일 상품 주문)", example = "1")
         Long productId,
 
-        @Min(1) @Schema(description = "수량", example = "3")
-        int quantity
-) {}
\ No newline at end of file
+        @Schema(description = "수량 (단일 상품 주문)", example = "3")
+        int quantity,
+
+        @Valid @Size(max = 100) @Schema(description = "주문 라인 목록 (장바구니 주문)")
+        List<OrderLineRequest> lines
+) {
+    /**
+     * 단일 상품 주문용 생성자
+     */
+    public OrderRequest(Long productId, int quantity) {
+        this(productId, quantity, null);
+    }
+
+    /**
+     * 단일 상품 주문도 라인 한 줄로 정규화하여 반환
+     */
+    public List<OrderLineRequest> toLines() {
+        if (lines != null && !lines.isEmpty()) {
+            return lines;
+        }
+        return List.of(new OrderLineRequest(productId, quantity));
+    }
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "productId/quantity 또는 lines 중 하나를 지정해야 합니다")
+    public boolean isLineSpecified() {
+        if (lines != null && !lines.isEmpty()) {
+            return true;
+        }
+        return productId != null && quantity >= 1;
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.hkjs96.ordersystem.dto.request;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "여러 상품 재고 상태 조회 요청 DTO")
+public record StockStatusBatchRequest(
+        @NotEmpty @Size(max = 1000) @Schema(description = "상품 ID 목록", example = "[1, 2, 3]")
+        List<@NotNull Long> productIds
+) {}
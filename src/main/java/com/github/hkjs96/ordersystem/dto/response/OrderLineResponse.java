@@ -0,0 +1,12 @@
+package com.github.hkjs96.ordersystem.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "주문 라인 응답 DTO")
+public record OrderLineResponse(
+        @Schema(description = "상품 ID", example = "1001")
+        Long productId,
+
+        @Schema(description = "수량", example = "2")
+        int quantity
+) {}
@@ -1,5 +1,7 @@
 package com.github.hkjs96.ordersystem.dto.response;
 
+import java.util.List;
+
 import com.github.hkjs96.ordersystem.domain.model.OrderStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -8,12 +10,19 @@ public record OrderResponse(
         @Schema(description = "주문 ID", example = "123")
         Long orderId,
 
-        @Schema(description = "상품 ID", example = "1001")
+        @Schema(description = "상품 ID (장바구니 주문이면 null)", example = "1001")
         Long productId,
 
-        @Schema(description = "수량", example = "2")
+        @Schema(description = "수량 (장바구니 주문이면 전체 수량)", example = "2")
         int quantity,
 
         @Schema(description = "주문 상태", example = "CREATED")
-        OrderStatus status
-) {}
\ No newline at end of file
+        OrderStatus status,
+
+        @Schema(description = "주문 라인 목록")
+        List<OrderLineResponse> lines
+) {
+    public OrderResponse(Long orderId, Long productId, int quantity, OrderStatus status) {
+        this(orderId, productId, quantity, status, List.of(new OrderLineResponse(productId, quantity)));
+    }
+}
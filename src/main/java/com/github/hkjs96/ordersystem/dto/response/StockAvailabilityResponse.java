@@ -0,0 +1,15 @@
+package com.github.hkjs96.ordersystem.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "상품 재고 가용성 응답 DTO")
+public record StockAvailabilityResponse(
+        @Schema(description = "상품 ID", example = "1")
+        Long productId,
+
+        @Schema(description = "확인한 수량", example = "3")
+        int quantity,
+
+        @Schema(description = "가용 여부", example = "true")
+        boolean available
+) {}
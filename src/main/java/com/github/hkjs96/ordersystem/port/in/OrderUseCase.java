@@ -3,6 +3,8 @@ package com.github.hkjs96.ordersystem.port.in;
 import com.github.hkjs96.ordersystem.dto.request.OrderRequest;
 import com.github.hkjs96.ordersystem.dto.response.OrderResponse;
 
+import java.util.List;
+
 public interface OrderUseCase {
 
     /**
@@ -14,4 +16,10 @@ public interface OrderUseCase {
      * 주문을 취소 상태로 전환합니다.
      */
     void cancelOrder(Long orderId);
+
+    /**
+     * 예약 유지 시간이 지난 결제 대기(CREATED) 주문을 취소 상태로 전환합니다.
+     * 재고를 복원해도 되는 주문 ID 를 반환합니다. (이미 결제된 주문은 제외)
+     */
+    List<Long> expireUnpaidOrders(List<Long> orderIds);
 }
@@ -1,12 +1,42 @@
 package com.github.hkjs96.ordersystem.port.out;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.domain.model.StockStatus;
+
 public interface InventoryRepositoryPort {
 
     /**
-     * 재고가 충분한지 확인합니다.
+     * 재고가 충분한지 확인합니다. (읽기 전용, 예약하지 않음)
+     * 존재하지 않는 상품은 false 를 반환합니다.
      */
     boolean isStockAvailable(Long productId, int quantity);
 
+    /**
+     * 여러 상품의 재고 가용성을 한 번에 확인합니다. (읽기 전용, 예약하지 않음)
+     * 존재하지 않는 상품은 false 이며, 결과는 요청 순서를 따릅니다.
+     *
+     * @param quantities 상품 ID → 수량
+     */
+    Map<Long, Boolean> checkAvailability(Map<Long, Integer> quantities);
+
+    /**
+     * 재고 확인과 예약을 한 번에 시도합니다.
+     * 재고 부족/상품 미발견은 예외 없이 결과 상태로 반환합니다.
+     */
+    ReservationResult tryReserve(Long productId, int quantity);
+
+    /**
+     * 여러 상품의 재고를 한 번의 호출로 전부 예약하거나 하나도 예약하지 않습니다.
+     * 실패 시 원인이 된 상품 ID 를 결과에 담아 반환합니다.
+     *
+     * @param quantities 상품 ID → 수량
+     */
+    ReservationResult reserveStockBatch(Map<Long, Integer> quantities);
+
     /**
      * 재고를 예약(감소) 처리합니다.
      * TTL 기반 롤백 로직은 구현체에서 처리합니다.
@@ -17,4 +47,85 @@ public interface InventoryRepositoryPort {
      * 주문 취소시 재고를 원복 처리합니다.
      */
     void releaseStock(Long productId, int quantity);  // 신규
+
+    /**
+     * 이벤트 단위로 중복을 걸러 재고를 원복합니다. (재전달/재처리된 재고 복원 이벤트용)
+     * 이미 처리한 이벤트 ID 의 수량은 건너뜁니다.
+     *
+     * @param quantitiesByEventId 이벤트 ID → 복원 수량
+     * @return 실제로 복원된 수량
+     */
+    int releaseStockOnce(Long productId, Map<String, Integer> quantitiesByEventId);
+
+    /**
+     * 결제 완료 시 DB 재고를 차감하고 주문의 예약을 확정합니다.
+     * DB 재고가 부족하면 저장소를 DB 와 동기화한 뒤 InsufficientStockException 을 던집니다.
+     */
+    void confirmSale(Long productId, int quantity, Long orderId);
+
+    /**
+     * 결제 완료 시 주문의 모든 라인을 한 번에 판매 확정합니다. (전부 확정하거나 하나도 확정하지 않음)
+     * 모든 라인의 DB 재고를 먼저 확인하므로, 부족하거나 없는 상품이 있으면 아무것도 차감하지 않고
+     * 주문 라인을 확정 실패(수동 처리 대상)로 기록한 뒤 원인 상품을 결과로 반환합니다. 예약은 그대로 남습니다.
+     *
+     * @param quantities 상품 ID → 수량
+     */
+    ReservationResult confirmSales(Long orderId, Map<Long, Integer> quantities);
+
+    /**
+     * 예약을 주문 단위로 기록하고 만료 인덱스에 등록합니다.
+     * 결제 확정/취소 없이 유지 시간이 지나면 리퍼가 재고를 복원합니다.
+     */
+    void trackReservation(Long orderId, Map<Long, Integer> quantities);
+
+    /**
+     * 주문의 상품 예약을 기록된 수량만큼 복원합니다.
+     * 이미 복원/만료/확정된 예약이면 아무것도 하지 않고 0 을 반환합니다. (중복 복원 방지)
+     *
+     * @return 복원된 수량
+     */
+    int releaseReservation(Long orderId, Long productId);
+
+    /**
+     * 여러 주문의 상품 예약을 한 번의 호출로 복원합니다. (재고 이벤트 일괄 처리용)
+     * 이미 복원/만료/확정된 라인은 건너뜁니다. (중복 복원 방지)
+     *
+     * @param productIdsByOrder 주문 ID → 복원할 상품 ID 목록
+     * @return 복원된 총 수량
+     */
+    int releaseReservationLines(Map<Long, Set<Long>> productIdsByOrder);
+
+    /**
+     * 유지 시간이 지난 예약의 주문 ID 를 만료 시각 순으로 최대 limit 개 조회합니다.
+     */
+    List<Long> findExpiredReservations(int limit);
+
+    /**
+     * 주문들의 남은 예약을 한 번의 호출로 모두 복원합니다.
+     *
+     * @return 복원된 총 수량
+     */
+    int releaseReservations(List<Long> orderIds);
+
+    /**
+     * 재고 복원 없이 주문들의 예약 기록만 삭제합니다. (이미 결제된 주문)
+     */
+    void discardReservations(List<Long> orderIds);
+
+    /**
+     * DB 재고와 저장소의 예약 상태를 함께 조회합니다. (모니터링용)
+     */
+    StockStatus getStockStatus(Long productId);
+
+    /**
+     * 여러 상품의 재고 상태를 저장소 1회 + DB 1회 조회로 가져옵니다. (모니터링/목록 화면용)
+     * 존재하지 않는 상품은 결과에서 빠지며, 결과는 요청 순서를 따릅니다.
+     */
+    List<StockStatus> getStockStatuses(List<Long> productIds);
+
+    /**
+     * 저장소의 재고를 DB 기준으로 다시 맞춥니다.
+     * 진행 중인 예약은 유지하며 가용 재고 = DB 재고 - 예약 수량이 됩니다.
+     */
+    void syncWithDatabase(Long productId);
 }
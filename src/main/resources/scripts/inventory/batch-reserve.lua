@@ -0,0 +1,31 @@
+-- 여러 상품의 재고를 전부 예약하거나 하나도 예약하지 않음 (all-or-nothing)
+-- KEYS[i] = stock:{productId_i} 해시
+-- ARGV[i] = 라인 i 수량
+-- 반환: {0, 0} = 전체 예약 성공, {1, i} = 라인 i 재고 부족,
+--       {2, i} = 라인 i 재고 키 없음(DB 초기화 필요), {3, i} = 라인 i 샤딩된 상품
+--
+-- 상품마다 슬롯이 다르므로 단일 Redis 인스턴스 전용 (Redis Cluster 는 ordersystem.inventory.redis-cluster=true 로
+-- 라인별 단일 키 예약 + 실패 시 앞서 예약한 라인 복원 경로를 사용)
+
+-- 1) 전체 라인 확인 (하나라도 실패하면 아무것도 변경하지 않음)
+for i = 1, #KEYS do
+    local state = redis.call('HMGET', KEYS[i], 'available', 'shards')
+    if state[2] then
+        return {3, i}
+    end
+    if not state[1] then
+        return {2, i}
+    end
+    if tonumber(state[1]) < tonumber(ARGV[i]) then
+        return {1, i}
+    end
+end
+
+-- 2) 전체 라인 차감 + 예약 기록
+for i = 1, #KEYS do
+    local quantity = tonumber(ARGV[i])
+    redis.call('HINCRBY', KEYS[i], 'available', -quantity)
+    redis.call('HINCRBY', KEYS[i], 'reserved', quantity)
+    redis.call('HINCRBY', KEYS[i], 'version', 1)
+end
+return {0, 0}
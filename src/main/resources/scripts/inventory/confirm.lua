@@ -0,0 +1,14 @@
+-- 결제 완료 시 예약 수량 정리 (DB 차감 이후 호출)
+-- KEYS[1] = stock:{productId} 해시
+-- ARGV[1] = 확정 수량
+-- 반환: 남은 예약 수량, -1 = 예약 수량 부족(정리 생략), -3 = 샤딩된 상품 (샤드 예약은 shard-release.lua 로 정리)
+local state = redis.call('HMGET', KEYS[1], 'reserved', 'shards')
+if state[2] then
+    return -3
+end
+local reserved = tonumber(state[1] or '0')
+if reserved < tonumber(ARGV[1]) then
+    return -1
+end
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+return redis.call('HINCRBY', KEYS[1], 'reserved', -tonumber(ARGV[1]))
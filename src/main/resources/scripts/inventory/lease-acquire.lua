@@ -0,0 +1,47 @@
+-- 노드 로컬 판매용 재고 블록 임대
+-- KEYS[1] = stock:{productId} 해시, KEYS[2] = lease:{productId} (노드별 임대 수량/만료 해시)
+-- KEYS[3] = lease:{productId}:revoke (회수 요청 플래그)
+-- ARGV[1] = nodeId, ARGV[2] = 원하는 수량, ARGV[3] = 최소 임대 수량
+-- ARGV[4] = 임대 금지 재고 하한, ARGV[5] = 임대 만료(ms)
+-- 반환: 임대 수량(>= 0), -2 = 재고 키 없음, -3 = 샤딩된 상품
+if redis.call('HEXISTS', KEYS[1], 'shards') == 1 then
+    return -3
+end
+
+local now = redis.call('TIME')
+local nowMs = tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000)
+
+-- 만료된 임대(노드 장애 등) 회수
+local leases = redis.call('HGETALL', KEYS[2])
+for i = 1, #leases, 2 do
+    local field = leases[i]
+    if string.sub(field, -4) == ':exp' and tonumber(leases[i + 1]) < nowMs then
+        local node = string.sub(field, 1, -5)
+        local units = tonumber(redis.call('HGET', KEYS[2], node) or '0')
+        if units > 0 and redis.call('HEXISTS', KEYS[1], 'available') == 1 then
+            redis.call('HINCRBY', KEYS[1], 'available', units)
+            redis.call('HINCRBY', KEYS[1], 'version', 1)
+        end
+        redis.call('HDEL', KEYS[2], node, field)
+    end
+end
+
+local available = redis.call('HGET', KEYS[1], 'available')
+if not available then
+    return -2
+end
+
+if redis.call('EXISTS', KEYS[3]) == 1 then
+    return 0
+end
+
+local grant = math.min(tonumber(ARGV[2]), tonumber(available) - tonumber(ARGV[4]))
+if grant < tonumber(ARGV[3]) then
+    return 0
+end
+
+redis.call('HINCRBY', KEYS[1], 'available', -grant)
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+redis.call('HINCRBY', KEYS[2], ARGV[1], grant)
+redis.call('HSET', KEYS[2], ARGV[1] .. ':exp', nowMs + tonumber(ARGV[5]))
+return grant
@@ -0,0 +1,45 @@
+-- 임대 재고 정산: 로컬 판매분은 예약 수량으로, 미사용분은 재고로 반납
+-- KEYS[1] = stock:{productId} 해시, KEYS[2] = lease:{productId}
+-- ARGV[1] = nodeId, ARGV[2] = 판매 수량, ARGV[3] = 반납 수량
+-- 반환: {남은 임대 수량 (-1 = 임대 기록 없음: 동기화/만료로 회수됨 → 로컬 임대 폐기), 초과 판매 수량}
+local sold = tonumber(ARGV[2])
+local returned = tonumber(ARGV[3])
+
+-- 재고 해시가 만료되었으면 다음 DB 초기화 때 반영되므로 해시를 새로 만들지 않음
+local loaded = redis.call('HEXISTS', KEYS[1], 'available') == 1
+if sold > 0 and loaded then
+    redis.call('HINCRBY', KEYS[1], 'reserved', sold)
+    redis.call('HINCRBY', KEYS[1], 'version', 1)
+end
+
+local leased = redis.call('HGET', KEYS[2], ARGV[1])
+if not leased then
+    -- 이미 회수된 임대에서 판매된 수량: 회수분이 재고로 돌아가 다시 팔렸을 수 있으므로
+    -- 현재 재고에서 남은 만큼만 차감(0 미만 금지)하고 모자란 수량은 oversold 에 기록
+    local shortfall = 0
+    if sold > 0 and loaded then
+        local available = tonumber(redis.call('HGET', KEYS[1], 'available'))
+        local taken = math.min(sold, math.max(available, 0))
+        if taken > 0 then
+            redis.call('HINCRBY', KEYS[1], 'available', -taken)
+        end
+        shortfall = sold - taken
+        if shortfall > 0 then
+            redis.call('HINCRBY', KEYS[1], 'oversold', shortfall)
+        end
+    end
+    return {-1, shortfall}
+end
+
+local left = tonumber(leased) - sold - returned
+if returned > 0 and loaded then
+    redis.call('HINCRBY', KEYS[1], 'available', returned)
+    redis.call('HINCRBY', KEYS[1], 'version', 1)
+end
+
+if left <= 0 then
+    redis.call('HDEL', KEYS[2], ARGV[1], ARGV[1] .. ':exp')
+    return {0, 0}
+end
+redis.call('HSET', KEYS[2], ARGV[1], left)
+return {left, 0}
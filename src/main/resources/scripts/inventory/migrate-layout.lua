@@ -0,0 +1,62 @@
+-- 기존 문자열 키 레이아웃(stock:<id>, reserved:<id>, 샤드, 임대)을 상품별 재고 해시로 이전
+-- KEYS[1] = stock:{productId} 해시(새 레이아웃), KEYS[2] = 기존 stock:<id>, KEYS[3] = 기존 reserved:<id>
+-- KEYS[4] = 기존 lease:<id>, KEYS[5] = 기존 lease:<id>:revoke, KEYS[6] = stock:shards
+-- ARGV[1] = productId, ARGV[2] = 재고 키 TTL(초)
+-- 반환: 이전된 가용 재고, -1 = 새 해시가 이미 있음(기존 키만 삭제), -2 = 이전할 기존 키 없음
+--
+-- 기존 샤드 키를 이름으로 만들어 접근하므로 단일 Redis 인스턴스에서만 실행합니다.
+if redis.call('HEXISTS', KEYS[1], 'shards') == 1 then
+    return -1 -- 새 레이아웃에서 샤딩된 상품 (레지스트리 항목은 새 레이아웃 것)
+end
+
+local found = false
+local available = 0
+local reserved = 0
+
+-- 기존 샤드 키는 합쳐서 단일 해시로 이전 (필요하면 운영자가 다시 샤딩)
+local shards = redis.call('HGET', KEYS[6], ARGV[1])
+if shards then
+    for i = 0, tonumber(shards) - 1 do
+        local stockShard = 'stock:' .. ARGV[1] .. ':' .. i
+        local reservedShard = 'reserved:' .. ARGV[1] .. ':' .. i
+        local value = redis.call('GET', stockShard)
+        if value then
+            found = true
+            available = available + tonumber(value)
+        end
+        reserved = reserved + tonumber(redis.call('GET', reservedShard) or '0')
+        redis.call('DEL', stockShard, reservedShard)
+    end
+    redis.call('HDEL', KEYS[6], ARGV[1])
+end
+
+local value = redis.call('GET', KEYS[2])
+local ttl = redis.call('TTL', KEYS[2])
+if value then
+    found = true
+    available = available + tonumber(value)
+end
+reserved = reserved + tonumber(redis.call('GET', KEYS[3]) or '0')
+
+-- 기존 임대분은 재고로 회수 (노드는 다음 정산에서 임대 기록 없음을 보고 로컬 임대 폐기)
+local leases = redis.call('HGETALL', KEYS[4])
+for i = 1, #leases, 2 do
+    if string.sub(leases[i], -4) ~= ':exp' then
+        available = available + tonumber(leases[i + 1])
+    end
+end
+
+redis.call('DEL', KEYS[2], KEYS[3], KEYS[4], KEYS[5])
+if not found then
+    return -2
+end
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return -1
+end
+
+redis.call('HSET', KEYS[1], 'available', available, 'reserved', reserved, 'version', 1)
+if ttl <= 0 then
+    ttl = tonumber(ARGV[2]) -- 샤드였거나 만료 없던 키는 기본 TTL 적용
+end
+redis.call('EXPIRE', KEYS[1], ttl)
+return available
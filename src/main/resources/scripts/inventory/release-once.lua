@@ -0,0 +1,34 @@
+-- 이벤트 단위 중복 제거 재고 복원 (주문 없는 STOCK_RELEASED, 재전달/재처리에 안전)
+-- KEYS[1] = stock:{productId} 해시
+-- KEYS[2..] = 처리 완료 표식 event:processed:{productId}:{eventId} (재고 해시와 같은 해시 태그 → 클러스터에서 같은 슬롯)
+-- ARGV[1] = 처리 완료 표식 TTL (초), ARGV[2..] = 복원 수량 (KEYS[2..] 와 같은 순서)
+-- 표식을 SET NX 로 새로 남긴 이벤트의 수량만 복원 → 표식과 재고 변경이 원자적
+-- 반환: {복원 후 재고 (-2 = 재고 키 없음, -3 = 샤딩된 상품), 실제 복원 수량}
+local state = redis.call('HMGET', KEYS[1], 'available', 'reserved', 'shards')
+if not state[1] and not state[3] then
+    return {-2, 0}
+end
+
+local ttl = ARGV[1]
+local applied = 0
+for i = 2, #KEYS do
+    if redis.call('SET', KEYS[i], '1', 'NX', 'EX', ttl) then
+        applied = applied + tonumber(ARGV[i])
+    end
+end
+
+-- 샤딩된 상품: 표식만 남기고 복원은 호출 측이 샤드로 반납
+if state[3] then
+    return {-3, applied}
+end
+if applied == 0 then
+    return {tonumber(state[1]), 0}
+end
+
+local restored = redis.call('HINCRBY', KEYS[1], 'available', applied)
+local reserved = tonumber(state[2] or '0')
+if reserved > 0 then
+    redis.call('HINCRBY', KEYS[1], 'reserved', -math.min(applied, reserved))
+end
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+return {restored, applied}
@@ -0,0 +1,22 @@
+-- 예약 재고 복원 (주문 취소, 결제 실패 시)
+-- KEYS[1] = stock:{productId} 해시 (샤드 반납은 shard-release.lua)
+-- ARGV[1] = 복원 수량
+-- 반환: 복원 후 재고, -2 = 재고 키 없음(다음 DB 초기화 시 반영되므로 복원 생략), -3 = 샤딩된 상품
+local state = redis.call('HMGET', KEYS[1], 'available', 'reserved', 'shards')
+if state[3] then
+    return -3
+end
+
+if not state[1] then
+    return -2
+end
+
+local quantity = tonumber(ARGV[1])
+local restored = redis.call('HINCRBY', KEYS[1], 'available', quantity)
+
+local reserved = tonumber(state[2] or '0')
+if reserved > 0 then
+    redis.call('HINCRBY', KEYS[1], 'reserved', -math.min(quantity, reserved))
+end
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+return restored
@@ -0,0 +1,48 @@
+-- 한 상품의 주문 예약 라인 정리 (취소/결제 실패/만료 시 재고 복원, 결제 확정 시 라인만 삭제)
+-- KEYS[1] = stock:{productId} 해시, KEYS[2] = reservation:{productId} (orderId → 수량 해시)
+-- ARGV[1] = 'release' | 'confirm', ARGV[2..] = orderId 목록
+-- 반환: {정리된 총 수량, 상태, orderId, 수량, ...}
+--   상태 0 = 반영 완료, -2 = 재고 키 없음(다음 DB 초기화 시 반영되므로 복원 생략),
+--   -3 = 샤딩된 상품 (라인만 정리, 호출 측이 샤드에 반납하고 실패하면 돌려받은 라인을 다시 기록)
+--
+-- 라인과 재고 해시가 같은 해시 태그({productId}) → Redis Cluster 에서도 단일 슬롯 스크립트
+-- 라인 삭제와 재고 복원이 원자 처리되므로 이미 정리된 라인(중복 취소, 만료 후 취소)은 다시 복원하지 않음
+local reply = { 0, 0 }
+local total = 0
+for i = 2, #ARGV do
+    local quantity = redis.call('HGET', KEYS[2], ARGV[i])
+    if quantity then
+        redis.call('HDEL', KEYS[2], ARGV[i])
+        total = total + tonumber(quantity)
+        reply[#reply + 1] = tonumber(ARGV[i])
+        reply[#reply + 1] = tonumber(quantity)
+    end
+end
+reply[1] = total
+if total == 0 or ARGV[1] ~= 'release' then
+    return reply
+end
+
+local state = redis.call('HMGET', KEYS[1], 'available', 'reserved', 'shards', 'migration_merged')
+if state[3] and not state[4] then
+    reply[2] = -3
+    return reply
+end
+if not state[1] then
+    reply[2] = -2
+    return reply
+end
+
+redis.call('HINCRBY', KEYS[1], 'available', total)
+if state[3] then
+    -- 샤드 병합 중: 샤드가 비워지고 있으므로 원래 해시에 반납
+    -- (병합 3단계가 꺼낸 샤드 수량을 더하기로 반영하므로 예약 합계는 병합 후 맞아짐)
+    redis.call('HINCRBY', KEYS[1], 'reserved', -total)
+else
+    local reserved = tonumber(state[2] or '0')
+    if reserved > 0 then
+        redis.call('HINCRBY', KEYS[1], 'reserved', -math.min(total, reserved))
+    end
+end
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+return reply
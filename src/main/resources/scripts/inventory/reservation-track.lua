@@ -0,0 +1,8 @@
+-- 한 상품의 주문 예약 라인 기록 (주문 인덱스/만료 인덱스는 호출 측이 먼저 등록)
+-- KEYS[1] = reservation:{productId} (orderId → 수량 해시, 재고 해시와 같은 슬롯)
+-- ARGV = orderId, 수량 쌍 (복원 실패 시 정리한 라인을 되돌릴 때도 사용)
+-- 반환: 기록된 라인 수
+for i = 1, #ARGV, 2 do
+    redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])
+end
+return #ARGV / 2
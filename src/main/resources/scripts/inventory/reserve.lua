@@ -0,0 +1,28 @@
+-- 재고 확인 + 차감 + 예약 수량 기록을 한 번의 원자적 호출로 처리
+-- (예약 수량은 TTL 없이 유지되고, 만료된 주문 예약은 리퍼가 복원)
+-- KEYS[1] = stock:{productId} 해시 (샤드 예약 시 stock:{productId:i})
+-- ARGV[1] = 요청 수량
+-- 반환: 남은 재고(>= 0), -1 = 재고 부족, -2 = 재고 키 없음(DB 초기화 필요), -3 = 샤딩된 상품, -4 = 품절(재고 0)
+local state = redis.call('HMGET', KEYS[1], 'available', 'shards')
+if state[2] then
+    return -3
+end
+
+local available = state[1]
+if not available then
+    return -2
+end
+
+local quantity = tonumber(ARGV[1])
+available = tonumber(available)
+if available < quantity then
+    if available <= 0 then
+        return -4
+    end
+    return -1
+end
+
+local remaining = redis.call('HINCRBY', KEYS[1], 'available', -quantity)
+redis.call('HINCRBY', KEYS[1], 'reserved', quantity)
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+return remaining
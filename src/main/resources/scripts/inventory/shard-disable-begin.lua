@@ -0,0 +1,20 @@
+-- 샤드 병합 시작 기록 (샤드 병합 1단계)
+-- KEYS[1] = stock:{productId}
+-- ARGV[1] = 이전 작업 ID
+-- 반환: 진행할 작업 ID (다른 분할/병합이 진행 중이면 그 작업 ID),
+--       -1 = 샤딩되지 않은 상품, -2 = 재고 키 없음
+--
+-- migration_merged = 원래 해시에 반영을 마친 샤드 수 → 중단돼도 다음 샤드부터 재개
+local state = redis.call('HMGET', KEYS[1], 'available', 'shards', 'migration')
+if not state[1] then
+    return -2
+end
+if not state[2] then
+    return -1
+end
+if state[3] then
+    return tonumber(state[3])
+end
+
+redis.call('HSET', KEYS[1], 'migration', ARGV[1], 'migration_merged', 0)
+return tonumber(ARGV[1])
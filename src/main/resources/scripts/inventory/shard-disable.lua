@@ -0,0 +1,15 @@
+-- 샤딩 표식과 병합 기록 제거 (샤드 병합 4단계)
+-- KEYS[1] = stock:{productId}
+-- ARGV[1] = 이전 작업 ID, ARGV[2] = 재고 키 TTL(초)
+-- 반환: 병합 후 재고, -1 = 다른 작업의 기록(이미 완료), -2 = 재고 키 없음
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return -2
+end
+if redis.call('HGET', KEYS[1], 'migration') ~= ARGV[1] then
+    return -1
+end
+
+redis.call('HDEL', KEYS[1], 'shards', 'migration', 'migration_merged')
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+return tonumber(redis.call('HGET', KEYS[1], 'available'))
@@ -0,0 +1,22 @@
+-- 샤드 해시 하나의 재고/예약 수량을 꺼냄 (샤드 병합 2단계)
+-- KEYS[1] = stock:{productId:i}
+-- ARGV[1] = 이전 작업 ID
+-- 반환: {available, reserved}, 샤드 키가 없으면 {0, 0}
+--
+-- 키는 지우지 않고 꺼낸 수량을 drained_* 필드에 남김 → 원래 해시에 더하기 전에 중단돼도 유실 없음
+-- available 필드를 지우므로 다른 샤드 스크립트에는 키가 없는 것처럼 보임(반납은 원래 해시로)
+-- 같은 작업으로 이미 꺼냈으면 기록된 수량을 그대로 반환 (재개 시 중복 없음)
+if redis.call('HGET', KEYS[1], 'migration') == ARGV[1] then
+    local drained = redis.call('HMGET', KEYS[1], 'drained_available', 'drained_reserved')
+    return { tonumber(drained[1] or '0'), tonumber(drained[2] or '0') }
+end
+
+local state = redis.call('HMGET', KEYS[1], 'available', 'reserved')
+if not state[1] then
+    return { 0, 0 }
+end
+
+redis.call('HDEL', KEYS[1], 'available', 'reserved')
+redis.call('HSET', KEYS[1], 'migration', ARGV[1],
+        'drained_available', state[1], 'drained_reserved', state[2] or '0')
+return { tonumber(state[1]), tonumber(state[2] or '0') }
@@ -0,0 +1,10 @@
+-- 샤드 배분이 끝난 이전 기록 삭제 (샤드 분할 4단계)
+-- KEYS[1] = stock:{productId}
+-- ARGV[1] = 이전 작업 ID
+-- 반환: 1 = 삭제, 0 = 이미 삭제됐거나 다른 작업의 기록
+if redis.call('HGET', KEYS[1], 'migration') ~= ARGV[1] then
+    return 0
+end
+
+redis.call('HDEL', KEYS[1], 'migration', 'migration_available', 'migration_reserved')
+return 1
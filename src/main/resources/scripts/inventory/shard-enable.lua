@@ -0,0 +1,23 @@
+-- 단일 재고 해시를 샤딩 표식으로 바꾸고 옮길 재고/예약 수량을 꺼냄 (샤드 분할 2단계)
+-- KEYS[1] = stock:{productId}
+-- ARGV[1] = 샤드 수 N, ARGV[2] = 이전 작업 ID
+-- 반환: {N, available, reserved} = 새로 표식을 남김(꺼낸 수량은 호출 측이 샤드에 배분),
+--       {기존 샤드 수} = 이미 샤딩된 상품(또는 이전 중), {-2} = 재고 키 없음(DB 초기화 필요)
+--
+-- 샤드 키는 슬롯이 달라 같은 스크립트에서 건드리지 않음 → 클러스터에서도 단일 슬롯 스크립트
+-- 원래 해시는 shards 필드만 남긴 표식으로 유지(만료 없음) → 단일 키 스크립트가 샤딩 여부를 같은 슬롯에서 확인
+-- 꺼낸 수량은 같은 해시의 migration_* 필드에 함께 기록 → 배분 도중 중단돼도 재개 작업이 이어서 배분
+local state = redis.call('HMGET', KEYS[1], 'available', 'reserved', 'shards')
+if state[3] then
+    return { tonumber(state[3]) }
+end
+if not state[1] then
+    return { -2 }
+end
+
+local n = tonumber(ARGV[1])
+redis.call('HSET', KEYS[1], 'available', 0, 'reserved', 0, 'shards', n,
+        'migration', ARGV[2], 'migration_available', state[1], 'migration_reserved', state[2] or '0')
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+redis.call('PERSIST', KEYS[1])
+return { n, tonumber(state[1]), tonumber(state[2] or '0') }
@@ -0,0 +1,13 @@
+-- 원래 해시에서 꺼낸 수량 중 이 샤드 몫을 더함 (샤드 분할 3단계)
+-- KEYS[1] = stock:{productId:i}
+-- ARGV[1] = 이전 작업 ID, ARGV[2] = 더할 재고, ARGV[3] = 더할 예약 수량
+-- 반환: 1 = 반영, 0 = 같은 작업으로 이미 반영됨 (재개 시 중복 배분 방지)
+if redis.call('HGET', KEYS[1], 'migration') == ARGV[1] then
+    return 0
+end
+
+redis.call('HINCRBY', KEYS[1], 'available', ARGV[2])
+redis.call('HINCRBY', KEYS[1], 'reserved', ARGV[3])
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+redis.call('HSET', KEYS[1], 'migration', ARGV[1])
+return 1
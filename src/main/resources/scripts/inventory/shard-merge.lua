@@ -0,0 +1,20 @@
+-- 꺼낸 샤드 수량을 원래 재고 해시에 더함 (샤드 병합 3단계, 샤드마다 1회)
+-- KEYS[1] = stock:{productId}
+-- ARGV[1] = 이전 작업 ID, ARGV[2] = 샤드 번호, ARGV[3] = 재고, ARGV[4] = 예약 수량
+-- 반환: 1 = 반영, 0 = 이미 반영된 샤드, -1 = 다른 작업의 기록
+--
+-- 더하기(HINCRBY)로 반영 → 병합 도중 원래 해시로 반납된 수량과 합쳐짐
+-- migration_merged 가 샤드 번호와 같을 때만 반영 → 재개/동시 재개에서도 샤드당 정확히 1회
+local state = redis.call('HMGET', KEYS[1], 'migration', 'migration_merged')
+if state[1] ~= ARGV[1] then
+    return -1
+end
+if tonumber(state[2] or '0') ~= tonumber(ARGV[2]) then
+    return 0
+end
+
+redis.call('HINCRBY', KEYS[1], 'available', ARGV[3])
+redis.call('HINCRBY', KEYS[1], 'reserved', ARGV[4])
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+redis.call('HSET', KEYS[1], 'migration_merged', tonumber(ARGV[2]) + 1)
+return 1
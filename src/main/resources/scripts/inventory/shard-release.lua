@@ -0,0 +1,22 @@
+-- 샤드 재고 반납/예약 수량 정리 (복원: 가용 재고 반납 + 예약 정리, 결제 확정: 예약 정리만)
+-- KEYS[1] = stock:{productId:i} 해시
+-- ARGV[1] = 가용 재고로 돌려줄 수량, ARGV[2] = 정리할 예약 수량
+-- 반환: 이 샤드에서 실제로 정리한 예약 수량 (모자란 만큼은 호출 측이 다음 샤드에서 이어서 정리)
+--       -2 = 샤드 키 없음 (그 사이 샤딩 해제 → 단일 재고 키로 다시 처리)
+--
+-- 한 주문의 예약이 여러 샤드에서 나눠 잡힐 수 있으므로 샤드별 예약 수량이 아니라 합계가 정확하도록 유지
+local state = redis.call('HMGET', KEYS[1], 'available', 'reserved')
+if not state[1] then
+    return -2
+end
+
+local restored = tonumber(ARGV[1])
+if restored > 0 then
+    redis.call('HINCRBY', KEYS[1], 'available', restored)
+end
+local cleared = math.min(tonumber(ARGV[2]), tonumber(state[2] or '0'))
+if cleared > 0 then
+    redis.call('HINCRBY', KEYS[1], 'reserved', -cleared)
+end
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+return cleared
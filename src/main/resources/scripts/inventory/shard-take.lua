@@ -0,0 +1,14 @@
+-- 샤드 하나에서 가능한 만큼만 재고를 가져와 예약 (여러 샤드에 걸친 주문용)
+-- KEYS[1] = stock:{productId:i} 해시
+-- ARGV[1] = 원하는 수량
+-- 반환: 실제로 가져온 수량
+local available = tonumber(redis.call('HGET', KEYS[1], 'available') or '0')
+local taken = math.min(available, tonumber(ARGV[1]))
+if taken <= 0 then
+    return 0
+end
+
+redis.call('HINCRBY', KEYS[1], 'available', -taken)
+redis.call('HINCRBY', KEYS[1], 'reserved', taken)
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+return taken
@@ -0,0 +1,13 @@
+-- 캐시 미스 시 DB 재고로 재고 해시 생성 (이미 있으면 덮어쓰지 않음)
+-- KEYS[1] = stock:{productId} 해시
+-- ARGV[1] = DB 재고, ARGV[2] = 재고 키 TTL(초)
+-- 반환: 현재 가용 재고 (그 사이 다른 경로가 채웠으면 그 값)
+local current = redis.call('HGET', KEYS[1], 'available')
+if current then
+    return tonumber(current)
+end
+
+redis.call('HSET', KEYS[1], 'available', ARGV[1], 'reserved', 0)
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+return tonumber(ARGV[1])
@@ -0,0 +1,29 @@
+-- DB 재고 기준으로 가용 재고 재설정 (진행 중인 예약 수량은 유지)
+-- KEYS[1] = stock:{productId} 해시
+-- ARGV[1] = DB 재고, ARGV[2] = 재고 키 TTL(초), ARGV[3] = 기대 version (빈 문자열이면 무조건 적용)
+-- ARGV[4] = 예약 수량에 더할 DB 예약분 (생략 가능, Redis 장애 중 DB 에서 잡은 예약을 복구 시 이관)
+-- 반환: 새 가용 재고, -3 = 샤딩 상품(샤드 병합 후 호출), -5 = version 불일치(그 사이 재고 변경)
+--
+-- 가용 = max(DB 재고 - 예약, 0): DB 재고에는 아직 결제 확정되지 않은 예약분이 포함되어 있음
+-- 기대 version 을 주면 읽은 뒤 바뀌지 않았을 때만 적용 (대사 작업의 compare-and-set), TTL 은 그대로 유지
+local state = redis.call('HMGET', KEYS[1], 'reserved', 'version', 'shards')
+if state[3] then
+    return -3
+end
+local conditional = ARGV[3] ~= ''
+if conditional and state[2] ~= ARGV[3] then
+    return -5
+end
+
+local reserved = tonumber(state[1] or '0') + tonumber(ARGV[4] or '0')
+local available = tonumber(ARGV[1]) - reserved
+if available < 0 then
+    available = 0
+end
+
+redis.call('HSET', KEYS[1], 'available', available, 'reserved', reserved)
+redis.call('HINCRBY', KEYS[1], 'version', 1)
+if not conditional then
+    redis.call('EXPIRE', KEYS[1], ARGV[2])
+end
+return available
@@ -0,0 +1,57 @@
+package com.github.hkjs96.ordersystem.adapter.in.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.hkjs96.ordersystem.domain.event.OrderCancelledEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEventKafkaHandlerTest {
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private OrderEventKafkaHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        handler = new OrderEventKafkaHandler(kafkaTemplate, objectMapper);
+        ReflectionTestUtils.setField(handler, "inventoryTopic", "inventory-events");
+        ReflectionTestUtils.setField(handler, "orderTopic", "order-events");
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    @DisplayName("OrderCancelledEvent 처리 시 재고 복원 이벤트와 주문 취소 이벤트 발행")
+    void onOrderCancelled_publishesReleaseAndCancel() {
+        // given
+        OrderCancelledEvent evt = new OrderCancelledEvent(1L, 2L, 3);
+
+        // when
+        handler.handleOrderCancelled(evt);
+
+        // then: 재고 토픽에는 상품 ID 키로 STOCK_RELEASED
+        verify(kafkaTemplate).send(eq("inventory-events"), eq("2"), argThat(payload ->
+                payload.contains("STOCK_RELEASED") && payload.contains("\"quantity\":3")));
+        // then: 주문 토픽에는 주문 ID 키로 CANCELLED
+        verify(kafkaTemplate).send(eq("order-events"), eq("1"), argThat(payload ->
+                payload.contains("CANCELLED")));
+    }
+}
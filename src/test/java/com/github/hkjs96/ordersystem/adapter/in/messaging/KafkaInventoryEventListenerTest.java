@@ -0,0 +1,225 @@
+package com.github.hkjs96.ordersystem.adapter.in.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.hkjs96.ordersystem.adapter.out.cache.SoldOutMirror;
+import com.github.hkjs96.ordersystem.adapter.out.messaging.RetryTopicRouter;
+import com.github.hkjs96.ordersystem.domain.event.InventoryEvent;
+import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaInventoryEventListenerTest {
+
+    @Mock
+    private InventoryRepositoryPort inventoryPort;
+
+    @Mock
+    private RetryTopicRouter retryRouter;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private KafkaInventoryEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new KafkaInventoryEventListener(inventoryPort, new SoldOutMirror(), objectMapper, retryRouter);
+    }
+
+    @Test
+    @DisplayName("한 배치의 주문 라인 복원을 주문별로 모아 한 번에 반영, 주문 없는 복원은 상품별로 eventId 와 함께 1회")
+    void coalescesReleasesInBatch() throws Exception {
+        InventoryEvent orderless = new InventoryEvent(InventoryEvent.STOCK_RELEASED, null, 5L, 4, null, "evt-1");
+        listener.handleInventoryEvents(records(
+                json(InventoryEvent.stockReleased(10L, 1L, 2)),
+                json(InventoryEvent.stockReleased(10L, 2L, 1)),
+                json(InventoryEvent.stockReleased(11L, 1L, 3)),
+                json(InventoryEvent.stockReleased(10L, 1L, 2)), // 재전송된 중복
+                json(orderless),
+                json(orderless), // 재전송된 중복
+                json(new InventoryEvent(InventoryEvent.STOCK_RELEASED, null, 5L, 6, null, "evt-2")),
+                json(InventoryEvent.stockConfirmed(12L, 1L, 1))), ack);
+
+        Map<Long, Set<Long>> expected = new LinkedHashMap<>();
+        expected.put(10L, Set.of(1L, 2L));
+        expected.put(11L, Set.of(1L));
+        verify(inventoryPort, times(1)).releaseReservationLines(expected);
+        verify(inventoryPort, times(1)).releaseStockOnce(5L, Map.of("evt-1", 4, "evt-2", 6));
+        verifyNoMoreInteractions(inventoryPort);
+        verify(ack).acknowledge();
+        verifyNoInteractions(retryRouter);
+    }
+
+    @Test
+    @DisplayName("eventId 없는 이전 형식의 주문 없는 복원은 레코드 순서대로 1건씩 반영")
+    void legacyReleasesWithoutEventId() throws Exception {
+        listener.handleInventoryEvents(records(
+                json(new InventoryEvent(InventoryEvent.STOCK_RELEASED, null, 5L, 4, null, null)),
+                json(new InventoryEvent(InventoryEvent.STOCK_RELEASED, null, 5L, 6, null, null))), ack);
+
+        InOrder inOrder = inOrder(inventoryPort);
+        inOrder.verify(inventoryPort).releaseStock(5L, 4);
+        inOrder.verify(inventoryPort).releaseStock(5L, 6);
+        verifyNoMoreInteractions(inventoryPort);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("이전 형식 복원의 DLQ 전송이 실패하면 ack 없이 그 레코드 위치를 알려 앞쪽만 커밋")
+    void legacyDeadLetterFailureReportsFailedIndex() throws Exception {
+        IllegalStateException failure = new IllegalStateException("redis down");
+        lenient().doThrow(failure).when(inventoryPort).releaseStock(eq(3L), anyInt());
+        doThrow(new IllegalStateException("DLQ 전송 실패")).when(retryRouter).deadLetter(any(), eq(failure));
+
+        List<ConsumerRecord<String, String>> batch = records(
+                json(new InventoryEvent(InventoryEvent.STOCK_RELEASED, null, 5L, 4, null, null)),
+                json(InventoryEvent.stockReleased(10L, 1L, 1)),
+                json(new InventoryEvent(InventoryEvent.STOCK_RELEASED, null, 3L, 1, null, null)),
+                json(new InventoryEvent(InventoryEvent.STOCK_RELEASED, null, 6L, 2, null, null)));
+
+        BatchListenerFailedException thrown = assertThrows(BatchListenerFailedException.class,
+                () -> listener.handleInventoryEvents(batch, ack));
+
+        assertEquals(2, thrown.getIndex());
+        // 중복에 안전한 복원은 이전 형식보다 먼저 반영, 실패 위치 뒤의 이전 형식은 반영하지 않음
+        InOrder inOrder = inOrder(inventoryPort);
+        inOrder.verify(inventoryPort).releaseReservationLines(Map.of(10L, Set.of(1L)));
+        inOrder.verify(inventoryPort).releaseStock(5L, 4);
+        inOrder.verify(inventoryPort).releaseStock(3L, 1);
+        verify(inventoryPort, never()).releaseStock(eq(6L), anyInt());
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("재시도 토픽 전송이 실패하면 이전 형식 복원 전에 멈추고 배치 처음부터 다시 받음")
+    void routeFailureRedeliversBatchBeforeLegacyReleases() throws Exception {
+        IllegalStateException failure = new IllegalStateException("redis down");
+        when(inventoryPort.releaseReservationLines(anyMap())).thenThrow(failure);
+        doThrow(new IllegalStateException("재시도 토픽 전송 실패")).when(retryRouter).route(any(), eq(failure));
+
+        List<ConsumerRecord<String, String>> batch = records(
+                json(new InventoryEvent(InventoryEvent.STOCK_RELEASED, null, 5L, 4, null, null)),
+                json(InventoryEvent.stockReleased(10L, 1L, 1)));
+
+        BatchListenerFailedException thrown = assertThrows(BatchListenerFailedException.class,
+                () -> listener.handleInventoryEvents(batch, ack));
+
+        assertEquals(0, thrown.getIndex());
+        verify(inventoryPort, never()).releaseStock(anyLong(), anyInt());
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("잘못된 메시지는 DLQ 로 보내고 나머지만 반영")
+    void deadLettersMalformedMessages() throws Exception {
+        listener.handleInventoryEvents(records(
+                "not-json",
+                "{\"eventType\": ",
+                json(InventoryEvent.stockReleased(null, 7L, 1))), ack);
+
+        verify(inventoryPort).releaseStockOnce(eq(7L), anyMap());
+        verify(inventoryPort, never()).releaseReservationLines(anyMap());
+        verify(retryRouter, times(2)).deadLetter(any(), any());
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("중복 제거되는 복원 실패는 재시도 토픽으로, eventId 없는 복원 실패는 DLQ 로 보내고 배치는 ack")
+    void routesFailuresWithoutBlockingBatch() throws Exception {
+        IllegalStateException failure = new IllegalStateException("redis down");
+        when(inventoryPort.releaseReservationLines(anyMap())).thenThrow(failure);
+        when(inventoryPort.releaseStockOnce(eq(1L), anyMap())).thenThrow(failure);
+        doThrow(failure).when(inventoryPort).releaseStock(eq(3L), anyInt());
+
+        List<ConsumerRecord<String, String>> batch = records(
+                json(InventoryEvent.stockReleased(10L, 1L, 1)),
+                json(InventoryEvent.stockReleased(null, 1L, 1)),
+                json(InventoryEvent.stockReleased(null, 2L, 1)),
+                json(new InventoryEvent(InventoryEvent.STOCK_RELEASED, null, 3L, 1, null, null)));
+        listener.handleInventoryEvents(batch, ack);
+
+        verify(retryRouter).route(batch.get(0), failure);
+        verify(retryRouter).route(batch.get(1), failure);
+        verify(retryRouter).deadLetter(batch.get(3), failure);
+        verify(inventoryPort).releaseStockOnce(eq(2L), anyMap());
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("재입고 알림(STOCK_RESTOCKED)은 재고를 다시 복원하지 않고 품절 미러만 해제")
+    void restockNoticeOnlyClearsMirror() throws Exception {
+        SoldOutMirror mirror = new SoldOutMirror();
+        ReflectionTestUtils.setField(mirror, "enabled", true);
+        ReflectionTestUtils.setField(mirror, "maxProducts", 100);
+        ReflectionTestUtils.setField(mirror, "markTtlMs", 60_000L);
+        ReflectionTestUtils.invokeMethod(mirror, "init");
+        mirror.markSoldOut(5L);
+        listener = new KafkaInventoryEventListener(inventoryPort, mirror, objectMapper, retryRouter);
+        String restocked = json(InventoryEvent.stockRestocked(5L));
+
+        listener.handleInventoryEvents(records(restocked), ack);
+        listener.mirrorInventoryEvent(restocked);
+
+        verifyNoInteractions(inventoryPort);
+        verify(ack).acknowledge();
+        assertFalse(mirror.isSoldOut(5L));
+    }
+
+    @Test
+    @DisplayName("재시도 토픽의 주문 라인 복원은 한 건씩 처리하고 실패하면 예외")
+    void handleRetriedOrderLine() throws Exception {
+        listener.handle(json(InventoryEvent.stockReleased(10L, 1L, 2)));
+
+        verify(inventoryPort).releaseReservationLines(Map.of(10L, Set.of(1L)));
+    }
+
+    @Test
+    @DisplayName("재시도 토픽의 주문 없는 복원은 eventId 로 중복 제거하며 반영")
+    void handleRetriedOrderlessRelease() throws Exception {
+        listener.handle(json(new InventoryEvent(InventoryEvent.STOCK_RELEASED, null, 5L, 3, null, "evt-9")));
+
+        verify(inventoryPort).releaseStockOnce(5L, Map.of("evt-9", 3));
+        verify(inventoryPort, never()).releaseStock(anyLong(), anyInt());
+    }
+
+    private List<ConsumerRecord<String, String>> records(String... messages) {
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        for (int i = 0; i < messages.length; i++) {
+            records.add(new ConsumerRecord<>("inventory-events", 0, i, null, messages[i]));
+        }
+        return records;
+    }
+
+    private String json(InventoryEvent event) throws Exception {
+        return objectMapper.writeValueAsString(event);
+    }
+}
@@ -1,102 +1,109 @@
 package com.github.hkjs96.ordersystem.adapter.in.messaging;
 
-import static org.mockito.Mockito.verify;
-
-import java.time.Duration;
-import java.time.Instant;
-
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.hkjs96.ordersystem.adapter.out.messaging.RetryTopicRouter;
 import com.github.hkjs96.ordersystem.domain.model.OrderEvent;
 import com.github.hkjs96.ordersystem.domain.model.OrderStatus;
+import com.github.hkjs96.ordersystem.port.in.DeliveryUseCase;
 import com.github.hkjs96.ordersystem.port.in.OrderUseCase;
-
-import org.awaitility.Awaitility;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaOrderEventListenerTest {
+
+    @Mock
+    private OrderUseCase orderUseCase;
+
+    @Mock
+    private DeliveryUseCase deliveryUseCase;
+
+    @Mock
+    private RetryTopicRouter retryRouter;
+
+    @Mock
+    private Acknowledgment ack;
 
-import org.mockito.Mockito;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.TestConfiguration;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Import;
-import org.springframework.context.annotation.Primary;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.listener.MessageListenerContainer;
-import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
-import org.springframework.kafka.test.context.EmbeddedKafka;
-import org.springframework.kafka.test.EmbeddedKafkaBroker;
-import org.springframework.kafka.test.utils.ContainerTestUtils;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
-
-@ExtendWith(SpringExtension.class)
-@EmbeddedKafka(
-        partitions = 1,
-        topics     = "orders-events"
-)
-@Import(KafkaOrderEventListenerIntegrationTest.TestConfig.class)
-@SpringBootTest(properties = {
-        // 임베디드 Kafka 주소 매핑
-        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
-        "ordersystem.kafka.topic=orders-events",
-        "spring.kafka.consumer.group-id=ordersystem-group",
-        "spring.kafka.consumer.auto-offset-reset=earliest"
-})
-class KafkaOrderEventListenerIntegrationTest {
-
-    @Autowired
-    EmbeddedKafkaBroker embeddedKafka;
-
-    @Autowired
-    KafkaListenerEndpointRegistry registry;
-
-    @Autowired
-    KafkaTemplate<String, String> kafkaTemplate;
-
-    @Autowired
-    ObjectMapper objectMapper;
-
-    @Autowired
-    OrderUseCase orderUseCase;  // TestConfig에서 mock으로 등록된 빈
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private KafkaOrderEventListener listener;
 
     @BeforeEach
     void setUp() {
-        // 리스너 컨테이너들이 파티션을 할당받을 때까지 대기
-        for (MessageListenerContainer container : registry.getListenerContainers()) {
-            ContainerTestUtils.waitForAssignment(container, embeddedKafka.getPartitionsPerTopic());
-        }
+        listener = new KafkaOrderEventListener(orderUseCase, objectMapper, deliveryUseCase, retryRouter);
+        ReflectionTestUtils.setField(listener, "orderTopic", "order-events");
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.shutdown();
+    }
+
+    @Test
+    @DisplayName("결제 완료 이벤트 수신 시 배송 준비 시작 후 ack")
+    void paymentCompleted_initiatesShipment() throws Exception {
+        listener.init();
+
+        listener.onMessage(record(100L, OrderStatus.PAYMENT_COMPLETED), ack);
+
+        verify(deliveryUseCase).initiateShipment(100L);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("처리 실패 시 재시도 토픽으로 옮긴 뒤 ack")
+    void handlerFailure_routesToRetryThenAcks() throws Exception {
+        listener.init();
+        ConsumerRecord<String, String> record = record(100L, OrderStatus.PAYMENT_COMPLETED);
+        doThrow(new IllegalStateException("배송 실패")).when(deliveryUseCase).initiateShipment(100L);
+
+        listener.onMessage(record, ack);
+
+        verify(retryRouter).route(eq(record), any(IllegalStateException.class));
+        verify(ack).acknowledge();
     }
 
     @Test
-    void whenPaymentCompletedEvent_thenPrepareShipmentCalled() throws Exception {
-        // given: PAYMENT_COMPLETED 이벤트
-        OrderEvent event = new OrderEvent(
-                100L,
-                OrderStatus.PAYMENT_COMPLETED,
-                Instant.parse("2025-05-21T14:00:00Z")
-        );
-        String payload = objectMapper.writeValueAsString(event);
-
-        // when: 메시지 전송 & 전송 보장
-        kafkaTemplate.send("orders-events", "100", payload).get();
-        kafkaTemplate.flush();
-
-        // then: 최대 5초 대기하며 mock 호출 검증
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .untilAsserted(() ->
-                        verify(orderUseCase).prepareShipment(100L)
-                );
+    @DisplayName("병렬 처리: 재시도 토픽 전송이 실패하면 작업자가 같은 레코드를 다시 처리한 뒤 한 번만 ack")
+    void parallel_retriesHandOffUntilRouted() throws Exception {
+        ReflectionTestUtils.setField(listener, "parallel", true);
+        ReflectionTestUtils.setField(listener, "workerCount", 2);
+        ReflectionTestUtils.setField(listener, "queueCapacity", 10);
+        ReflectionTestUtils.setField(listener, "handoffRetryMs", 10L);
+        listener.init();
+        ConsumerRecord<String, String> record = record(100L, OrderStatus.PAYMENT_COMPLETED);
+        doThrow(new IllegalStateException("배송 실패")).when(deliveryUseCase).initiateShipment(100L);
+        doThrow(new IllegalStateException("재시도 토픽 전송 실패"))
+                .doNothing()
+                .when(retryRouter).route(eq(record), any(Exception.class));
+
+        listener.onMessage(record, ack);
+
+        verify(ack, timeout(2000)).acknowledge();
+        verify(retryRouter, times(2)).route(eq(record), any(Exception.class));
     }
 
-    @TestConfiguration
-    static class TestConfig {
-        @Bean
-        @Primary
-        public OrderUseCase orderUseCase() {
-            // 실제 OrderService를 대체하는 mock
-            return Mockito.mock(OrderUseCase.class);
-        }
+    private ConsumerRecord<String, String> record(Long orderId, OrderStatus status) throws Exception {
+        String payload = objectMapper.writeValueAsString(
+                new OrderEvent(orderId, status, Instant.parse("2025-05-21T14:00:00Z")));
+        return new ConsumerRecord<>("order-events", 0, 0L, String.valueOf(orderId), payload);
     }
 }
@@ -0,0 +1,96 @@
+package com.github.hkjs96.ordersystem.adapter.in.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class KeyedWorkerPoolTest {
+
+    @Test
+    @DisplayName("같은 키의 작업은 제출 순서대로 실행")
+    void preservesOrderPerKey() throws InterruptedException {
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(20 * 50);
+
+        try (KeyedWorkerPool pool = new KeyedWorkerPool(4, 1000, "test-worker-")) {
+            for (int seq = 0; seq < 50; seq++) {
+                for (int key = 0; key < 20; key++) {
+                    String orderId = String.valueOf(key);
+                    int value = seq;
+                    pool.execute(orderId, () -> {
+                        seen.computeIfAbsent(orderId, id -> Collections.synchronizedList(new ArrayList<>())).add(value);
+                        done.countDown();
+                    });
+                }
+            }
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(seen).hasSize(20);
+        assertThat(seen.values()).allSatisfy(values -> assertThat(values).isSorted().hasSize(50));
+    }
+
+    @Test
+    @DisplayName("다른 작업자에 배정된 키는 앞 작업이 막혀 있어도 진행")
+    void unrelatedKeysProceedConcurrently() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+
+        try (KeyedWorkerPool pool = new KeyedWorkerPool(2, 10, "test-worker-")) {
+            pool.execute(0, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            pool.execute(1, otherDone::countDown); // 1 % 2 → 다른 작업자
+
+            assertThat(otherDone.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("작업자 큐가 가득 차면 제출한 스레드가 자리가 날 때까지 대기")
+    void fullQueueBlocksSubmitter() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        AtomicBoolean submitted = new AtomicBoolean();
+
+        try (KeyedWorkerPool pool = new KeyedWorkerPool(1, 1, "test-worker-")) {
+            pool.execute(0, () -> {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            pool.execute(0, () -> { }); // 큐 1칸 채움
+
+            Thread submitter = new Thread(() -> {
+                pool.execute(0, () -> { });
+                submitted.set(true);
+            });
+            submitter.start();
+            submitter.join(300);
+            assertThat(submitted).isFalse();
+
+            release.countDown();
+            submitter.join(5000);
+            assertThat(submitted).isTrue();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.hkjs96.ordersystem.adapter.in.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.github.hkjs96.ordersystem.adapter.out.messaging.RetryTopicRouter;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.support.Acknowledgment;
+
+@ExtendWith(MockitoExtension.class)
+class RetryStageConsumerTest {
+
+    @Mock
+    private RetryTopicRouter router;
+
+    @Mock
+    private RetryableEventHandler handler;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private RetryStageConsumer consumer;
+
+    private final ConsumerRecord<String, String> record = new ConsumerRecord<>("order-events-retry-1", 0, 0, "1", "{}");
+
+    @BeforeEach
+    void setUp() {
+        consumer = new RetryStageConsumer(router, List.of(handler), new ConcurrentKafkaListenerContainerFactory<>());
+    }
+
+    @Test
+    @DisplayName("처리 예정 시각 전이면 처리하지 않고 남은 시간만큼 nack")
+    void waitsUntilDue() throws Exception {
+        when(router.dueAt(record)).thenReturn(System.currentTimeMillis() + 5_000);
+
+        consumer.onRecord(record, ack, handler);
+
+        ArgumentCaptor<Duration> sleep = ArgumentCaptor.forClass(Duration.class);
+        verify(ack).nack(sleep.capture());
+        assertThat(sleep.getValue()).isBetween(Duration.ofSeconds(4), Duration.ofSeconds(5));
+        verify(handler, never()).handle(any());
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("다시 실패하면 다음 단계로 넘기고 ack")
+    void routesFailureToNextStage() throws Exception {
+        when(router.dueAt(record)).thenReturn(0L);
+        IllegalStateException failure = new IllegalStateException("db down");
+        doThrow(failure).when(handler).handle("{}");
+
+        consumer.onRecord(record, ack, handler);
+
+        verify(router).route(record, failure);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("재시도가 꺼져 있으면 컨테이너 없이 수명 주기만 전환")
+    void lifecycleWithRetryDisabled() {
+        when(router.isEnabled()).thenReturn(false);
+
+        consumer.start();
+        assertThat(consumer.isRunning()).isTrue();
+        verify(router, never()).stages();
+
+        consumer.stop();
+        assertThat(consumer.isRunning()).isFalse();
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.hkjs96.ordersystem.adapter.in.scheduler;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import com.github.hkjs96.ordersystem.port.in.OrderUseCase;
+import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationReaperTest {
+
+    @Mock
+    private InventoryRepositoryPort inventoryPort;
+
+    @Mock
+    private OrderUseCase orderUseCase;
+
+    private ReservationReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        reaper = new ReservationReaper(inventoryPort, orderUseCase);
+        ReflectionTestUtils.setField(reaper, "batchSize", 3);
+        ReflectionTestUtils.setField(reaper, "maxBatchesPerSweep", 10);
+    }
+
+    @Test
+    @DisplayName("만료 예약이 없으면 DB 조회 없이 종료")
+    void noExpiredReservations() {
+        when(inventoryPort.findExpiredReservations(3)).thenReturn(List.of());
+
+        reaper.reapExpiredReservations();
+
+        verifyNoInteractions(orderUseCase);
+        verify(inventoryPort, never()).releaseReservations(anyList());
+    }
+
+    @Test
+    @DisplayName("결제 대기 주문만 복원하고 결제된 주문은 기록만 정리")
+    void releasesUnpaidAndDiscardsPaid() {
+        when(inventoryPort.findExpiredReservations(3)).thenReturn(List.of(1L, 2L));
+        when(orderUseCase.expireUnpaidOrders(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        reaper.reapExpiredReservations();
+
+        verify(inventoryPort).releaseReservations(List.of(1L));
+        verify(inventoryPort).discardReservations(List.of(2L));
+        verify(inventoryPort, times(1)).findExpiredReservations(anyInt());
+    }
+
+    @Test
+    @DisplayName("배치가 가득 차면 같은 스윕에서 다음 배치를 이어서 처리")
+    void drainsFullBatches() {
+        when(inventoryPort.findExpiredReservations(3))
+                .thenReturn(List.of(1L, 2L, 3L), List.of(4L));
+        when(orderUseCase.expireUnpaidOrders(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        reaper.reapExpiredReservations();
+
+        verify(inventoryPort).releaseReservations(List.of(1L, 2L, 3L));
+        verify(inventoryPort).releaseReservations(List.of(4L));
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.hkjs96.ordersystem.adapter.in.web;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hkjs96.ordersystem.adapter.out.cache.HotProductTracker;
+import com.github.hkjs96.ordersystem.common.GlobalExceptionHandler;
+import com.github.hkjs96.ordersystem.domain.model.StockStatus;
+import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryControllerTest {
+
+    @Mock
+    private InventoryRepositoryPort inventoryPort;
+
+    @Mock
+    private HotProductTracker hotProducts;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        InventoryController controller = new InventoryController(inventoryPort, new ObjectMapper(), hotProducts);
+        ReflectionTestUtils.setField(controller, "chunkSize", 2);
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /api/inventory/status:batch — 묶음 단위로 조회해 ApiResponse 형식으로 스트리밍")
+    void getStockStatuses_streamsChunks() throws Exception {
+        given(inventoryPort.getStockStatuses(List.of(1L, 2L)))
+                .willReturn(List.of(new StockStatus(1L, 10, 8, 2), new StockStatus(2L, 5, 5, 0)));
+        given(inventoryPort.getStockStatuses(List.of(3L)))
+                .willReturn(List.of(new StockStatus(3L, 7, 7, 0)));
+
+        MvcResult started = mvc.perform(post("/api/inventory/status:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[1,2,3]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].redisStock").value(8))
+                .andExpect(jsonPath("$.data[2].productId").value(3));
+        verify(inventoryPort, times(2)).getStockStatuses(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/inventory/available:batch — 같은 상품 라인은 수량 합산")
+    void checkStockAvailabilities_mergesLines() throws Exception {
+        given(inventoryPort.checkAvailability(Map.of(1L, 5))).willReturn(Map.of(1L, true));
+
+        MvcResult started = mvc.perform(post("/api/inventory/available:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\":[{\"productId\":1,\"quantity\":2},{\"productId\":1,\"quantity\":3}]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].productId").value(1))
+                .andExpect(jsonPath("$.data[0].quantity").value(5))
+                .andExpect(jsonPath("$.data[0].available").value(true));
+    }
+
+    @Test
+    @DisplayName("POST /api/inventory/available:batch — 잘못된 수량은 조회 전에 400")
+    void checkStockAvailabilities_invalidQuantity() throws Exception {
+        mvc.perform(post("/api/inventory/available:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\":[{\"productId\":1,\"quantity\":0}]}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(inventoryPort);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.hkjs96.ordersystem.adapter.out.event.DomainEventPublisher;
+import com.github.hkjs96.ordersystem.domain.event.HotProductEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class HotProductTrackerTest {
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    private HotProductTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new HotProductTracker(eventPublisher);
+        ReflectionTestUtils.setField(tracker, "enabled", true);
+        ReflectionTestUtils.setField(tracker, "topK", 4);
+        ReflectionTestUtils.setField(tracker, "sketchWidth", 1024);
+        ReflectionTestUtils.setField(tracker, "hotRate", 50.0);
+        ReflectionTestUtils.setField(tracker, "coldRate", 20.0);
+        ReflectionTestUtils.invokeMethod(tracker, "init");
+    }
+
+    @Test
+    @DisplayName("드문 상품 사이에서 많이 요청된 상품이 상위 K 에 남고 초당 요청 수 계산 + HOT 이벤트")
+    void heavyHitterSurvivesAmongColdProducts() {
+        for (int i = 0; i < 200; i++) {
+            tracker.record(7L);
+            tracker.record(1000L + i); // 구간에 한 번씩만 요청된 상품
+        }
+        tracker.record(8L);
+        tracker.record(8L);
+
+        rollAfterOneSecond();
+
+        HotProductTracker.HotProduct top = tracker.snapshot().products().get(0);
+        assertThat(top.productId()).isEqualTo(7L);
+        assertThat(top.count()).isGreaterThanOrEqualTo(200);
+        assertThat(top.ratePerSecond()).isBetween(150.0, 250.0);
+        assertThat(top.hot()).isTrue();
+        assertThat(tracker.snapshot().products()).hasSizeLessThanOrEqualTo(4);
+        assertThat(tracker.isHot(7L)).isTrue();
+        verify(eventPublisher).publish(new HotProductEvent(7L, true, top.ratePerSecond()));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("HOT 상품은 cold-rate 미만으로 떨어질 때만 COLD 전환 (두 기준 사이는 유지)")
+    void coolsDownOnlyBelowColdRate() {
+        recordTimes(7L, 100);
+        rollAfterOneSecond();
+
+        recordTimes(7L, 30); // 20 ~ 50/s: 유지
+        rollAfterOneSecond();
+        assertThat(tracker.isHot(7L)).isTrue();
+
+        recordTimes(7L, 5);
+        rollAfterOneSecond();
+
+        assertThat(tracker.isHot(7L)).isFalse();
+        var order = inOrder(eventPublisher);
+        order.verify(eventPublisher).publish(argThat(event -> event instanceof HotProductEvent e && e.hot()));
+        order.verify(eventPublisher).publish(argThat(event -> event instanceof HotProductEvent e && !e.hot()));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 집계/이벤트 없음")
+    void disabledRecordsNothing() {
+        ReflectionTestUtils.setField(tracker, "enabled", false);
+
+        recordTimes(7L, 100);
+        tracker.rollWindow();
+
+        assertThat(tracker.snapshot().products()).isEmpty();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private void recordTimes(long productId, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(productId);
+        }
+    }
+
+    private void rollAfterOneSecond() {
+        ReflectionTestUtils.setField(tracker, "windowStartedNanos", System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+        tracker.rollWindow();
+    }
+}
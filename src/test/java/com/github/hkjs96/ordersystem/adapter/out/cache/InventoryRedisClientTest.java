@@ -0,0 +1,99 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryRedisClientTest {
+
+    private static final byte[] KEY = "stock:{1}".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private RedisTemplate<String, Integer> redisTemplate;
+
+    @Mock
+    private InventoryScripts scripts;
+
+    @Mock
+    private RedisConnection connection;
+
+    private InventoryRedisClient client;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(scripts.getReserve()).thenReturn(RedisScript.of("return 1", Long.class));
+        when(scripts.getRelease()).thenReturn(RedisScript.of("return 2", Long.class));
+        when(scripts.getConfirm()).thenReturn(RedisScript.of("return 3", Long.class));
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(inv -> inv.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+
+        client = new InventoryRedisClient(redisTemplate, scripts);
+        ReflectionTestUtils.setField(client, "keyCacheSize", 16);
+        client.init();
+    }
+
+    @Test
+    @DisplayName("예약은 캐시된 키/수량 바이트로 EVALSHA 후 정수 응답을 그대로 반환")
+    void reserve_evalShaWithRawBytes() {
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        byte[] sha = scripts.getReserve().getSha1().getBytes(StandardCharsets.US_ASCII);
+        when(scripting.<Long>evalSha(eq(sha), eq(ReturnType.INTEGER), eq(1), eq(KEY), eq("3".getBytes())))
+                .thenReturn(7L);
+
+        assertThat(client.reserve(1L, 3)).isEqualTo(7L);
+        verify(scripting, never()).eval(any(byte[].class), any(), anyInt(), any(byte[][].class));
+    }
+
+    @Test
+    @DisplayName("서버에 스크립트가 없으면(NOSCRIPT) 본문으로 한 번 재실행")
+    void release_noScriptFallsBackToEval() {
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        when(scripting.evalSha(any(byte[].class), eq(ReturnType.INTEGER), eq(1), any(byte[][].class)))
+                .thenThrow(new RedisSystemException("error",
+                        new IllegalStateException("NOSCRIPT No matching script. Please use EVAL.")));
+        when(scripting.<Long>eval(eq("return 2".getBytes(StandardCharsets.UTF_8)), eq(ReturnType.INTEGER), eq(1),
+                eq(KEY), eq("2".getBytes()))).thenReturn(5L);
+
+        assertThat(client.release(1L, 2)).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("가용 재고: 값은 바이트에서 바로 해석, 없으면 KEY_MISSING, 샤딩 표식은 SHARDED")
+    void available_decodesOrReportsSentinels() {
+        RedisHashCommands hashes = mock(RedisHashCommands.class);
+        when(connection.hashCommands()).thenReturn(hashes);
+        when(hashes.hMGet(eq(KEY), any(byte[][].class))).thenReturn(
+                Arrays.asList("42".getBytes(), null),
+                Arrays.asList(null, null),
+                Arrays.asList("0".getBytes(), "4".getBytes()));
+
+        assertThat(client.available(1L)).isEqualTo(42L);
+        assertThat(client.available(1L)).isEqualTo(InventoryRedisClient.KEY_MISSING);
+        assertThat(client.available(1L)).isEqualTo(InventoryRedisClient.SHARDED);
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InventoryRedisCodecTest {
+
+    @Test
+    @DisplayName("재고 키는 StockKeys 와 같은 바이트이고 같은 상품이면 캐시된 배열 재사용")
+    void stockKey_matchesStockKeysAndIsCached() {
+        InventoryRedisCodec codec = new InventoryRedisCodec(16);
+
+        byte[] key = codec.stockKey(1234L);
+
+        assertThat(new String(key, StandardCharsets.UTF_8)).isEqualTo(StockKeys.stock(1234L));
+        assertThat(codec.stockKey(1234L)).isSameAs(key);
+        assertThat(new String(codec.stockKey(0L), StandardCharsets.UTF_8)).isEqualTo("stock:{0}");
+        assertThat(new String(codec.stockKey(Long.MAX_VALUE), StandardCharsets.UTF_8))
+                .isEqualTo(StockKeys.stock(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("캐시 슬롯이 겹쳐도 상품별로 올바른 키 반환")
+    void stockKey_collisionsReturnCorrectKeys() {
+        InventoryRedisCodec codec = new InventoryRedisCodec(1);
+
+        for (long id = 1; id <= 100; id++) {
+            assertThat(new String(codec.stockKey(id), StandardCharsets.UTF_8)).isEqualTo(StockKeys.stock(id));
+        }
+    }
+
+    @Test
+    @DisplayName("정수 인코딩/디코딩은 10진 문자열 표현과 동일")
+    void encodeDecode_roundTrip() {
+        for (long value : new long[]{0, 7, 1023, 1024, 86_400, -1, -5, Integer.MAX_VALUE, Long.MAX_VALUE}) {
+            byte[] encoded = InventoryRedisCodec.encode(value);
+
+            assertThat(new String(encoded, StandardCharsets.US_ASCII)).isEqualTo(Long.toString(value));
+            assertThat(InventoryRedisCodec.decode(encoded)).isEqualTo(value);
+        }
+        assertThat(InventoryRedisCodec.encode(5)).isSameAs(InventoryRedisCodec.encode(5));
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 응답은 IllegalArgumentException")
+    void decode_rejectsNonNumeric() {
+        assertThatThrownBy(() -> InventoryRedisCodec.decode("12a".getBytes(StandardCharsets.US_ASCII)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InventoryRedisCodec.decode(new byte[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
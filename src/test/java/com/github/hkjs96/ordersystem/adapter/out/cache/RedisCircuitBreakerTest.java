@@ -0,0 +1,95 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RedisCircuitBreakerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        breaker = new RedisCircuitBreaker(meterRegistry);
+        ReflectionTestUtils.setField(breaker, "enabled", true);
+        ReflectionTestUtils.setField(breaker, "failureThreshold", 3);
+        ReflectionTestUtils.setField(breaker, "openDurationMs", 0L);
+        breaker.registerMetrics();
+    }
+
+    @Test
+    @DisplayName("연속 타임아웃이 임계치에 닿으면 OPEN, 이후 Redis 를 호출하지 않고 DB 경로 + 대체 처리 수 기록")
+    void opensAfterConsecutiveFailures() {
+        AtomicInteger redisCalls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.read("check", () -> {
+                redisCalls.incrementAndGet();
+                throw new QueryTimeoutException("timeout");
+            }, () -> false)).isFalse();
+        }
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        assertThat(breaker.write("reserve", () -> redisCalls.incrementAndGet() > 0, () -> false)).isFalse();
+        assertThat(redisCalls).hasValue(3);
+        assertThat(meterRegistry.get("inventory.redis.fallbacks").tag("operation", "check").counter().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("inventory.redis.fallbacks").tag("operation", "reserve").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("inventory.redis.circuit.state").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("장애가 아닌 Redis 예외와 중간의 성공은 연속 실패로 세지 않음")
+    void nonOutageErrorsAndSuccessesKeepClosed() {
+        assertThatThrownBy(() -> breaker.write("reserve", () -> {
+            throw new RedisSystemException("script error", null);
+        }, () -> 0)).isInstanceOf(RedisSystemException.class);
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> breaker.write("reserve", () -> {
+                throw new QueryTimeoutException("timeout");
+            }, () -> 0)).isInstanceOf(QueryTimeoutException.class);
+        }
+        breaker.write("reserve", () -> 1, () -> 0);
+        assertThatThrownBy(() -> breaker.write("reserve", () -> {
+            throw new QueryTimeoutException("timeout");
+        }, () -> 0)).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("OPEN → HALF_OPEN 은 한 번만, 재동기화 실패 시 다시 OPEN, 성공 시 CLOSED")
+    void halfOpenThenCloseOrReopen() {
+        for (int i = 0; i < 3; i++) {
+            breaker.read("check", () -> {
+                throw new QueryTimeoutException("timeout");
+            }, () -> 0);
+        }
+
+        assertThat(breaker.tryHalfOpen()).isTrue();
+        assertThat(breaker.tryHalfOpen()).isFalse();
+        assertThat(breaker.read("check", () -> 1, () -> 0)).isZero(); // HALF_OPEN 동안에도 DB 경로
+
+        breaker.reopen(new IllegalStateException("still down"));
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        assertThat(breaker.tryHalfOpen()).isTrue();
+        breaker.close();
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(breaker.read("check", () -> 1, () -> 0)).isEqualTo(1);
+        assertThat(meterRegistry.get("inventory.redis.circuit.transitions").tag("to", "open").counter().count())
+                .isEqualTo(2);
+    }
+}
@@ -1,19 +1,57 @@
 package com.github.hkjs96.ordersystem.adapter.out.cache;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.github.hkjs96.ordersystem.adapter.out.event.DomainEventPublisher;
+import com.github.hkjs96.ordersystem.adapter.out.persistence.DegradedInventoryStore;
+import com.github.hkjs96.ordersystem.adapter.out.persistence.StockConfirmationWriteBehind;
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.event.StockRestockedEvent;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.domain.model.StockStatus;
 import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
 import com.github.hkjs96.ordersystem.exception.InsufficientStockException;
 import com.github.hkjs96.ordersystem.exception.ReservationFailedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class RedisInventoryRepositoryTest {
@@ -24,15 +62,89 @@ class RedisInventoryRepositoryTest {
     @Mock
     private ValueOperations<String, Integer> valueOps;
 
+    @Mock
+    private HashOperations<String, String, Integer> hashOps;
+
+    @Mock
+    private InventoryRedisClient stockClient;
+
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private InventoryScripts scripts;
+
+    @Mock
+    private ShardedStockCounter shardedCounter;
+
+    @Mock
+    private StockLeaseManager leaseManager;
+
+    @Mock
+    private StockConfirmationWriteBehind writeBehind;
+
+    @Mock
+    private StockRefreshAhead refreshAhead;
+
+    @Mock
+    private StockLayoutMigrator layoutMigrator;
+
+    @Mock
+    private RedisScript<Long> reserveScript;
+
+    @Mock
+    private RedisScript<List<Long>> batchReserveScript;
+
+    @Mock
+    private RedisScript<Long> stockLoadScript;
+
+    @Mock
+    private RedisScript<List<Long>> releaseOnceScript;
+
+    @Mock
+    private DegradedInventoryStore degradedStore;
+
+    @Mock
+    private SoldOutBroadcaster soldOutBroadcaster;
+
+    @Mock
+    private RedisScript<List<Long>> reservationReleaseScript;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SoldOutMirror soldOutMirror;
+
+    private RedisCircuitBreaker breaker;
+
     private InventoryRepository repository;
 
     @BeforeEach
     void setUp() {
-        // TTL은 생성자에 직접 주입
-        repository = new InventoryRepository(redisTemplate, productRepository);
+        soldOutMirror = new SoldOutMirror();
+        ReflectionTestUtils.setField(soldOutMirror, "enabled", true);
+        ReflectionTestUtils.setField(soldOutMirror, "maxProducts", 1_000);
+        ReflectionTestUtils.setField(soldOutMirror, "markTtlMs", 60_000L);
+        soldOutMirror.init();
+
+        breaker = new RedisCircuitBreaker(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(breaker, "failureThreshold", 2);
+        ReflectionTestUtils.setField(breaker, "openDurationMs", 0L);
+        ReflectionTestUtils.invokeMethod(breaker, "registerMetrics");
+
+        StockCacheLoader stockLoader = new StockCacheLoader(redisTemplate, productRepository, scripts, layoutMigrator);
+        ReflectionTestUtils.setField(stockLoader, "lockTtlMs", 5000L);
+        ReflectionTestUtils.setField(stockLoader, "waitTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(stockLoader, "pollIntervalMs", 20L);
+        repository = new InventoryRepository(redisTemplate, stockClient, productRepository, scripts, shardedCounter, leaseManager,
+                writeBehind, stockLoader, refreshAhead, soldOutMirror, soldOutBroadcaster, breaker, degradedStore, eventPublisher,
+                transactionManager);
+        // TTL은 @Value 필드이므로 직접 주입
+        ReflectionTestUtils.setField(repository, "reservationTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(repository, "processedEventTtlSeconds", 604800L);
     }
 
     @Test
@@ -47,8 +159,7 @@ class RedisInventoryRepositoryTest {
     @Test
     @DisplayName("재고가 충분하면 true 반환")
     void isStockAvailable_true() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        when(valueOps.get("inventory:1")).thenReturn(5);
+        stubStock(5);
 
         assertTrue(repository.isStockAvailable(1L, 3));
     }
@@ -56,8 +167,7 @@ class RedisInventoryRepositoryTest {
     @Test
     @DisplayName("재고가 부족하면 false 반환")
     void isStockAvailable_false() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        when(valueOps.get("inventory:1")).thenReturn(2);
+        stubStock(2);
 
         assertFalse(repository.isStockAvailable(1L, 3));
     }
@@ -65,8 +175,12 @@ class RedisInventoryRepositoryTest {
     @Test
     @DisplayName("키가 없으면 false 반환")
     void isStockAvailable_null() {
+        stubStock(null);
+        when(redisTemplate.<String, Integer>opsForHash()).thenReturn(hashOps);
+        when(hashOps.get("stock:{1}", "available")).thenReturn(null);
         when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        when(valueOps.get("inventory:1")).thenReturn(null);
+        when(valueOps.setIfAbsent(eq("stock:loading:{1}"), eq(1), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertFalse(repository.isStockAvailable(1L, 1));
     }
@@ -74,9 +188,7 @@ class RedisInventoryRepositoryTest {
     @Test
     @DisplayName("Redis 접근 중 예외 발생 시 예외 전파")
     void isStockAvailable_redisException() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        when(valueOps.get("inventory:1"))
-                .thenThrow(new RuntimeException("redis down"));
+        when(stockClient.available(1L)).thenThrow(new RuntimeException("redis down"));
 
         assertThrows(RuntimeException.class, () ->
                 repository.isStockAvailable(1L, 1));
@@ -94,8 +206,7 @@ class RedisInventoryRepositoryTest {
     @Test
     @DisplayName("재고 부족 시 InsufficientStockException")
     void reserveStock_insufficientStockThrows() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        when(valueOps.get("inventory:1")).thenReturn(2);
+        when(stockClient.reserve(eq(1L), anyInt())).thenReturn(-1L);
 
         assertThrows(InsufficientStockException.class, () ->
                 repository.reserveStock(1L, 5)
@@ -103,44 +214,510 @@ class RedisInventoryRepositoryTest {
     }
 
     @Test
-    @DisplayName("정상 예약 시 decrement 와 expire 호출")
-    void reserveStock_executesDecrementAndExpire() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        when(valueOps.get("inventory:1")).thenReturn(10);
-        when(valueOps.decrement("inventory:1", 3)).thenReturn(7L);
+    @DisplayName("정상 예약 시 확인/차감/예약 기록을 스크립트 한 번으로 처리")
+    void reserveStock_executesScriptOnce() {
+        when(stockClient.reserve(eq(1L), anyInt())).thenReturn(7L);
 
         repository.reserveStock(1L, 3);
 
-        verify(valueOps).decrement("inventory:1", 3);
+        verify(stockClient).reserve(1L, 3);
+        verify(redisTemplate, never()).opsForValue();
     }
 
     @Test
-    @DisplayName("decrement 결과가 음수일 때 롤백 후 ReservationFailedException")
-    void reserveStock_decrementNegativeResultHandling() {
+    @DisplayName("재고 키가 없으면 DB 초기화 후 한 번 더 스크립트 실행")
+    void reserveStock_keyMissingInitializesAndRetries() {
+        when(stockClient.reserve(eq(1L), anyInt())).thenReturn(-2L, 8L);
+        stubLoad(10);
+
+        repository.reserveStock(1L, 2);
+
+        verify(redisTemplate).execute(stockLoadScript, List.of("stock:{1}"), "10", "86400");
+        verify(valueOps, never()).set(anyString(), any());
+        verify(stockClient, times(2)).reserve(eq(1L), anyInt());
+    }
+
+    @Test
+    @DisplayName("초기화 후에도 재고 키가 없으면 ReservationFailedException")
+    void reserveStock_keyStillMissingThrows() {
+        when(stockClient.reserve(eq(1L), anyInt())).thenReturn(-2L);
+        stubLoad(10);
+
+        assertThrows(ReservationFailedException.class, () ->
+                repository.reserveStock(1L, 2));
+    }
+
+    @Test
+    @DisplayName("tryReserve 재고 부족 시 예외 없이 INSUFFICIENT 반환")
+    void tryReserve_insufficientReturnsResult() {
+        when(stockClient.reserve(eq(1L), anyInt())).thenReturn(-1L);
+
+        ReservationResult result = repository.tryReserve(1L, 5);
+
+        assertEquals(ReservationResult.Status.INSUFFICIENT, result.status());
+        assertFalse(result.isReserved());
+    }
+
+    @Test
+    @DisplayName("tryReserve 상품이 없으면 UNKNOWN_PRODUCT 반환")
+    void tryReserve_unknownProductReturnsResult() {
+        when(stockClient.reserve(eq(1L), anyInt())).thenReturn(-2L);
+        when(redisTemplate.<String, Integer>opsForHash()).thenReturn(hashOps);
         when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        // 조회 시점에는 15개가 남아있다고 보고
-        when(valueOps.get("inventory:1")).thenReturn(15);
-        // 그 사이에 5개가 다른 주문으로 빠져나가서, 12개 예약 시 실제 남은 수량은 -2이라고 시뮬레이션
-        when(valueOps.decrement("inventory:1", 12)).thenReturn(-2L);
+        when(valueOps.setIfAbsent(eq("stock:loading:{1}"), eq(1), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
 
-        ReservationFailedException ex = assertThrows(ReservationFailedException.class, () ->
-                repository.reserveStock(1L, 12)
-        );
-        assertTrue(ex.getMessage().contains("롤백"));
+        ReservationResult result = repository.tryReserve(1L, 1);
 
-        // 롤백(increment) 호출 확인
-        verify(valueOps).increment("inventory:1", 12);
+        assertEquals(ReservationResult.Status.UNKNOWN_PRODUCT, result.status());
+        verify(stockClient, times(1)).reserve(eq(1L), anyInt());
     }
 
     @Test
-    @DisplayName("expire 호출 실패 시 예외 전파")
-    void reserveStock_expireException() {
+    @DisplayName("일괄 예약 시 재고 부족 라인의 상품 ID 반환")
+    void reserveStockBatch_reportsInsufficientLine() {
+        when(scripts.getBatchReserve()).thenReturn(batchReserveScript);
+        when(redisTemplate.execute(eq(batchReserveScript), anyList(), any(Object[].class)))
+                .thenReturn(List.of(1L, 2L));
+
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        lines.put(1L, 1);
+        lines.put(2L, 5);
+        ReservationResult result = repository.reserveStockBatch(lines);
+
+        assertEquals(ReservationResult.Status.INSUFFICIENT, result.status());
+        assertEquals(2L, result.productId());
+        verify(redisTemplate).execute(batchReserveScript, List.of("stock:{1}", "stock:{2}"), 1, 5);
+    }
+
+    @Test
+    @DisplayName("샤딩된 상품은 단일 키 스크립트 대신 샤드 카운터로 예약")
+    void tryReserve_shardedProductUsesCounter() {
+        when(shardedCounter.isSharded(1L)).thenReturn(true);
+        when(shardedCounter.reserve(1L, 2)).thenReturn(true);
+
+        ReservationResult result = repository.tryReserve(1L, 2);
+
+        assertTrue(result.isReserved());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+        verify(stockClient, never()).reserve(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("스크립트가 샤딩 상품(-3)을 알리면 레지스트리 갱신 후 샤드 경로로 재시도")
+    void tryReserve_staleCacheRoutesToShards() {
+        when(stockClient.reserve(eq(1L), anyInt())).thenReturn(-3L);
+        when(shardedCounter.refresh(1L)).thenReturn(4);
+        when(shardedCounter.reserve(1L, 2)).thenReturn(false);
+
+        ReservationResult result = repository.tryReserve(1L, 2);
+
+        assertEquals(ReservationResult.Status.INSUFFICIENT, result.status());
+        verify(shardedCounter).refresh(1L);
+    }
+
+    @Test
+    @DisplayName("샤딩 응답 후 레지스트리에서 그 사이 해제됐으면 병합된 단일 키로 다시 예약")
+    void tryReserve_shardingDisabledMeanwhileRetriesSingleKey() {
+        when(stockClient.reserve(1L, 2)).thenReturn(-3L, 5L);
+        when(shardedCounter.refresh(1L)).thenReturn(0);
+
+        ReservationResult result = repository.tryReserve(1L, 2);
+
+        assertTrue(result.isReserved());
+        verify(stockClient, times(2)).reserve(1L, 2);
+        verify(shardedCounter, never()).reserve(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("샤딩 응답 후 그 사이 해제됐으면 복원/확정도 병합된 단일 키로 다시 (유실 없음)")
+    void releaseAndConfirm_shardingDisabledMeanwhileRetrySingleKey() {
+        when(stockClient.release(1L, 2)).thenReturn(-3L, 7L);
+        when(stockClient.confirm(1L, 2)).thenReturn(-3L, 0L);
+        when(shardedCounter.refresh(1L)).thenReturn(0);
+
+        repository.releaseStock(1L, 2);
+        ReflectionTestUtils.invokeMethod(repository, "confirmOnRedis", 1L, 2, null);
+
+        verify(stockClient, times(2)).release(1L, 2);
+        verify(stockClient, times(2)).confirm(1L, 2);
+        verify(shardedCounter, never()).release(anyLong(), anyInt());
+        verify(shardedCounter, never()).confirm(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("주문 예약 라인은 상품별 라인 해시(재고 키와 같은 슬롯)에, 주문/만료 인덱스는 단일 키 명령으로 등록")
+    @SuppressWarnings("unchecked")
+    void trackReservation_recordsLinesWithDeadline() {
+        when(scripts.getReservationTrack()).thenReturn(reserveScript);
+
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        lines.put(1L, 2);
+        lines.put(2L, 3);
+        long before = System.currentTimeMillis();
+        repository.trackReservation(10L, lines);
+
+        verify(redisTemplate).execute(reserveScript, List.of("reservation:{1}"), "10", 2);
+        verify(redisTemplate).execute(reserveScript, List.of("reservation:{2}"), "10", 3);
+
+        ArgumentCaptor<RedisCallback<Void>> index = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).execute(index.capture());
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisSetCommands setCommands = mock(RedisSetCommands.class);
+        RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+        when(connection.setCommands()).thenReturn(setCommands);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+        index.getValue().doInRedis(connection);
+
+        verify(setCommands).sAdd(aryEq("reservation:order:{10}".getBytes(StandardCharsets.UTF_8)),
+                aryEq("1".getBytes(StandardCharsets.UTF_8)), aryEq("2".getBytes(StandardCharsets.UTF_8)));
+        ArgumentCaptor<Double> deadline = ArgumentCaptor.forClass(Double.class);
+        verify(zSetCommands).zAdd(aryEq("reservation:expiry".getBytes(StandardCharsets.UTF_8)),
+                deadline.capture(), aryEq("10".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(deadline.getValue() >= before + 3_600_000L);
+    }
+
+    @Test
+    @DisplayName("이미 복원/만료된 예약은 다시 복원하지 않음 (재고 키와 라인 해시만 넘기는 단일 슬롯 스크립트)")
+    void releaseReservation_alreadyReleasedReturnsZero() {
+        when(scripts.getReservationRelease()).thenReturn(reservationReleaseScript);
+        when(redisTemplate.execute(eq(reservationReleaseScript), anyList(), any(Object[].class))).thenReturn(List.of(0L, 0L));
+
+        assertEquals(0, repository.releaseReservation(10L, 1L));
+        verify(redisTemplate).execute(reservationReleaseScript,
+                List.of("stock:{1}", "reservation:{1}"), "release", "10");
+    }
+
+    @Test
+    @DisplayName("만료 주문의 라인을 인덱스 조회 후 상품별 스크립트 한 번으로 복원하고 복원된 상품은 모든 노드에 재입고 알림")
+    void releaseReservations_singleCallPerProduct() {
+        soldOutMirror.markSoldOut(2L);
+        when(redisTemplate.executePipelined(any(RedisCallback.class), any(RedisSerializer.class)))
+                .thenReturn(List.of(Set.of("1", "2"), Set.of("2"), Set.of()));
+        when(scripts.getReservationRelease()).thenReturn(reservationReleaseScript);
+        when(redisTemplate.execute(reservationReleaseScript, List.of("stock:{1}", "reservation:{1}"), "release", "10"))
+                .thenReturn(List.of(3L, 0L, 10L, 3L));
+        when(redisTemplate.execute(reservationReleaseScript, List.of("stock:{2}", "reservation:{2}"), "release", "10", "11"))
+                .thenReturn(List.of(4L, 0L, 10L, 1L, 11L, 3L));
+
+        assertEquals(7, repository.releaseReservations(List.of(10L, 11L, 12L)));
+        verify(redisTemplate, times(2)).execute(eq(reservationReleaseScript), anyList(), any(Object[].class));
+        assertFalse(soldOutMirror.isSoldOut(2L));
+        // 이 노드가 품절로 몰랐던 상품도 알림 (다른 노드만 품절로 표시했을 수 있음)
+        verify(soldOutBroadcaster).restocked(1L);
+        verify(soldOutBroadcaster).restocked(2L);
+        verify(eventPublisher).publish(new StockRestockedEvent(1L));
+        verify(eventPublisher).publish(new StockRestockedEvent(2L));
+    }
+
+    @Test
+    @DisplayName("여러 주문의 라인을 상품별로 모아 상품당 스크립트 한 번에 복원, 품절 표시 해제 + 재입고 전파")
+    void releaseReservationLines_singleCallPerProduct() {
+        soldOutMirror.markSoldOut(2L);
+        when(scripts.getReservationRelease()).thenReturn(reservationReleaseScript);
+        when(redisTemplate.execute(reservationReleaseScript, List.of("stock:{1}", "reservation:{1}"), "release", "10"))
+                .thenReturn(List.of(0L, 0L));
+        when(redisTemplate.execute(reservationReleaseScript, List.of("stock:{2}", "reservation:{2}"), "release", "10", "11"))
+                .thenReturn(List.of(4L, 0L, 10L, 1L, 11L, 3L));
+        Map<Long, Set<Long>> lines = new LinkedHashMap<>();
+        lines.put(10L, new LinkedHashSet<>(List.of(1L, 2L)));
+        lines.put(11L, Set.of(2L));
+
+        assertEquals(4, repository.releaseReservationLines(lines));
+        verify(leaseManager).settle(1L);
+        verify(leaseManager).settle(2L);
+        assertFalse(soldOutMirror.isSoldOut(2L));
+        verify(soldOutBroadcaster).restocked(2L);
+        verify(soldOutBroadcaster, never()).restocked(1L);
+    }
+
+    @Test
+    @DisplayName("샤딩 상품의 라인 정리 후 샤드 반납이 실패하면 정리한 라인을 되돌리고 예외 전파 (다음 복원에서 재처리)")
+    void releaseReservation_shardedFailureRestoresLines() {
+        when(scripts.getReservationRelease()).thenReturn(reservationReleaseScript);
+        when(scripts.getReservationTrack()).thenReturn(reserveScript);
+        when(redisTemplate.execute(eq(reservationReleaseScript), anyList(), any(Object[].class)))
+                .thenReturn(List.of(2L, -3L, 10L, 2L));
+        when(shardedCounter.refresh(1L)).thenReturn(0);
+        when(stockClient.release(1L, 2)).thenReturn(-3L);
+
+        assertThrows(IllegalStateException.class, () -> repository.releaseReservation(10L, 1L));
+        verify(redisTemplate).execute(reserveScript, List.of("reservation:{1}"), "10", "2");
+    }
+
+    @Test
+    @DisplayName("redis-cluster 모드: 장바구니 예약은 여러 슬롯에 걸친 batch 스크립트 대신 라인별 예약 + 실패 시 앞선 라인 복원")
+    void reserveStockBatch_clusterReservesPerLine() {
+        ReflectionTestUtils.setField(repository, "redisCluster", true);
+        when(stockClient.reserve(1L, 1)).thenReturn(4L);
+        when(stockClient.reserve(2L, 5)).thenReturn(-1L);
+        when(stockClient.release(1L, 1)).thenReturn(5L);
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        lines.put(1L, 1);
+        lines.put(2L, 5);
+
+        ReservationResult result = repository.reserveStockBatch(lines);
+
+        assertEquals(ReservationResult.Status.INSUFFICIENT, result.status());
+        assertEquals(2L, result.productId());
+        verify(stockClient).release(1L, 1);
+        verify(redisTemplate, never()).execute(eq(batchReserveScript), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("eventId 별 처리 완료 표식과 재고 복원을 스크립트 한 번에, 0 → 양수면 재입고 전파")
+    void releaseStockOnce_singleScriptCall() {
+        soldOutMirror.markSoldOut(1L);
+        when(scripts.getReleaseOnce()).thenReturn(releaseOnceScript);
+        when(redisTemplate.execute(eq(releaseOnceScript), anyList(), any(Object[].class))).thenReturn(List.of(3L, 3L));
+        Map<String, Integer> events = new LinkedHashMap<>();
+        events.put("evt-1", 3);
+        events.put("evt-2", 2); // 이미 처리된 이벤트 → 스크립트가 건너뜀
+
+        assertEquals(3, repository.releaseStockOnce(1L, events));
+        verify(redisTemplate, times(1)).execute(releaseOnceScript,
+                List.of("stock:{1}", "event:processed:{1}:evt-1", "event:processed:{1}:evt-2"), "604800", "3", "2");
+        verify(leaseManager).settle(1L);
+        assertFalse(soldOutMirror.isSoldOut(1L));
+        verify(soldOutBroadcaster).restocked(1L);
+    }
+
+    @Test
+    @DisplayName("결제 확정은 엔티티 조회 없이 조건부 UPDATE 한 번으로 DB 재고 차감")
+    void confirmSale_usesConditionalUpdate() {
+        when(productRepository.decrementStock(1L, 2)).thenReturn(1);
+        when(scripts.getReservationRelease()).thenReturn(reservationReleaseScript);
+        when(redisTemplate.execute(eq(reservationReleaseScript), anyList(), any(Object[].class))).thenReturn(List.of(2L));
+
+        repository.confirmSale(1L, 2, 10L);
+
+        verify(stockClient).confirm(1L, 2);
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE 가 0행이면 재고 부족으로 동기화 후 예외")
+    void confirmSale_insufficientDbStockThrows() {
+        when(productRepository.decrementStock(1L, 2)).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
+        when(scripts.getStockSync()).thenReturn(stockLoadScript);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(
+                Product.builder()
+                        .id(1L).name("A").price(BigDecimal.TEN).totalStock(1).build()));
+
+        assertThrows(InsufficientStockException.class, () -> repository.confirmSale(1L, 2, 10L));
+        // 예약 수량은 유지한 채 무조건 적용(기대 version 없음)
+        verify(redisTemplate).execute(stockLoadScript, List.of("stock:{1}"), "1", "86400", "", "0");
+    }
+
+    @Test
+    @DisplayName("주문 전체 확정: DB 에 모든 라인을 반영한 뒤 라인별 예약 정리")
+    void confirmSales_confirmsEveryLineAfterDb() {
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        lines.put(1L, 2);
+        lines.put(2L, 3);
+        when(writeBehind.confirmOrder(10L, lines)).thenReturn(ReservationResult.reserved(null, 0));
+        when(scripts.getReservationRelease()).thenReturn(reservationReleaseScript);
+        when(redisTemplate.execute(eq(reservationReleaseScript), anyList(), any(Object[].class))).thenReturn(List.of(2L, 0L));
+
+        assertTrue(repository.confirmSales(10L, lines).isReserved());
+
+        verify(stockClient).confirm(1L, 2);
+        verify(stockClient).confirm(2L, 3);
+    }
+
+    @Test
+    @DisplayName("주문 전체 확정: 한 라인이라도 DB 재고가 부족하면 어떤 예약도 정리하지 않고 부족한 상품만 동기화")
+    void confirmSales_insufficientLineConfirmsNothing() {
+        Map<Long, Integer> lines = Map.of(1L, 2, 2L, 3);
+        when(writeBehind.confirmOrder(10L, lines)).thenReturn(ReservationResult.insufficient(2L));
+        when(scripts.getStockSync()).thenReturn(stockLoadScript);
+        when(productRepository.findById(2L)).thenReturn(Optional.of(
+                Product.builder().id(2L).name("B").price(BigDecimal.TEN).totalStock(1).build()));
+
+        ReservationResult result = repository.confirmSales(10L, lines);
+
+        assertEquals(ReservationResult.Status.INSUFFICIENT, result.status());
+        assertEquals(2L, result.productId());
+        verify(redisTemplate).execute(stockLoadScript, List.of("stock:{2}"), "1", "86400", "", "0");
+        verify(stockClient, never()).confirm(anyLong(), anyInt());
+        verify(redisTemplate, never()).execute(eq(reservationReleaseScript), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("품절 응답을 받은 상품은 이후 Redis 조회 없이 거절, 처음 관측했을 때만 다른 노드에 전파")
+    void tryReserve_soldOutRejectedLocally() {
+        when(stockClient.reserve(eq(1L), anyInt())).thenReturn(-4L);
+
+        assertEquals(ReservationResult.Status.INSUFFICIENT, repository.tryReserve(1L, 1).status());
+        assertEquals(ReservationResult.Status.INSUFFICIENT, repository.tryReserve(1L, 1).status());
+        assertFalse(repository.isStockAvailable(1L, 1));
+
+        verify(stockClient, times(1)).reserve(eq(1L), anyInt());
+        verify(redisTemplate, never()).opsForHash();
+        verify(soldOutBroadcaster, times(1)).soldOut(1L);
+    }
+
+    @Test
+    @DisplayName("재고 부족(-1)만으로는 품절 표시하지 않음")
+    void tryReserve_insufficientDoesNotMarkSoldOut() {
+        when(stockClient.reserve(eq(1L), anyInt())).thenReturn(-1L, 0L);
+
+        assertFalse(repository.tryReserve(1L, 5).isReserved());
+        assertTrue(repository.tryReserve(1L, 1).isReserved());
+    }
+
+    @Test
+    @DisplayName("재고 복원 시 품절 표시 해제 + 재입고 전파, 0 을 지나지 않은 복원은 전파하지 않음")
+    void releaseStock_clearsSoldOut() {
+        soldOutMirror.markSoldOut(1L);
+        when(stockClient.release(1L, 3)).thenReturn(3L);
+        when(stockClient.release(2L, 3)).thenReturn(10L);
+
+        repository.releaseStock(1L, 3);
+        repository.releaseStock(2L, 3);
+
+        assertFalse(soldOutMirror.isSoldOut(1L));
+        verify(soldOutBroadcaster).restocked(1L);
+        verify(soldOutBroadcaster, never()).restocked(2L);
+    }
+
+    @Test
+    @DisplayName("임대 상품은 다른 노드 임대분이 있을 수 있어 품절 표시하지 않음")
+    void isStockAvailable_leasableProductNotMarked() {
+        when(leaseManager.isLeasable(1L)).thenReturn(true);
+        stubStock(0);
+
+        assertFalse(repository.isStockAvailable(1L, 1));
+        assertFalse(soldOutMirror.isSoldOut(1L));
+    }
+
+    @Test
+    @DisplayName("다른 노드가 샤딩한 상품은 재고 확인 시 샤드 합계로 응답")
+    void isStockAvailable_shardMarkerRoutesToShards() {
+        when(stockClient.available(1L)).thenReturn(InventoryRedisClient.SHARDED);
+        when(shardedCounter.available(1L)).thenReturn(12);
+
+        assertTrue(repository.isStockAvailable(1L, 10));
+        verify(shardedCounter).refresh(1L);
+        assertFalse(soldOutMirror.isSoldOut(1L));
+    }
+
+    @Test
+    @DisplayName("캐시 미스 시 기존 문자열 키가 있으면 DB 대신 이전된 값을 사용")
+    void isStockAvailable_missMigratesLegacyKeys() {
+        stubStock(null);
+        when(redisTemplate.<String, Integer>opsForHash()).thenReturn(hashOps);
+        when(hashOps.get("stock:{1}", "available")).thenReturn(null);
         when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        when(valueOps.get("inventory:1")).thenReturn(5);
-        when(valueOps.decrement("inventory:1", 2)).thenReturn(3L);
+        when(valueOps.setIfAbsent(eq("stock:loading:{1}"), eq(1), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        when(layoutMigrator.isEnabled()).thenReturn(true);
+        when(layoutMigrator.migrate(1L)).thenReturn(6);
 
-        assertThrows(RuntimeException.class, () ->
-                repository.reserveStock(1L, 2));
+        assertTrue(repository.isStockAvailable(1L, 6));
+        verify(productRepository, never()).findById(any());
     }
 
+    @Test
+    @DisplayName("여러 상품 상태는 DB 조회 1회 + 파이프라인 1회로 요청 순서대로, 없는 상품은 생략")
+    @SuppressWarnings("unchecked")
+    void getStockStatuses_singleRoundTripEach() {
+        when(productRepository.findAllById(List.of(2L, 9L, 1L, 2L))).thenReturn(List.of(
+                Product.builder().id(1L).name("A").price(BigDecimal.TEN).totalStock(10).build(),
+                Product.builder().id(2L).name("B").price(BigDecimal.TEN).totalStock(20).build()));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(
+                Arrays.asList(18, 2, null), Arrays.asList(null, null, null)));
+
+        List<StockStatus> statuses = repository.getStockStatuses(List.of(2L, 9L, 1L, 2L));
+
+        assertEquals(List.of(new StockStatus(2L, 20, 18, 2), new StockStatus(1L, 10, 0, 0)), statuses);
+        verify(productRepository, never()).findById(any());
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("여러 상품 가용성: 품절 표시 상품은 조회 생략, 샤딩 표식은 샤드 합계로 판정")
+    @SuppressWarnings("unchecked")
+    void checkAvailability_pipelinesRemainingProducts() {
+        soldOutMirror.markSoldOut(3L);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(
+                Arrays.asList(5, null), Arrays.asList(0, 4)));
+        when(shardedCounter.available(2L)).thenReturn(12);
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(3L, 1);
+        quantities.put(1L, 6);
+        quantities.put(2L, 10);
+        Map<Long, Boolean> result = repository.checkAvailability(quantities);
+
+        assertEquals(List.of(3L, 1L, 2L), List.copyOf(result.keySet()));
+        assertEquals(List.of(false, false, true), List.copyOf(result.values()));
+        verify(shardedCounter).refresh(2L);
+        verify(redisTemplate, never()).opsForHash();
+    }
+
+    @Test
+    @DisplayName("여러 상품 가용성: 수량이 0 이하인 라인이 있으면 IllegalArgumentException")
+    void checkAvailability_nonPositiveQuantityThrows() {
+        assertThrows(IllegalArgumentException.class, () -> repository.checkAvailability(Map.of(1L, 0)));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Redis 연결 실패가 이어지면 서킷이 열리고 이후 예약은 Redis 없이 DB 로 처리")
+    void tryReserve_openCircuitFallsBackToDatabase() {
+        ReflectionTestUtils.setField(breaker, "enabled", true);
+        when(stockClient.reserve(eq(1L), anyInt())).thenThrow(new RedisConnectionFailureException("down"));
+        when(degradedStore.reserve(1L, 2)).thenReturn(ReservationResult.reserved(1L, 0));
+
+        assertThrows(RedisConnectionFailureException.class, () -> repository.tryReserve(1L, 2));
+        assertThrows(RedisConnectionFailureException.class, () -> repository.tryReserve(1L, 2));
+        assertEquals(RedisCircuitBreaker.State.OPEN, breaker.state());
+
+        assertTrue(repository.tryReserve(1L, 2).isReserved());
+        verify(stockClient, times(2)).reserve(eq(1L), anyInt());
+    }
+
+    @Test
+    @DisplayName("복구 재동기화: 결제 확정 재생 → DB 예약분을 Redis 예약으로 이관 → 주문 예약 기록 재생")
+    @SuppressWarnings("unchecked")
+    void resyncAfterOutage_absorbsDatabaseReservations() {
+        Product product = Product.builder()
+                .id(1L).name("A").price(BigDecimal.TEN).totalStock(10).reservedStock(3).build();
+        when(scripts.getStockSync()).thenReturn(stockLoadScript);
+        doAnswer(inv -> {
+            inv.<Consumer<DegradedInventoryStore.PendingConfirm>>getArgument(0)
+                    .accept(new DegradedInventoryStore.PendingConfirm(2L, 1, 20L));
+            return null;
+        }).when(degradedStore).replayConfirms(any());
+        doAnswer(inv -> {
+            inv.<Consumer<Product>>getArgument(0).accept(product);
+            return null;
+        }).when(degradedStore).replayDirtyProducts(any());
+        when(scripts.getReservationRelease()).thenReturn(reservationReleaseScript);
+
+        assertEquals(1, repository.resyncAfterOutage());
+
+        var order = inOrder(stockClient, redisTemplate, degradedStore);
+        order.verify(stockClient).confirm(2L, 1);
+        order.verify(redisTemplate).execute(stockLoadScript, List.of("stock:{1}"), "10", "86400", "", "3");
+        order.verify(degradedStore).replayTracks(any());
+    }
+
+    private void stubStock(Integer available) {
+        when(stockClient.available(1L)).thenReturn(available != null ? available : InventoryRedisClient.KEY_MISSING);
+    }
+
+    private void stubLoad(int dbStock) {
+        when(redisTemplate.<String, Integer>opsForHash()).thenReturn(hashOps);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(valueOps.setIfAbsent(eq("stock:loading:{1}"), eq(1), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        when(scripts.getStockLoad()).thenReturn(stockLoadScript);
+        when(redisTemplate.execute(stockLoadScript, List.of("stock:{1}"), String.valueOf(dbStock), "86400"))
+                .thenReturn((long) dbStock);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(
+                Product.builder()
+                        .id(1L).name("A").price(BigDecimal.TEN).totalStock(dbStock).build()));
+    }
 }
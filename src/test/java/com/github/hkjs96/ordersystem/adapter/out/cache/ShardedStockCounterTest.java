@@ -0,0 +1,251 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 샤드 해시를 메모리 맵으로 흉내 내고 스크립트는 Lua 와 같은 규칙으로 적용
+ */
+@ExtendWith(MockitoExtension.class)
+class ShardedStockCounterTest {
+
+    private static final int SHARDS = 3;
+
+    @Mock
+    private RedisTemplate<String, Integer> redisTemplate;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private InventoryScripts scripts;
+
+    @Mock
+    private RedisScript<Long> reserveScript;
+
+    @Mock
+    private RedisScript<Long> takeScript;
+
+    @Mock
+    private RedisScript<Long> releaseScript;
+
+    @Mock
+    private RedisScript<List<Long>> drainScript;
+
+    @Mock
+    private RedisScript<Long> disableScript;
+
+    @Mock
+    private RedisScript<Long> beginScript;
+
+    @Mock
+    private RedisScript<Long> mergeScript;
+
+    @Mock
+    private RedisScript<Long> fillScript;
+
+    @Mock
+    private RedisScript<Long> enableDoneScript;
+
+    @Mock
+    private ZSetOperations<String, String> migrating;
+
+    @Mock
+    private HashOperations<String, Object, Object> registry;
+
+    /** 샤드 키 → {available, reserved} */
+    private final Map<String, int[]> shards = new HashMap<>();
+
+    private ShardedStockCounter counter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        counter = new ShardedStockCounter(redisTemplate, stringRedisTemplate, scripts);
+        ((Map<Long, Integer>) ReflectionTestUtils.getField(counter, "shardCounts")).put(1L, SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards.put(StockKeys.shard(1L, i), new int[]{2, 0});
+        }
+
+        lenient().when(scripts.getReserve()).thenReturn(reserveScript);
+        lenient().when(scripts.getShardTake()).thenReturn(takeScript);
+        lenient().when(scripts.getShardRelease()).thenReturn(releaseScript);
+        lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(this::runScript);
+        lenient().when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenAnswer(invocation -> shardValues(0));
+    }
+
+    @Test
+    @DisplayName("여러 샤드에서 나눠 잡은 예약을 결제 확정하면 샤드 예약 합계가 0")
+    void confirm_afterGatherClearsReservedSum() {
+        assertTrue(counter.reserve(1L, 5)); // 샤드마다 2개 → 단일 샤드로는 부족, 나눠 가져옴
+        assertEquals(5, sum(1));
+
+        assertTrue(counter.confirm(1L, 5));
+
+        assertEquals(0, sum(1));
+        assertEquals(1, sum(0));
+    }
+
+    @Test
+    @DisplayName("여러 샤드에서 나눠 잡은 예약을 복원하면 재고는 그대로 돌아오고 예약 합계는 0")
+    void release_afterGatherRestoresStock() {
+        assertTrue(counter.reserve(1L, 5));
+
+        assertTrue(counter.release(1L, 5));
+
+        assertEquals(0, sum(1));
+        assertEquals(6, sum(0));
+    }
+
+    @Test
+    @DisplayName("샤딩 해제는 병합 기록 후 샤드를 하나씩 꺼내 원래 해시에 더하고 레지스트리에서 제거")
+    void disable_drainsShardsOneByOneThenMerges() {
+        assertTrue(counter.reserve(1L, 5));
+        int[] stock = {0, 0};
+        when(stringRedisTemplate.opsForHash()).thenReturn(registry);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(migrating);
+        when(registry.get(ShardedStockCounter.SHARD_REGISTRY_KEY, "1")).thenReturn(String.valueOf(SHARDS));
+        when(scripts.getShardDisableBegin()).thenReturn(beginScript);
+        when(scripts.getShardDrain()).thenReturn(drainScript);
+        when(scripts.getShardMerge()).thenReturn(mergeScript);
+        when(scripts.getShardDisable()).thenReturn(disableScript);
+        when(redisTemplate.execute(eq(beginScript), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> ((Integer) invocation.getArgument(2)).longValue());
+        when(redisTemplate.execute(eq(drainScript), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            int[] shard = shards.get(invocation.<List<String>>getArgument(1).get(0));
+            return List.of((long) shard[0], (long) shard[1]);
+        });
+        when(redisTemplate.execute(eq(mergeScript), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            stock[0] += invocation.<Long>getArgument(4).intValue();
+            stock[1] += invocation.<Long>getArgument(5).intValue();
+            return 1L;
+        });
+        when(redisTemplate.delete(anyString())).thenAnswer(invocation ->
+                shards.remove(invocation.<String>getArgument(0)) != null);
+
+        counter.disable(1L, 86400);
+
+        // 각 샤드 키를 따로 꺼내고 원래 해시에 더한 뒤에만 삭제 (한 스크립트에서 여러 슬롯을 건드리지 않음)
+        InOrder order = inOrder(redisTemplate);
+        for (int i = 0; i < SHARDS; i++) {
+            order.verify(redisTemplate).execute(eq(drainScript), eq(List.of(StockKeys.shard(1L, i))), any(Object[].class));
+            order.verify(redisTemplate).execute(eq(mergeScript), eq(List.of(StockKeys.stock(1L))), any(Object[].class));
+            order.verify(redisTemplate).delete(StockKeys.shard(1L, i));
+        }
+        assertTrue(shards.isEmpty());
+        assertArrayEquals(new int[]{1, 5}, stock);
+        verify(redisTemplate).execute(eq(disableScript), eq(List.of(StockKeys.stock(1L))), any(Object[].class));
+        verify(registry).delete(ShardedStockCounter.SHARD_REGISTRY_KEY, "1");
+        verify(migrating).remove(ShardedStockCounter.MIGRATION_INDEX_KEY, "1");
+        assertFalse(counter.isSharded(1L));
+    }
+
+    @Test
+    @DisplayName("분할 도중 멈춘 상품은 남은 기록으로 배분을 이어가고 이미 채운 샤드는 건너뜀")
+    void resumeMigrations_finishesInterruptedEnable() {
+        ((Map<?, ?>) ReflectionTestUtils.getField(counter, "shardCounts")).clear();
+        shards.replaceAll((key, shard) -> new int[]{0, 0});
+        shards.put(StockKeys.shard(1L, 0), new int[]{3, 2}); // 첫 샤드(재고 몫 + 예약 수량)는 멈추기 전에 배분됨
+        Map<String, Integer> filledBy = new HashMap<>(Map.of(StockKeys.shard(1L, 0), 77));
+        when(stringRedisTemplate.opsForHash()).thenReturn(registry);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(migrating);
+        when(migrating.rangeByScore(eq(ShardedStockCounter.MIGRATION_INDEX_KEY), eq(0.0), anyDouble()))
+                .thenReturn(Set.of("1"));
+        when(registry.multiGet(eq(StockKeys.stock(1L)), anyList()))
+                .thenReturn(Arrays.asList(String.valueOf(SHARDS), "77", "7", "2", null));
+        when(scripts.getShardFill()).thenReturn(fillScript);
+        when(scripts.getShardEnableDone()).thenReturn(enableDoneScript);
+        when(redisTemplate.execute(eq(fillScript), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            String key = invocation.<List<String>>getArgument(1).get(0);
+            if (Integer.valueOf(77).equals(filledBy.put(key, invocation.getArgument(2)))) {
+                return 0L;
+            }
+            shards.get(key)[0] += invocation.<Long>getArgument(3).intValue();
+            shards.get(key)[1] += invocation.<Long>getArgument(4).intValue();
+            return 1L;
+        });
+
+        counter.resumeMigrations();
+
+        assertEquals(7, sum(0));
+        assertEquals(2, sum(1));
+        verify(redisTemplate).execute(enableDoneScript, List.of(StockKeys.stock(1L)), 77);
+        verify(registry).put(ShardedStockCounter.SHARD_REGISTRY_KEY, "1", String.valueOf(SHARDS));
+        verify(migrating).remove(ShardedStockCounter.MIGRATION_INDEX_KEY, "1");
+        assertEquals(SHARDS, counter.shardCount(1L));
+    }
+
+    @Test
+    @DisplayName("샤드 키가 없으면(그 사이 샤딩 해제) 반영하지 않고 false")
+    void release_shardKeysGone() {
+        shards.clear();
+
+        assertFalse(counter.release(1L, 1));
+        assertFalse(counter.confirm(1L, 1));
+    }
+
+    private Long runScript(InvocationOnMock invocation) {
+        RedisScript<?> script = invocation.getArgument(0);
+        List<String> keys = invocation.getArgument(1);
+        int[] shard = shards.get(keys.get(0));
+        if (shard == null) {
+            return -2L;
+        }
+        int quantity = invocation.getArgument(2);
+        if (script == reserveScript) {
+            if (shard[0] < quantity) {
+                return shard[0] <= 0 ? -4L : -1L;
+            }
+            shard[0] -= quantity;
+            shard[1] += quantity;
+            return (long) shard[0];
+        }
+        if (script == takeScript) {
+            int taken = Math.min(shard[0], quantity);
+            shard[0] -= taken;
+            shard[1] += taken;
+            return (long) taken;
+        }
+        int cleared = Math.min(invocation.<Integer>getArgument(3), shard[1]);
+        shard[0] += quantity;
+        shard[1] -= cleared;
+        return (long) cleared;
+    }
+
+    private List<Object> shardValues(int field) {
+        return shards.values().stream().map(shard -> (Object) shard[field]).toList();
+    }
+
+    private int sum(int field) {
+        return shards.values().stream().mapToInt(shard -> shard[field]).sum();
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class SoldOutBroadcasterTest {
+
+    private static final byte[] CHANNEL = SoldOutBroadcaster.CHANNEL.getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private RedisTemplate<String, Integer> redisTemplate;
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    private SoldOutMirror mirror;
+    private SoldOutBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        mirror = new SoldOutMirror();
+        ReflectionTestUtils.setField(mirror, "enabled", true);
+        ReflectionTestUtils.setField(mirror, "maxProducts", 100);
+        ReflectionTestUtils.setField(mirror, "markTtlMs", 60_000L);
+        mirror.init();
+        broadcaster = new SoldOutBroadcaster(redisTemplate, connectionFactory, mirror);
+        ReflectionTestUtils.setField(broadcaster, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("품절/재입고는 종류 1바이트 + ASCII 상품 ID 로 발행")
+    @SuppressWarnings("unchecked")
+    void publishesCompactMessages() {
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<Long>>getArgument(0).doInRedis(connection));
+
+        broadcaster.soldOut(42L);
+        broadcaster.restocked(12345L);
+
+        ArgumentCaptor<byte[]> messages = ArgumentCaptor.forClass(byte[].class);
+        verify(connection, times(2)).publish(eq(CHANNEL), messages.capture());
+        assertThat(messages.getAllValues())
+                .extracting(bytes -> new String(bytes, StandardCharsets.US_ASCII))
+                .containsExactly("-42", "+12345");
+    }
+
+    @Test
+    @DisplayName("수신한 품절/재입고를 로컬 미러에 반영, 잘못된 메시지는 무시")
+    void appliesReceivedMessages() {
+        broadcaster.onMessage(message("-7"), null);
+        assertThat(mirror.isSoldOut(7L)).isTrue();
+
+        broadcaster.onMessage(message("+7"), null);
+        assertThat(mirror.isSoldOut(7L)).isFalse();
+
+        broadcaster.onMessage(message("-x"), null);
+        broadcaster.onMessage(message("-"), null);
+        assertThat(mirror.isSoldOut(7L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("발행 실패는 호출자에게 전파하지 않음, 미러가 꺼져 있으면 발행 안 함")
+    @SuppressWarnings("unchecked")
+    void publishFailureIsSwallowed() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenThrow(new IllegalStateException("down"));
+        broadcaster.soldOut(1L);
+
+        ReflectionTestUtils.setField(mirror, "enabled", false);
+        broadcaster.soldOut(2L);
+        verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL, body.getBytes(StandardCharsets.US_ASCII));
+    }
+}
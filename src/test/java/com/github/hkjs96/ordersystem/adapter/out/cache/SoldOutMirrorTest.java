@@ -0,0 +1,88 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SoldOutMirrorTest {
+
+    private SoldOutMirror mirror;
+
+    @BeforeEach
+    void setUp() {
+        mirror = mirror(1_000, 60_000L);
+    }
+
+    @Test
+    @DisplayName("표시한 상품만 품절, 해제하면 다시 Redis 경로 (전환일 때만 true)")
+    void markAndClear() {
+        assertThat(mirror.markSoldOut(1L)).isTrue();
+        assertThat(mirror.markSoldOut(1L)).isFalse();
+
+        assertThat(mirror.isSoldOut(1L)).isTrue();
+        assertThat(mirror.isSoldOut(2L)).isFalse();
+
+        assertThat(mirror.clear(1L)).isTrue();
+        assertThat(mirror.clear(1L)).isFalse();
+        assertThat(mirror.isSoldOut(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("표시는 TTL 후 만료 (못 본 재입고도 반영)")
+    void markExpires() throws InterruptedException {
+        SoldOutMirror shortLived = mirror(1_000, 20L);
+        shortLived.markSoldOut(1L);
+        assertThat(shortLived.isSoldOut(1L)).isTrue();
+
+        Thread.sleep(40);
+        assertThat(shortLived.isSoldOut(1L)).isFalse();
+
+        shortLived.sweep();
+        assertThat(shortLived.isSoldOut(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("가득 차면 새 상품은 표시하지 않음 (거절하지 않는 쪽으로)")
+    void fullTableSkipsMarks() {
+        SoldOutMirror small = mirror(100, 60_000L);
+        for (long id = 1; id <= 100; id++) {
+            small.markSoldOut(id);
+        }
+        small.markSoldOut(101L);
+
+        assertThat(small.isSoldOut(100L)).isTrue();
+        assertThat(small.isSoldOut(101L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("비활성화 시 아무것도 표시하지 않음")
+    void disabled() {
+        SoldOutMirror disabled = new SoldOutMirror();
+        disabled.init();
+        disabled.markSoldOut(1L);
+
+        assertThat(disabled.isSoldOut(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("상품당 약 16바이트: 100만 상품 → 칸 133만 개 x 12바이트")
+    void memoryPerSku() {
+        SoldOutMirror large = mirror(1_000_000, 60_000L);
+        int capacity = (int) ReflectionTestUtils.getField(large, "capacity");
+
+        assertThat(capacity * 12.0 / 1_000_000).isCloseTo(16.0, within(0.01));
+    }
+
+    private static SoldOutMirror mirror(int maxProducts, long markTtlMs) {
+        SoldOutMirror mirror = new SoldOutMirror();
+        ReflectionTestUtils.setField(mirror, "enabled", true);
+        ReflectionTestUtils.setField(mirror, "maxProducts", maxProducts);
+        ReflectionTestUtils.setField(mirror, "markTtlMs", markTtlMs);
+        mirror.init();
+        return mirror;
+    }
+}
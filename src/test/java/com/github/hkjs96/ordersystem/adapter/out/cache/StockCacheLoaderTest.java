@@ -0,0 +1,177 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StockCacheLoaderTest {
+
+    @Mock
+    private RedisTemplate<String, Integer> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Integer> valueOps;
+
+    @Mock
+    private HashOperations<String, String, Integer> hashOps;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private InventoryScripts scripts;
+
+    @Mock
+    private StockLayoutMigrator layoutMigrator;
+
+    @Mock
+    private RedisScript<Long> stockLoadScript;
+
+    /** 잠금 SET NX / 가용 재고 HGET / stock-load / DEL 만 흉내 내는 인메모리 Redis */
+    private final Map<String, Integer> redis = new ConcurrentHashMap<>();
+
+    private StockCacheLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(redisTemplate.<String, Integer>opsForHash()).thenReturn(hashOps);
+        when(hashOps.get(anyString(), eq("available"))).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+        when(valueOps.setIfAbsent(anyString(), anyInt(), anyLong(), any(TimeUnit.class)))
+                .thenAnswer(inv -> redis.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null);
+        when(redisTemplate.delete(anyString())).thenAnswer(inv -> redis.remove(inv.<String>getArgument(0)) != null);
+        when(scripts.getStockLoad()).thenReturn(stockLoadScript);
+        when(redisTemplate.execute(eq(stockLoadScript), anyList(), any(), any())).thenAnswer(inv -> {
+            String key = inv.<List<String>>getArgument(1).get(0);
+            Integer value = Integer.valueOf(inv.getArgument(2));
+            Integer previous = redis.putIfAbsent(key, value);
+            return (long) (previous != null ? previous : value);
+        });
+
+        loader = new StockCacheLoader(redisTemplate, productRepository, scripts, layoutMigrator);
+        ReflectionTestUtils.setField(loader, "lockTtlMs", 5000L);
+        ReflectionTestUtils.setField(loader, "waitTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(loader, "pollIntervalMs", 5L);
+    }
+
+    @Test
+    @DisplayName("동시 미스 1,000건에도 DB 조회는 한 번")
+    void load_concurrentMissesQueryDatabaseOnce() throws Exception {
+        when(productRepository.findById(1L)).thenAnswer(inv -> {
+            Thread.sleep(50); // 느린 DB: 로딩 중에 나머지 요청이 모두 도착
+            return Optional.of(product(100));
+        });
+
+        int requests = 1_000;
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return loader.load(1L);
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(100);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(productRepository, times(1)).findById(1L);
+        assertThat(redis).containsEntry("stock:{1}", 100).doesNotContainKey("stock:loading:{1}");
+    }
+
+    @Test
+    @DisplayName("다른 노드가 로딩 중이면 DB 조회 없이 채워진 값을 기다림")
+    void load_waitsForOtherNode() throws Exception {
+        redis.put("stock:loading:{1}", 1);
+        Thread otherNode = new Thread(() -> {
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException ignored) {
+                return;
+            }
+            redis.put("stock:{1}", 7);
+            redis.remove("stock:loading:{1}");
+        });
+        otherNode.start();
+
+        assertThat(loader.load(1L)).isEqualTo(7);
+        otherNode.join();
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("로딩 중 다른 경로가 키를 채우면 DB 값으로 덮어쓰지 않음")
+    void load_doesNotOverwriteExistingStock() {
+        when(productRepository.findById(1L)).thenAnswer(inv -> {
+            redis.put("stock:{1}", 95); // 로딩 도중 예약이 반영된 값이 먼저 기록됨
+            return Optional.of(product(100));
+        });
+
+        assertThat(loader.load(1L)).isEqualTo(95);
+        assertThat(redis).containsEntry("stock:{1}", 95);
+    }
+
+    @Test
+    @DisplayName("기존 문자열 키가 남아 있으면 DB 조회 없이 이전된 값 사용")
+    void load_migratesLegacyKeysFirst() {
+        when(layoutMigrator.isEnabled()).thenReturn(true);
+        when(layoutMigrator.migrate(1L)).thenReturn(42);
+
+        assertThat(loader.load(1L)).isEqualTo(42);
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 상품은 null 반환 후 잠금 해제")
+    void load_unknownProductReturnsNull() {
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(loader.load(1L)).isNull();
+        assertThat(redis).isEmpty();
+    }
+
+    private static Product product(int stock) {
+        return Product.builder().id(1L).name("A").price(BigDecimal.TEN).totalStock(stock).build();
+    }
+}
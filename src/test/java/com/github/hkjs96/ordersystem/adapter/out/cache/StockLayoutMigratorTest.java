@@ -0,0 +1,118 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StockLayoutMigratorTest {
+
+    @Mock
+    private RedisTemplate<String, Integer> redisTemplate;
+
+    @Mock
+    private InventoryScripts scripts;
+
+    @Mock
+    private RedisScript<Long> migrateScript;
+
+    private StockLayoutMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        migrator = new StockLayoutMigrator(redisTemplate, scripts);
+        ReflectionTestUtils.setField(migrator, "enabled", true);
+        ReflectionTestUtils.setField(migrator, "batchSize", 500);
+    }
+
+    @Test
+    @DisplayName("기존 키만 골라 상품별로 한 번씩 파이프라인 이전")
+    @SuppressWarnings("unchecked")
+    void migrateAll_migratesLegacyProductsOnce() {
+        Cursor<String> stockKeys = cursor("stock:1", "stock:{2}", "stock:shards", "stock:loading:{3}", "stock:4:0");
+        Cursor<String> reservedKeys = cursor("reserved:1", "reserved:4:1");
+        Cursor<String> leaseKeys = cursor("lease:{2}", "lease:5:revoke");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(stockKeys, reservedKeys, leaseKeys);
+        when(scripts.getMigrateLayout()).thenReturn(migrateScript);
+        when(migrateScript.getScriptAsString()).thenReturn("return 0");
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(10L, 3L, -2L));
+
+        migrator.migrateAll();
+
+        ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).executePipelined(callback.capture());
+        assertThat(migratedProducts(callback.getValue())).containsExactly("1", "4", "5");
+    }
+
+    @Test
+    @DisplayName("비활성화 시 Redis 를 건드리지 않음")
+    void disabled() {
+        ReflectionTestUtils.setField(migrator, "enabled", false);
+
+        migrator.migrateAll();
+
+        assertThat(migrator.migrate(1L)).isNull();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("이전할 기존 키가 없으면 null (DB 로딩으로 진행)")
+    void migrate_nothingToMigrate() {
+        when(scripts.getMigrateLayout()).thenReturn(migrateScript);
+        when(redisTemplate.execute(migrateScript,
+                List.of("stock:{1}", "stock:1", "reserved:1", "lease:1", "lease:1:revoke", "stock:shards"),
+                "1", "86400")).thenReturn(-2L);
+
+        assertThat(migrator.migrate(1L)).isNull();
+    }
+
+    /** 파이프라인 콜백을 실행해 스크립트에 넘긴 productId(ARGV[1]) 목록을 추출 */
+    private static List<String> migratedProducts(RedisCallback<Object> callback) {
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+
+        callback.doInRedis(connection);
+
+        ArgumentCaptor<byte[][]> keysAndArgs = ArgumentCaptor.forClass(byte[][].class);
+        verify(scripting, atLeastOnce()).eval(any(byte[].class), eq(ReturnType.INTEGER), anyInt(), keysAndArgs.capture());
+        List<String> products = new ArrayList<>();
+        for (byte[][] captured : keysAndArgs.getAllValues()) {
+            products.add(new String(captured[6], StandardCharsets.UTF_8));
+        }
+        return products;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(String... keys) {
+        Iterator<String> iterator = List.of(keys).iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(inv -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(inv -> iterator.next());
+        return cursor;
+    }
+}
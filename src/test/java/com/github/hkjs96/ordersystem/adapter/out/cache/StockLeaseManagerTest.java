@@ -0,0 +1,142 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StockLeaseManagerTest {
+
+    @Mock
+    private RedisTemplate<String, Integer> redisTemplate;
+
+    @Mock
+    private InventoryScripts scripts;
+
+    @Mock
+    private RedisScript<Long> acquireScript;
+
+    @Mock
+    private RedisScript<List<Long>> settleScript;
+
+    private StockLeaseManager leaseManager;
+
+    @BeforeEach
+    void setUp() {
+        leaseManager = new StockLeaseManager(redisTemplate, scripts);
+        ReflectionTestUtils.setField(leaseManager, "enabled", true);
+        ReflectionTestUtils.setField(leaseManager, "initialSize", 50);
+        ReflectionTestUtils.setField(leaseManager, "minSize", 10);
+        ReflectionTestUtils.setField(leaseManager, "maxSize", 500);
+        ReflectionTestUtils.setField(leaseManager, "targetLeaseSeconds", 5L);
+        ReflectionTestUtils.setField(leaseManager, "leaseTtlSeconds", 30L);
+        ReflectionTestUtils.setField(leaseManager, "retryBackoffMs", 1000L);
+        leaseManager.enable(1L);
+    }
+
+    @Test
+    @DisplayName("임대 대상이 아닌 상품은 로컬 예약하지 않음")
+    void tryReserve_notLeasable() {
+        assertFalse(leaseManager.tryReserve(2L, 1));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("한 번 임대한 블록 안에서는 Redis 호출 없이 예약")
+    void tryReserve_servesFromLocalLease() {
+        when(scripts.getLeaseAcquire()).thenReturn(acquireScript);
+        when(redisTemplate.execute(eq(acquireScript), anyList(), any(Object[].class))).thenReturn(50L);
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(leaseManager.tryReserve(1L, 2));
+        }
+
+        assertEquals(0, leaseManager.localRemaining(1L));
+        verify(redisTemplate, times(1)).execute(eq(acquireScript), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("임대 불가(재고 하한)면 Redis 경로로 넘기고 재시도 대기")
+    void tryReserve_acquireRefusedFallsBack() {
+        when(scripts.getLeaseAcquire()).thenReturn(acquireScript);
+        when(redisTemplate.execute(eq(acquireScript), anyList(), any(Object[].class))).thenReturn(0L);
+
+        assertFalse(leaseManager.tryReserve(1L, 1));
+        assertFalse(leaseManager.tryReserve(1L, 1));
+
+        verify(redisTemplate, times(1)).execute(eq(acquireScript), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("정산 전 취소는 로컬 임대분으로 반납, 정산 시 판매분만 반영")
+    void release_beforeSettleReturnsToLease() {
+        when(scripts.getLeaseAcquire()).thenReturn(acquireScript);
+        when(scripts.getLeaseSettle()).thenReturn(settleScript);
+        when(redisTemplate.execute(eq(acquireScript), anyList(), any(Object[].class))).thenReturn(50L);
+        when(redisTemplate.execute(eq(settleScript), anyList(), any(Object[].class))).thenReturn(List.of(47L, 0L));
+
+        leaseManager.tryReserve(1L, 5);
+        assertTrue(leaseManager.release(1L, 2));
+        assertFalse(leaseManager.release(1L, 10)); // 정산 대기분보다 많으면 Redis 경로
+
+        leaseManager.settle(1L);
+
+        assertEquals(47, leaseManager.localRemaining(1L));
+        verify(redisTemplate).execute(settleScript,
+                List.of("stock:{1}", "lease:{1}"),
+                ReflectionTestUtils.getField(leaseManager, "nodeId"), 3, 0);
+    }
+
+    @Test
+    @DisplayName("만료 회수된 임대의 늦은 정산: 로컬 잔량은 폐기하고 다음 예약은 새 임대로")
+    void settle_afterLeaseReclaimedDropsLocalLease() {
+        when(scripts.getLeaseAcquire()).thenReturn(acquireScript);
+        when(scripts.getLeaseSettle()).thenReturn(settleScript);
+        when(redisTemplate.execute(eq(acquireScript), anyList(), any(Object[].class))).thenReturn(50L);
+        // 회수된 임대 (-1), 회수분이 이미 다시 팔려 2개는 차감하지 못함 (oversold)
+        when(redisTemplate.execute(eq(settleScript), anyList(), any(Object[].class))).thenReturn(List.of(-1L, 2L));
+
+        leaseManager.tryReserve(1L, 5);
+        leaseManager.settle(1L);
+
+        assertEquals(0, leaseManager.localRemaining(1L));
+        verify(redisTemplate, times(1)).execute(eq(settleScript), anyList(), any(Object[].class));
+
+        assertTrue(leaseManager.tryReserve(1L, 1)); // 폐기된 임대 대신 새로 임대
+        verify(redisTemplate, times(2)).execute(eq(acquireScript), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("임대 무효화: 미정산 판매분을 예약 수량으로 정산한 뒤 임대 기록 삭제 (미사용분은 폐기)")
+    void invalidate_settlesPendingSalesBeforeDeletingLease() {
+        when(scripts.getLeaseAcquire()).thenReturn(acquireScript);
+        when(scripts.getLeaseSettle()).thenReturn(settleScript);
+        when(redisTemplate.execute(eq(acquireScript), anyList(), any(Object[].class))).thenReturn(50L);
+        when(redisTemplate.execute(eq(settleScript), anyList(), any(Object[].class))).thenReturn(List.of(45L, 0L));
+
+        leaseManager.tryReserve(1L, 5);
+        leaseManager.invalidate(1L);
+
+        InOrder inOrder = inOrder(redisTemplate);
+        inOrder.verify(redisTemplate).execute(settleScript,
+                List.of("stock:{1}", "lease:{1}"),
+                ReflectionTestUtils.getField(leaseManager, "nodeId"), 5, 0);
+        inOrder.verify(redisTemplate).delete("lease:{1}");
+        assertEquals(0, leaseManager.localRemaining(1L));
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import com.github.hkjs96.ordersystem.domain.model.ProductStock;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StockReconcilerTest {
+
+    @Mock
+    private RedisTemplate<String, Integer> redisTemplate;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private InventoryScripts scripts;
+
+    @Mock
+    private StockLeaseManager leaseManager;
+
+    @Mock
+    private RedisScript<Long> syncScript;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StockReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new StockReconciler(redisTemplate, productRepository, scripts, leaseManager, meterRegistry);
+        ReflectionTestUtils.setField(reconciler, "enabled", true);
+        ReflectionTestUtils.setField(reconciler, "tickMs", 1000L);
+        ReflectionTestUtils.setField(reconciler, "rowsPerSecond", 100);
+        ReflectionTestUtils.setField(reconciler, "chunkSize", 50);
+        ReflectionTestUtils.setField(reconciler, "graceSeconds", 0L);
+        ReflectionTestUtils.setField(reconciler, "maxSuspects", 100);
+        reconciler.registerMetrics();
+    }
+
+    @Test
+    @DisplayName("어긋남은 처음엔 기록만, 재확인 시 그대로면 version 조건부로 교정 (예약 수량 유지)")
+    @SuppressWarnings("unchecked")
+    void drift_correctedOnlyAfterConfirmation() {
+        List<ProductStock> rows = List.of(new ProductStock(1L, 10, true));
+        when(productRepository.findStockPage(eq(0L), any())).thenReturn(rows);
+        when(productRepository.findStockByIdIn(List.of(1L))).thenReturn(rows);
+        // DB 10 = 가용 + 예약 이어야 하는데 가용 5 + 예약 2 → 3 부족
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(
+                List.of(Arrays.asList(5, 2, 7, null)),
+                List.of(Arrays.asList(5, 2, 7, null)),
+                List.of(Arrays.asList(8, 2, 8, null))); // 교정 후 다음 순회
+
+        reconciler.reconcile();
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+
+        when(scripts.getStockSync()).thenReturn(syncScript);
+        when(redisTemplate.execute(syncScript, List.of("stock:{1}"), "10", "86400", "7")).thenReturn(8L);
+        reconciler.reconcile();
+
+        verify(redisTemplate).execute(syncScript, List.of("stock:{1}"), "10", "86400", "7");
+        assertThat(count("detected")).isEqualTo(1.0);
+        assertThat(count("corrected")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("재확인 사이에 version 이 바뀌면 교정하지 않고 새 상태로 다시 관측")
+    @SuppressWarnings("unchecked")
+    void drift_versionChangedRestartsObservation() {
+        List<ProductStock> rows = List.of(new ProductStock(1L, 10, true));
+        when(productRepository.findStockPage(eq(0L), any())).thenReturn(rows);
+        when(productRepository.findStockByIdIn(List.of(1L))).thenReturn(rows);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(
+                List.of(Arrays.asList(5, 2, 7, null)),
+                List.of(Arrays.asList(4, 3, 8, null)), // 재확인: 그 사이 예약 발생
+                List.of(Arrays.asList(4, 3, 8, null)));
+
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertThat(count("detected")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("일치하는 상품, 임대 상품, 재고 관리 제외, 캐시되지 않은 상품은 교정 대상이 아님")
+    @SuppressWarnings("unchecked")
+    void consistentOrSkippedProducts() {
+        when(leaseManager.isLeasable(2L)).thenReturn(true);
+        when(productRepository.findStockPage(eq(0L), any())).thenReturn(List.of(
+                new ProductStock(1L, 10, true),
+                new ProductStock(2L, 10, true),
+                new ProductStock(3L, 0, false),
+                new ProductStock(4L, 10, true)));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(
+                Arrays.asList(8, 2, 3, null),
+                Arrays.asList(null, null, null, null)));
+
+        reconciler.reconcile();
+
+        assertThat(count("detected")).isZero();
+        assertThat(meterRegistry.get("inventory.reconciliation.suspects").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("주기마다 rows-per-second 예산만큼 키셋 페이지로 읽고, 끝에 닿으면 처음부터 다시")
+    void keysetPagesWithinBudget() {
+        when(productRepository.findStockPage(0L, PageRequest.of(0, 50))).thenReturn(page(1, 50));
+        when(productRepository.findStockPage(50L, PageRequest.of(0, 50))).thenReturn(page(51, 50));
+        when(productRepository.findStockPage(100L, PageRequest.of(0, 50))).thenReturn(page(101, 20));
+
+        reconciler.reconcile(); // 예산 100행: 1~100
+        verify(productRepository, never()).findStockPage(eq(100L), any());
+
+        reconciler.reconcile(); // 101~120 후 순회 완료
+        assertThat(meterRegistry.get("inventory.reconciliation.scanned").counter().count()).isEqualTo(120.0);
+        assertThat(meterRegistry.get("inventory.reconciliation.passes").counter().count()).isEqualTo(1.0);
+        assertThat(ReflectionTestUtils.getField(reconciler, "cursor")).isEqualTo(0L);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("inventory.reconciliation.drift").tag("outcome", outcome).counter().count();
+    }
+
+    private static List<ProductStock> page(long from, int size) {
+        return LongStream.range(from, from + size)
+                .mapToObj(id -> new ProductStock(id, 0, false))
+                .toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StockRefreshAheadTest {
+
+    @Mock
+    private RedisTemplate<String, Integer> redisTemplate;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ShardedStockCounter shardedCounter;
+
+    @Mock
+    private StockCacheLoader stockLoader;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    private StockRefreshAhead refreshAhead;
+
+    @BeforeEach
+    void setUp() {
+        refreshAhead = new StockRefreshAhead(redisTemplate, productRepository, shardedCounter, stockLoader);
+        ReflectionTestUtils.setField(refreshAhead, "enabled", true);
+        ReflectionTestUtils.setField(refreshAhead, "minAccesses", 8);
+        ReflectionTestUtils.setField(refreshAhead, "refreshWindowSeconds", 3600L);
+        ReflectionTestUtils.setField(refreshAhead, "batchSize", 200);
+        ReflectionTestUtils.setField(refreshAhead, "maxTracked", 10_000);
+        ReflectionTestUtils.setField(refreshAhead, "sketchWidth", 1024);
+        refreshAhead.init();
+    }
+
+    @Test
+    @DisplayName("인기 상품의 만료 임박 키는 DB 대조 후 연장")
+    @SuppressWarnings("unchecked")
+    void refresh_extendsHotKeysNearExpiry() {
+        access(1L, 20);
+        access(2L, 20);
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(Arrays.asList(90, 120L, 50, 80_000L)) // 1: 2분 남음, 2: 여유 있음
+                .thenReturn(List.of(true));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(1L, 100)));
+
+        refreshAhead.refresh();
+
+        // 두 번째 파이프라인(만료 연장)을 실행해 키별 EXPIRE 확인
+        ArgumentCaptor<RedisCallback<Object>> pipelines = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate, times(2)).executePipelined(pipelines.capture());
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        pipelines.getAllValues().get(1).doInRedis(connection);
+        verify(keyCommands).expire("stock:{1}".getBytes(StandardCharsets.UTF_8), 86400L);
+        verifyNoMoreInteractions(keyCommands);
+    }
+
+    @Test
+    @DisplayName("접근이 뜸한 상품은 Redis/DB 를 건드리지 않고 추적에서 제외")
+    void refresh_skipsColdProducts() {
+        access(1L, 3);
+
+        refreshAhead.refresh();
+        refreshAhead.refresh();
+
+        verifyNoInteractions(redisTemplate, productRepository);
+    }
+
+    @Test
+    @DisplayName("Redis 재고가 DB 총 재고보다 많으면 연장하지 않음")
+    @SuppressWarnings("unchecked")
+    void refresh_doesNotExtendInconsistentKey() {
+        access(1L, 20);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(Arrays.asList(150, 60L));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(1L, 100)));
+
+        refreshAhead.refresh();
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class)); // 조회만, 연장 없음
+    }
+
+    @Test
+    @DisplayName("이미 만료된 인기 상품은 다음 요청 전에 미리 적재")
+    @SuppressWarnings("unchecked")
+    void refresh_preloadsExpiredHotKey() {
+        access(1L, 20);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(Arrays.asList(null, -2L));
+
+        refreshAhead.refresh();
+
+        verify(stockLoader).load(1L);
+        verifyNoInteractions(productRepository);
+    }
+
+    private void access(Long productId, int times) {
+        for (int i = 0; i < times; i++) {
+            refreshAhead.recordAccess(productId);
+        }
+    }
+
+    private static Product product(Long id, int stock) {
+        return Product.builder().id(id).name("A").price(BigDecimal.TEN).totalStock(stock).build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.hkjs96.ordersystem.adapter.out.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.hkjs96.ordersystem.domain.model.ProductStock;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StockWarmUpTest {
+
+    @Mock
+    private RedisTemplate<String, Integer> redisTemplate;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private InventoryScripts scripts;
+
+    private StockWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        warmUp = new StockWarmUp(redisTemplate, productRepository, scripts);
+        ReflectionTestUtils.setField(warmUp, "enabled", true);
+        ReflectionTestUtils.setField(warmUp, "chunkSize", 2);
+        ReflectionTestUtils.setField(warmUp, "parallelism", 2);
+        ReflectionTestUtils.setField(warmUp, "progressIntervalMs", 5000L);
+    }
+
+    @Test
+    @DisplayName("키셋 페이지마다 파이프라인 1회로 없는 키만 채우고, 무제한 상품은 최대값으로 적재")
+    @SuppressWarnings("unchecked")
+    void warmUp_pipelinesEachKeysetPage() {
+        stubScript();
+        when(productRepository.findStockPage(0L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new ProductStock(1L, 50, true), new ProductStock(2L, 0, false)));
+        when(productRepository.findStockPage(2L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new ProductStock(3L, 30, true)));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(50L, 2147483647L), List.of(30L));
+
+        assertThat(warmUp.warmUp()).isEqualTo(3);
+
+        ArgumentCaptor<RedisCallback<Object>> callbacks = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate, times(2)).executePipelined(callbacks.capture());
+        List<String> loaded = new ArrayList<>();
+        callbacks.getAllValues().forEach(callback -> loaded.addAll(loadedStocks(callback)));
+        assertThat(loaded).containsExactlyInAnyOrder("stock:{1}=50", "stock:{2}=2147483647", "stock:{3}=30");
+    }
+
+    @Test
+    @DisplayName("한 페이지가 실패해도 나머지 페이지는 계속 적재")
+    @SuppressWarnings("unchecked")
+    void warmUp_continuesAfterPageFailure() {
+        stubScript();
+        when(productRepository.findStockPage(0L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new ProductStock(1L, 50, true), new ProductStock(2L, 10, true)));
+        when(productRepository.findStockPage(2L, PageRequest.of(0, 2))).thenReturn(List.of());
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new IllegalStateException("redis down"));
+
+        assertThat(warmUp.warmUp()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("비활성화 시 DB/Redis 를 건드리지 않음")
+    void disabled() {
+        ReflectionTestUtils.setField(warmUp, "enabled", false);
+
+        assertThat(warmUp.warmUp()).isZero();
+        verifyNoInteractions(redisTemplate, productRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubScript() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn("sha");
+    }
+
+    /** 파이프라인 콜백을 실행해 EVALSHA 로 보낸 "키=재고" 목록을 추출 */
+    private static List<String> loadedStocks(RedisCallback<Object> callback) {
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+
+        callback.doInRedis(connection);
+
+        ArgumentCaptor<byte[][]> keysAndArgs = ArgumentCaptor.forClass(byte[][].class);
+        verify(scripting, atLeastOnce()).evalSha(any(byte[].class), eq(ReturnType.INTEGER), eq(1), keysAndArgs.capture());
+        List<String> loaded = new ArrayList<>();
+        for (byte[][] captured : keysAndArgs.getAllValues()) {
+            loaded.add(new String(captured[0], StandardCharsets.UTF_8) + "=" + new String(captured[1], StandardCharsets.UTF_8));
+        }
+        return loaded;
+    }
+}
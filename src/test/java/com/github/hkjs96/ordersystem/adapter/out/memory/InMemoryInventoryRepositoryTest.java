@@ -0,0 +1,237 @@
+package com.github.hkjs96.ordersystem.adapter.out.memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.hkjs96.ordersystem.adapter.out.persistence.StockConfirmationWriteBehind;
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.domain.model.StockStatus;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import com.github.hkjs96.ordersystem.exception.InsufficientStockException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryInventoryRepositoryTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockConfirmationWriteBehind writeBehind;
+
+    private InMemoryInventoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryInventoryRepository(productRepository, writeBehind);
+        ReflectionTestUtils.setField(repository, "maxProducts", 1_000);
+        ReflectionTestUtils.setField(repository, "reservationTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(repository, "processedEventsMax", 1_000);
+        repository.init();
+    }
+
+    @Test
+    @DisplayName("같은 eventId 의 재고 복원은 한 번만 반영")
+    void releaseStockOnce_skipsProcessedEvents() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)));
+        assertTrue(repository.tryReserve(1L, 5).isReserved());
+
+        assertEquals(3, repository.releaseStockOnce(1L, Map.of("evt-1", 3)));
+        assertEquals(0, repository.releaseStockOnce(1L, Map.of("evt-1", 3))); // 재전달
+        assertEquals(2, repository.releaseStockOnce(1L, Map.of("evt-1", 3, "evt-2", 2)));
+
+        assertEquals(10, repository.getStockStatus(1L).redisStock());
+    }
+
+    @Test
+    @DisplayName("복원이 실패하면 처리 완료로 기록하지 않아 재시도 때 다시 반영")
+    void releaseStockOnce_failedReleaseIsRetried() {
+        InMemoryInventoryRepository failing = spy(repository);
+        doThrow(new IllegalStateException("db down")).doCallRealMethod().when(failing).releaseStock(1L, 3);
+
+        assertThrows(IllegalStateException.class, () -> failing.releaseStockOnce(1L, Map.of("evt-1", 3)));
+        assertEquals(3, failing.releaseStockOnce(1L, Map.of("evt-1", 3)));
+        assertEquals(0, failing.releaseStockOnce(1L, Map.of("evt-1", 3)));
+    }
+
+    @Test
+    @DisplayName("동시 예약 시 DB 는 한 번만 조회하고 재고 이상 예약하지 않음")
+    void tryReserve_concurrentLoadsOnceAndNeverOversells() throws InterruptedException {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 500)));
+
+        int threads = 32;
+        int perThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    if (repository.tryReserve(1L, 1).isReserved()) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(500, reserved.get());
+        verify(productRepository, times(1)).findById(1L);
+        StockStatus status = repository.getStockStatus(1L);
+        assertEquals(0, status.redisStock());
+        assertEquals(500, status.reservedStock());
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 상품은 UNKNOWN_PRODUCT, 가용성 false")
+    void unknownProduct() {
+        when(productRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertEquals(ReservationResult.Status.UNKNOWN_PRODUCT, repository.tryReserve(9L, 1).status());
+        assertFalse(repository.isStockAvailable(9L, 1));
+    }
+
+    @Test
+    @DisplayName("일괄 예약은 한 라인이라도 부족하면 앞선 라인을 되돌림")
+    void reserveStockBatch_allOrNothing() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)));
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product(2L, 1)));
+
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        lines.put(1L, 3);
+        lines.put(2L, 2);
+        ReservationResult result = repository.reserveStockBatch(lines);
+
+        assertEquals(ReservationResult.Status.INSUFFICIENT, result.status());
+        assertEquals(2L, result.productId());
+        assertEquals(10, repository.getStockStatus(1L).redisStock());
+        assertEquals(0, repository.getStockStatus(1L).reservedStock());
+    }
+
+    @Test
+    @DisplayName("주문 예약 복원은 한 번만 반영")
+    void releaseReservation_restoresOnce() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)));
+        repository.reserveStock(1L, 4);
+        repository.trackReservation(100L, Map.of(1L, 4));
+
+        assertEquals(4, repository.releaseReservation(100L, 1L));
+        assertEquals(0, repository.releaseReservation(100L, 1L));
+        assertEquals(10, repository.getStockStatus(1L).redisStock());
+        assertEquals(0, repository.getStockStatus(1L).reservedStock());
+    }
+
+    @Test
+    @DisplayName("만료된 예약만 조회하고 일괄 복원")
+    void expiredReservations() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)));
+        repository.reserveStock(1L, 2);
+        repository.trackReservation(100L, Map.of(1L, 2));
+        repository.reserveStock(1L, 3);
+        ReflectionTestUtils.setField(repository, "reservationTtlSeconds", -1L);
+        repository.trackReservation(200L, Map.of(1L, 3));
+
+        assertEquals(List.of(200L), repository.findExpiredReservations(10));
+        assertEquals(3, repository.releaseReservations(List.of(200L)));
+        assertTrue(repository.findExpiredReservations(10).isEmpty());
+        assertEquals(8, repository.getStockStatus(1L).redisStock());
+    }
+
+    @Test
+    @DisplayName("결제 확정 시 DB 차감 후 예약 기록과 예약 수량 정리")
+    void confirmSale_clearsReservation() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)));
+        when(productRepository.decrementStock(1L, 4)).thenReturn(1);
+        repository.reserveStock(1L, 4);
+        repository.trackReservation(100L, Map.of(1L, 4));
+
+        repository.confirmSale(1L, 4, 100L);
+
+        assertEquals(0, repository.releaseReservation(100L, 1L));
+        assertEquals(6, repository.getStockStatus(1L).redisStock());
+        assertEquals(0, repository.getStockStatus(1L).reservedStock());
+    }
+
+    @Test
+    @DisplayName("DB 재고가 부족하면 예약을 유지한 채 동기화 후 예외")
+    void confirmSale_insufficientDbStockSyncs() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)), Optional.of(product(1L, 3)));
+        when(productRepository.decrementStock(1L, 4)).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
+        repository.reserveStock(1L, 4);
+
+        assertThrows(InsufficientStockException.class, () -> repository.confirmSale(1L, 4, 100L));
+        assertEquals(0, repository.getStockStatus(1L).redisStock()); // 3 - 예약 4 → 0
+        assertEquals(4, repository.getStockStatus(1L).reservedStock());
+    }
+
+    @Test
+    @DisplayName("주문 전체 확정: 한 라인이라도 DB 재고가 부족하면 어떤 라인의 예약도 정리하지 않음")
+    void confirmSales_insufficientLineKeepsAllReservations() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)));
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product(2L, 10)), Optional.of(product(2L, 3)));
+        repository.reserveStock(1L, 2);
+        repository.reserveStock(2L, 4);
+        repository.trackReservation(100L, Map.of(1L, 2, 2L, 4));
+        when(writeBehind.confirmOrder(100L, Map.of(1L, 2, 2L, 4))).thenReturn(ReservationResult.insufficient(2L));
+
+        assertEquals(ReservationResult.Status.INSUFFICIENT, repository.confirmSales(100L, Map.of(1L, 2, 2L, 4)).status());
+
+        assertEquals(2, repository.getStockStatus(1L).reservedStock());
+        assertEquals(4, repository.getStockStatus(2L).reservedStock());
+        assertEquals(2, repository.releaseReservation(100L, 1L)); // 예약 기록도 그대로
+    }
+
+    @Test
+    @DisplayName("여러 상품 상태는 DB 를 한 번만 조회하고 없는 상품은 생략")
+    void getStockStatuses_singleQuery() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)));
+        repository.tryReserve(1L, 3);
+        when(productRepository.findAllById(List.of(1L, 9L, 2L))).thenReturn(List.of(product(2L, 5), product(1L, 10)));
+
+        List<StockStatus> statuses = repository.getStockStatuses(List.of(1L, 9L, 2L));
+
+        assertEquals(List.of(new StockStatus(1L, 10, 7, 3), new StockStatus(2L, 5, 0, 0)), statuses);
+    }
+
+    @Test
+    @DisplayName("여러 상품 가용성은 요청 순서대로, 없는 상품은 false")
+    void checkAvailability_preservesOrder() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 10)));
+        when(productRepository.findById(2L)).thenReturn(Optional.empty());
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(2L, 1);
+        quantities.put(1L, 10);
+        Map<Long, Boolean> result = repository.checkAvailability(quantities);
+
+        assertEquals(List.of(2L, 1L), List.copyOf(result.keySet()));
+        assertEquals(List.of(false, true), List.copyOf(result.values()));
+    }
+
+    private static Product product(Long id, int stock) {
+        return Product.builder().id(id).name("P" + id).price(BigDecimal.TEN).totalStock(stock).build();
+    }
+}
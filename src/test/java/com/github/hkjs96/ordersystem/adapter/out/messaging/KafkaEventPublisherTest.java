@@ -27,7 +27,7 @@ class KafkaEventPublisherTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         // topic 은 생성자 인자로 주입되어야 하므로 직접 설정
-        publisher = new KafkaEventPublisher(kafkaTemplate, objectMapper, topic);
+        publisher = new KafkaEventPublisher(kafkaTemplate, objectMapper, topic, "inventory-events");
     }
 
     @Test
@@ -35,14 +35,15 @@ class KafkaEventPublisherTest {
     void publishOrderEvent_sendsToKafka() {
         OrderEvent event = new OrderEvent(42L,
                 com.github.hkjs96.ordersystem.domain.model.OrderStatus.CREATED,
-                Instant.parse("2025-05-19T10:15:30Z"));
+                Instant.parse("2025-05-19T10:15:30Z"),
+                "evt-42");
 
         publisher.publishOrderEvent(event);
 
         String expectedKey = "42";
         String expectedPayload = String.format(
-                "{\"orderId\":%d,\"status\":\"%s\",\"timestamp\":\"%s\"}",
-                42, "CREATED", "2025-05-19T10:15:30Z"
+                "{\"orderId\":%d,\"status\":\"%s\",\"timestamp\":\"%s\",\"eventId\":\"%s\"}",
+                42, "CREATED", "2025-05-19T10:15:30Z", "evt-42"
         );
 
         verify(kafkaTemplate).send(topic, expectedKey, expectedPayload);
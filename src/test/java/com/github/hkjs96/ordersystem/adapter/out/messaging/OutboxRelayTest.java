@@ -0,0 +1,151 @@
+package com.github.hkjs96.ordersystem.adapter.out.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.hkjs96.ordersystem.domain.event.InventoryEvent;
+import com.github.hkjs96.ordersystem.domain.model.OrderEvent;
+import com.github.hkjs96.ordersystem.domain.model.OrderStatus;
+import com.github.hkjs96.ordersystem.domain.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@Import({OutboxEventPublisher.class, OutboxRelay.class, OutboxRelayTest.Support.class})
+@TestPropertySource(properties = {
+        "ordersystem.outbox.enabled=true",
+        "ordersystem.outbox.relay.enabled=true",
+        "ordersystem.outbox.relay.batch-size=2",
+        "ordersystem.kafka.topics.order-events=order-events",
+        "ordersystem.kafka.topics.inventory-events=inventory-events"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @TestConfiguration
+    static class Support {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().registerModule(new JavaTimeModule());
+        }
+    }
+
+    @MockitoBean
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private OutboxEventPublisher publisher;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("커밋된 이벤트만 기록 순으로 묶음 전송 후 삭제, 롤백된 트랜잭션의 이벤트는 나가지 않음")
+    void relaysOnlyCommittedEventsInOrder() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            publisher.publishOrderEvent(new OrderEvent(1L, OrderStatus.CREATED));
+            publisher.publishOrderEvent(new OrderEvent(1L, OrderStatus.PAYMENT_REQUESTED));
+        });
+        tx.executeWithoutResult(status -> {
+            publisher.publishOrderEvent(new OrderEvent(2L, OrderStatus.CREATED));
+            status.setRollbackOnly();
+        });
+        tx.executeWithoutResult(status -> publisher.publishOrderEvent(new OrderEvent(3L, OrderStatus.CREATED)));
+
+        relay.relay();
+
+        InOrder order = inOrder(kafkaTemplate);
+        order.verify(kafkaTemplate).send(eq("order-events"), eq("1"), contains("\"CREATED\""));
+        order.verify(kafkaTemplate).send(eq("order-events"), eq("1"), contains("\"PAYMENT_REQUESTED\""));
+        order.verify(kafkaTemplate).send(eq("order-events"), eq("3"), anyString());
+        verify(kafkaTemplate, never()).send(anyString(), eq("2"), anyString());
+        verify(kafkaTemplate, times(2)).flush(); // batch-size 2 → 두 묶음
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("한 키의 전송이 실패하면 그 키의 행은 모두 남기고 다른 키의 행만 삭제")
+    void keepsEveryRowOfFailedKey() {
+        tx(() -> {
+            publisher.publishOrderEvent(new OrderEvent(1L, OrderStatus.CREATED));
+            publisher.publishOrderEvent(new OrderEvent(2L, OrderStatus.CREATED));
+        });
+        tx(() -> publisher.publishOrderEvent(new OrderEvent(1L, OrderStatus.PAYMENT_REQUESTED)));
+        when(kafkaTemplate.send(eq("order-events"), eq("1"), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send(eq("order-events"), eq("2"), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.relay();
+
+        assertThat(outboxRepository.findAll())
+                .extracting(event -> event.getEventKey())
+                .containsExactly("1", "1"); // 실패한 CREATED + 아직 읽지 않은 PAYMENT_REQUESTED
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), anyString()); // 실패 후 이번 주기 중단
+    }
+
+    @Test
+    @DisplayName("재고 확정 이벤트도 같은 트랜잭션으로 기록 → 롤백된 결제의 STOCK_CONFIRMED 는 나가지 않음")
+    void relaysInventoryEventsOnlyAfterCommit() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        tx(() -> publisher.publishInventoryEvent(InventoryEvent.stockConfirmed(1L, 7L, 2)));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            publisher.publishInventoryEvent(InventoryEvent.stockConfirmed(2L, 8L, 1));
+            status.setRollbackOnly();
+        });
+
+        relay.relay();
+
+        verify(kafkaTemplate).send(eq("inventory-events"), eq("7"), contains("\"STOCK_CONFIRMED\""));
+        verify(kafkaTemplate, never()).send(anyString(), eq("8"), anyString());
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private void tx(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.hkjs96.ordersystem.adapter.out.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class RetryTopicRouterTest {
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private RetryTopicRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new RetryTopicRouter(kafkaTemplate);
+        ReflectionTestUtils.setField(router, "enabled", true);
+        ReflectionTestUtils.setField(router, "stages", 3);
+        ReflectionTestUtils.setField(router, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(router, "multiplier", 4.0);
+        ReflectionTestUtils.setField(router, "maxBackoffMs", 10000L);
+        ReflectionTestUtils.setField(router, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(router, "orderTopic", "order-events");
+        ReflectionTestUtils.setField(router, "inventoryTopic", "inventory-events");
+    }
+
+    @Test
+    @DisplayName("단계마다 대기 시간이 지수로 늘고 상한에서 멈춤")
+    void exponentialBackoff() {
+        assertThat(router.backoffMs(1)).isEqualTo(1000);
+        assertThat(router.backoffMs(2)).isEqualTo(4000);
+        assertThat(router.backoffMs(3)).isEqualTo(10000);
+    }
+
+    @Test
+    @DisplayName("원본 실패 → 1단계, 재시도 실패 → 다음 단계, 마지막 단계 실패 → DLQ (키/원본 토픽 유지)")
+    void routesThroughStagesToDeadLetter() {
+        sendSucceeds();
+        ConsumerRecord<String, String> original = new ConsumerRecord<>("order-events", 0, 5, "42", "{}");
+
+        router.route(original, new IllegalStateException("db down"));
+        ProducerRecord<String, String> first = lastSent();
+        assertThat(first.topic()).isEqualTo("order-events-retry-1");
+        assertThat(first.key()).isEqualTo("42");
+        assertThat(header(first, RetryTopicRouter.ATTEMPT_HEADER)).isEqualTo("1");
+        assertThat(Long.parseLong(header(first, RetryTopicRouter.DUE_AT_HEADER)))
+                .isGreaterThan(System.currentTimeMillis());
+
+        ConsumerRecord<String, String> lastStage = new ConsumerRecord<>("order-events-retry-3", 0, 0, "42", "{}");
+        lastStage.headers().add(RetryTopicRouter.ATTEMPT_HEADER, "3".getBytes(StandardCharsets.UTF_8));
+        lastStage.headers().add(RetryTopicRouter.ORIGINAL_TOPIC_HEADER, "order-events".getBytes(StandardCharsets.UTF_8));
+        router.route(lastStage, new IllegalStateException("db down"));
+        assertThat(lastSent().topic()).isEqualTo("order-events-dlq");
+    }
+
+    @Test
+    @DisplayName("JSON 오류는 재시도 없이 바로 DLQ")
+    void poisonMessageGoesStraightToDeadLetter() {
+        sendSucceeds();
+
+        router.route(new ConsumerRecord<>("inventory-events", 0, 0, "1", "not-json"),
+                new JsonParseException(null, "bad json"));
+
+        assertThat(lastSent().topic()).isEqualTo("inventory-events-dlq");
+    }
+
+    @Test
+    @DisplayName("재시도 토픽 전송이 실패하면 예외 (원래 레코드를 ack 하지 않도록)")
+    void failsWhenRetryTopicSendFails() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertThatThrownBy(() -> router.route(new ConsumerRecord<>("order-events", 0, 0, "1", "{}"),
+                new IllegalStateException("db down")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sendSucceeds() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, String> lastSent() {
+        ArgumentCaptor<ProducerRecord<String, String>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, atLeastOnce()).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static String header(ProducerRecord<String, String> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
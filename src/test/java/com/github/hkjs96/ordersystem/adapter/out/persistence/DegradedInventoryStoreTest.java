@@ -0,0 +1,167 @@
+package com.github.hkjs96.ordersystem.adapter.out.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.domain.repository.DegradedStockWorkRepository;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import com.github.hkjs96.ordersystem.exception.ReservationFailedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Import({DegradedInventoryStore.class, DegradedInventoryStoreTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DegradedInventoryStoreTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private DegradedInventoryStore store;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DegradedStockWorkRepository workRepository;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    private Long productA;
+    private Long productB;
+
+    @BeforeEach
+    void setUp() {
+        productA = productRepository.save(Product.builder()
+                .name("A").price(BigDecimal.TEN).totalStock(10).build()).getId();
+        productB = productRepository.save(Product.builder()
+                .name("B").price(BigDecimal.TEN).totalStock(2).build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("장바구니 예약 중 한 라인이 부족하면 롤백하고 해당 상품 반환, 복구 작업도 남기지 않음")
+    void reserveBatch_rollsBackOnInsufficientLine() {
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        lines.put(productB, 5);
+        lines.put(productA, 1);
+
+        ReservationResult result = store.reserveBatch(lines);
+
+        assertThat(result.status()).isEqualTo(ReservationResult.Status.INSUFFICIENT);
+        assertThat(result.productId()).isEqualTo(productB);
+        assertThat(reserved(productA)).isZero();
+        assertThat(store.hasPendingWork()).isFalse();
+    }
+
+    @Test
+    @DisplayName("장애 중 DB 에 잡은 예약은 다른 노드(재시작 후)에서도 복원/확정, Redis 에 잡힌 예약의 확정은 복구 시 재생")
+    void releaseAndConfirm_survivesNodeChange() {
+        store.reserve(productA, 2);
+        store.reserve(productB, 1);
+        store.track(10L, Map.of(productA, 2, productB, 1));
+        store.track(11L, Map.of(productA, 4)); // 장애 전 Redis 에 잡힌 예약
+
+        // 메모리 상태 없이 DB 행만 공유하는 다른 노드
+        DegradedInventoryStore otherNode = newNode();
+        assertThat(otherNode.releaseReservation(10L, productA)).isEqualTo(2);
+        assertThat(otherNode.releaseReservation(11L, productA)).isZero(); // 복구 후 리퍼가 복원
+        otherNode.confirm(productB, 1, 10L);
+        otherNode.confirm(productA, 3, 12L);
+
+        assertThat(reserved(productA)).isZero();
+        assertThat(reserved(productB)).isZero();
+
+        List<DegradedInventoryStore.PendingConfirm> replayed = new ArrayList<>();
+        store.replayConfirms(replayed::add);
+        assertThat(replayed).containsExactly(new DegradedInventoryStore.PendingConfirm(productA, 3, 12L));
+
+        Map<Long, Map<Long, Integer>> tracked = new LinkedHashMap<>();
+        store.replayTracks(tracked::put);
+        assertThat(tracked).containsExactly(Map.entry(11L, Map.of(productA, 4)));
+    }
+
+    @Test
+    @DisplayName("재동기화: DB 예약분을 이관하고 주문 라인은 Redis 예약 기록 재생 대상으로, 실패한 상품은 다음 회차에 남음")
+    void replayDirtyProducts_absorbsAndKeepsFailedProduct() {
+        store.reserve(productA, 3);
+        store.track(10L, Map.of(productA, 3));
+        store.reserve(productB, 1); // 주문 기록 전에 노드가 멈춘 예약
+
+        List<Long> resynced = new ArrayList<>();
+        assertThatThrownBy(() -> store.replayDirtyProducts(product -> {
+            if (product.getId().equals(productB)) {
+                throw new IllegalStateException("redis down");
+            }
+            assertThat(product.getReservedStock()).isEqualTo(3);
+            resynced.add(product.getId());
+        })).isInstanceOf(IllegalStateException.class);
+        store.replayDirtyProducts(product -> resynced.add(product.getId()));
+
+        assertThat(resynced).containsExactlyInAnyOrder(productA, productB);
+        assertThat(reserved(productA)).isZero();
+        assertThat(reserved(productB)).isZero();
+        assertThat(store.releaseReservation(10L, productA)).isZero(); // 이제 Redis 에 잡힌 예약
+
+        Map<Long, Map<Long, Integer>> tracked = new LinkedHashMap<>();
+        store.replayTracks(tracked::put);
+        assertThat(tracked).containsExactly(Map.entry(10L, Map.of(productA, 3)));
+        assertThat(store.hasPendingWork()).isFalse();
+    }
+
+    @Test
+    @DisplayName("보관 작업이 max-pending 에 도달하면 새 예약 거절")
+    void reserve_rejectsWhenPendingFull() {
+        ReflectionTestUtils.setField(store, "maxPending", 1);
+        try {
+            store.reserve(productA, 1);
+
+            assertThatThrownBy(() -> store.reserve(productA, 1))
+                    .isInstanceOf(ReservationFailedException.class);
+            assertThat(reserved(productA)).isEqualTo(1);
+        } finally {
+            ReflectionTestUtils.setField(store, "maxPending", 100_000);
+        }
+    }
+
+    private DegradedInventoryStore newNode() {
+        return beanFactory.createBean(DegradedInventoryStore.class);
+    }
+
+    private int reserved(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getReservedStock();
+    }
+}
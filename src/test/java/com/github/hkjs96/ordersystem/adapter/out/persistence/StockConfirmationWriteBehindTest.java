@@ -0,0 +1,180 @@
+package com.github.hkjs96.ordersystem.adapter.out.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.entity.StockConfirmation;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import com.github.hkjs96.ordersystem.domain.repository.StockConfirmationRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Import({StockConfirmationWriteBehind.class, StockConfirmationWriteBehindTest.Metrics.class})
+@TestPropertySource(properties = {
+        "ordersystem.inventory.write-behind.enabled=true",
+        "ordersystem.inventory.write-behind.flush-max-events=1000000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockConfirmationWriteBehindTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private StockConfirmationWriteBehind writeBehind;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockConfirmationRepository journal;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productId = productRepository.save(Product.builder()
+                .name("hot").price(BigDecimal.TEN).totalStock(1_000).build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("버퍼된 확정분을 상품별 합산 UPDATE 한 번으로 반영하고 저널 삭제")
+    void flush_coalescesPerProduct() {
+        DistributionSummary flushSize = meterRegistry.get("inventory.write_behind.flush.size").summary();
+        long flushesBefore = flushSize.count();
+        double eventsBefore = flushSize.totalAmount();
+        for (long orderId = 1; orderId <= 100; orderId++) {
+            writeBehind.enqueue(productId, 2, orderId);
+        }
+        assertThat(journal.count()).isEqualTo(100);
+
+        writeBehind.flush();
+
+        assertThat(productRepository.findById(productId).orElseThrow().getTotalStock()).isEqualTo(800);
+        assertThat(journal.count()).isZero();
+        assertThat(flushSize.count() - flushesBefore).isEqualTo(1);
+        assertThat(flushSize.totalAmount() - eventsBefore).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("버퍼가 유실되어도 저널에 남은 확정분은 기동 시 복구")
+    void recoverOnStartup_appliesLeftoverJournal() {
+        for (long orderId = 1; orderId <= 10; orderId++) {
+            journal.save(StockConfirmation.builder().productId(productId).orderId(orderId).quantity(3).build());
+        }
+
+        writeBehind.recoverOnStartup();
+        writeBehind.recoverOnStartup(); // 이미 반영된 저널은 다시 반영되지 않음
+
+        assertThat(productRepository.findById(productId).orElseThrow().getTotalStock()).isEqualTo(970);
+        assertThat(journal.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("합계로는 재고가 부족하면 건별로 가능한 만큼만 반영하고 나머지는 실패로 표시해 저널에 남김")
+    void recover_insufficientSumKeepsFailedEntry() {
+        double failedBefore = meterRegistry.get("inventory.write_behind.failed").counter().count();
+        // 동시에 커밋되어 기록 시점 확인을 서로 통과한 두 확정분
+        journal.save(StockConfirmation.builder().productId(productId).orderId(1L).quantity(600).build());
+        journal.save(StockConfirmation.builder().productId(productId).orderId(2L).quantity(600).build());
+
+        writeBehind.recoverOnStartup();
+        writeBehind.recoverOnStartup(); // 실패로 표시된 행은 다시 반영하지 않음
+
+        assertThat(productRepository.findById(productId).orElseThrow().getTotalStock()).isEqualTo(400);
+        assertThat(journal.countByFailedAtIsNotNull()).isEqualTo(1);
+        StockConfirmation failed = journal.findAll().get(0);
+        assertThat(failed.getOrderId()).isEqualTo(2L);
+        assertThat(failed.getQuantity()).isEqualTo(600);
+        assertThat(meterRegistry.get("inventory.write_behind.failed").counter().count() - failedBefore).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("기록 시점에 미반영 확정분을 뺀 DB 재고가 부족하면 기록하지 않음")
+    void enqueue_rejectsWhenPendingConfirmationsExhaustStock() {
+        assertThat(writeBehind.enqueue(productId, 600, 1L)).isTrue();
+        assertThat(writeBehind.enqueue(productId, 600, 2L)).isFalse();
+        assertThat(writeBehind.enqueue(productId, 400, 3L)).isTrue();
+        assertThat(writeBehind.enqueue(999_999L, 1, 4L)).isFalse(); // 없는 상품
+
+        writeBehind.flush();
+
+        assertThat(productRepository.findById(productId).orElseThrow().getTotalStock()).isZero();
+        assertThat(journal.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("주문 전체 확정: 한 라인이라도 부족하면 어떤 라인도 기록하지 않고 주문 라인을 실패로 남김")
+    void confirmOrder_insufficientLineRecordsNothingButFailure() {
+        Long otherId = product(5);
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        lines.put(productId, 2);
+        lines.put(otherId, 6);
+
+        ReservationResult result = writeBehind.confirmOrder(1L, lines);
+
+        assertThat(result.status()).isEqualTo(ReservationResult.Status.INSUFFICIENT);
+        assertThat(result.productId()).isEqualTo(otherId);
+        assertThat(journal.count()).isEqualTo(2);
+        assertThat(journal.countByFailedAtIsNotNull()).isEqualTo(2);
+        writeBehind.flush();
+        assertThat(productRepository.findById(productId).orElseThrow().getTotalStock()).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("주문 전체 확정 (쓰기 지연 비활성화): 상품 행을 잠가 모든 라인을 확인한 뒤 바로 차감")
+    void confirmOrder_withoutWriteBehindDecrementsAllLines() {
+        Long otherId = product(5);
+        ReflectionTestUtils.setField(writeBehind, "enabled", false);
+        try {
+            assertThat(writeBehind.confirmOrder(1L, Map.of(productId, 2, otherId, 5)).isReserved()).isTrue();
+            assertThat(writeBehind.confirmOrder(2L, Map.of(productId, 2, otherId, 1)).status())
+                    .isEqualTo(ReservationResult.Status.INSUFFICIENT);
+        } finally {
+            ReflectionTestUtils.setField(writeBehind, "enabled", true);
+        }
+
+        assertThat(productRepository.findById(productId).orElseThrow().getTotalStock()).isEqualTo(998);
+        assertThat(productRepository.findById(otherId).orElseThrow().getTotalStock()).isZero();
+        assertThat(journal.countByFailedAtIsNotNull()).isEqualTo(2);
+    }
+
+    private Long product(int stock) {
+        return productRepository.save(Product.builder()
+                .name("other").price(BigDecimal.TEN).totalStock(stock).build()).getId();
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.hkjs96.ordersystem.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 결제 확정 DB 차감 벤치마크: 조회-수정-저장 vs 조건부 UPDATE
+ *
+ * 실행: gradle benchmark --tests '*ConfirmSaleBenchmark'
+ * 조회-수정-저장은 동시 결제에서 갱신이 유실되고, 조건부 UPDATE 는 유실 없이 더 많은 확정을 처리합니다.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConfirmSaleBenchmark {
+
+    private static final int INITIAL_STOCK = 1_000_000;
+    private static final int THREADS = 16;
+    private static final int CONFIRMS_PER_THREAD = 2_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("기존 방식: 엔티티 조회 → 재고 확인 → setTotalStock → save")
+    void loadModifySave() throws InterruptedException {
+        Long productId = saveProduct();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        int confirmed = run("load-modify-save", productId, id -> Boolean.TRUE.equals(tx.execute(status -> {
+            Product product = productRepository.findById(id).orElseThrow();
+            if (product.getTotalStock() < 1) {
+                return false;
+            }
+            product.setTotalStock(product.getTotalStock() - 1);
+            productRepository.save(product);
+            return true;
+        })));
+
+        int lost = confirmed - (INITIAL_STOCK - currentStock(productId));
+        System.out.printf("[load-modify-save] lostUpdates=%d%n", lost);
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE: total_stock >= :qty 일 때만 차감")
+    void conditionalUpdate() throws InterruptedException {
+        Long productId = saveProduct();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        int confirmed = run("conditional-update", productId,
+                id -> Integer.valueOf(1).equals(tx.execute(status -> productRepository.decrementStock(id, 1))));
+
+        // 갱신 유실 없음: 확정 수량 = DB 차감 수량
+        assertThat(INITIAL_STOCK - currentStock(productId)).isEqualTo(confirmed);
+    }
+
+    private int run(String label, Long productId, LongPredicate confirm) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        AtomicInteger confirmed = new AtomicInteger();
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < CONFIRMS_PER_THREAD; i++) {
+                        if (confirm.test(productId)) {
+                            confirmed.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    // 낙관적 잠금 충돌 등은 확정 실패로 집계
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await(5, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - begin;
+        executor.shutdown();
+
+        System.out.printf("[%s] confirmed=%d, elapsed=%dms, throughput=%.0f confirms/s%n",
+                label, confirmed.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                confirmed.get() / (elapsedNanos / 1e9));
+        return confirmed.get();
+    }
+
+    private Long saveProduct() {
+        return productRepository.save(Product.builder()
+                .name("hot").price(BigDecimal.TEN).totalStock(INITIAL_STOCK).build()).getId();
+    }
+
+    private int currentStock(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getTotalStock();
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.hkjs96.ordersystem.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+
+import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryRedisClient;
+import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryRedisCodec;
+import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryScripts;
+import com.github.hkjs96.ordersystem.adapter.out.cache.StockKeys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 재고 Redis 호출 연산당 할당량 벤치마크: RedisTemplate 직렬화 vs InventoryRedisCodec
+ *
+ * 실행: gradle benchmark --tests '*InventoryRedisCodecBenchmark'
+ * 호출 스레드의 할당 바이트(ThreadMXBean)를 연산 수로 나눠 비교합니다.
+ * 한 연산 = 재고 키 + 수량 인자 직렬화 + 정수 응답 해석 (상품 1,000개 순환)
+ * 왕복 측정(예약 + 복원)은 Docker 가 있을 때만 실행됩니다. Netty I/O 스레드 할당은 포함되지 않습니다.
+ */
+@Tag("benchmark")
+class InventoryRedisCodecBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int INITIAL_STOCK = 1_000_000;
+    private static final int WARMUP_OPS = 200_000;
+    private static final int CODEC_OPS = 2_000_000;
+    private static final int REDIS_OPS = 50_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("직렬화 경로 연산당 할당량")
+    void serialization() {
+        StringRedisSerializer keySerializer = new StringRedisSerializer();
+        GenericToStringSerializer<Integer> argSerializer = new GenericToStringSerializer<>(Integer.class);
+        GenericToStringSerializer<Long> replySerializer = new GenericToStringSerializer<>(Long.class);
+        byte[] reply = "999".getBytes();
+        InventoryRedisCodec codec = new InventoryRedisCodec(PRODUCTS);
+
+        // 현재 템플릿: 키 문자열 조립 → UTF-8 인코딩, 수량 Integer → 문자열 → 바이트, 응답 바이트 → 문자열 → Long
+        double template = bytesPerOp(CODEC_OPS, i -> {
+            byte[] key = keySerializer.serialize(StockKeys.stock(i % PRODUCTS));
+            byte[] arg = argSerializer.serialize((int) (i & 7) + 1);
+            return key.length + arg.length + replySerializer.deserialize(reply);
+        });
+        double bytes = bytesPerOp(CODEC_OPS, i -> {
+            byte[] key = codec.stockKey(i % PRODUCTS);
+            byte[] arg = InventoryRedisCodec.encode((i & 7) + 1);
+            return key.length + arg.length + InventoryRedisCodec.decode(reply);
+        });
+
+        System.out.printf("[serialization] template=%.1f B/op, codec=%.1f B/op%n", template, bytes);
+        assertThat(bytes).isLessThan(template);
+    }
+
+    @Test
+    @DisplayName("Redis 왕복 연산당 할당량 (예약 + 복원)")
+    void redisRoundTrip() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker 없음: Redis 측정 생략");
+
+        try (GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+                .withExposedPorts(6379)) {
+            redis.start();
+            LettuceConnectionFactory connectionFactory =
+                    new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+            connectionFactory.afterPropertiesSet();
+            try {
+                RedisTemplate<String, Integer> redisTemplate = redisTemplate(connectionFactory);
+                InventoryScripts scripts = new InventoryScripts(redisTemplate);
+                InventoryRedisClient stockClient = new InventoryRedisClient(redisTemplate, scripts);
+                ReflectionTestUtils.setField(stockClient, "keyCacheSize", PRODUCTS);
+                ReflectionTestUtils.invokeMethod(stockClient, "init");
+
+                for (long id = 0; id < PRODUCTS; id++) {
+                    redisTemplate.opsForHash().put(StockKeys.stock(id), StockKeys.AVAILABLE, INITIAL_STOCK);
+                }
+
+                double template = bytesPerOp(REDIS_OPS, i -> {
+                    List<String> key = List.of(StockKeys.stock(i % PRODUCTS));
+                    Long remaining = redisTemplate.execute(scripts.getReserve(), key, 1);
+                    redisTemplate.execute(scripts.getRelease(), key, 1);
+                    return remaining != null ? remaining : 0;
+                });
+                double client = bytesPerOp(REDIS_OPS, i -> {
+                    long remaining = stockClient.reserve(i % PRODUCTS, 1);
+                    stockClient.release(i % PRODUCTS, 1);
+                    return remaining;
+                });
+
+                System.out.printf("[redis] template=%.1f B/op, client=%.1f B/op%n", template, client);
+                assertThat(stockClient.available(0L)).isEqualTo(INITIAL_STOCK);
+            } finally {
+                connectionFactory.destroy();
+            }
+        }
+    }
+
+    /**
+     * 예열 후 호출 스레드 할당 바이트 / 연산 수
+     */
+    private static double bytesPerOp(int ops, LongUnaryOperator op) {
+        long sink = 0;
+        for (long i = 0; i < Math.min(WARMUP_OPS, ops); i++) {
+            sink += op.applyAsLong(i); // JIT 예열
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(thread);
+        for (long i = 0; i < ops; i++) {
+            sink += op.applyAsLong(i);
+        }
+        long allocated = THREADS.getThreadAllocatedBytes(thread) - before;
+        assertThat(sink).isNotZero(); // 결과를 사용해 제거 최적화 방지
+        return (double) allocated / ops;
+    }
+
+    private static RedisTemplate<String, Integer> redisTemplate(LettuceConnectionFactory connectionFactory) {
+        RedisTemplate<String, Integer> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new GenericToStringSerializer<>(Integer.class));
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new GenericToStringSerializer<>(Integer.class));
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.hkjs96.ordersystem.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryRedisClient;
+import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryRepository;
+import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryScripts;
+import com.github.hkjs96.ordersystem.adapter.out.cache.RedisCircuitBreaker;
+import com.github.hkjs96.ordersystem.adapter.out.cache.ShardedStockCounter;
+import com.github.hkjs96.ordersystem.adapter.out.cache.SoldOutBroadcaster;
+import com.github.hkjs96.ordersystem.adapter.out.cache.SoldOutMirror;
+import com.github.hkjs96.ordersystem.adapter.out.cache.StockCacheLoader;
+import com.github.hkjs96.ordersystem.adapter.out.cache.StockLayoutMigrator;
+import com.github.hkjs96.ordersystem.adapter.out.cache.StockLeaseManager;
+import com.github.hkjs96.ordersystem.adapter.out.cache.StockRefreshAhead;
+import com.github.hkjs96.ordersystem.adapter.out.event.DomainEventPublisher;
+import com.github.hkjs96.ordersystem.adapter.out.memory.InMemoryInventoryRepository;
+import com.github.hkjs96.ordersystem.adapter.out.persistence.DegradedInventoryStore;
+import com.github.hkjs96.ordersystem.adapter.out.persistence.StockConfirmationWriteBehind;
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.model.StockStatus;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 재고 저장소 벤치마크: 인메모리 vs Redis, 1~64 스레드
+ *
+ * 실행: gradle benchmark --tests '*InventoryStoreBenchmark'
+ * 한 연산 = 같은 인기 상품 1개 예약 + 복원 (재고가 바닥나지 않도록)
+ * Redis 측정은 Docker 가 있을 때만 실행됩니다.
+ */
+@Tag("benchmark")
+class InventoryStoreBenchmark {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final int INITIAL_STOCK = 1_000_000;
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int WARMUP_OPS = 20_000;
+    private static final int MEMORY_OPS = 2_000_000;
+    private static final int REDIS_OPS = 100_000;
+
+    @Test
+    @DisplayName("인메모리 저장소 처리량")
+    void memoryStore() throws InterruptedException {
+        InMemoryInventoryRepository repository = new InMemoryInventoryRepository(
+                productRepository(), mock(StockConfirmationWriteBehind.class));
+        ReflectionTestUtils.setField(repository, "maxProducts", 1_000);
+        ReflectionTestUtils.setField(repository, "reservationTtlSeconds", 3600L);
+        ReflectionTestUtils.invokeMethod(repository, "init");
+
+        runAll("memory", repository, MEMORY_OPS);
+    }
+
+    @Test
+    @DisplayName("Redis 저장소 처리량")
+    void redisStore() throws InterruptedException {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker 없음: Redis 측정 생략");
+
+        try (GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+                .withExposedPorts(6379)) {
+            redis.start();
+            LettuceConnectionFactory connectionFactory =
+                    new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+            connectionFactory.afterPropertiesSet();
+            try {
+                runAll("redis", redisRepository(connectionFactory), REDIS_OPS);
+            } finally {
+                connectionFactory.destroy();
+            }
+        }
+    }
+
+    private void runAll(String label, InventoryRepositoryPort repository, int totalOps) throws InterruptedException {
+        repository.syncWithDatabase(PRODUCT_ID);
+        run(repository, 8, WARMUP_OPS); // JIT 예열
+
+        for (int threads : THREADS) {
+            long elapsedNanos = run(repository, threads, totalOps);
+            System.out.printf("[%s] threads=%d, ops=%d, elapsed=%dms, throughput=%.0f ops/s%n",
+                    label, threads, totalOps, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    totalOps / (elapsedNanos / 1e9));
+        }
+
+        // 예약과 복원이 짝을 이루므로 재고는 그대로
+        StockStatus status = repository.getStockStatus(PRODUCT_ID);
+        assertThat(status.redisStock()).isEqualTo(INITIAL_STOCK);
+        assertThat(status.reservedStock()).isZero();
+    }
+
+    private long run(InventoryRepositoryPort repository, int threads, int totalOps) throws InterruptedException {
+        int perThread = totalOps / threads;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        if (repository.tryReserve(PRODUCT_ID, 1).isReserved()) {
+                            repository.releaseStock(PRODUCT_ID, 1);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await(10, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - begin;
+        executor.shutdown();
+        return elapsedNanos;
+    }
+
+    private static ProductRepository productRepository() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(
+                Product.builder()
+                        .id(PRODUCT_ID).name("hot").price(BigDecimal.TEN).totalStock(INITIAL_STOCK).build()));
+        return productRepository;
+    }
+
+    private static InventoryRepository redisRepository(LettuceConnectionFactory connectionFactory) {
+        RedisTemplate<String, Integer> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new GenericToStringSerializer<>(Integer.class));
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new GenericToStringSerializer<>(Integer.class));
+        redisTemplate.afterPropertiesSet();
+
+        ProductRepository productRepository = productRepository();
+        InventoryScripts scripts = new InventoryScripts(redisTemplate);
+        ShardedStockCounter shardedCounter = new ShardedStockCounter(
+                redisTemplate, new StringRedisTemplate(connectionFactory), scripts);
+        StockLeaseManager leaseManager = new StockLeaseManager(redisTemplate, scripts);
+        StockCacheLoader stockLoader = new StockCacheLoader(redisTemplate, productRepository, scripts,
+                new StockLayoutMigrator(redisTemplate, scripts));
+        ReflectionTestUtils.setField(stockLoader, "lockTtlMs", 5000L);
+        ReflectionTestUtils.setField(stockLoader, "waitTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(stockLoader, "pollIntervalMs", 20L);
+
+        InventoryRedisClient stockClient = new InventoryRedisClient(redisTemplate, scripts);
+        ReflectionTestUtils.setField(stockClient, "keyCacheSize", 1024);
+        ReflectionTestUtils.invokeMethod(stockClient, "init");
+
+        InventoryRepository repository = new InventoryRepository(redisTemplate, stockClient, productRepository, scripts,
+                shardedCounter, leaseManager, mock(StockConfirmationWriteBehind.class), stockLoader,
+                mock(StockRefreshAhead.class), new SoldOutMirror(), mock(SoldOutBroadcaster.class),
+                new RedisCircuitBreaker(new SimpleMeterRegistry()), mock(DegradedInventoryStore.class),
+                mock(DomainEventPublisher.class), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(repository, "reservationTtlSeconds", 3600L);
+        return repository;
+    }
+}
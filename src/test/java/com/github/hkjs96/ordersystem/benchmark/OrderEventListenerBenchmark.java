@@ -0,0 +1,176 @@
+package com.github.hkjs96.ordersystem.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.hkjs96.ordersystem.adapter.in.messaging.KafkaOrderEventListener;
+import com.github.hkjs96.ordersystem.adapter.out.messaging.RetryTopicRouter;
+import com.github.hkjs96.ordersystem.domain.model.OrderEvent;
+import com.github.hkjs96.ordersystem.domain.model.OrderStatus;
+import com.github.hkjs96.ordersystem.port.in.DeliveryUseCase;
+import com.github.hkjs96.ordersystem.port.in.OrderUseCase;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 주문 이벤트 소비 벤치마크 (임베디드 Kafka): 리스너 스레드 직접 처리 vs 주문 ID 기준 작업자 병렬 처리
+ *
+ * 실행: gradle benchmark --tests '*OrderEventListenerBenchmark'
+ * 레코드마다 DB 작업을 흉내 낸 지연(PROCESSING_MS)이 있어 직접 처리는 파티션 수에 묶이고,
+ * 병렬 처리는 작업자 수만큼 처리량이 늘면서도 주문별 순서와 커밋 오프셋은 그대로 유지됩니다.
+ */
+@Tag("benchmark")
+@EmbeddedKafka(partitions = OrderEventListenerBenchmark.PARTITIONS)
+class OrderEventListenerBenchmark {
+
+    static final int PARTITIONS = 4;
+    private static final int ORDERS = 1_000;
+    private static final int WORKERS = 16;
+    private static final long PROCESSING_MS = 2;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("기존 방식: 리스너 스레드(파티션당 1개)에서 바로 처리")
+    void sequential(EmbeddedKafkaBroker broker) throws Exception {
+        run("sequential", broker, false);
+    }
+
+    @Test
+    @DisplayName("병렬 처리: 주문 ID 기준 작업자에서 처리, 끝난 오프셋까지만 커밋")
+    void keyOrderedParallel(EmbeddedKafkaBroker broker) throws Exception {
+        run("key-ordered-parallel", broker, true);
+    }
+
+    private void run(String label, EmbeddedKafkaBroker broker, boolean parallel) throws Exception {
+        String topic = "order-events-" + label;
+        broker.addTopics(new NewTopic(topic, PARTITIONS, (short) 1));
+        int records = ORDERS * 2;
+        produce(broker, topic);
+
+        Map<Long, List<OrderStatus>> handled = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(records);
+        DeliveryUseCase delivery = mock(DeliveryUseCase.class);
+        doAnswer(invocation -> handle(handled, done, invocation.getArgument(0), OrderStatus.PAYMENT_COMPLETED))
+                .when(delivery).initiateShipment(anyLong());
+        doAnswer(invocation -> handle(handled, done, invocation.getArgument(0), OrderStatus.SHIPMENT_PREPARING))
+                .when(delivery).ship(anyLong());
+
+        KafkaOrderEventListener listener = new KafkaOrderEventListener(
+                mock(OrderUseCase.class), objectMapper, delivery, mock(RetryTopicRouter.class));
+        ReflectionTestUtils.setField(listener, "parallel", parallel);
+        ReflectionTestUtils.setField(listener, "workerCount", WORKERS);
+        ReflectionTestUtils.setField(listener, "queueCapacity", 1000);
+        ReflectionTestUtils.invokeMethod(listener, "init");
+
+        String group = "bench-" + label;
+        ConcurrentMessageListenerContainer<String, String> container = container(broker, topic, group, listener);
+        long begin = System.nanoTime();
+        container.start();
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        long elapsedNanos = System.nanoTime() - begin;
+
+        // 모든 레코드가 끝난 뒤에는 커밋 오프셋이 끝까지 따라옴
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        long committed;
+        while ((committed = committedOffsets(broker, group, topic)) < records && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        container.stop();
+        ReflectionTestUtils.invokeMethod(listener, "shutdown");
+
+        System.out.printf("[%s] records=%d, elapsed=%dms, throughput=%.0f records/s, committed=%d%n",
+                label, records, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                records / (elapsedNanos / 1e9), committed);
+
+        assertThat(committed).isEqualTo(records);
+        assertThat(handled).hasSize(ORDERS);
+        assertThat(handled.values()).allSatisfy(statuses ->
+                assertThat(statuses).containsExactly(OrderStatus.PAYMENT_COMPLETED, OrderStatus.SHIPMENT_PREPARING));
+    }
+
+    private Object handle(Map<Long, List<OrderStatus>> handled, CountDownLatch done, Long orderId, OrderStatus status)
+            throws InterruptedException {
+        Thread.sleep(PROCESSING_MS); // DB 작업 흉내
+        handled.computeIfAbsent(orderId, id -> Collections.synchronizedList(new ArrayList<>())).add(status);
+        done.countDown();
+        return null;
+    }
+
+    private void produce(EmbeddedKafkaBroker broker, String topic) throws Exception {
+        Map<String, Object> props = KafkaTestUtils.producerProps(broker);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        DefaultKafkaProducerFactory<String, String> factory = new DefaultKafkaProducerFactory<>(props);
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(factory);
+        Instant now = Instant.now();
+        for (OrderStatus status : List.of(OrderStatus.PAYMENT_COMPLETED, OrderStatus.SHIPMENT_PREPARING)) {
+            for (long orderId = 1; orderId <= ORDERS; orderId++) {
+                template.send(topic, String.valueOf(orderId),
+                        objectMapper.writeValueAsString(new OrderEvent(orderId, status, now)));
+            }
+        }
+        template.flush();
+        factory.destroy();
+    }
+
+    private ConcurrentMessageListenerContainer<String, String> container(
+            EmbeddedKafkaBroker broker, String topic, String group, KafkaOrderEventListener listener) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps(group, "false", broker);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+
+        // KafkaConfig.orderEventListenerContainerFactory 와 같은 설정
+        ContainerProperties containerProperties = new ContainerProperties(topic);
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setAsyncAcks(true);
+        containerProperties.setMessageListener(
+                (AcknowledgingMessageListener<String, String>) (record, ack) -> listener.onMessage(record, ack));
+
+        ConcurrentMessageListenerContainer<String, String> container = new ConcurrentMessageListenerContainer<>(
+                new DefaultKafkaConsumerFactory<>(props), containerProperties);
+        container.setConcurrency(PARTITIONS);
+        return container;
+    }
+
+    private long committedOffsets(EmbeddedKafkaBroker broker, String group, String topic) throws Exception {
+        long committed = 0;
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            OffsetAndMetadata offset = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), group, topic, partition);
+            committed += offset == null ? 0 : offset.offset();
+        }
+        return committed;
+    }
+}
@@ -0,0 +1,213 @@
+package com.github.hkjs96.ordersystem.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryRedisClient;
+import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryRepository;
+import com.github.hkjs96.ordersystem.adapter.out.cache.InventoryScripts;
+import com.github.hkjs96.ordersystem.adapter.out.cache.RedisCircuitBreaker;
+import com.github.hkjs96.ordersystem.adapter.out.cache.ShardedStockCounter;
+import com.github.hkjs96.ordersystem.adapter.out.cache.SoldOutBroadcaster;
+import com.github.hkjs96.ordersystem.adapter.out.cache.SoldOutMirror;
+import com.github.hkjs96.ordersystem.adapter.out.cache.StockCacheLoader;
+import com.github.hkjs96.ordersystem.adapter.out.cache.StockLayoutMigrator;
+import com.github.hkjs96.ordersystem.adapter.out.cache.StockLeaseManager;
+import com.github.hkjs96.ordersystem.adapter.out.cache.StockRefreshAhead;
+import com.github.hkjs96.ordersystem.adapter.out.event.DomainEventPublisher;
+import com.github.hkjs96.ordersystem.adapter.out.persistence.DegradedInventoryStore;
+import com.github.hkjs96.ordersystem.adapter.out.persistence.StockConfirmationWriteBehind;
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import com.github.hkjs96.ordersystem.domain.model.StockStatus;
+import com.github.hkjs96.ordersystem.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 인기 상품 재고 경합 벤치마크: 단일 키 vs 샤드 키 vs 노드 로컬 임대
+ *
+ * 실행: gradle benchmark --tests '*StockContentionBenchmark'
+ * 샤드 키는 단일 Redis 인스턴스에서는 처리량 차이보다 초과 판매가 없다는 점을 확인하는 용도이며,
+ * 샤드 키가 여러 노드에 흩어지는 Redis Cluster 에서 처리량 차이가 드러납니다.
+ * 임대는 대부분의 예약이 Redis 왕복 없이 처리되므로 단일 인스턴스에서도 차이가 드러납니다.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class StockContentionBenchmark {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final int INITIAL_STOCK = 50_000;
+    private static final int THREADS = 64;
+    private static final int REQUESTS_PER_THREAD = 1_000;
+    private static final int SHARDS = 8;
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, Integer> redisTemplate;
+
+    private InventoryRepository repository;
+    private StockLeaseManager leaseManager;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new GenericToStringSerializer<>(Integer.class));
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new GenericToStringSerializer<>(Integer.class));
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(
+                Product.builder()
+                        .id(PRODUCT_ID).name("hot").price(BigDecimal.TEN).totalStock(INITIAL_STOCK).build()));
+
+        InventoryScripts scripts = new InventoryScripts(redisTemplate);
+        ShardedStockCounter shardedCounter = new ShardedStockCounter(
+                redisTemplate, new StringRedisTemplate(connectionFactory), scripts);
+        ReflectionTestUtils.setField(shardedCounter, "maxShards", 64);
+
+        leaseManager = new StockLeaseManager(redisTemplate, scripts);
+        ReflectionTestUtils.setField(leaseManager, "initialSize", 50);
+        ReflectionTestUtils.setField(leaseManager, "minSize", 10);
+        ReflectionTestUtils.setField(leaseManager, "maxSize", 500);
+        ReflectionTestUtils.setField(leaseManager, "targetLeaseSeconds", 5L);
+        ReflectionTestUtils.setField(leaseManager, "leaseTtlSeconds", 30L);
+        ReflectionTestUtils.setField(leaseManager, "lowStockThreshold", 100);
+        ReflectionTestUtils.setField(leaseManager, "retryBackoffMs", 1000L);
+
+        InventoryRedisClient stockClient = new InventoryRedisClient(redisTemplate, scripts);
+        ReflectionTestUtils.setField(stockClient, "keyCacheSize", 1024);
+        ReflectionTestUtils.invokeMethod(stockClient, "init");
+
+        repository = new InventoryRepository(redisTemplate, stockClient, productRepository, scripts, shardedCounter,
+                leaseManager, mock(StockConfirmationWriteBehind.class), stockLoader(productRepository, scripts),
+                mock(StockRefreshAhead.class), new SoldOutMirror(), mock(SoldOutBroadcaster.class),
+                new RedisCircuitBreaker(new SimpleMeterRegistry()), mock(DegradedInventoryStore.class),
+                mock(DomainEventPublisher.class), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(repository, "reservationTtlSeconds", 3600L);
+    }
+
+    @Test
+    @DisplayName("단일 키 재고 경합")
+    void singleKey() throws InterruptedException {
+        repository.syncWithDatabase(PRODUCT_ID);
+
+        run("single-key");
+    }
+
+    @Test
+    @DisplayName("샤드 키 재고 경합")
+    void sharded() throws InterruptedException {
+        repository.syncWithDatabase(PRODUCT_ID);
+        repository.enableSharding(PRODUCT_ID, SHARDS);
+
+        run("sharded(" + SHARDS + ")");
+    }
+
+    @Test
+    @DisplayName("노드 로컬 임대 재고 경합")
+    void leased() throws InterruptedException {
+        repository.syncWithDatabase(PRODUCT_ID);
+        ReflectionTestUtils.setField(leaseManager, "enabled", true);
+        leaseManager.enable(PRODUCT_ID);
+
+        run("leased");
+    }
+
+    private void run(String label) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        AtomicInteger reserved = new AtomicInteger();
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        if (repository.tryReserve(PRODUCT_ID, 1).isReserved()) {
+                            reserved.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await(5, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - begin;
+        executor.shutdown();
+
+        int requests = THREADS * REQUESTS_PER_THREAD;
+        leaseManager.returnAll(); // 임대 잔량 반납 + 판매분 정산 후 검증
+        StockStatus status = repository.getStockStatus(PRODUCT_ID);
+        System.out.printf("[%s] requests=%d, reserved=%d, elapsed=%dms, throughput=%.0f ops/s%n",
+                label, requests, reserved.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                requests / (elapsedNanos / 1e9));
+
+        // 초과 판매 없음: 예약 수량 + 남은 재고 = 초기 재고
+        assertThat(reserved.get()).isEqualTo(Math.min(requests, INITIAL_STOCK));
+        assertThat(status.redisStock() + status.reservedStock()).isEqualTo(INITIAL_STOCK);
+    }
+
+    private static StockCacheLoader stockLoader(ProductRepository productRepository, InventoryScripts scripts) {
+        StockCacheLoader loader = new StockCacheLoader(redisTemplate, productRepository, scripts,
+                new StockLayoutMigrator(redisTemplate, scripts));
+        ReflectionTestUtils.setField(loader, "lockTtlMs", 5000L);
+        ReflectionTestUtils.setField(loader, "waitTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(loader, "pollIntervalMs", 20L);
+        return loader;
+    }
+}
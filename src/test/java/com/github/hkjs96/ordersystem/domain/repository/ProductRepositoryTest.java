@@ -0,0 +1,102 @@
+package com.github.hkjs96.ordersystem.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.hkjs96.ordersystem.domain.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 스레드마다 별도 트랜잭션으로 커밋
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("재고가 충분하면 1행 차감, 부족하면 0행 (재고 변화 없음)")
+    void decrementStock_onlyWhenSufficient() {
+        Long productId = saveProduct(5, true);
+
+        assertThat(decrement(productId, 3)).isEqualTo(1);
+        assertThat(decrement(productId, 3)).isZero();
+        assertThat(productRepository.findById(productId).orElseThrow().getTotalStock()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("재고 관리 비활성화 상품은 차감 없이 성공")
+    void decrementStock_unmanagedProduct() {
+        Long productId = saveProduct(0, false);
+
+        assertThat(decrement(productId, 10)).isEqualTo(1);
+        assertThat(productRepository.findById(productId).orElseThrow().getTotalStock()).isZero();
+    }
+
+    @Test
+    @DisplayName("동시 결제 확정: 갱신 유실 없이 재고만큼만 성공")
+    void decrementStock_concurrentPaymentsLoseNoUpdates() throws InterruptedException {
+        int stock = 100;
+        int payments = 200;
+        Long productId = saveProduct(stock, true);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(payments);
+        AtomicInteger confirmed = new AtomicInteger();
+
+        for (int i = 0; i < payments; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    if (decrement(productId, 1) == 1) {
+                        confirmed.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(confirmed.get()).isEqualTo(stock);
+        assertThat(productRepository.findById(productId).orElseThrow().getTotalStock()).isZero();
+    }
+
+    private int decrement(Long productId, int quantity) {
+        Integer updated = new TransactionTemplate(transactionManager)
+                .execute(status -> productRepository.decrementStock(productId, quantity));
+        return updated != null ? updated : 0;
+    }
+
+    private Long saveProduct(int totalStock, boolean managed) {
+        return productRepository.save(Product.builder()
+                .name("P").price(BigDecimal.TEN)
+                .totalStock(totalStock).stockManagementEnabled(managed)
+                .build()).getId();
+    }
+}
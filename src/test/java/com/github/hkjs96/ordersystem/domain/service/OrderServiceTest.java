@@ -1,17 +1,17 @@
 package com.github.hkjs96.ordersystem.domain.service;
 
+import com.github.hkjs96.ordersystem.adapter.out.OrderRepositoryPort;
+import com.github.hkjs96.ordersystem.adapter.out.cache.HotProductTracker;
 import com.github.hkjs96.ordersystem.adapter.out.event.DomainEventPublisher;
 import com.github.hkjs96.ordersystem.domain.entity.Order;
 import com.github.hkjs96.ordersystem.domain.event.OrderCancelledEvent;
 import com.github.hkjs96.ordersystem.domain.model.OrderEvent;
 import com.github.hkjs96.ordersystem.domain.model.OrderStatus;
-import com.github.hkjs96.ordersystem.domain.repository.OrderRepository;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
 import com.github.hkjs96.ordersystem.dto.request.OrderRequest;
-import com.github.hkjs96.ordersystem.exception.PaymentException;
-import com.github.hkjs96.ordersystem.exception.ShipmentException;
+import com.github.hkjs96.ordersystem.dto.response.OrderResponse;
 import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
 import com.github.hkjs96.ordersystem.port.out.PublishEventPort;
-import com.github.hkjs96.ordersystem.dto.response.OrderResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +20,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,16 +38,13 @@ class OrderServiceTest {
     private PublishEventPort eventPort;
 
     @Mock
-    private OrderRepository orderRepository;
+    private OrderRepositoryPort orderRepository;
 
     @Mock
-    private PaymentService paymentService;
-
-    @Mock
-    private DeliveryService deliveryService;
+    private DomainEventPublisher domainEventPublisher;
 
     @Mock
-    private DomainEventPublisher domainEventPublisher;
+    private HotProductTracker hotProducts;
 
     @InjectMocks
     private OrderService orderService;
@@ -61,148 +60,66 @@ class OrderServiceTest {
     }
 
     @Test
-    @DisplayName("재고 충분 시 주문 생성 성공 및 이벤트 발행")
+    @DisplayName("재고 충분 시 주문 생성 성공, 예약 기록 및 이벤트 발행")
     void createOrder_Success() {
         // given
-        given(inventoryPort.isStockAvailable(req.productId(), req.quantity()))
-                .willReturn(true);
-
-        // 빌더 패턴을 사용하여 MockOrder 생성
-        Order mockOrder = Order.builder()
-                .id(123L)
-                .status(OrderStatus.CREATED)
-                .productId(req.productId())
-                .quantity(req.quantity())
-                .build();
-
-        // save 메서드가 호출될 때 mockOrder를 반환하도록 설정
-        given(orderRepository.save(any(Order.class)))
-                .willReturn(mockOrder);
-
-        // paymentService와 deliveryService 메서드가 정상적으로 동작하도록 설정
-        // 반환값이 없는 void 메서드이므로 willDoNothing() 사용
-        willDoNothing().given(paymentService).processPayment(eq(123L));
-        willDoNothing().given(deliveryService).initiateShipment(eq(123L));
+        given(inventoryPort.tryReserve(1L, 2)).willReturn(ReservationResult.reserved(1L, 8));
+        given(orderRepository.save(any(Order.class))).willAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            return Order.builder()
+                    .id(123L)
+                    .status(order.getStatus())
+                    .productId(order.getProductId())
+                    .quantity(order.getQuantity())
+                    .build();
+        });
 
         // when
         OrderResponse resp = orderService.createOrder(req);
 
         // then
-        assertNotNull(resp.orderId());
         assertEquals(123L, resp.orderId());
         assertEquals(OrderStatus.CREATED, resp.status());
-
-        // 주문 저장 확인
-        then(orderRepository)
-                .should()
-                .save(any(Order.class));
-
-        // 이벤트 발행 확인
-        then(eventPort)
-                .should()
-                .publishOrderEvent(argThat((OrderEvent ev) ->
-                        ev.orderId().equals(123L) &&
-                                ev.status() == OrderStatus.CREATED &&
-                                ev.timestamp() != null
-                ));
-
-        // 재고 예약 확인
-        then(inventoryPort)
-                .should()
-                .reserveStock(eq(req.productId()), eq(req.quantity()));
-
-        // 결제 처리 확인
-        then(paymentService)
-                .should()
-                .processPayment(eq(123L));
-
-        // 배송 시작 확인
-        then(deliveryService)
-                .should()
-                .initiateShipment(eq(123L));
+        then(inventoryPort).should().trackReservation(123L, Map.of(1L, 2));
+        then(eventPort).should().publishOrderEvent(argThat((OrderEvent ev) ->
+                ev.orderId().equals(123L) &&
+                        ev.status() == OrderStatus.CREATED &&
+                        ev.timestamp() != null
+        ));
     }
 
     @Test
-    @DisplayName("재고 부족 시 주문 생성 예외")
+    @DisplayName("재고 부족 시 주문 생성 예외, 저장/발행 없음")
     void createOrder_OutOfStock() {
         // given
-        given(inventoryPort.isStockAvailable(req.productId(), req.quantity()))
-                .willReturn(false);
+        given(inventoryPort.tryReserve(1L, 2)).willReturn(ReservationResult.insufficient(1L));
 
         // when / then
         assertThrows(IllegalStateException.class,
                 () -> orderService.createOrder(req),
                 "out of stock 예외가 발생해야 합니다"
         );
-
-        // 저장, 발행, 예약, 결제, 배송 모두 호출되지 않아야 함
         then(orderRepository).should(never()).save(any());
         then(eventPort).should(never()).publishOrderEvent(any());
-        then(inventoryPort).should(never()).reserveStock(anyLong(), anyInt());
-        then(paymentService).should(never()).processPayment(anyLong());
-        then(deliveryService).should(never()).initiateShipment(anyLong());
-    }
-
-    @Test
-    @DisplayName("결제 처리 실패 시 PaymentException 전파 및 PAYMENT_FAILED 이벤트 발행")
-    void createOrder_PaymentFailure() {
-        // given
-        given(inventoryPort.isStockAvailable(req.productId(), req.quantity()))
-                .willReturn(true);
-        Order mockOrder = Order.builder().id(123L).status(OrderStatus.CREATED)
-                .productId(req.productId()).quantity(req.quantity()).build();
-        given(orderRepository.save(any(Order.class))).willReturn(mockOrder);
-        willDoNothing().given(inventoryPort)
-                .reserveStock(eq(req.productId()), eq(req.quantity()));
-        doThrow(new RuntimeException("gateway down"))
-                .when(paymentService).processPayment(123L);
-
-        // when / then
-        PaymentException ex = assertThrows(
-                PaymentException.class,
-                () -> orderService.createOrder(req),
-                "결제 실패 시 PaymentException이 전파되어야 합니다"
-        );
-        assertThat(ex.getMessage()).contains("결제 실패: orderId=123");
-
-        // PAYMENT_FAILED 이벤트 발행 확인
-        then(eventPort).should().publishOrderEvent(argThat(ev ->
-                ev.orderId().equals(123L) &&
-                        ev.status() == OrderStatus.PAYMENT_FAILED
-        ));
-
-        // 배송 호출 안 함
-        then(deliveryService).should(never()).initiateShipment(anyLong());
     }
 
     @Test
-    @DisplayName("배송 시작 실패 시 ShipmentException 전파 및 CANCELLED 이벤트 발행")
-    void createOrder_ShipmentFailure() {
+    @DisplayName("예약 기록 실패 시 잡아둔 재고를 되돌리고 예외 전파")
+    void createOrder_TrackFailureReleasesStock() {
         // given
-        given(inventoryPort.isStockAvailable(req.productId(), req.quantity()))
-                .willReturn(true);
-        Order mockOrder = Order.builder().id(456L).status(OrderStatus.CREATED)
-                .productId(req.productId()).quantity(req.quantity()).build();
-        given(orderRepository.save(any(Order.class))).willReturn(mockOrder);
-        willDoNothing().given(inventoryPort)
-                .reserveStock(eq(req.productId()), eq(req.quantity()));
-        willDoNothing().given(paymentService).processPayment(456L);
-        doThrow(new RuntimeException("carrier error"))
-                .when(deliveryService).initiateShipment(456L);
+        given(inventoryPort.tryReserve(1L, 2)).willReturn(ReservationResult.reserved(1L, 8));
+        given(orderRepository.save(any(Order.class))).willAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            return Order.builder().id(123L).status(order.getStatus())
+                    .productId(order.getProductId()).quantity(order.getQuantity()).build();
+        });
+        willThrow(new IllegalStateException("redis down"))
+                .given(inventoryPort).trackReservation(eq(123L), any());
 
         // when / then
-        ShipmentException ex = assertThrows(
-                ShipmentException.class,
-                () -> orderService.createOrder(req),
-                "배송 실패 시 ShipmentException이 전파되어야 합니다"
-        );
-        assertThat(ex.getMessage()).contains("배송 시작 실패: orderId=456");
-
-        // CANCELLED 이벤트 발행 확인
-        then(eventPort).should().publishOrderEvent(argThat(ev ->
-                ev.orderId().equals(456L) &&
-                        ev.status() == OrderStatus.CANCELLED
-        ));
+        assertThrows(IllegalStateException.class, () -> orderService.createOrder(req));
+        then(inventoryPort).should().releaseStock(1L, 2);
+        then(eventPort).should(never()).publishOrderEvent(any());
     }
 
     @Test
@@ -216,7 +133,7 @@ class OrderServiceTest {
                 .quantity(3)
                 .build();
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        given(orderRepository.findById(1L)).willReturn(Optional.of(order));
 
         // when
         orderService.cancelOrder(1L);
@@ -225,29 +142,29 @@ class OrderServiceTest {
         assertEquals(OrderStatus.CANCELLED, order.getStatus());
 
         // 그리고 정확한 이벤트가 발행됐는지
-        verify(domainEventPublisher).publish(argThat(evt ->
+        then(domainEventPublisher).should().publish(argThat(evt ->
                 evt instanceof OrderCancelledEvent
-                        && ((OrderCancelledEvent)evt).orderId().equals(1L)
-                        && ((OrderCancelledEvent)evt).productId().equals(2L)
-                        && ((OrderCancelledEvent)evt).quantity() == 3
+                        && ((OrderCancelledEvent) evt).orderId().equals(1L)
+                        && ((OrderCancelledEvent) evt).productId().equals(2L)
+                        && ((OrderCancelledEvent) evt).quantity() == 3
         ));
+        then(inventoryPort).should(never()).releaseStock(any(), anyInt());
     }
 
     @Test
-    void cancelOrder_publishesDomainEventOnly() {
+    @DisplayName("결제 대기 만료: CREATED 는 취소 후 복원 대상, 결제 완료 주문은 제외")
+    void expireUnpaidOrders_cancelsOnlyUnpaid() {
         // given
-        Order order = Order.builder()
-                .id(1L)
-                .status(OrderStatus.CANCELLED)
-                .productId(req.productId())
-                .quantity(req.quantity())
-                .build();
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        Order unpaid = Order.builder().id(1L).status(OrderStatus.CREATED).productId(2L).quantity(1).build();
+        Order paid = Order.builder().id(2L).status(OrderStatus.PAYMENT_COMPLETED).productId(2L).quantity(1).build();
+        given(orderRepository.findAllById(List.of(1L, 2L, 3L))).willReturn(List.of(unpaid, paid));
+
         // when
-        orderService.cancelOrder(1L);
-        // then
-        verify(domainEventPublisher).publish(any(OrderCancelledEvent.class));
-        verify(inventoryPort, never()).releaseStock(any(), anyInt());
-    }
+        List<Long> releasable = orderService.expireUnpaidOrders(List.of(1L, 2L, 3L));
 
+        // then: 저장되지 않은 주문(3)의 예약도 복원 대상
+        assertThat(releasable).containsExactly(1L, 3L);
+        assertEquals(OrderStatus.CANCELLED, unpaid.getStatus());
+        assertEquals(OrderStatus.PAYMENT_COMPLETED, paid.getStatus());
+    }
 }
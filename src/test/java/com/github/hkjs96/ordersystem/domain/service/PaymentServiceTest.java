@@ -0,0 +1,92 @@
+package com.github.hkjs96.ordersystem.domain.service;
+
+import com.github.hkjs96.ordersystem.adapter.out.OrderRepositoryPort;
+import com.github.hkjs96.ordersystem.domain.entity.Order;
+import com.github.hkjs96.ordersystem.domain.event.InventoryEvent;
+import com.github.hkjs96.ordersystem.domain.model.OrderEvent;
+import com.github.hkjs96.ordersystem.domain.model.OrderStatus;
+import com.github.hkjs96.ordersystem.domain.model.ReservationResult;
+import com.github.hkjs96.ordersystem.domain.repository.PaymentRepository;
+import com.github.hkjs96.ordersystem.port.out.InventoryRepositoryPort;
+import com.github.hkjs96.ordersystem.port.out.PublishEventPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @Mock
+    private PublishEventPort eventPort;
+
+    @Mock
+    private InventoryRepositoryPort inventoryPort;
+
+    @InjectMocks
+    private PaymentService paymentService;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = Order.builder()
+                .id(1L)
+                .status(OrderStatus.CREATED)
+                .productId(2L)
+                .quantity(3)
+                .build();
+        given(orderRepository.findById(1L)).willReturn(Optional.of(order));
+    }
+
+    @Test
+    @DisplayName("결제 성공 시 주문 전체 재고 확정 후 결제 완료 + 라인별 재고 확정 이벤트")
+    void completePayment_confirmsWholeOrder() {
+        // given
+        given(inventoryPort.confirmSales(1L, Map.of(2L, 3))).willReturn(ReservationResult.reserved(null, 0));
+
+        // when
+        paymentService.completePayment(1L, true);
+
+        // then
+        assertEquals(OrderStatus.PAYMENT_COMPLETED, order.getStatus());
+        then(eventPort).should().publishOrderEvent(argThat((OrderEvent ev) ->
+                ev.orderId().equals(1L) && ev.status() == OrderStatus.PAYMENT_COMPLETED));
+        then(eventPort).should().publishInventoryEvent(argThat((InventoryEvent ev) ->
+                ev.orderId().equals(1L) && ev.productId().equals(2L) && ev.quantity() == 3));
+        then(inventoryPort).should(never()).releaseReservation(any(), any());
+    }
+
+    @Test
+    @DisplayName("결제 성공이지만 재고 확정 실패: 결제는 저장, 주문 취소 + 예약 복원, 재고 확정 이벤트 없음")
+    void completePayment_stockShortageCancelsOrder() {
+        // given: 확정 실패 라인은 저장소가 수동 처리 대상으로 기록
+        given(inventoryPort.confirmSales(1L, Map.of(2L, 3))).willReturn(ReservationResult.insufficient(2L));
+
+        // when
+        paymentService.completePayment(1L, true);
+
+        // then
+        then(paymentRepository).should().save(any());
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        then(inventoryPort).should().releaseReservation(1L, 2L);
+        then(eventPort).should().publishOrderEvent(argThat((OrderEvent ev) ->
+                ev.orderId().equals(1L) && ev.status() == OrderStatus.CANCELLED));
+        then(eventPort).should(never()).publishInventoryEvent(any());
+    }
+}